@@ -0,0 +1,31 @@
+package de.tum.kickercoding.tournamentviewer.entities;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Holds the single {@link Gson} instance used to (de)serialize the entities. Creating a Gson instance is expensive
+ * and it is thread-safe, so it is created once and reused. {@link Player}, {@link Game} and {@link Tournament} are
+ * handled by hand written streaming adapters instead of reflection.
+ */
+public final class EntityGson {
+
+	private static final Gson GSON;
+
+	static {
+		PlayerTypeAdapter playerAdapter = new PlayerTypeAdapter();
+		GameTypeAdapter gameAdapter = new GameTypeAdapter(playerAdapter);
+		GSON = new GsonBuilder()
+				.registerTypeAdapter(Player.class, playerAdapter)
+				.registerTypeAdapter(Game.class, gameAdapter)
+				.registerTypeAdapter(Tournament.class, new TournamentTypeAdapter(playerAdapter, gameAdapter))
+				.create();
+	}
+
+	private EntityGson() {
+	}
+
+	public static Gson get() {
+		return GSON;
+	}
+}
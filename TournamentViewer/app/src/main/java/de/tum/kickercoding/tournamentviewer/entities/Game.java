@@ -1,9 +1,11 @@
 package de.tum.kickercoding.tournamentviewer.entities;
 
-import com.google.gson.Gson;
-
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class Game {
 
@@ -14,7 +16,8 @@ public class Game {
 	private boolean finished;
 	private boolean oneOnOne;
 	private boolean resultCommitted;
-
+	// number of the kicker table the game is played on (starting at 1), 0 if not assigned
+	private int table;
 
 	/**
 	 * Creates a new game, mode (1v1 or 2v2) is inferred from the amount of players
@@ -45,6 +48,10 @@ public class Game {
 		}
 	}
 
+	public List<Player> getParticipants() {
+		return participants;
+	}
+
 	public List<Player> getTeam1() {
 		if (isOneOnOne()) {
 			return participants.subList(0, 1);
@@ -119,19 +126,52 @@ public class Game {
 		this.resultCommitted = resultCommitted;
 	}
 
+	public int getTable() {
+		return table;
+	}
+
+	public void setTable(int table) {
+		this.table = table;
+	}
+
+	/**
+	 * @param players participants to use instead of copies, by name (e.g. the copied players of a tournament)
+	 * @return deep copy of the game, see {@link Tournament#copy()}
+	 */
+	Game copy(Map<String, Player> players) {
+		List<Player> participantsCopied = new ArrayList<>(participants.size());
+		for (Player participant : participants) {
+			Player player = players.get(participant.getName());
+			participantsCopied.add(player != null ? player : participant.copy());
+		}
+		Game copy = new Game(participantsCopied);
+		copy.scoreTeam1 = scoreTeam1;
+		copy.scoreTeam2 = scoreTeam2;
+		copy.finished = finished;
+		copy.resultCommitted = resultCommitted;
+		copy.table = table;
+		return copy;
+	}
+
 	/****************************
-	 * hand written (de)serialization using json
+	 * hand written (de)serialization using json, see {@link GameTypeAdapter}
 	 * reason: as "interface methods" of serializable would need to be wrapped into stream
 	 * parsing methods to generate the actual serialization
 	 *****************************/
 	public String toJson() {
-		Gson gson = new Gson();
-		return gson.toJson(this);
+		return EntityGson.get().toJson(this);
+	}
+
+	public void toJson(Writer writer) throws IOException {
+		EntityGson.get().getAdapter(Game.class).toJson(writer, this);
 	}
 
 	public static Game fromJson(String gameAsJson) {
-		Gson gson = new Gson();
-		return gson.fromJson(gameAsJson, Game.class);
+		return EntityGson.get().fromJson(gameAsJson, Game.class);
+	}
+
+	public static Game fromJson(Reader reader) throws IOException {
+		return EntityGson.get().getAdapter(Game.class).fromJson(reader);
 	}
 
 }
@@ -0,0 +1,45 @@
+package de.tum.kickercoding.tournamentviewer.entities;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Number of generated games (finished or not) of every player of a tournament. It is kept up to date by
+ * {@link Tournament} whenever games are added or removed, so matchmaking can select the players with the least
+ * games without walking all past games.
+ */
+public class GameCounts {
+
+	// one element arrays to count without boxing
+	private final Map<String, int[]> counts = new HashMap<>();
+
+	GameCounts() {
+	}
+
+	/**
+	 * @return number of games of the tournament the player participates in
+	 */
+	public int get(Player player) {
+		int[] count = counts.get(player.getName());
+		return (count == null) ? 0 : count[0];
+	}
+
+	void addGame(Game game) {
+		addGame(game, 1);
+	}
+
+	void removeGame(Game game) {
+		addGame(game, -1);
+	}
+
+	private void addGame(Game game, int delta) {
+		for (Player participant : game.getParticipants()) {
+			int[] count = counts.get(participant.getName());
+			if (count == null) {
+				count = new int[1];
+				counts.put(participant.getName(), count);
+			}
+			count[0] += delta;
+		}
+	}
+}
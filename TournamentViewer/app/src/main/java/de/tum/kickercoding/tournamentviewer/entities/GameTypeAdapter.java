@@ -0,0 +1,129 @@
+package de.tum.kickercoding.tournamentviewer.entities;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streaming (de)serialization of a {@link Game}. A game on its own is written including its participants; as part
+ * of a {@link Tournament} participants are written as references (their names), see {@link
+ * TournamentTypeAdapter}. Reading accepts both forms, references are read as placeholder players which have to be
+ * resolved by the caller.
+ */
+class GameTypeAdapter extends TypeAdapter<Game> {
+
+	private final PlayerTypeAdapter playerAdapter;
+
+	GameTypeAdapter(PlayerTypeAdapter playerAdapter) {
+		this.playerAdapter = playerAdapter;
+	}
+
+	@Override
+	public void write(JsonWriter out, Game game) throws IOException {
+		write(out, game, null);
+	}
+
+	/**
+	 * @param referencedNames participants with one of these names are written as reference (only their name),
+	 *                        all others including all their stats; null to write all participants including stats
+	 */
+	void write(JsonWriter out, Game game, Set<String> referencedNames) throws IOException {
+		if (game == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("participants");
+		out.beginArray();
+		for (Player player : game.getParticipants()) {
+			if (referencedNames != null && referencedNames.contains(player.getName())) {
+				out.value(player.getName());
+			} else {
+				playerAdapter.write(out, player);
+			}
+		}
+		out.endArray();
+		out.name("scoreTeam1").value(game.getScoreTeam1());
+		out.name("scoreTeam2").value(game.getScoreTeam2());
+		out.name("finished").value(game.isFinished());
+		out.name("oneOnOne").value(game.isOneOnOne());
+		out.name("resultCommitted").value(game.isResultCommitted());
+		if (game.getTable() != 0) {
+			out.name("table").value(game.getTable());
+		}
+		out.endObject();
+	}
+
+	@Override
+	public Game read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		List<Player> participants = null;
+		int scoreTeam1 = 0;
+		int scoreTeam2 = 0;
+		boolean finished = false;
+		boolean resultCommitted = false;
+		int table = 0;
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+				case "participants":
+					participants = new ArrayList<>(4);
+					in.beginArray();
+					while (in.hasNext()) {
+						if (in.peek() == JsonToken.STRING) {
+							// reference, resolved by the tournament
+							participants.add(new Player(in.nextString()));
+						} else {
+							participants.add(playerAdapter.read(in));
+						}
+					}
+					in.endArray();
+					break;
+				case "scoreTeam1":
+					scoreTeam1 = in.nextInt();
+					break;
+				case "scoreTeam2":
+					scoreTeam2 = in.nextInt();
+					break;
+				case "finished":
+					finished = in.nextBoolean();
+					break;
+				case "resultCommitted":
+					resultCommitted = in.nextBoolean();
+					break;
+				case "table":
+					table = in.nextInt();
+					break;
+				default:
+					// oneOnOne is inferred from the number of participants
+					in.skipValue();
+			}
+		}
+		in.endObject();
+		if (participants == null) {
+			throw new JsonParseException("Game without participants");
+		}
+		Game game;
+		try {
+			game = new Game(participants);
+		} catch (IllegalArgumentException e) {
+			throw new JsonParseException(e.getMessage(), e);
+		}
+		game.setScoreTeam1(scoreTeam1);
+		game.setScoreTeam2(scoreTeam2);
+		game.setFinished(finished);
+		game.setResultCommitted(resultCommitted);
+		game.setTable(table);
+		return game;
+	}
+}
@@ -0,0 +1,107 @@
+package de.tum.kickercoding.tournamentviewer.entities;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.tum.kickercoding.tournamentviewer.util.LongIntHashMap;
+
+/**
+ * Index of how often two players played in the same team (partners) or against each other (opponents) during a
+ * tournament. It is kept up to date by {@link Tournament} whenever games are added or removed, so matchmaking can
+ * query the counts of a pair in O(1) instead of walking all past games.
+ * <p>
+ * Every player name gets a small int id; a pair is stored under the ids of both players combined into one long.
+ */
+public class PairHistory {
+
+	private final Map<String, Integer> ids = new HashMap<>();
+
+	private final LongIntHashMap partnerCounts = new LongIntHashMap();
+
+	private final LongIntHashMap opponentCounts = new LongIntHashMap();
+
+	PairHistory() {
+	}
+
+	/**
+	 * @return number of games both players played in the same team
+	 */
+	public int getPartnerCount(Player player1, Player player2) {
+		Integer id1 = ids.get(player1.getName());
+		Integer id2 = ids.get(player2.getName());
+		if (id1 == null || id2 == null) {
+			return 0;
+		}
+		return partnerCounts.get(key(id1, id2));
+	}
+
+	/**
+	 * @return number of games the players played against each other
+	 */
+	public int getOpponentCount(Player player1, Player player2) {
+		Integer id1 = ids.get(player1.getName());
+		Integer id2 = ids.get(player2.getName());
+		if (id1 == null || id2 == null) {
+			return 0;
+		}
+		return opponentCounts.get(key(id1, id2));
+	}
+
+	/**
+	 * @return sum of the opponent counts of all pairs of players of both teams
+	 */
+	public int getOpponentCount(List<Player> team1, List<Player> team2) {
+		int count = 0;
+		for (Player player1 : team1) {
+			for (Player player2 : team2) {
+				count += getOpponentCount(player1, player2);
+			}
+		}
+		return count;
+	}
+
+	void addGame(Game game) {
+		addGame(game, 1);
+	}
+
+	void removeGame(Game game) {
+		addGame(game, -1);
+	}
+
+	private void addGame(Game game, int delta) {
+		List<Player> team1 = game.getTeam1();
+		List<Player> team2 = game.getTeam2();
+		addTeam(team1, delta);
+		addTeam(team2, delta);
+		for (Player player1 : team1) {
+			for (Player player2 : team2) {
+				opponentCounts.add(key(id(player1), id(player2)), delta);
+			}
+		}
+	}
+
+	private void addTeam(List<Player> team, int delta) {
+		for (int i = 0;i < team.size();i++) {
+			for (int j = i + 1;j < team.size();j++) {
+				partnerCounts.add(key(id(team.get(i)), id(team.get(j))), delta);
+			}
+		}
+	}
+
+	private int id(Player player) {
+		Integer id = ids.get(player.getName());
+		if (id == null) {
+			id = ids.size();
+			ids.put(player.getName(), id);
+		}
+		return id;
+	}
+
+	/**
+	 * order independent key of a pair
+	 */
+	private static long key(int id1, int id2) {
+		return (((long) Math.min(id1, id2)) << 32) | Math.max(id1, id2);
+	}
+}
@@ -0,0 +1,112 @@
+package de.tum.kickercoding.tournamentviewer.entities;
+
+import java.util.List;
+
+import de.tum.kickercoding.tournamentviewer.util.LongIntHashMap;
+
+/**
+ * How often two players played in the same team in the finished tournaments, so regulars do not get the same
+ * partners tournament after tournament. Unlike the {@link PairHistory} of a tournament it is kept across
+ * tournaments and stored next to the global player list.
+ * <p>
+ * The counts decay: every time a tournament is finished, the weights of the older tournaments are multiplied by a
+ * decay factor before the partners of the finished tournament are added. Weights are fixed point numbers (one game
+ * weighs {@link #GAME_WEIGHT}) and pairs whose weight drops to 0 are removed, so the archive only holds the pairs
+ * of the last few tournaments no matter how many games were played in total.
+ * <p>
+ * A pair is stored under a 64 bit hash of both names (collisions are negligible), so there are no ids to keep and
+ * a count is looked up in O(1).
+ */
+public class PartnerArchive {
+
+	// weight of one game
+	static final int GAME_WEIGHT = 16;
+
+	private final LongIntHashMap weights = new LongIntHashMap();
+
+	public PartnerArchive() {
+	}
+
+	/**
+	 * @return number of games both players played in the same team in finished tournaments, decayed; fractional, so
+	 * a single game still counts after it was decayed
+	 */
+	public double getPartnerCount(Player player1, Player player2) {
+		return weights.get(key(player1.getName(), player2.getName())) / (double) GAME_WEIGHT;
+	}
+
+	/**
+	 * Decay the weights of all pairs and add the partners of the finished games of the tournament.
+	 *
+	 * @param decay factor the weights of the older tournaments are multiplied with, between 0 and 1
+	 */
+	public void addTournament(Tournament tournament, double decay) {
+		for (long key : weights.keys()) {
+			int weight = weights.get(key);
+			weights.add(key, (int) (weight * decay) - weight);
+		}
+		for (Game game : tournament.getGames()) {
+			if (game.isFinished()) {
+				addTeam(game.getTeam1());
+				addTeam(game.getTeam2());
+			}
+		}
+	}
+
+	/**
+	 * @return the keys of all stored pairs, see {@link #getWeight(long)}
+	 */
+	public long[] getPairKeys() {
+		return weights.keys();
+	}
+
+	/**
+	 * @return weight of the pair, {@link #GAME_WEIGHT} per game
+	 */
+	public int getWeight(long pairKey) {
+		return weights.get(pairKey);
+	}
+
+	/**
+	 * restore a stored pair
+	 */
+	public void setWeight(long pairKey, int weight) {
+		weights.add(pairKey, weight - weights.get(pairKey));
+	}
+
+	/**
+	 * @return number of stored pairs
+	 */
+	public int size() {
+		return weights.size();
+	}
+
+	private void addTeam(List<Player> team) {
+		for (int i = 0;i < team.size();i++) {
+			for (int j = i + 1;j < team.size();j++) {
+				weights.add(key(team.get(i).getName(), team.get(j).getName()), GAME_WEIGHT);
+			}
+		}
+	}
+
+	/**
+	 * order independent key of a pair
+	 */
+	static long key(String name1, String name2) {
+		long hash1 = hash(name1);
+		long hash2 = hash(name2);
+		return Math.min(hash1, hash2) * 0x9e3779b97f4a7c15L + Math.max(hash1, hash2);
+	}
+
+	/**
+	 * 64 bit FNV-1a hash of the characters of the name
+	 */
+	private static long hash(String name) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0;i < name.length();i++) {
+			hash ^= name.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+}
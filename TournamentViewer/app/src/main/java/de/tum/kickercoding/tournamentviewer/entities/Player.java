@@ -1,7 +1,8 @@
 package de.tum.kickercoding.tournamentviewer.entities;
 
-import com.google.gson.Gson;
-
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.util.Locale;
@@ -28,12 +29,6 @@ public class Player implements Comparable<Player> {
 	// allows to adjust elo when reverting a game (only one game reset in a row)
 	private double eloChangeFromLastGame;
 
-	/**
-	 * this field is solely for the purpose of temporarily saving the amount of games a player participates in. Its
-	 * value is generated directly before its use and has no meaning outside of that context
-	 */
-	private transient int generatedGamesInTournament;
-
 	public Player(String name) {
 		this.name = name;
 		wonGames = 0;
@@ -187,20 +182,6 @@ public class Player implements Comparable<Player> {
 		this.eloChangeFromLastGame = eloChangeFromLastGame;
 	}
 
-	/**
-	 * @see #generatedGamesInTournament
-	 */
-	public int getGeneratedGamesInTournament() {
-		return generatedGamesInTournament;
-	}
-
-	/**
-	 * @see #generatedGamesInTournament
-	 */
-	public void setGeneratedGamesInTournament(final int generatedGamesInTournament) {
-		this.generatedGamesInTournament = generatedGamesInTournament;
-	}
-
 	public int getPlayedGames() {
 		return wonGames + lostGames + tiedGames;
 	}
@@ -257,14 +238,21 @@ public class Player implements Comparable<Player> {
 	 * hand written (de)serialization using json
 	 * reason: "interface methods" of serializable would need to be wrapped into stream
 	 * parsing methods to generate the actual serialization
+	 * see {@link PlayerTypeAdapter}
 	 *****************************/
 	public String toJson() {
-		Gson gson = new Gson();
-		return gson.toJson(this);
+		return EntityGson.get().toJson(this);
+	}
+
+	public void toJson(Writer writer) throws IOException {
+		EntityGson.get().getAdapter(Player.class).toJson(writer, this);
 	}
 
 	public static Player fromJson(String playerAsJson) {
-		Gson gson = new Gson();
-		return gson.fromJson(playerAsJson, Player.class);
+		return EntityGson.get().fromJson(playerAsJson, Player.class);
+	}
+
+	public static Player fromJson(Reader reader) throws IOException {
+		return EntityGson.get().getAdapter(Player.class).fromJson(reader);
 	}
 }
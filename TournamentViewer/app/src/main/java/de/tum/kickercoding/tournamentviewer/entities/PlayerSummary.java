@@ -0,0 +1,47 @@
+package de.tum.kickercoding.tournamentviewer.entities;
+
+/**
+ * Read-only projection of a {@link Player} to name and elo. Lists which show many players (e.g. player selection)
+ * use summaries; the complete {@link Player} is only loaded when its details are needed.
+ */
+public class PlayerSummary implements Comparable<PlayerSummary> {
+
+	private final String name;
+
+	private final double elo;
+
+	public PlayerSummary(String name, double elo) {
+		this.name = name;
+		this.elo = elo;
+	}
+
+	public static PlayerSummary of(Player player) {
+		return new PlayerSummary(player.getName(), player.getElo());
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public double getElo() {
+		return elo;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (o instanceof PlayerSummary) {
+			return ((PlayerSummary) o).getName().equals(this.getName());
+		}
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return name.hashCode();
+	}
+
+	@Override
+	public int compareTo(PlayerSummary otherPlayer) {
+		return getName().compareTo(otherPlayer.getName());
+	}
+}
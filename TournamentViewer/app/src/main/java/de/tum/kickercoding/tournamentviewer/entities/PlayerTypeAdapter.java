@@ -0,0 +1,109 @@
+package de.tum.kickercoding.tournamentviewer.entities;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Streaming (de)serialization of a {@link Player}; uses the same field names as the former reflection based
+ * serialization, so existing data stays readable.
+ */
+class PlayerTypeAdapter extends TypeAdapter<Player> {
+
+	@Override
+	public void write(JsonWriter out, Player player) throws IOException {
+		if (player == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("name").value(player.getName());
+		out.name("wonGames").value(player.getWonGames());
+		out.name("lostGames").value(player.getLostGames());
+		out.name("tiedGames").value(player.getTiedGames());
+		out.name("wonGamesInTournament").value(player.getWonGamesInTournament());
+		out.name("lostGamesInTournament").value(player.getLostGamesInTournament());
+		out.name("tiedGamesInTournament").value(player.getTiedGamesInTournament());
+		out.name("goalsShot").value(player.getGoalsShot());
+		out.name("goalsReceived").value(player.getGoalsReceived());
+		out.name("goalsShotInTournament").value(player.getGoalsShotInTournament());
+		out.name("goalsReceivedInTournament").value(player.getGoalsReceivedInTournament());
+		out.name("elo").value(player.getElo());
+		out.name("eloChangeFromLastGame").value(player.getEloChangeFromLastGame());
+		out.endObject();
+	}
+
+	@Override
+	public Player read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		String name = null;
+		int wonGames = 0;
+		int lostGames = 0;
+		int tiedGames = 0;
+		int wonGamesInTournament = 0;
+		int lostGamesInTournament = 0;
+		int tiedGamesInTournament = 0;
+		int goalsShot = 0;
+		int goalsReceived = 0;
+		int goalsShotInTournament = 0;
+		int goalsReceivedInTournament = 0;
+		double elo = 0;
+		double eloChangeFromLastGame = 0;
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+				case "name":
+					name = in.nextString();
+					break;
+				case "wonGames":
+					wonGames = in.nextInt();
+					break;
+				case "lostGames":
+					lostGames = in.nextInt();
+					break;
+				case "tiedGames":
+					tiedGames = in.nextInt();
+					break;
+				case "wonGamesInTournament":
+					wonGamesInTournament = in.nextInt();
+					break;
+				case "lostGamesInTournament":
+					lostGamesInTournament = in.nextInt();
+					break;
+				case "tiedGamesInTournament":
+					tiedGamesInTournament = in.nextInt();
+					break;
+				case "goalsShot":
+					goalsShot = in.nextInt();
+					break;
+				case "goalsReceived":
+					goalsReceived = in.nextInt();
+					break;
+				case "goalsShotInTournament":
+					goalsShotInTournament = in.nextInt();
+					break;
+				case "goalsReceivedInTournament":
+					goalsReceivedInTournament = in.nextInt();
+					break;
+				case "elo":
+					elo = in.nextDouble();
+					break;
+				case "eloChangeFromLastGame":
+					eloChangeFromLastGame = in.nextDouble();
+					break;
+				default:
+					in.skipValue();
+			}
+		}
+		in.endObject();
+		return new Player(name, wonGames, lostGames, tiedGames, wonGamesInTournament, lostGamesInTournament,
+				tiedGamesInTournament, goalsShot, goalsShotInTournament, goalsReceived, goalsReceivedInTournament, elo,
+				eloChangeFromLastGame);
+	}
+}
@@ -0,0 +1,89 @@
+package de.tum.kickercoding.tournamentviewer.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precomputed rounds of a tournament. A round lists the names of its players in slot order: every game takes 2
+ * (1on1) or 4 (2on2) consecutive slots, team 1 first. Rounds are handed out in order by {@link #popNextRound()}.
+ */
+public class Schedule {
+
+	private boolean oneOnOne;
+
+	private List<List<String>> rounds = new ArrayList<>();
+
+	private int nextRound = 0;
+
+	private Schedule() {
+	}
+
+	public Schedule(boolean oneOnOne, List<List<String>> rounds) {
+		this.oneOnOne = oneOnOne;
+		this.rounds = rounds;
+	}
+
+	public boolean isOneOnOne() {
+		return oneOnOne;
+	}
+
+	/**
+	 * @return players per game
+	 */
+	public int getSlotsPerGame() {
+		return oneOnOne ? 2 : 4;
+	}
+
+	/**
+	 * @return all rounds, including the ones already handed out
+	 */
+	public List<List<String>> getRounds() {
+		return rounds;
+	}
+
+	/**
+	 * @return index of the round handed out next
+	 */
+	public int getNextRound() {
+		return nextRound;
+	}
+
+	public void setNextRound(int nextRound) {
+		this.nextRound = nextRound;
+	}
+
+	public boolean hasNextRound() {
+		return nextRound < rounds.size();
+	}
+
+	/**
+	 * @return the next round, which is not handed out again
+	 */
+	public List<String> popNextRound() {
+		if (!hasNextRound()) {
+			throw new IllegalStateException("Schedule has no rounds left");
+		}
+		return rounds.get(nextRound++);
+	}
+
+	/**
+	 * @return deep copy, e.g. to store the schedule on another thread
+	 */
+	public Schedule copy() {
+		List<List<String>> roundsCopy = new ArrayList<>();
+		for (List<String> round : rounds) {
+			roundsCopy.add(new ArrayList<>(round));
+		}
+		Schedule copy = new Schedule(oneOnOne, roundsCopy);
+		copy.nextRound = nextRound;
+		return copy;
+	}
+
+	public String toJson() {
+		return EntityGson.get().toJson(this);
+	}
+
+	public static Schedule fromJson(String json) {
+		return EntityGson.get().fromJson(json, Schedule.class);
+	}
+}
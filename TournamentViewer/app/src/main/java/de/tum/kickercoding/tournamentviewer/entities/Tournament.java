@@ -1,9 +1,12 @@
 package de.tum.kickercoding.tournamentviewer.entities;
 
-import com.google.gson.Gson;
-
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import de.tum.kickercoding.tournamentviewer.util.TournamentMode;
 
@@ -19,6 +22,15 @@ public class Tournament {
 
 	private boolean oneOnOne = false;
 
+	// number of kicker tables at the venue, 0 if unknown (games are not assigned to tables)
+	private int tables;
+
+	// seed of the random decisions of the matchmaking, drawn when the tournament is started
+	private long seed;
+
+	// number of times the matchmaking drew games, selects the random stream of the next draw
+	private int draws;
+
 	private boolean finished = false;
 
 	private boolean semiFinalsGenerated = false;
@@ -27,6 +39,15 @@ public class Tournament {
 
 	private TournamentMode mode;
 
+	// derived from games, not serialized; built on first use
+	private transient PairHistory pairHistory;
+
+	// derived from games, not serialized; built on first use
+	private transient GameCounts gameCounts;
+
+	// derived from the elo of the players, not serialized; built on first use
+	private transient WinProbabilities winProbabilities;
+
 	public Tournament() {
 	}
 
@@ -45,6 +66,12 @@ public class Tournament {
 		// check correct game type
 		if (game.isOneOnOne() == isOneOnOne()) {
 			games.add(game);
+			if (pairHistory != null) {
+				pairHistory.addGame(game);
+			}
+			if (gameCounts != null) {
+				gameCounts.addGame(game);
+			}
 		} else {
 			throw new IllegalArgumentException(String.format("Game (1on1:%b) and Tournament (1on1:%b) differ in 1on1" +
 					" setting", game.isOneOnOne(), isOneOnOne()));
@@ -53,17 +80,73 @@ public class Tournament {
 
 	public boolean removeLastGame() {
 		if (games.size() != 0) {
-			games.remove(games.size() - 1);
+			removeGame(games.size() - 1);
 			return true;
 		} else {
 			return false;
 		}
 	}
 
+	/**
+	 * @param position
+	 * @return the removed game
+	 */
+	public Game removeGame(int position) {
+		Game game = games.remove(position);
+		if (pairHistory != null) {
+			pairHistory.removeGame(game);
+		}
+		if (gameCounts != null) {
+			gameCounts.removeGame(game);
+		}
+		return game;
+	}
+
+	/**
+	 * The games of the tournament. Games should only be added or removed by {@link #addGame(Game)} and {@link
+	 * #removeGame(int)} which keep the {@link PairHistory} and the {@link GameCounts} up to date.
+	 */
 	public List<Game> getGames() {
 		return games;
 	}
 
+	/**
+	 * @return index of the partners in all games of the tournament
+	 */
+	public PairHistory getPairHistory() {
+		if (pairHistory == null) {
+			pairHistory = new PairHistory();
+			for (Game game : games) {
+				pairHistory.addGame(game);
+			}
+		}
+		return pairHistory;
+	}
+
+	/**
+	 * @return number of games of every player in the tournament
+	 */
+	public GameCounts getGameCounts() {
+		if (gameCounts == null) {
+			gameCounts = new GameCounts();
+			for (Game game : games) {
+				gameCounts.addGame(game);
+			}
+		}
+		return gameCounts;
+	}
+
+	/**
+	 * @return win probabilities of all pairs of players; update a player after changing the elo
+	 */
+	public WinProbabilities getWinProbabilities() {
+		if (winProbabilities == null) {
+			winProbabilities = new WinProbabilities();
+			winProbabilities.update(players);
+		}
+		return winProbabilities;
+	}
+
 	public Game getGame(int position) {
 		return games.get(position);
 	}
@@ -104,6 +187,30 @@ public class Tournament {
 		return oneOnOne;
 	}
 
+	public void setTables(int tables) {
+		this.tables = tables;
+	}
+
+	public int getTables() {
+		return tables;
+	}
+
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public void setDraws(int draws) {
+		this.draws = draws;
+	}
+
+	public int getDraws() {
+		return draws;
+	}
+
 	public boolean isFinished() {
 		return finished;
 	}
@@ -136,20 +243,60 @@ public class Tournament {
 		this.mode = mode;
 	}
 
+	/**
+	 * @return deep copy, e.g. to hand the tournament to another thread; unlike a json round trip it does not
+	 * serialize anything. Participants of the games are the copied players of the tournament (as after {@link
+	 * #fromJson(String)}), the derived indexes are rebuilt on first use.
+	 */
+	public Tournament copy() {
+		Tournament copy = new Tournament();
+		Map<String, Player> copiedPlayers = new HashMap<>();
+		for (Player player : players) {
+			Player copiedPlayer = player.copy();
+			copy.players.add(copiedPlayer);
+			copiedPlayers.put(copiedPlayer.getName(), copiedPlayer);
+		}
+		for (Game game : games) {
+			copy.games.add(game.copy(copiedPlayers));
+		}
+		copy.maxScore = maxScore;
+		copy.numberOfGames = numberOfGames;
+		copy.oneOnOne = oneOnOne;
+		copy.tables = tables;
+		copy.seed = seed;
+		copy.draws = draws;
+		copy.finished = finished;
+		copy.semiFinalsGenerated = semiFinalsGenerated;
+		copy.finalGenerated = finalGenerated;
+		copy.mode = mode;
+		return copy;
+	}
 
 	/****************************
-	 * hand written (de)serialization using json
+	 * hand written (de)serialization using json, see {@link TournamentTypeAdapter}
 	 * reason: as "interface methods" of serializable would need to be wrapped into stream
 	 * parsing methods to generate the actual serialization
 	 *****************************/
 	public String toJson() {
-		Gson gson = new Gson();
-		return gson.toJson(this);
+		return EntityGson.get().toJson(this);
+	}
+
+	/**
+	 * stream the tournament to the writer without building the json string in memory
+	 */
+	public void toJson(Writer writer) throws IOException {
+		EntityGson.get().getAdapter(Tournament.class).toJson(writer, this);
 	}
 
 	public static Tournament fromJson(String gameAsJson) {
-		Gson gson = new Gson();
-		return gson.fromJson(gameAsJson, Tournament.class);
+		return EntityGson.get().fromJson(gameAsJson, Tournament.class);
+	}
+
+	/**
+	 * read the tournament directly from the reader without reading the whole json into a string first
+	 */
+	public static Tournament fromJson(Reader reader) throws IOException {
+		return EntityGson.get().getAdapter(Tournament.class).fromJson(reader);
 	}
 
 }
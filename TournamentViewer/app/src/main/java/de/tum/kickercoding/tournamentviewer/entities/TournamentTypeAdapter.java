@@ -0,0 +1,161 @@
+package de.tum.kickercoding.tournamentviewer.entities;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import de.tum.kickercoding.tournamentviewer.util.TournamentMode;
+
+/**
+ * Streaming (de)serialization of a {@link Tournament}; players and games are written one after another, so the
+ * whole tournament never has to be materialized as a String.
+ * <p>
+ * Participants of games are written as references to the players of the tournament (by name, which is unique) instead
+ * of a full copy of the player. On load they are resolved to the very same instances as in {@link
+ * Tournament#getPlayers()}. Participants who are no longer part of the tournament (e.g. removed after a committed
+ * game) are still written in full. Tournaments which were written with embedded participants are resolved the same
+ * way.
+ */
+class TournamentTypeAdapter extends TypeAdapter<Tournament> {
+
+	private final PlayerTypeAdapter playerAdapter;
+
+	private final GameTypeAdapter gameAdapter;
+
+	TournamentTypeAdapter(PlayerTypeAdapter playerAdapter, GameTypeAdapter gameAdapter) {
+		this.playerAdapter = playerAdapter;
+		this.gameAdapter = gameAdapter;
+	}
+
+	@Override
+	public void write(JsonWriter out, Tournament tournament) throws IOException {
+		if (tournament == null) {
+			out.nullValue();
+			return;
+		}
+		out.beginObject();
+		out.name("players");
+		out.beginArray();
+		Set<String> names = new HashSet<>();
+		for (Player player : tournament.getPlayers()) {
+			playerAdapter.write(out, player);
+			names.add(player.getName());
+		}
+		out.endArray();
+		out.name("games");
+		out.beginArray();
+		for (Game game : tournament.getGames()) {
+			gameAdapter.write(out, game, names);
+		}
+		out.endArray();
+		out.name("maxScore").value(tournament.getMaxScore());
+		out.name("numberOfGames").value(tournament.getNumberOfGames());
+		out.name("oneOnOne").value(tournament.isOneOnOne());
+		out.name("tables").value(tournament.getTables());
+		out.name("seed").value(tournament.getSeed());
+		out.name("draws").value(tournament.getDraws());
+		out.name("finished").value(tournament.isFinished());
+		out.name("semiFinalsGenerated").value(tournament.isSemiFinalsGenerated());
+		out.name("finalGenerated").value(tournament.isFinalGenerated());
+		if (tournament.getMode() != null) {
+			out.name("mode").value(tournament.getMode().name());
+		}
+		out.endObject();
+	}
+
+	@Override
+	public Tournament read(JsonReader in) throws IOException {
+		if (in.peek() == JsonToken.NULL) {
+			in.nextNull();
+			return null;
+		}
+		Tournament tournament = new Tournament();
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+				case "players":
+					in.beginArray();
+					while (in.hasNext()) {
+						tournament.addPlayer(playerAdapter.read(in));
+					}
+					in.endArray();
+					break;
+				case "games":
+					// games were validated when they were added, don't check them again
+					List<Game> games = tournament.getGames();
+					in.beginArray();
+					while (in.hasNext()) {
+						games.add(gameAdapter.read(in));
+					}
+					in.endArray();
+					break;
+				case "maxScore":
+					tournament.setMaxScore(in.nextInt());
+					break;
+				case "numberOfGames":
+					tournament.setNumberOfGames(in.nextInt());
+					break;
+				case "oneOnOne":
+					tournament.setOneOnOne(in.nextBoolean());
+					break;
+				case "tables":
+					tournament.setTables(in.nextInt());
+					break;
+				case "seed":
+					tournament.setSeed(in.nextLong());
+					break;
+				case "draws":
+					tournament.setDraws(in.nextInt());
+					break;
+				case "finished":
+					tournament.setFinished(in.nextBoolean());
+					break;
+				case "semiFinalsGenerated":
+					tournament.setSemiFinalsGenerated(in.nextBoolean());
+					break;
+				case "finalGenerated":
+					tournament.setFinalGenerated(in.nextBoolean());
+					break;
+				case "mode":
+					if (in.peek() == JsonToken.NULL) {
+						in.nextNull();
+					} else {
+						tournament.setMode(TournamentMode.valueOf(in.nextString()));
+					}
+					break;
+				default:
+					in.skipValue();
+			}
+		}
+		in.endObject();
+		resolveParticipants(tournament);
+		return tournament;
+	}
+
+	/**
+	 * replace participants of all games by the player instances of the tournament
+	 */
+	private static void resolveParticipants(Tournament tournament) {
+		Map<String, Player> players = new HashMap<>();
+		for (Player player : tournament.getPlayers()) {
+			players.put(player.getName(), player);
+		}
+		for (Game game : tournament.getGames()) {
+			List<Player> participants = game.getParticipants();
+			for (int i = 0;i < participants.size();i++) {
+				Player player = players.get(participants.get(i).getName());
+				if (player != null) {
+					participants.set(i, player);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package de.tum.kickercoding.tournamentviewer.entities;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+
+/**
+ * Cache of the elo win probability of every pair of players of a tournament, so matchmaking can compare the
+ * balance of many possible games without evaluating {@link Math#pow(double, double)} each time.
+ * <p>
+ * The probabilities are computed from the elo a player had at the last {@link #update(Player)}; only the row and
+ * column of an updated player are recomputed, which takes O(n). Players which were never updated are computed on
+ * the fly (without changing the cache), so reads never modify the cache and can happen on several threads at
+ * once.
+ */
+public class WinProbabilities {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private final Map<String, Integer> ids = new HashMap<>();
+
+	private double[] elos = new double[MIN_CAPACITY];
+
+	// probabilities[i][j]: player with id i beats player with id j
+	private double[][] probabilities = new double[MIN_CAPACITY][MIN_CAPACITY];
+
+	WinProbabilities() {
+	}
+
+	/**
+	 * @return expected score of player1 against player2
+	 */
+	public double get(Player player1, Player player2) {
+		Integer id1 = ids.get(player1.getName());
+		Integer id2 = ids.get(player2.getName());
+		if (id1 == null || id2 == null || elos[id1] != player1.getElo() || elos[id2] != player2.getElo()) {
+			return probability(player1.getElo(), player2.getElo());
+		}
+		return probabilities[id1][id2];
+	}
+
+	/**
+	 * @return expected score of team1 against team2: the mean over all pairs of opposing players
+	 */
+	public double getExpectedScore(List<Player> team1, List<Player> team2) {
+		double sum = 0;
+		for (Player player1 : team1) {
+			for (Player player2 : team2) {
+				sum += get(player1, player2);
+			}
+		}
+		return sum / (team1.size() * team2.size());
+	}
+
+	/**
+	 * recompute the probabilities of the player with the current elo, if it changed
+	 */
+	public void update(Player player) {
+		Integer id = ids.get(player.getName());
+		if (id == null) {
+			id = ids.size();
+			ids.put(player.getName(), id);
+			ensureCapacity(id + 1);
+		} else if (elos[id] == player.getElo()) {
+			return;
+		}
+		double elo = player.getElo();
+		elos[id] = elo;
+		for (int other = 0;other < ids.size();other++) {
+			probabilities[id][other] = probability(elo, elos[other]);
+			probabilities[other][id] = 1 - probabilities[id][other];
+		}
+	}
+
+	/**
+	 * {@link #update(Player)} all given players, only players whose elo changed are recomputed
+	 */
+	public void update(List<Player> players) {
+		for (Player player : players) {
+			update(player);
+		}
+	}
+
+	private void ensureCapacity(int size) {
+		int capacity = elos.length;
+		if (size <= capacity) {
+			return;
+		}
+		while (capacity < size) {
+			capacity *= 2;
+		}
+		double[] newElos = new double[capacity];
+		System.arraycopy(elos, 0, newElos, 0, elos.length);
+		double[][] newProbabilities = new double[capacity][capacity];
+		for (int i = 0;i < elos.length;i++) {
+			System.arraycopy(probabilities[i], 0, newProbabilities[i], 0, elos.length);
+		}
+		elos = newElos;
+		probabilities = newProbabilities;
+	}
+
+	/**
+	 * elo expected score, see {@link de.tum.kickercoding.tournamentviewer.util.Utils#calculateEloAfterGame(Game)}
+	 */
+	private static double probability(double elo1, double elo2) {
+		return 1 / (1 + Math.pow(10, (elo2 - elo1) / Constants.FACTOR_TEN_THRESHOLD));
+	}
+}
@@ -5,4 +5,8 @@ public class PreferenceFileManagerException extends Exception {
 	public PreferenceFileManagerException(String message) {
 		super(message);
 	}
+
+	public PreferenceFileManagerException(String message, Throwable cause) {
+		super(message, cause);
+	}
 }
\ No newline at end of file
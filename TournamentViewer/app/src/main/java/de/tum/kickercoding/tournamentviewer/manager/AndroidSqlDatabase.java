@@ -0,0 +1,119 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+import java.io.IOException;
+
+/**
+ * {@link SqlDatabase} on top of the SQLite database of the Android platform. The schema is created by the {@link
+ * SqliteStorageBackend}.
+ */
+class AndroidSqlDatabase extends SQLiteOpenHelper implements SqlDatabase {
+
+	private static final int DATABASE_VERSION = 1;
+
+	AndroidSqlDatabase(Context context, String name) {
+		super(context, name, null, DATABASE_VERSION);
+	}
+
+	@Override
+	public void onCreate(SQLiteDatabase db) {
+	}
+
+	@Override
+	public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+	}
+
+	@Override
+	public void execute(String sql, Object... args) throws IOException {
+		try {
+			getWritableDatabase().execSQL(sql, args);
+		} catch (SQLException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public SqlCursor query(String sql, Object... args) throws IOException {
+		String[] selectionArgs = new String[args.length];
+		for (int i = 0;i < args.length;i++) {
+			selectionArgs[i] = String.valueOf(args[i]);
+		}
+		try {
+			return new AndroidCursor(getWritableDatabase().rawQuery(sql, selectionArgs));
+		} catch (SQLException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public void beginTransaction() throws IOException {
+		try {
+			getWritableDatabase().beginTransaction();
+		} catch (SQLException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public void setTransactionSuccessful() {
+		getWritableDatabase().setTransactionSuccessful();
+	}
+
+	@Override
+	public void endTransaction() throws IOException {
+		try {
+			getWritableDatabase().endTransaction();
+		} catch (SQLException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	private static class AndroidCursor implements SqlCursor {
+
+		private final Cursor cursor;
+
+		AndroidCursor(Cursor cursor) {
+			this.cursor = cursor;
+		}
+
+		@Override
+		public boolean moveToNext() {
+			return cursor.moveToNext();
+		}
+
+		@Override
+		public int getInt(int column) {
+			return cursor.getInt(column);
+		}
+
+		@Override
+		public long getLong(int column) {
+			return cursor.getLong(column);
+		}
+
+		@Override
+		public double getDouble(int column) {
+			return cursor.getDouble(column);
+		}
+
+		@Override
+		public String getString(int column) {
+			return cursor.getString(column);
+		}
+
+		@Override
+		public boolean isNull(int column) {
+			return cursor.isNull(column);
+		}
+
+		@Override
+		public void close() {
+			cursor.close();
+		}
+	}
+}
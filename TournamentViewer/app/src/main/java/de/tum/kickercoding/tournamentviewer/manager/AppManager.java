@@ -8,11 +8,13 @@ import java.util.List;
 
 import de.tum.kickercoding.tournamentviewer.entities.Game;
 import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.PlayerSummary;
 import de.tum.kickercoding.tournamentviewer.exceptions.AppManagerException;
 import de.tum.kickercoding.tournamentviewer.exceptions.PlayerManagerException;
 import de.tum.kickercoding.tournamentviewer.exceptions.PreferenceFileManagerException;
 import de.tum.kickercoding.tournamentviewer.exceptions.TournamentManagerException;
 import de.tum.kickercoding.tournamentviewer.util.Constants;
+import de.tum.kickercoding.tournamentviewer.util.MatchmakingAlgorithm;
 import de.tum.kickercoding.tournamentviewer.util.TournamentMode;
 
 /**
@@ -87,7 +89,6 @@ public class AppManager {
 		// propagating to DB is done in method (TODO: extract this)
 		playerManager.removePlayer(name);
 		// removes player from tournament as well (to prevent inconsistency)
-		tournamentManager.loadTournament();
 		try {
 			tournamentManager.removePlayer(name);
 		} catch (TournamentManagerException e) {
@@ -119,6 +120,40 @@ public class AppManager {
 		return playersCopied;
 	}
 
+	/**
+	 * retrieve all players available ranked by elo, e.g. for the ladder
+	 *
+	 * @return copies of all players, highest elo first
+	 */
+	public List<Player> getPlayersByElo() {
+		return playerManager.getTopPlayersByElo(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * retrieve name and elo of all players available, e.g. for lists of players; use {@link #getPlayer(String)} to
+	 * get the details of a single player
+	 *
+	 * @return summaries of all players, ordered by name
+	 */
+	public List<PlayerSummary> getPlayerSummaries() {
+		return playerManager.getPlayerSummaries();
+	}
+
+	/**
+	 * retrieve a single player with all details
+	 *
+	 * @param name: name of the player
+	 * @return copy of the player (no reference to the internal list of {@link PlayerManager}
+	 * @throws AppManagerException if there is no such player
+	 */
+	public Player getPlayer(String name) throws AppManagerException {
+		try {
+			return playerManager.getPlayer(name);
+		} catch (PlayerManagerException e) {
+			throw new AppManagerException(e.getMessage());
+		}
+	}
+
 //	/**
 //	 * get player from specific position of player list
 //	 *
@@ -135,13 +170,11 @@ public class AppManager {
 //	}
 
 	public void setOneOnOne(boolean oneOnOne) {
-		tournamentManager.loadTournament();
 		tournamentManager.setOneOnOne(oneOnOne);
 		tournamentManager.saveTournament();
 	}
 
 	public boolean isOneOnOne() {
-		tournamentManager.loadTournament();
 		return tournamentManager.isOneOnOne();
 	}
 
@@ -166,7 +199,6 @@ public class AppManager {
 	 * @throws AppManagerException
 	 */
 	public int getMaxScoreFromTournament() {
-		tournamentManager.loadTournament();
 		return tournamentManager.getMaxScore();
 	}
 
@@ -212,13 +244,103 @@ public class AppManager {
 		}
 	}
 
+	/**
+	 * load number of kicker tables from settings
+	 *
+	 * @return the currently set number of tables, 0 if games are not assigned to tables
+	 * @throws AppManagerException
+	 */
+	public int getTables() throws AppManagerException {
+		try {
+			return preferenceFileManager.loadTables();
+		} catch (PreferenceFileManagerException e) {
+			throw new AppManagerException(e.getMessage());
+		}
+	}
+
+	/**
+	 * save number of kicker tables to settings
+	 *
+	 * @param tables
+	 * @throws AppManagerException
+	 */
+	public void setTables(int tables) throws AppManagerException {
+		try {
+			preferenceFileManager.saveTables(tables);
+		} catch (PreferenceFileManagerException e) {
+			throw new AppManagerException(e.getMessage());
+		}
+	}
+
+	/**
+	 * load matchmaking algorithm from settings
+	 *
+	 * @return the currently set matchmaking algorithm
+	 * @throws AppManagerException
+	 */
+	public MatchmakingAlgorithm getMatchmakingAlgorithm() throws AppManagerException {
+		try {
+			return preferenceFileManager.loadMatchmakingAlgorithm();
+		} catch (PreferenceFileManagerException e) {
+			throw new AppManagerException(e.getMessage());
+		}
+	}
+
+	/**
+	 * save matchmaking algorithm to settings; used from the next generated game on
+	 *
+	 * @param algorithm
+	 * @throws AppManagerException
+	 */
+	public void setMatchmakingAlgorithm(MatchmakingAlgorithm algorithm) throws AppManagerException {
+		try {
+			preferenceFileManager.saveMatchmakingAlgorithm(algorithm);
+			tournamentManager.resetMatchmaking();
+		} catch (PreferenceFileManagerException e) {
+			throw new AppManagerException(e.getMessage());
+		}
+	}
+
+	/**
+	 * save the candidate round search of {@link MatchmakingAlgorithm#MONTE_CARLO} to settings; used from the next
+	 * generated game on
+	 *
+	 * @param candidateRounds    maximal number of candidate rounds
+	 * @param searchBudgetMillis time after which no further candidate rounds are drawn
+	 * @throws AppManagerException
+	 */
+	public void setCandidateSearch(int candidateRounds, long searchBudgetMillis) throws AppManagerException {
+		try {
+			preferenceFileManager.saveCandidateRounds(candidateRounds);
+			preferenceFileManager.saveCandidateSearchBudgetMillis(searchBudgetMillis);
+			tournamentManager.resetMatchmaking();
+		} catch (PreferenceFileManagerException e) {
+			throw new AppManagerException(e.getMessage());
+		}
+	}
+
+	/**
+	 * save the time {@link MatchmakingAlgorithm#ANNEALING} spends on a round to settings; used from the next
+	 * generated game on
+	 *
+	 * @param budgetMillis
+	 * @throws AppManagerException
+	 */
+	public void setAnnealingBudgetMillis(long budgetMillis) throws AppManagerException {
+		try {
+			preferenceFileManager.saveAnnealingBudgetMillis(budgetMillis);
+			tournamentManager.resetMatchmaking();
+		} catch (PreferenceFileManagerException e) {
+			throw new AppManagerException(e.getMessage());
+		}
+	}
+
 	/**
 	 * initialize tournament
 	 *
 	 * @throws AppManagerException
 	 */
 	public void setTournamentParameters() throws AppManagerException {
-		tournamentManager.loadTournament();
 		try {
 			tournamentManager.setTournamentParameters();
 		} catch (TournamentManagerException e) {
@@ -227,13 +349,32 @@ public class AppManager {
 		tournamentManager.saveTournament();
 	}
 
+	/**
+	 * start the tournament once the players signed up, e.g. computes the schedule of the matchmaking
+	 */
+	public void startTournament() {
+		tournamentManager.startSchedule();
+		tournamentManager.saveTournament();
+	}
+
+	/**
+	 * @param rounds number of rounds computed at the start of the tournament (algorithm SCHEDULE)
+	 * @throws AppManagerException
+	 */
+	public void setScheduleRounds(int rounds) throws AppManagerException {
+		try {
+			preferenceFileManager.saveScheduleRounds(rounds);
+		} catch (PreferenceFileManagerException e) {
+			throw new AppManagerException(e.getMessage());
+		}
+	}
+
 	/**
 	 * Finishes up the tournament, write changes to players to permanent storage
 	 *
 	 * @throws AppManagerException
 	 */
 	public void finishTournament() throws AppManagerException {
-		tournamentManager.loadTournament();
 		playerManager.loadPlayerList();
 		try {
 			tournamentManager.finishTournament();
@@ -245,7 +386,15 @@ public class AppManager {
 			throw new AppManagerException(e.getMessage());
 		}
 		playerManager.savePlayerList();
-		tournamentManager.saveTournament();
+		tournamentManager.flush();
+	}
+
+	/**
+	 * Blocks until all changes of the tournament are written to permanent storage; call when the app might be
+	 * stopped (e.g. onPause)
+	 */
+	public void flush() {
+		tournamentManager.flush();
 	}
 
 	/**
@@ -253,23 +402,21 @@ public class AppManager {
 	 * tournament is greater than zero.
 	 */
 	public boolean isTournamentInProgress() {
-		tournamentManager.loadTournament();
 		return tournamentManager.isTournamentInProgress();
 	}
 
 	/**
 	 * adds player to tournament or removes player if already signed up
 	 *
-	 * @param player
+	 * @param name: name of the player
 	 * @return true if player signed up as result of pressing button, false otherwise
 	 * @throws AppManagerException
 	 */
-	public boolean toggleParticipation(Player player) throws AppManagerException {
-		tournamentManager.loadTournament();
+	public boolean toggleParticipation(String name) throws AppManagerException {
 		boolean playerInTournament;
 		try {
-			playerInTournament = tournamentManager.toggleParticipation(player);
-		} catch (TournamentManagerException e) {
+			playerInTournament = tournamentManager.toggleParticipation(playerManager.getPlayer(name));
+		} catch (TournamentManagerException | PlayerManagerException e) {
 			throw new AppManagerException(e.getMessage());
 		}
 		tournamentManager.saveTournament();
@@ -282,7 +429,6 @@ public class AppManager {
 	 * @throws AppManagerException
 	 */
 	public void commitGameResults() throws AppManagerException {
-		tournamentManager.loadTournament();
 		try {
 			tournamentManager.commitGames();
 		} catch (TournamentManagerException e) {
@@ -292,7 +438,6 @@ public class AppManager {
 	}
 
 	public void revertGame(int position) throws AppManagerException {
-		tournamentManager.loadTournament();
 		try {
 			tournamentManager.revertGame(position);
 		} catch (TournamentManagerException e) {
@@ -302,7 +447,6 @@ public class AppManager {
 	}
 
 	public void removeGame(int position) throws AppManagerException {
-		tournamentManager.loadTournament();
 		try {
 			tournamentManager.removeGame(position);
 		} catch (TournamentManagerException e) {
@@ -318,17 +462,14 @@ public class AppManager {
 	 * @return true if player is signed up, false else
 	 */
 	public boolean isSignedUp(String player) {
-		tournamentManager.loadTournament();
 		return tournamentManager.isSignedUp(player);
 	}
 
 	public List<Player> getPlayersForTournament() {
-		tournamentManager.loadTournament();
 		return tournamentManager.getPlayers();
 	}
 
 	public List<Game> getGamesForTournament() {
-		tournamentManager.loadTournament();
 		return tournamentManager.getGames();
 	}
 
@@ -338,7 +479,6 @@ public class AppManager {
 	 * @throws AppManagerException
 	 */
 	public void generateGame() throws AppManagerException {
-		tournamentManager.loadTournament();
 		try {
 			tournamentManager.generateGame();
 		} catch (TournamentManagerException e) {
@@ -348,12 +488,12 @@ public class AppManager {
 	}
 
 	/**
-	 * generate as many games as possible such that each player participates in at most one game
+	 * generate as many games as possible such that each player participates in at most one game; if the number of
+	 * tables is set, only the next wave (one game per table) of such a round is generated
 	 *
 	 * @throws AppManagerException
 	 */
 	public void generateRound() throws AppManagerException {
-		tournamentManager.loadTournament();
 		try {
 			tournamentManager.generateRound();
 		} catch (TournamentManagerException e) {
@@ -363,7 +503,6 @@ public class AppManager {
 	}
 
 	public void generatePlayoffs() throws AppManagerException {
-		tournamentManager.loadTournament();
 		try {
 			tournamentManager.generatePlayoffs();
 		} catch (TournamentManagerException e) {
@@ -373,7 +512,8 @@ public class AppManager {
 	}
 
 	/**
-	 * finish up a game, making it eligible for commitment of results
+	 * finish up a game, making it eligible for commitment of results; with the matchmaking algorithm ROLLING the
+	 * next game for its table is generated right away
 	 *
 	 * @param position
 	 * @param scoreTeam1
@@ -381,7 +521,6 @@ public class AppManager {
 	 * @throws AppManagerException
 	 */
 	public void finalizeGame(int position, int scoreTeam1, int scoreTeam2) throws AppManagerException {
-		tournamentManager.loadTournament();
 		try {
 			tournamentManager.finalizeGame(position, scoreTeam1, scoreTeam2);
 		} catch (TournamentManagerException e) {
@@ -0,0 +1,298 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import android.content.SharedPreferences;
+
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import de.tum.kickercoding.tournamentviewer.entities.EntityGson;
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.PartnerArchive;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.PlayerSummary;
+import de.tum.kickercoding.tournamentviewer.entities.Schedule;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+
+/**
+ * Stores players in the {@link PlayerStore} (the {@link PartnerArchive} in a binary file next to it) and the
+ * tournament in the {@link TournamentJournal} (its schedule as json next to it), all in the files directory of the
+ * app. Data of older versions is migrated from the SharedPreferences on first access. Queries are answered in
+ * memory.
+ */
+class FileStorageBackend implements StorageBackend {
+
+	private static final String CHARSET = "UTF-8";
+
+	// partner archive: header (magic number, version, number of pairs), then per pair: long key, int weight
+	private static final int PARTNER_ARCHIVE_MAGIC = 0x4B504152;
+
+	private static final int PARTNER_ARCHIVE_VERSION = 1;
+
+	private final PlayerStore playerStore;
+
+	private final TournamentJournal tournamentJournal;
+
+	private final File scheduleFile;
+
+	private final File partnerArchiveFile;
+
+	private final SharedPreferences legacyPlayers;
+
+	private final SharedPreferences legacyTournament;
+
+	/**
+	 * @param directory        directory of the player store and the tournament journal
+	 * @param legacyPlayers    preferences players were stored in by older versions
+	 * @param legacyTournament preferences the tournament was stored in by older versions
+	 */
+	FileStorageBackend(File directory, SharedPreferences legacyPlayers, SharedPreferences legacyTournament) {
+		this.playerStore = new PlayerStore(directory);
+		this.tournamentJournal = new TournamentJournal(directory);
+		this.scheduleFile = new File(directory, Constants.FILE_TOURNAMENT_SCHEDULE);
+		this.partnerArchiveFile = new File(directory, Constants.FILE_PARTNER_ARCHIVE);
+		this.legacyPlayers = legacyPlayers;
+		this.legacyTournament = legacyTournament;
+	}
+
+	@Override
+	public List<Player> loadPlayers() throws IOException {
+		migrateLegacyPlayers();
+		return playerStore.getPlayers();
+	}
+
+	@Override
+	public List<PlayerSummary> loadPlayerSummaries() throws IOException {
+		migrateLegacyPlayers();
+		List<PlayerSummary> summaries = playerStore.getSummaries();
+		Collections.sort(summaries);
+		return summaries;
+	}
+
+	@Override
+	public Player loadPlayer(String name) throws IOException {
+		migrateLegacyPlayers();
+		return playerStore.get(name);
+	}
+
+	@Override
+	public void savePlayers(Collection<Player> players) throws IOException {
+		migrateLegacyPlayers();
+		playerStore.saveAll(players);
+	}
+
+	@Override
+	public void removePlayer(String name) throws IOException {
+		migrateLegacyPlayers();
+		playerStore.remove(name);
+	}
+
+	@Override
+	public List<Player> getTopPlayersByElo(int limit) throws IOException {
+		List<Player> players = loadPlayers();
+		Collections.sort(players, new Comparator<Player>() {
+			@Override
+			public int compare(Player p1, Player p2) {
+				int result = Double.compare(p2.getElo(), p1.getElo());
+				return result != 0 ? result : p1.getName().compareTo(p2.getName());
+			}
+		});
+		return new ArrayList<>(players.subList(0, Math.min(limit, players.size())));
+	}
+
+	@Override
+	public PartnerArchive loadPartnerArchive() throws IOException {
+		PartnerArchive partnerArchive = new PartnerArchive();
+		if (!partnerArchiveFile.exists()) {
+			return partnerArchive;
+		}
+		DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(partnerArchiveFile)));
+		try {
+			if (input.readInt() != PARTNER_ARCHIVE_MAGIC || input.readInt() != PARTNER_ARCHIVE_VERSION) {
+				throw new IOException("Unknown partner archive format " + partnerArchiveFile.getPath());
+			}
+			int pairs = input.readInt();
+			for (int i = 0;i < pairs;i++) {
+				long key = input.readLong();
+				partnerArchive.setWeight(key, input.readInt());
+			}
+		} finally {
+			input.close();
+		}
+		return partnerArchive;
+	}
+
+	@Override
+	public void savePartnerArchive(PartnerArchive partnerArchive) throws IOException {
+		File tempFile = new File(partnerArchiveFile.getPath() + ".tmp");
+		FileOutputStream outputStream = new FileOutputStream(tempFile);
+		try {
+			DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+			long[] keys = partnerArchive.getPairKeys();
+			output.writeInt(PARTNER_ARCHIVE_MAGIC);
+			output.writeInt(PARTNER_ARCHIVE_VERSION);
+			output.writeInt(keys.length);
+			for (long key : keys) {
+				output.writeLong(key);
+				output.writeInt(partnerArchive.getWeight(key));
+			}
+			output.flush();
+			outputStream.getFD().sync();
+		} finally {
+			outputStream.close();
+		}
+		if (!tempFile.renameTo(partnerArchiveFile)) {
+			throw new IOException("Could not replace partner archive " + partnerArchiveFile.getPath());
+		}
+	}
+
+	@Override
+	public Tournament loadTournament() throws IOException {
+		Tournament tournament = tournamentJournal.load();
+		if (tournament == null) {
+			tournament = migrateLegacyTournament();
+		}
+		return tournament;
+	}
+
+	@Override
+	public void saveTournament(Tournament tournament) throws IOException {
+		tournamentJournal.writeSnapshot(tournament);
+	}
+
+	@Override
+	public void appendTournamentEvents(List<TournamentEvent> events) throws IOException {
+		tournamentJournal.append(events);
+	}
+
+	@Override
+	public boolean isTournamentSnapshotDue() {
+		return tournamentJournal.isSnapshotDue();
+	}
+
+	@Override
+	public RecoveryReport getTournamentRecoveryReport() {
+		return tournamentJournal.getLastRecovery();
+	}
+
+	/**
+	 * reads the stored tournament without recovering or migrating it, so the journal can still be appended to
+	 * (e.g. by the {@link PersistenceExecutor}) while the games are searched
+	 */
+	@Override
+	public List<Game> getGamesOfPlayer(String name) throws IOException {
+		List<Game> games = new ArrayList<>();
+		Tournament tournament = tournamentJournal.read();
+		if (tournament == null) {
+			tournament = readLegacyTournament();
+		}
+		if (tournament == null) {
+			return games;
+		}
+		Player player = new Player(name);
+		for (Game game : tournament.getGames()) {
+			if (game.getParticipants().contains(player)) {
+				games.add(game);
+			}
+		}
+		return games;
+	}
+
+	@Override
+	public Schedule loadSchedule() throws IOException {
+		if (!scheduleFile.exists()) {
+			return null;
+		}
+		BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(scheduleFile),
+				CHARSET));
+		try {
+			return EntityGson.get().fromJson(reader, Schedule.class);
+		} catch (JsonParseException e) {
+			throw new IOException("Corrupt schedule " + scheduleFile.getPath(), e);
+		} finally {
+			reader.close();
+		}
+	}
+
+	@Override
+	public void saveSchedule(Schedule schedule) throws IOException {
+		if (schedule == null) {
+			if (scheduleFile.exists() && !scheduleFile.delete()) {
+				throw new IOException("Could not remove schedule " + scheduleFile.getPath());
+			}
+			return;
+		}
+		File tempFile = new File(scheduleFile.getPath() + ".tmp");
+		FileOutputStream outputStream = new FileOutputStream(tempFile);
+		try {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, CHARSET));
+			EntityGson.get().toJson(schedule, writer);
+			writer.flush();
+			outputStream.getFD().sync();
+		} finally {
+			outputStream.close();
+		}
+		if (!tempFile.renameTo(scheduleFile)) {
+			throw new IOException("Could not replace schedule " + scheduleFile.getPath());
+		}
+	}
+
+	/**
+	 * players used to be stored as one json string per player in the preferences, move them to the player store
+	 */
+	private void migrateLegacyPlayers() throws IOException {
+		if (!playerStore.isEmpty()) {
+			return;
+		}
+		List<Player> players = new ArrayList<>();
+		for (Object playerAsObject : legacyPlayers.getAll().values()) {
+			players.add(Player.fromJson((String) playerAsObject));
+		}
+		playerStore.rewrite(players);
+		legacyPlayers.edit().clear().apply();
+	}
+
+	/**
+	 * tournaments used to be stored as a single json string in the preferences, move it to the journal
+	 *
+	 * @return the stored tournament or null if there is none
+	 */
+	private Tournament migrateLegacyTournament() throws IOException {
+		Tournament tournament = readLegacyTournament();
+		if (tournament == null) {
+			return null;
+		}
+		saveTournament(tournament);
+		legacyTournament.edit().remove(Constants.VAR_CURRENT_TOURNAMENT).apply();
+		return tournament;
+	}
+
+	/**
+	 * @return the tournament stored in the preferences by older versions or null if there is none
+	 */
+	private Tournament readLegacyTournament() {
+		String tournamentAsJson = legacyTournament.getString(Constants.VAR_CURRENT_TOURNAMENT, null);
+		if (tournamentAsJson == null) {
+			return null;
+		}
+		return Tournament.fromJson(tournamentAsJson);
+	}
+}
@@ -0,0 +1,213 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.exceptions.PreferenceFileManagerException;
+
+/**
+ * Writes the running tournament on a single background thread, so no serialization or disk access happens on the
+ * UI thread.
+ * <p>
+ * The UI thread only hands over the {@link TournamentEvent}s of a change ({@link #save(List)}). Saves which are
+ * requested while a write is still pending are coalesced: the next write takes all events queued so far. The
+ * background thread keeps its own replica of the tournament which it builds by applying the events, so snapshots
+ * are serialized from the replica and never from the instance the UI thread is changing.
+ * <p>
+ * If an event does not fit the replica, the replica is discarded and nothing is written until the tournament is
+ * replaced again; the owner learns about it through {@link #takeReplicaLost()}.
+ * <p>
+ * {@link #flush()} blocks until everything requested so far was written (e.g. before the app is paused).
+ */
+class PersistenceExecutor {
+
+	private static final String LOG_TAG = PersistenceExecutor.class.toString();
+
+	/**
+	 * where the tournament is written to; implemented by {@link PreferenceFileManager}
+	 */
+	interface TournamentStore {
+
+		void saveTournament(Tournament tournament) throws PreferenceFileManagerException;
+
+		void appendTournamentEvents(List<TournamentEvent> events) throws PreferenceFileManagerException;
+
+		boolean isTournamentSnapshotDue();
+	}
+
+	private final TournamentStore store;
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "tournament-persistence");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	private final Object lock = new Object();
+
+	// guarded by lock
+	private List<TournamentEvent> queuedEvents = new ArrayList<>();
+
+	// guarded by lock; replaces the replica before queued events are applied
+	private Tournament replacement;
+
+	// guarded by lock
+	private boolean replacementNeedsSnapshot = false;
+
+	// guarded by lock
+	private boolean writeScheduled = false;
+
+	// only accessed by the background thread
+	private Tournament replica;
+
+	// only accessed by the background thread
+	private boolean snapshotRequired = false;
+
+	// set by the background thread if the replica was discarded, see takeReplicaLost()
+	private final AtomicBoolean replicaLost = new AtomicBoolean(false);
+
+	private final AtomicLong savesRequested = new AtomicLong();
+
+	private final AtomicLong savesPerformed = new AtomicLong();
+
+	private final Runnable writeTask = new Runnable() {
+		@Override
+		public void run() {
+			write();
+		}
+	};
+
+	PersistenceExecutor(TournamentStore store) {
+		this.store = store;
+	}
+
+	/**
+	 * Replace the tournament as a whole (new or reloaded tournament). Changes queued so far are dropped, they are
+	 * contained in the new tournament.
+	 *
+	 * @param tournament    copy of the tournament which is owned by the executor from now on
+	 * @param writeSnapshot true if the tournament is not yet in permanent storage; the next write stores a snapshot
+	 */
+	void replace(Tournament tournament, boolean writeSnapshot) {
+		synchronized (lock) {
+			replacement = tournament;
+			replacementNeedsSnapshot = replacementNeedsSnapshot || writeSnapshot;
+			queuedEvents = new ArrayList<>();
+		}
+	}
+
+	/**
+	 * request to write the given changes; returns immediately
+	 *
+	 * @param events changes since the last save, must not be modified afterwards
+	 */
+	void save(List<TournamentEvent> events) {
+		savesRequested.incrementAndGet();
+		synchronized (lock) {
+			if (events.isEmpty() && replacement == null) {
+				return;
+			}
+			queuedEvents.addAll(events);
+			if (writeScheduled) {
+				// coalesced with the pending write
+				return;
+			}
+			writeScheduled = true;
+		}
+		executor.execute(writeTask);
+	}
+
+	/**
+	 * wait until all saves requested so far are written
+	 */
+	void flush() {
+		Future<?> barrier = executor.submit(writeTask);
+		try {
+			barrier.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			Log.e(LOG_TAG, "flush: " + e.getCause());
+		}
+		Log.d(LOG_TAG, String.format("flush: %d saves requested, %d performed", savesRequested.get(),
+				savesPerformed.get()));
+	}
+
+	/**
+	 * Check whether the replica was discarded because an event did not fit it. Events written on top of a diverged
+	 * replica could not be replayed, so nothing is written until the caller hands over a fresh copy with
+	 * {@link #replace(Tournament, boolean)} and a snapshot.
+	 *
+	 * @return true if the replica was discarded since the last call
+	 */
+	boolean takeReplicaLost() {
+		return replicaLost.getAndSet(false);
+	}
+
+	long getSavesRequested() {
+		return savesRequested.get();
+	}
+
+	long getSavesPerformed() {
+		return savesPerformed.get();
+	}
+
+	/**
+	 * runs on the background thread
+	 */
+	private void write() {
+		List<TournamentEvent> events;
+		synchronized (lock) {
+			writeScheduled = false;
+			if (replacement != null) {
+				replica = replacement;
+				replacement = null;
+				snapshotRequired = snapshotRequired || replacementNeedsSnapshot;
+				replacementNeedsSnapshot = false;
+			}
+			events = queuedEvents;
+			queuedEvents = new ArrayList<>();
+		}
+		if (replica == null || (events.isEmpty() && !snapshotRequired)) {
+			return;
+		}
+		for (TournamentEvent event : events) {
+			try {
+				event.apply(replica);
+			} catch (IllegalStateException e) {
+				Log.e(LOG_TAG, "write: replica out of sync, waiting for a new snapshot; cause:" + e.getMessage());
+				// the journal could not be replayed past this event, so neither append nor snapshot the replica
+				replica = null;
+				snapshotRequired = false;
+				replicaLost.set(true);
+				return;
+			}
+		}
+		try {
+			if (snapshotRequired || store.isTournamentSnapshotDue()) {
+				store.saveTournament(replica);
+				snapshotRequired = false;
+			} else {
+				store.appendTournamentEvents(events);
+			}
+			savesPerformed.incrementAndGet();
+		} catch (PreferenceFileManagerException e) {
+			Log.e(LOG_TAG, "Couldn't save tournament; unstable state; cause:" + e.getMessage());
+			// the journal might be missing events now, make sure the next save writes everything
+			snapshotRequired = true;
+		}
+	}
+}
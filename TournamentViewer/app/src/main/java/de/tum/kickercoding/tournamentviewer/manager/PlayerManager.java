@@ -4,17 +4,24 @@ import android.util.Log;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.PlayerSummary;
 import de.tum.kickercoding.tournamentviewer.exceptions.PlayerManagerException;
 import de.tum.kickercoding.tournamentviewer.exceptions.PreferenceFileManagerException;
+import de.tum.kickercoding.tournamentviewer.util.Utils;
 
 class PlayerManager {
 
 	private static final String LOG_TAG = PlayerManager.class.toString();
 	private static PlayerManager instance = new PlayerManager();
+	// complete player list; loaded on first use, lists showing only names use summaries instead
 	private List<Player> players;
+	// names of players which were changed since the last save
+	private Set<String> dirtyPlayers = new LinkedHashSet<>();
 	private boolean isInitialized = false;
 
 	private PlayerManager() {
@@ -33,30 +40,41 @@ class PlayerManager {
 	}
 
 	/**
-	 * Initialization (should be called after instantiation)
-	 *
-	 * @throws PreferenceFileManagerException
+	 * Initialization (should be called after instantiation); the player list is loaded lazily
 	 */
 	void initialize() {
-		loadPlayerList();
 		isInitialized = true;
-		savePlayerList();
 	}
 
 	/**
-	 * commits the current player list with all its changes to the preference file
+	 * commits all changed players of the player list to the preference file (in a single write)
 	 */
 	void savePlayerList() {
+		if (dirtyPlayers.isEmpty()) {
+			return;
+		}
+		List<Player> changedPlayers = new ArrayList<>();
 		for (Player p : players) {
-			try {
-				PreferenceFileManager.getInstance().savePlayer(p);
-			} catch (PreferenceFileManagerException e) {
-				Log.e(LOG_TAG, "couldn't save players; unstable state; " + e.getMessage());
+			if (dirtyPlayers.contains(p.getName())) {
+				changedPlayers.add(p);
 			}
 		}
+		try {
+			PreferenceFileManager.getInstance().savePlayers(changedPlayers);
+			dirtyPlayers.clear();
+		} catch (PreferenceFileManagerException e) {
+			Log.e(LOG_TAG, "couldn't save players; unstable state; " + e.getMessage());
+		}
 	}
 
+	/**
+	 * reload the player list from the preference file; skipped while there are unsaved changes, as the list in
+	 * memory is newer than the stored one
+	 */
 	void loadPlayerList() {
+		if (!dirtyPlayers.isEmpty()) {
+			return;
+		}
 		try {
 			players = PreferenceFileManager.getInstance().getPlayerList();
 		} catch (PreferenceFileManagerException e) {
@@ -79,16 +97,21 @@ class PlayerManager {
 		}
 		players.add(newPlayer);
 		Collections.sort(players);
-		savePlayerList();
+		dirtyPlayers.add(name);
 	}
 
-
+	/**
+	 * Replace a {@link Player} of the player list; the change is written by the next {@link #savePlayerList()}.
+	 *
+	 * @param playerToUpdate
+	 * @throws PlayerManagerException If no {@link Player} with the same name exists.
+	 */
 	void updatePlayer(Player playerToUpdate) throws PlayerManagerException {
 		loadPlayerList();
 		for (int i = 0;i < players.size();i++) {
 			if (players.get(i).equals(playerToUpdate)) {
 				players.set(i, playerToUpdate);
-				savePlayerList();
+				dirtyPlayers.add(playerToUpdate.getName());
 				return;
 			}
 		}
@@ -105,7 +128,8 @@ class PlayerManager {
 	boolean removePlayer(String name) {
 		// players with same name are considered equal, see player.equals()
 		Player dummyPlayer = new Player(name);
-		boolean playerRemoved = players.remove(dummyPlayer);
+		boolean playerRemoved = players != null && players.remove(dummyPlayer);
+		dirtyPlayers.remove(name);
 		try {
 			PreferenceFileManager.getInstance().removePlayer(name);
 		} catch (PreferenceFileManagerException e) {
@@ -135,6 +159,76 @@ class PlayerManager {
 		return players;
 	}
 
+	/**
+	 * @return name and elo of all registered players, ordered by name; unlike {@link #getPlayers()} the complete
+	 * players are not loaded
+	 */
+	List<PlayerSummary> getPlayerSummaries() {
+		List<PlayerSummary> summaries = new ArrayList<>();
+		if (!dirtyPlayers.isEmpty()) {
+			// unsaved changes, the list in memory is newer than the stored one
+			for (Player player : players) {
+				summaries.add(PlayerSummary.of(player));
+			}
+			Collections.sort(summaries);
+			return summaries;
+		}
+		try {
+			summaries = PreferenceFileManager.getInstance().getPlayerSummaries();
+		} catch (PreferenceFileManagerException e) {
+			Log.e(LOG_TAG, "couldn't load players; unstable state; " + e.getMessage());
+		}
+		return summaries;
+	}
+
+	/**
+	 * @param limit maximum number of players
+	 * @return copies of the registered players with the highest elo, best first (ties by name); queried from the
+	 * preference file unless there are unsaved changes
+	 */
+	List<Player> getTopPlayersByElo(int limit) {
+		List<Player> topPlayers = new ArrayList<>();
+		if (!dirtyPlayers.isEmpty()) {
+			for (Player player : players) {
+				topPlayers.add(player.copy());
+			}
+			Collections.sort(topPlayers);
+			Utils.sortPlayersByElo(topPlayers);
+			return new ArrayList<>(topPlayers.subList(0, Math.min(limit, topPlayers.size())));
+		}
+		try {
+			topPlayers = PreferenceFileManager.getInstance().getTopPlayersByElo(limit);
+		} catch (PreferenceFileManagerException e) {
+			Log.e(LOG_TAG, "couldn't load players; unstable state; " + e.getMessage());
+		}
+		return topPlayers;
+	}
+
+	/**
+	 * @param name
+	 * @return a copy of the registered player with the given name
+	 * @throws PlayerManagerException If no {@link Player} with the given name exists.
+	 */
+	Player getPlayer(String name) throws PlayerManagerException {
+		Player player = null;
+		if (!dirtyPlayers.isEmpty()) {
+			int index = players.indexOf(new Player(name));
+			if (index >= 0) {
+				player = players.get(index).copy();
+			}
+		} else {
+			try {
+				player = PreferenceFileManager.getInstance().getPlayer(name);
+			} catch (PreferenceFileManagerException e) {
+				throw new PlayerManagerException(String.format("Couldn't load player %s: %s", name, e.getMessage()));
+			}
+		}
+		if (player == null) {
+			throw new PlayerManagerException(String.format("Player %s does not exist", name));
+		}
+		return player;
+	}
+
 	Player getPlayer(int position) throws PlayerManagerException {
 		loadPlayerList();
 		try {
@@ -151,8 +245,8 @@ class PlayerManager {
 			if (playerToFind.equals(playerToUpdate)) {
 				playerToUpdate.setElo(elo);
 				playerToUpdate.setEloChangeFromLastGame(0);
+				dirtyPlayers.add(name);
 			}
 		}
-		savePlayerList();
 	}
 }
@@ -0,0 +1,467 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.PlayerSummary;
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+
+/**
+ * Storage of the global player list in a single binary file.
+ * <p>
+ * Layout: a header (magic number, version) followed by one record per player:
+ * <pre>
+ * byte   flag (live or deleted)
+ * short  length of the name in bytes
+ * byte[] name (UTF-8)
+ * 10 int, 2 double  statistics (fixed size, see {@link #STATS_SIZE})
+ * </pre>
+ * The file is read once; afterwards an in-memory index maps every name to the position of its record. As the
+ * statistics have a fixed size, updating a player overwrites its record in place. New players are appended,
+ * removed players are only flagged as deleted. Rewriting the whole file (migration, compaction) goes to a temporary
+ * file which replaces the store once it is completely written.
+ * <p>
+ * Read-only access before the first write ({@link #getSummaries()}, {@link #get(String)}) does not build the index;
+ * it only decodes the fields it needs, so showing a list of names does not create all players.
+ */
+class PlayerStore {
+
+	private static final String LOG_TAG = PlayerStore.class.toString();
+
+	private static final String CHARSET = "UTF-8";
+
+	private static final int MAGIC = 0x4B504C53;
+
+	private static final int VERSION = 1;
+
+	private static final int HEADER_SIZE = 8;
+
+	private static final byte FLAG_LIVE = 0;
+
+	private static final byte FLAG_DELETED = 1;
+
+	// 10 int counters, elo and elo change
+	private static final int STATS_SIZE = 10 * 4 + 2 * 8;
+
+	// position of elo within the statistics
+	private static final int ELO_OFFSET = 10 * 4;
+
+	private final File file;
+
+	// ordered like the records in the file
+	private final Map<String, Record> index = new LinkedHashMap<>();
+
+	private int deletedRecords = 0;
+
+	private boolean loaded = false;
+
+	PlayerStore(File directory) {
+		file = new File(directory, Constants.FILE_PLAYER_STORE);
+	}
+
+	/**
+	 * @return true if the store file was not written so far
+	 */
+	boolean isEmpty() {
+		return !file.exists();
+	}
+
+	/**
+	 * @return copies of all stored players
+	 * @throws IOException if the store can't be read
+	 */
+	List<Player> getPlayers() throws IOException {
+		ensureLoaded();
+		List<Player> players = new ArrayList<>(index.size());
+		for (Record record : index.values()) {
+			players.add(record.player.copy());
+		}
+		return players;
+	}
+
+	/**
+	 * @return name and elo of all stored players, in the order of the file
+	 * @throws IOException if the store can't be read
+	 */
+	List<PlayerSummary> getSummaries() throws IOException {
+		List<PlayerSummary> summaries = new ArrayList<>();
+		if (loaded || !file.exists()) {
+			ensureLoaded();
+			for (Record record : index.values()) {
+				summaries.add(PlayerSummary.of(record.player));
+			}
+			return summaries;
+		}
+		scan(null, summaries);
+		return summaries;
+	}
+
+	/**
+	 * @param name
+	 * @return a copy of the stored player or null if there is no player with that name
+	 * @throws IOException if the store can't be read
+	 */
+	Player get(String name) throws IOException {
+		if (loaded) {
+			Record record = index.get(name);
+			return record == null ? null : record.player.copy();
+		}
+		if (!file.exists()) {
+			return null;
+		}
+		return scan(name, null);
+	}
+
+	/**
+	 * Insert or update a player, see {@link #saveAll(Collection)}
+	 *
+	 * @param player
+	 * @throws IOException if the player could not be written
+	 */
+	void save(Player player) throws IOException {
+		saveAll(Collections.singletonList(player));
+	}
+
+	/**
+	 * Insert or update players in one pass over the file which is synced to disk once. Players whose statistics did
+	 * not change are not written at all.
+	 *
+	 * @param players
+	 * @throws IOException if the players could not be written
+	 */
+	void saveAll(Collection<Player> players) throws IOException {
+		ensureLoaded();
+		RandomAccessFile output = null;
+		try {
+			for (Player player : players) {
+				Record record = index.get(player.getName());
+				if (record != null && hasSameStats(record.player, player)) {
+					continue;
+				}
+				if (output == null) {
+					output = new RandomAccessFile(file, "rw");
+				}
+				if (record == null) {
+					append(output, player);
+				} else {
+					output.seek(record.statsOffset);
+					output.write(encodeStats(player));
+					record.player = player.copy();
+				}
+			}
+			if (output != null) {
+				output.getFD().sync();
+			}
+		} finally {
+			if (output != null) {
+				output.close();
+			}
+		}
+	}
+
+	/**
+	 * Mark the record of a player as deleted; compacts the file once enough records are deleted.
+	 *
+	 * @param name
+	 * @throws IOException if the record could not be written
+	 */
+	void remove(String name) throws IOException {
+		ensureLoaded();
+		Record record = index.remove(name);
+		if (record == null) {
+			return;
+		}
+		deletedRecords++;
+		if (deletedRecords >= Constants.PLAYER_STORE_COMPACTION_THRESHOLD && deletedRecords > index.size()) {
+			rewrite(getPlayers());
+			return;
+		}
+		RandomAccessFile output = new RandomAccessFile(file, "rw");
+		try {
+			output.seek(record.offset);
+			output.writeByte(FLAG_DELETED);
+		} finally {
+			output.close();
+		}
+	}
+
+	/**
+	 * Replace the content of the store with the given players. The new content is written to a temporary file
+	 * first, so either the old or the new store survives a crash.
+	 *
+	 * @param players
+	 * @throws IOException if the store could not be written
+	 */
+	void rewrite(Collection<Player> players) throws IOException {
+		File tempFile = new File(file.getPath() + ".tmp");
+		Map<String, Record> newIndex = new LinkedHashMap<>();
+		FileOutputStream outputStream = new FileOutputStream(tempFile);
+		try {
+			DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			long offset = HEADER_SIZE;
+			for (Player player : players) {
+				byte[] record = encodeRecord(player);
+				output.write(record);
+				newIndex.put(player.getName(), new Record(offset, offset + record.length - STATS_SIZE, player.copy()));
+				offset += record.length;
+			}
+			output.flush();
+			outputStream.getFD().sync();
+		} finally {
+			outputStream.close();
+		}
+		if (!tempFile.renameTo(file)) {
+			throw new IOException("Could not replace player store " + file.getPath());
+		}
+		index.clear();
+		index.putAll(newIndex);
+		deletedRecords = 0;
+		loaded = true;
+	}
+
+	private void ensureLoaded() throws IOException {
+		if (loaded) {
+			return;
+		}
+		if (!file.exists()) {
+			rewrite(new ArrayList<Player>());
+			return;
+		}
+		load();
+	}
+
+	/**
+	 * read all records and build the index; an incomplete record at the end (app crashed while appending) is cut
+	 * off
+	 */
+	private void load() throws IOException {
+		index.clear();
+		deletedRecords = 0;
+		long fileLength = file.length();
+		long offset = HEADER_SIZE;
+		DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			if (fileLength < HEADER_SIZE || input.readInt() != MAGIC || input.readInt() != VERSION) {
+				throw new IOException("Unknown format of player store " + file.getPath());
+			}
+			while (offset < fileLength) {
+				if (fileLength - offset < 3) {
+					break;
+				}
+				byte flag = input.readByte();
+				int nameLength = input.readUnsignedShort();
+				int recordLength = 3 + nameLength + STATS_SIZE;
+				if (fileLength - offset < recordLength) {
+					break;
+				}
+				byte[] name = new byte[nameLength];
+				input.readFully(name);
+				Player player = readStats(new String(name, CHARSET), input);
+				if (flag == FLAG_LIVE) {
+					index.put(player.getName(), new Record(offset, offset + recordLength - STATS_SIZE, player));
+				} else {
+					deletedRecords++;
+				}
+				offset += recordLength;
+			}
+		} finally {
+			input.close();
+		}
+		if (offset < fileLength) {
+			Log.w(LOG_TAG, "load: incomplete record at the end of the player store, truncating");
+			RandomAccessFile output = new RandomAccessFile(file, "rw");
+			try {
+				output.setLength(offset);
+			} finally {
+				output.close();
+			}
+		}
+		loaded = true;
+	}
+
+	/**
+	 * Read the file without building the index. Records are decoded only as far as needed: the statistics of a
+	 * player are read completely only for the wanted player, otherwise only elo is read for the summaries (if
+	 * requested). An incomplete record at the end is ignored, {@link #load()} takes care of it.
+	 *
+	 * @param wantedName name of the player to return or null
+	 * @param summaries  list to add the summaries of all live players to or null
+	 * @return the wanted player or null if not found
+	 */
+	private Player scan(String wantedName, List<PlayerSummary> summaries) throws IOException {
+		long fileLength = file.length();
+		long offset = HEADER_SIZE;
+		DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			if (fileLength < HEADER_SIZE || input.readInt() != MAGIC || input.readInt() != VERSION) {
+				throw new IOException("Unknown format of player store " + file.getPath());
+			}
+			while (fileLength - offset >= 3) {
+				byte flag = input.readByte();
+				int nameLength = input.readUnsignedShort();
+				int recordLength = 3 + nameLength + STATS_SIZE;
+				if (fileLength - offset < recordLength) {
+					break;
+				}
+				offset += recordLength;
+				if (flag != FLAG_LIVE) {
+					skipFully(input, nameLength + STATS_SIZE);
+					continue;
+				}
+				byte[] nameBytes = new byte[nameLength];
+				input.readFully(nameBytes);
+				String name = new String(nameBytes, CHARSET);
+				if (name.equals(wantedName)) {
+					return readStats(name, input);
+				}
+				if (summaries == null) {
+					skipFully(input, STATS_SIZE);
+					continue;
+				}
+				skipFully(input, ELO_OFFSET);
+				summaries.add(new PlayerSummary(name, input.readDouble()));
+				skipFully(input, STATS_SIZE - ELO_OFFSET - 8);
+			}
+		} finally {
+			input.close();
+		}
+		return null;
+	}
+
+	private static void skipFully(DataInputStream input, int length) throws IOException {
+		int skipped = 0;
+		while (skipped < length) {
+			int n = input.skipBytes(length - skipped);
+			if (n <= 0) {
+				throw new IOException("Unexpected end of player store");
+			}
+			skipped += n;
+		}
+	}
+
+	private void append(RandomAccessFile output, Player player) throws IOException {
+		long offset = output.length();
+		byte[] record = encodeRecord(player);
+		output.seek(offset);
+		output.write(record);
+		index.put(player.getName(), new Record(offset, offset + record.length - STATS_SIZE, player.copy()));
+	}
+
+	private static byte[] encodeRecord(Player player) throws IOException {
+		byte[] name = player.getName().getBytes(CHARSET);
+		if (name.length > 0xFFFF) {
+			throw new IOException("Name of player is too long: " + player.getName());
+		}
+		byte[] stats = encodeStats(player);
+		byte[] record = new byte[3 + name.length + STATS_SIZE];
+		record[0] = FLAG_LIVE;
+		record[1] = (byte) (name.length >>> 8);
+		record[2] = (byte) name.length;
+		System.arraycopy(name, 0, record, 3, name.length);
+		System.arraycopy(stats, 0, record, 3 + name.length, STATS_SIZE);
+		return record;
+	}
+
+	private static byte[] encodeStats(Player player) {
+		StatsWriter writer = new StatsWriter();
+		writer.writeInt(player.getWonGames());
+		writer.writeInt(player.getLostGames());
+		writer.writeInt(player.getTiedGames());
+		writer.writeInt(player.getWonGamesInTournament());
+		writer.writeInt(player.getLostGamesInTournament());
+		writer.writeInt(player.getTiedGamesInTournament());
+		writer.writeInt(player.getGoalsShot());
+		writer.writeInt(player.getGoalsShotInTournament());
+		writer.writeInt(player.getGoalsReceived());
+		writer.writeInt(player.getGoalsReceivedInTournament());
+		writer.writeLong(Double.doubleToLongBits(player.getElo()));
+		writer.writeLong(Double.doubleToLongBits(player.getEloChangeFromLastGame()));
+		return writer.bytes;
+	}
+
+	private static Player readStats(String name, DataInputStream input) throws IOException {
+		int wonGames = input.readInt();
+		int lostGames = input.readInt();
+		int tiedGames = input.readInt();
+		int wonGamesInTournament = input.readInt();
+		int lostGamesInTournament = input.readInt();
+		int tiedGamesInTournament = input.readInt();
+		int goalsShot = input.readInt();
+		int goalsShotInTournament = input.readInt();
+		int goalsReceived = input.readInt();
+		int goalsReceivedInTournament = input.readInt();
+		double elo = input.readDouble();
+		double eloChangeFromLastGame = input.readDouble();
+		return new Player(name, wonGames, lostGames, tiedGames, wonGamesInTournament, lostGamesInTournament,
+				tiedGamesInTournament, goalsShot, goalsShotInTournament, goalsReceived, goalsReceivedInTournament,
+				elo, eloChangeFromLastGame);
+	}
+
+	private static boolean hasSameStats(Player stored, Player player) {
+		return stored.getWonGames() == player.getWonGames()
+				&& stored.getLostGames() == player.getLostGames()
+				&& stored.getTiedGames() == player.getTiedGames()
+				&& stored.getWonGamesInTournament() == player.getWonGamesInTournament()
+				&& stored.getLostGamesInTournament() == player.getLostGamesInTournament()
+				&& stored.getTiedGamesInTournament() == player.getTiedGamesInTournament()
+				&& stored.getGoalsShot() == player.getGoalsShot()
+				&& stored.getGoalsShotInTournament() == player.getGoalsShotInTournament()
+				&& stored.getGoalsReceived() == player.getGoalsReceived()
+				&& stored.getGoalsReceivedInTournament() == player.getGoalsReceivedInTournament()
+				&& Double.doubleToLongBits(stored.getElo()) == Double.doubleToLongBits(player.getElo())
+				&& Double.doubleToLongBits(stored.getEloChangeFromLastGame()) == Double.doubleToLongBits(player
+				.getEloChangeFromLastGame());
+	}
+
+	private static class Record {
+		// position of the flag byte
+		final long offset;
+		// position of the fixed size statistics
+		final long statsOffset;
+		Player player;
+
+		Record(long offset, long statsOffset, Player player) {
+			this.offset = offset;
+			this.statsOffset = statsOffset;
+			this.player = player;
+		}
+	}
+
+	/**
+	 * big endian encoding like {@link DataOutputStream}, without the stream overhead for a single record
+	 */
+	private static class StatsWriter {
+		final byte[] bytes = new byte[STATS_SIZE];
+		int position = 0;
+
+		void writeInt(int value) {
+			bytes[position++] = (byte) (value >>> 24);
+			bytes[position++] = (byte) (value >>> 16);
+			bytes[position++] = (byte) (value >>> 8);
+			bytes[position++] = (byte) value;
+		}
+
+		void writeLong(long value) {
+			writeInt((int) (value >>> 32));
+			writeInt((int) value);
+		}
+	}
+}
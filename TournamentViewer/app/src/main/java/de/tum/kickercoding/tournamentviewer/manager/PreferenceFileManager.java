@@ -3,17 +3,25 @@ package de.tum.kickercoding.tournamentviewer.manager;
 import android.content.Context;
 import android.content.SharedPreferences;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.PartnerArchive;
 import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.PlayerSummary;
+import de.tum.kickercoding.tournamentviewer.entities.Schedule;
 import de.tum.kickercoding.tournamentviewer.entities.Tournament;
 import de.tum.kickercoding.tournamentviewer.exceptions.PreferenceFileManagerException;
 import de.tum.kickercoding.tournamentviewer.util.Constants;
+import de.tum.kickercoding.tournamentviewer.util.MatchmakingAlgorithm;
 
 
 /**
- * Handles all communication with permanent storage (SharedPreferences)
+ * Handles all communication with permanent storage: settings are kept in SharedPreferences, players and the
+ * tournament in a {@link StorageBackend}
  * Has multiple methods for adding, removing, updating a player
  */
 // TODO: write logging for successful commits
@@ -27,6 +35,8 @@ class PreferenceFileManager {
 	// https://developer.android.com/training/volley/requestqueue.html#singleton
 	private Context applicationContext;
 
+	private StorageBackend storageBackend;
+
 	static PreferenceFileManager getInstance() {
 		return instance;
 	}
@@ -40,7 +50,27 @@ class PreferenceFileManager {
 	 * @param applicationContext
 	 */
 	void initialize(Context applicationContext) {
+		StorageBackend storageBackend;
+		if (Constants.USE_SQLITE_STORAGE) {
+			storageBackend = new SqliteStorageBackend(new AndroidSqlDatabase(applicationContext, Constants
+					.DATABASE_NAME));
+		} else {
+			storageBackend = new FileStorageBackend(applicationContext.getFilesDir(), applicationContext
+					.getSharedPreferences(Constants.FILE_GLOBAL_PLAYERS_LIST, 0), applicationContext
+					.getSharedPreferences(Constants.FILE_TOURNAMENT_DATA, 0));
+		}
+		initialize(applicationContext, storageBackend);
+	}
+
+	/**
+	 * initialize with a specific storage backend
+	 *
+	 * @param applicationContext
+	 * @param storageBackend
+	 */
+	void initialize(Context applicationContext, StorageBackend storageBackend) {
 		this.applicationContext = applicationContext;
+		this.storageBackend = storageBackend;
 	}
 
 	private boolean isInitialized() {
@@ -48,25 +78,40 @@ class PreferenceFileManager {
 	}
 
 	void savePlayer(Player player) throws PreferenceFileManagerException {
+		savePlayers(Collections.singletonList(player));
+	}
+
+	/**
+	 * save several players at once (single write to the storage backend)
+	 *
+	 * @param players
+	 * @throws PreferenceFileManagerException
+	 */
+	void savePlayers(Collection<Player> players) throws PreferenceFileManagerException {
 		if (isInitialized()) {
-			SharedPreferences pref = applicationContext.getSharedPreferences(Constants.FILE_GLOBAL_PLAYERS_LIST, 0);
-			pref.edit().putString(player.getName(), player.toJson()).apply();
+			try {
+				storageBackend.savePlayers(players);
+			} catch (IOException e) {
+				throw new PreferenceFileManagerException("Couldn't save players", e);
+			}
 		} else {
 			throw new PreferenceFileManagerException(NOT_INIT);
 		}
 	}
 
 	/**
-	 * remove a player from the preference list
+	 * remove a player from the global player list
 	 *
 	 * @param name
 	 * @throws PreferenceFileManagerException
 	 */
 	void removePlayer(String name) throws PreferenceFileManagerException {
 		if (isInitialized()) {
-			SharedPreferences playersListPref = applicationContext.getSharedPreferences(Constants
-					.FILE_GLOBAL_PLAYERS_LIST, 0);
-			playersListPref.edit().remove(name).apply();
+			try {
+				storageBackend.removePlayer(name);
+			} catch (IOException e) {
+				throw new PreferenceFileManagerException("Couldn't remove player " + name, e);
+			}
 		} else {
 			throw new PreferenceFileManagerException(NOT_INIT);
 		}
@@ -74,14 +119,92 @@ class PreferenceFileManager {
 
 	List<Player> getPlayerList() throws PreferenceFileManagerException {
 		if (isInitialized()) {
-			ArrayList<Player> playerList = new ArrayList<>();
-			SharedPreferences sharedPreferences = applicationContext.getSharedPreferences(Constants
-					.FILE_GLOBAL_PLAYERS_LIST, 0);
-			for (Object playerAsObject : sharedPreferences.getAll().values()) {
-				Player player = Player.fromJson((String) playerAsObject);
-				playerList.add(player);
+			try {
+				return storageBackend.loadPlayers();
+			} catch (IOException e) {
+				throw new PreferenceFileManagerException("Couldn't read players", e);
+			}
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	/**
+	 * @return name and elo of all players of the global player list, ordered by name
+	 * @throws PreferenceFileManagerException
+	 */
+	List<PlayerSummary> getPlayerSummaries() throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			try {
+				return storageBackend.loadPlayerSummaries();
+			} catch (IOException e) {
+				throw new PreferenceFileManagerException("Couldn't read players", e);
+			}
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	/**
+	 * @param name
+	 * @return the player of the global player list with the given name or null if there is none
+	 * @throws PreferenceFileManagerException
+	 */
+	Player getPlayer(String name) throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			try {
+				return storageBackend.loadPlayer(name);
+			} catch (IOException e) {
+				throw new PreferenceFileManagerException("Couldn't read player " + name, e);
+			}
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	/**
+	 * @param limit maximum number of players
+	 * @return players of the global player list with the highest elo, best first
+	 * @throws PreferenceFileManagerException
+	 */
+	List<Player> getTopPlayersByElo(int limit) throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			try {
+				return storageBackend.getTopPlayersByElo(limit);
+			} catch (IOException e) {
+				throw new PreferenceFileManagerException("Couldn't read players", e);
+			}
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	/**
+	 * @return partners of the finished tournaments, empty if none were stored so far
+	 * @throws PreferenceFileManagerException
+	 */
+	PartnerArchive loadPartnerArchive() throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			try {
+				return storageBackend.loadPartnerArchive();
+			} catch (IOException e) {
+				throw new PreferenceFileManagerException("Couldn't read partner archive", e);
+			}
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	/**
+	 * @throws PreferenceFileManagerException
+	 */
+	void savePartnerArchive(PartnerArchive partnerArchive) throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			try {
+				storageBackend.savePartnerArchive(partnerArchive);
+			} catch (IOException e) {
+				throw new PreferenceFileManagerException("Couldn't write partner archive", e);
 			}
-			return playerList;
 		} else {
 			throw new PreferenceFileManagerException(NOT_INIT);
 		}
@@ -107,6 +230,26 @@ class PreferenceFileManager {
 		}
 	}
 
+	public int loadTables() throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			SharedPreferences sharedPreferences = applicationContext.getSharedPreferences(Constants
+					.FILE_GENERAL_SETTINGS, 0);
+			return sharedPreferences.getInt(Constants.VAR_TABLES, Constants.DEFAULT_TABLES);
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	public void saveTables(int tables) throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			SharedPreferences sharedPreferences = applicationContext.getSharedPreferences(Constants
+					.FILE_GENERAL_SETTINGS, 0);
+			sharedPreferences.edit().putInt(Constants.VAR_TABLES, tables).apply();
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
 	public int loadNumberOfGames() throws PreferenceFileManagerException {
 		if (isInitialized()) {
 			SharedPreferences sharedPreferences = applicationContext.getSharedPreferences(Constants
@@ -127,25 +270,230 @@ class PreferenceFileManager {
 		}
 	}
 
-	void saveTournament(Tournament tournament) throws PreferenceFileManagerException {
+	public MatchmakingAlgorithm loadMatchmakingAlgorithm() throws PreferenceFileManagerException {
 		if (isInitialized()) {
 			SharedPreferences sharedPreferences = applicationContext.getSharedPreferences(Constants
-					.FILE_TOURNAMENT_DATA, 0);
-			sharedPreferences.edit().putString(Constants.VAR_CURRENT_TOURNAMENT, tournament.toJson()).apply();
+					.FILE_GENERAL_SETTINGS, 0);
+			String name = sharedPreferences.getString(Constants.VAR_MATCHMAKING_ALGORITHM, Constants
+					.DEFAULT_MATCHMAKING_ALGORITHM.getName());
+			try {
+				return MatchmakingAlgorithm.valueOf(name);
+			} catch (IllegalArgumentException e) {
+				// stored by a version with other algorithms
+				return Constants.DEFAULT_MATCHMAKING_ALGORITHM;
+			}
 		} else {
 			throw new PreferenceFileManagerException(NOT_INIT);
 		}
 	}
 
-	Tournament loadTournament() throws PreferenceFileManagerException {
+	public void saveMatchmakingAlgorithm(MatchmakingAlgorithm algorithm) throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			SharedPreferences sharedPreferences = applicationContext.getSharedPreferences(Constants
+					.FILE_GENERAL_SETTINGS, 0);
+			sharedPreferences.edit().putString(Constants.VAR_MATCHMAKING_ALGORITHM, algorithm.getName()).apply();
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	public int loadCandidateRounds() throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			SharedPreferences sharedPreferences = applicationContext.getSharedPreferences(Constants
+					.FILE_GENERAL_SETTINGS, 0);
+			return sharedPreferences.getInt(Constants.VAR_CANDIDATE_ROUNDS, Constants.DEFAULT_CANDIDATE_ROUNDS);
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	public void saveCandidateRounds(int candidateRounds) throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			SharedPreferences sharedPreferences = applicationContext.getSharedPreferences(Constants
+					.FILE_GENERAL_SETTINGS, 0);
+			sharedPreferences.edit().putInt(Constants.VAR_CANDIDATE_ROUNDS, candidateRounds).apply();
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	public long loadCandidateSearchBudgetMillis() throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			SharedPreferences sharedPreferences = applicationContext.getSharedPreferences(Constants
+					.FILE_GENERAL_SETTINGS, 0);
+			return sharedPreferences.getLong(Constants.VAR_CANDIDATE_SEARCH_BUDGET_MILLIS, Constants
+					.DEFAULT_CANDIDATE_SEARCH_BUDGET_MILLIS);
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	public void saveCandidateSearchBudgetMillis(long budgetMillis) throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			SharedPreferences sharedPreferences = applicationContext.getSharedPreferences(Constants
+					.FILE_GENERAL_SETTINGS, 0);
+			sharedPreferences.edit().putLong(Constants.VAR_CANDIDATE_SEARCH_BUDGET_MILLIS, budgetMillis).apply();
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	public long loadAnnealingBudgetMillis() throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			SharedPreferences sharedPreferences = applicationContext.getSharedPreferences(Constants
+					.FILE_GENERAL_SETTINGS, 0);
+			return sharedPreferences.getLong(Constants.VAR_ANNEALING_BUDGET_MILLIS, Constants
+					.DEFAULT_ANNEALING_BUDGET_MILLIS);
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	public void saveAnnealingBudgetMillis(long budgetMillis) throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			SharedPreferences sharedPreferences = applicationContext.getSharedPreferences(Constants
+					.FILE_GENERAL_SETTINGS, 0);
+			sharedPreferences.edit().putLong(Constants.VAR_ANNEALING_BUDGET_MILLIS, budgetMillis).apply();
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	public int loadScheduleRounds() throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			SharedPreferences sharedPreferences = applicationContext.getSharedPreferences(Constants
+					.FILE_GENERAL_SETTINGS, 0);
+			return sharedPreferences.getInt(Constants.VAR_SCHEDULE_ROUNDS, Constants.DEFAULT_SCHEDULE_ROUNDS);
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	public void saveScheduleRounds(int rounds) throws PreferenceFileManagerException {
 		if (isInitialized()) {
 			SharedPreferences sharedPreferences = applicationContext.getSharedPreferences(Constants
-					.FILE_TOURNAMENT_DATA, 0);
-			String tournamentAsJson = sharedPreferences.getString(Constants.VAR_CURRENT_TOURNAMENT, null);
-			if (tournamentAsJson != null) {
-				return Tournament.fromJson(tournamentAsJson);
+					.FILE_GENERAL_SETTINGS, 0);
+			sharedPreferences.edit().putInt(Constants.VAR_SCHEDULE_ROUNDS, rounds).apply();
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	/**
+	 * Write the complete tournament. Expensive for long tournaments, therefore only used occasionally
+	 * (see {@link #isTournamentSnapshotDue()}); single changes are written using {@link
+	 * #appendTournamentEvents(List)}.
+	 *
+	 * @param tournament
+	 * @throws PreferenceFileManagerException
+	 */
+	void saveTournament(Tournament tournament) throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			try {
+				storageBackend.saveTournament(tournament);
+			} catch (IOException e) {
+				throw new PreferenceFileManagerException("Couldn't write tournament snapshot", e);
+			}
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	/**
+	 * write changes of the tournament
+	 *
+	 * @param events
+	 * @throws PreferenceFileManagerException
+	 */
+	void appendTournamentEvents(List<TournamentEvent> events) throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			try {
+				storageBackend.appendTournamentEvents(events);
+			} catch (IOException e) {
+				throw new PreferenceFileManagerException("Couldn't append to tournament journal", e);
+			}
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	/**
+	 * @return true if the complete tournament should be written instead of appending changes, see {@link
+	 * StorageBackend#isTournamentSnapshotDue()}
+	 */
+	boolean isTournamentSnapshotDue() {
+		return isInitialized() && storageBackend.isTournamentSnapshotDue();
+	}
+
+	/**
+	 * @return details about restoring the tournament during the last {@link #loadTournament()}, null if no
+	 * tournament was restored from the journal
+	 */
+	RecoveryReport getTournamentRecoveryReport() {
+		return isInitialized() ? storageBackend.getTournamentRecoveryReport() : null;
+	}
+
+	Tournament loadTournament() throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			Tournament tournament;
+			try {
+				tournament = storageBackend.loadTournament();
+			} catch (IOException e) {
+				throw new PreferenceFileManagerException("Couldn't read tournament", e);
+			}
+			if (tournament != null) {
+				return tournament;
 			}
 		}
 		throw new PreferenceFileManagerException(NOT_INIT);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * @return the precomputed schedule of the stored tournament, null if there is none
+	 * @throws PreferenceFileManagerException
+	 */
+	Schedule loadSchedule() throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			try {
+				return storageBackend.loadSchedule();
+			} catch (IOException e) {
+				throw new PreferenceFileManagerException("Couldn't read schedule", e);
+			}
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	/**
+	 * @param schedule null to remove the stored schedule
+	 * @throws PreferenceFileManagerException
+	 */
+	void saveSchedule(Schedule schedule) throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			try {
+				storageBackend.saveSchedule(schedule);
+			} catch (IOException e) {
+				throw new PreferenceFileManagerException("Couldn't write schedule", e);
+			}
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+
+	/**
+	 * @param name
+	 * @return all games of the stored tournament the player participates in
+	 * @throws PreferenceFileManagerException
+	 */
+	List<Game> getGamesOfPlayer(String name) throws PreferenceFileManagerException {
+		if (isInitialized()) {
+			try {
+				return storageBackend.getGamesOfPlayer(name);
+			} catch (IOException e) {
+				throw new PreferenceFileManagerException("Couldn't read games of " + name, e);
+			}
+		} else {
+			throw new PreferenceFileManagerException(NOT_INIT);
+		}
+	}
+}
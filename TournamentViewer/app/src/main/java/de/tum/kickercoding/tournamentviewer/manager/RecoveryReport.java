@@ -0,0 +1,53 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import java.util.Locale;
+
+/**
+ * Outcome of restoring the tournament from snapshot and journal, see {@link TournamentJournal#load()}
+ */
+class RecoveryReport {
+
+	// sequence number of the last event contained in the snapshot
+	private final long snapshotSequence;
+
+	// events of the journal tail that were applied on top of the snapshot
+	private final int replayedEvents;
+
+	// bytes cut off the end of the journal because the last record was torn or corrupt
+	private final long truncatedBytes;
+
+	private final long durationMillis;
+
+	RecoveryReport(long snapshotSequence, int replayedEvents, long truncatedBytes, long durationMillis) {
+		this.snapshotSequence = snapshotSequence;
+		this.replayedEvents = replayedEvents;
+		this.truncatedBytes = truncatedBytes;
+		this.durationMillis = durationMillis;
+	}
+
+	long getSnapshotSequence() {
+		return snapshotSequence;
+	}
+
+	int getReplayedEvents() {
+		return replayedEvents;
+	}
+
+	long getTruncatedBytes() {
+		return truncatedBytes;
+	}
+
+	long getDurationMillis() {
+		return durationMillis;
+	}
+
+	boolean isJournalTruncated() {
+		return truncatedBytes > 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(Locale.US, "snapshot at sequence %d, %d events replayed, %d bytes truncated, took %d " +
+				"ms", snapshotSequence, replayedEvents, truncatedBytes, durationMillis);
+	}
+}
@@ -0,0 +1,50 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import java.io.IOException;
+
+/**
+ * Minimal access to an SQLite database as needed by the {@link SqliteStorageBackend}. Modeled after the Android
+ * SQLiteDatabase, so the app can use the platform database ({@link AndroidSqlDatabase}) while unit tests run on
+ * the JVM with a JDBC driver.
+ * <p>
+ * Arguments are bound to the '?' placeholders of the statement; booleans have to be passed as 0 or 1.
+ */
+interface SqlDatabase {
+
+	void execute(String sql, Object... args) throws IOException;
+
+	/**
+	 * @return cursor positioned before the first row; has to be closed by the caller
+	 */
+	SqlCursor query(String sql, Object... args) throws IOException;
+
+	/**
+	 * Usage like on Android: beginTransaction(), changes, setTransactionSuccessful() and endTransaction() in a
+	 * finally block. Changes are only committed if the transaction was marked as successful.
+	 */
+	void beginTransaction() throws IOException;
+
+	void setTransactionSuccessful();
+
+	void endTransaction() throws IOException;
+
+	/**
+	 * Result of a query; columns are indexed from 0 in the order of the select statement.
+	 */
+	interface SqlCursor {
+
+		boolean moveToNext() throws IOException;
+
+		int getInt(int column) throws IOException;
+
+		long getLong(int column) throws IOException;
+
+		double getDouble(int column) throws IOException;
+
+		String getString(int column) throws IOException;
+
+		boolean isNull(int column) throws IOException;
+
+		void close();
+	}
+}
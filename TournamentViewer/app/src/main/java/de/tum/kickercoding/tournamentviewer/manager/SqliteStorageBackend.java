@@ -0,0 +1,628 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.PartnerArchive;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.PlayerSummary;
+import de.tum.kickercoding.tournamentviewer.entities.Schedule;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.manager.SqlDatabase.SqlCursor;
+import de.tum.kickercoding.tournamentviewer.util.TournamentMode;
+
+/**
+ * Stores players and the tournament in indexed SQLite tables:
+ * <ul>
+ * <li>players: global player list</li>
+ * <li>tournaments: settings of a tournament (only the current one for now)</li>
+ * <li>tournament_players: players signed up for a tournament including their tournament stats</li>
+ * <li>games, game_participants: games of a tournament; participants refer to players by name</li>
+ * <li>schedules, schedule_slots: precomputed rounds of a tournament, one player name per slot</li>
+ * <li>partner_archive: weights of the pairs of the {@link PartnerArchive}</li>
+ * </ul>
+ * Tournament events are applied as small updates to the affected rows, so there is no need for snapshots. Queries
+ * like {@link #getTopPlayersByElo(int)} and {@link #getGamesOfPlayer(String)} are answered by the database.
+ */
+class SqliteStorageBackend implements StorageBackend {
+
+	private static final long CURRENT_TOURNAMENT = 1;
+
+	private static final String PLAYER_COLUMNS = "name, won_games, lost_games, tied_games, won_games_tournament, " +
+			"lost_games_tournament, tied_games_tournament, goals_shot, goals_shot_tournament, goals_received, " +
+			"goals_received_tournament, elo, elo_change";
+
+	private static final String PLAYER_COLUMN_DEFINITIONS = "name TEXT NOT NULL, won_games INTEGER, lost_games " +
+			"INTEGER, tied_games INTEGER, won_games_tournament INTEGER, lost_games_tournament INTEGER, " +
+			"tied_games_tournament INTEGER, goals_shot INTEGER, goals_shot_tournament INTEGER, goals_received " +
+			"INTEGER, goals_received_tournament INTEGER, elo REAL, elo_change REAL";
+
+	private static final String PLAYER_STATS_UPDATE = "won_games = ?, lost_games = ?, tied_games = ?, " +
+			"won_games_tournament = ?, lost_games_tournament = ?, tied_games_tournament = ?, goals_shot = ?, " +
+			"goals_shot_tournament = ?, goals_received = ?, goals_received_tournament = ?, elo = ?, elo_change = ?";
+
+	private static final String[] SCHEMA = {
+			"CREATE TABLE IF NOT EXISTS players (" + PLAYER_COLUMN_DEFINITIONS + ", PRIMARY KEY (name))",
+			"CREATE INDEX IF NOT EXISTS players_elo ON players (elo)",
+			"CREATE TABLE IF NOT EXISTS tournaments (id INTEGER PRIMARY KEY, max_score INTEGER, number_of_games " +
+					"INTEGER, one_on_one INTEGER, finished INTEGER, semi_finals_generated INTEGER, final_generated " +
+					"INTEGER, mode TEXT, tables INTEGER DEFAULT 0, seed INTEGER DEFAULT 0, draws INTEGER DEFAULT 0)",
+			"CREATE TABLE IF NOT EXISTS tournament_players (tournament_id INTEGER NOT NULL, " +
+					PLAYER_COLUMN_DEFINITIONS + ", UNIQUE (tournament_id, name))",
+			"CREATE TABLE IF NOT EXISTS games (tournament_id INTEGER NOT NULL, position INTEGER NOT NULL, " +
+					"score_team1 INTEGER, score_team2 INTEGER, finished INTEGER, result_committed INTEGER, " +
+					"table_number INTEGER DEFAULT 0, PRIMARY KEY (tournament_id, position))",
+			"CREATE TABLE IF NOT EXISTS game_participants (tournament_id INTEGER NOT NULL, position INTEGER NOT " +
+					"NULL, slot INTEGER NOT NULL, name TEXT NOT NULL, PRIMARY KEY (tournament_id, position, slot))",
+			"CREATE INDEX IF NOT EXISTS game_participants_name ON game_participants (name, tournament_id)",
+			"CREATE TABLE IF NOT EXISTS schedules (tournament_id INTEGER PRIMARY KEY, one_on_one INTEGER, " +
+					"next_round INTEGER)",
+			"CREATE TABLE IF NOT EXISTS schedule_slots (tournament_id INTEGER NOT NULL, round INTEGER NOT NULL, " +
+					"slot INTEGER NOT NULL, name TEXT NOT NULL, PRIMARY KEY (tournament_id, round, slot))",
+			"CREATE TABLE IF NOT EXISTS partner_archive (pair_key INTEGER PRIMARY KEY, weight INTEGER NOT NULL)"
+	};
+
+	// {table, column, definition} of columns which are missing in databases created by older versions
+	private static final String[][] ADDED_COLUMNS = {
+			{"tournaments", "tables", "INTEGER DEFAULT 0"},
+			{"tournaments", "seed", "INTEGER DEFAULT 0"},
+			{"tournaments", "draws", "INTEGER DEFAULT 0"},
+			{"games", "table_number", "INTEGER DEFAULT 0"}
+	};
+
+	private final SqlDatabase database;
+
+	private boolean schemaCreated = false;
+
+	SqliteStorageBackend(SqlDatabase database) {
+		this.database = database;
+	}
+
+	private void ensureSchema() throws IOException {
+		if (schemaCreated) {
+			return;
+		}
+		for (String statement : SCHEMA) {
+			database.execute(statement);
+		}
+		for (String[] column : ADDED_COLUMNS) {
+			if (!hasColumn(column[0], column[1])) {
+				database.execute("ALTER TABLE " + column[0] + " ADD COLUMN " + column[1] + " " + column[2]);
+			}
+		}
+		schemaCreated = true;
+	}
+
+	private boolean hasColumn(String table, String column) throws IOException {
+		SqlCursor cursor = database.query("PRAGMA table_info(" + table + ")");
+		try {
+			while (cursor.moveToNext()) {
+				// columns of table_info: cid, name, type, ...
+				if (column.equals(cursor.getString(1))) {
+					return true;
+				}
+			}
+			return false;
+		} finally {
+			cursor.close();
+		}
+	}
+
+	/****************************
+	 * global player list
+	 *****************************/
+
+	@Override
+	public List<Player> loadPlayers() throws IOException {
+		ensureSchema();
+		return queryPlayers("SELECT " + PLAYER_COLUMNS + " FROM players ORDER BY name");
+	}
+
+	@Override
+	public List<PlayerSummary> loadPlayerSummaries() throws IOException {
+		ensureSchema();
+		List<PlayerSummary> summaries = new ArrayList<>();
+		SqlCursor cursor = database.query("SELECT name, elo FROM players ORDER BY name");
+		try {
+			while (cursor.moveToNext()) {
+				summaries.add(new PlayerSummary(cursor.getString(0), cursor.getDouble(1)));
+			}
+		} finally {
+			cursor.close();
+		}
+		return summaries;
+	}
+
+	@Override
+	public Player loadPlayer(String name) throws IOException {
+		ensureSchema();
+		List<Player> players = queryPlayers("SELECT " + PLAYER_COLUMNS + " FROM players WHERE name = ?", name);
+		return players.isEmpty() ? null : players.get(0);
+	}
+
+	@Override
+	public void savePlayers(Collection<Player> players) throws IOException {
+		ensureSchema();
+		database.beginTransaction();
+		try {
+			for (Player player : players) {
+				database.execute("INSERT OR REPLACE INTO players (" + PLAYER_COLUMNS + ") VALUES (?, ?, ?, ?, ?, " +
+						"?, ?, ?, ?, ?, ?, ?, ?)", playerValues(player));
+			}
+			database.setTransactionSuccessful();
+		} finally {
+			database.endTransaction();
+		}
+	}
+
+	@Override
+	public void removePlayer(String name) throws IOException {
+		ensureSchema();
+		database.execute("DELETE FROM players WHERE name = ?", name);
+	}
+
+	@Override
+	public List<Player> getTopPlayersByElo(int limit) throws IOException {
+		ensureSchema();
+		return queryPlayers(String.format(Locale.US, "SELECT %s FROM players ORDER BY elo DESC, name LIMIT %d",
+				PLAYER_COLUMNS, limit));
+	}
+
+	@Override
+	public PartnerArchive loadPartnerArchive() throws IOException {
+		ensureSchema();
+		PartnerArchive partnerArchive = new PartnerArchive();
+		SqlCursor cursor = database.query("SELECT pair_key, weight FROM partner_archive");
+		try {
+			while (cursor.moveToNext()) {
+				partnerArchive.setWeight(cursor.getLong(0), cursor.getInt(1));
+			}
+		} finally {
+			cursor.close();
+		}
+		return partnerArchive;
+	}
+
+	@Override
+	public void savePartnerArchive(PartnerArchive partnerArchive) throws IOException {
+		ensureSchema();
+		database.beginTransaction();
+		try {
+			database.execute("DELETE FROM partner_archive");
+			for (long key : partnerArchive.getPairKeys()) {
+				database.execute("INSERT INTO partner_archive (pair_key, weight) VALUES (?, ?)", key, partnerArchive
+						.getWeight(key));
+			}
+			database.setTransactionSuccessful();
+		} finally {
+			database.endTransaction();
+		}
+	}
+
+	/****************************
+	 * current tournament
+	 *****************************/
+
+	@Override
+	public Tournament loadTournament() throws IOException {
+		ensureSchema();
+		Tournament tournament = new Tournament();
+		SqlCursor cursor = database.query("SELECT max_score, number_of_games, one_on_one, finished, " +
+				"semi_finals_generated, final_generated, mode, tables, seed, draws FROM tournaments WHERE id = ?",
+				CURRENT_TOURNAMENT);
+		try {
+			if (!cursor.moveToNext()) {
+				return null;
+			}
+			tournament.setMaxScore(cursor.getInt(0));
+			tournament.setNumberOfGames(cursor.getInt(1));
+			tournament.setOneOnOne(cursor.getInt(2) != 0);
+			tournament.setFinished(cursor.getInt(3) != 0);
+			tournament.setSemiFinalsGenerated(cursor.getInt(4) != 0);
+			tournament.setFinalGenerated(cursor.getInt(5) != 0);
+			tournament.setMode(cursor.isNull(6) ? null : TournamentMode.valueOf(cursor.getString(6)));
+			tournament.setTables(cursor.getInt(7));
+			tournament.setSeed(cursor.getLong(8));
+			tournament.setDraws(cursor.getInt(9));
+		} finally {
+			cursor.close();
+		}
+		// keep the order in which players signed up
+		for (Player player : queryPlayers("SELECT " + PLAYER_COLUMNS + " FROM tournament_players WHERE " +
+				"tournament_id = ? ORDER BY rowid", CURRENT_TOURNAMENT)) {
+			tournament.addPlayer(player);
+		}
+		tournament.getGames().addAll(queryGames(tournament, "SELECT g.position, g.score_team1, g.score_team2, " +
+				"g.finished, g.result_committed, g.table_number, p.name FROM games g JOIN game_participants p ON p" +
+				".tournament_id = g.tournament_id AND p.position = g.position WHERE g.tournament_id = ? ORDER BY g" +
+				".position, p.slot", CURRENT_TOURNAMENT));
+		return tournament;
+	}
+
+	@Override
+	public void saveTournament(Tournament tournament) throws IOException {
+		ensureSchema();
+		database.beginTransaction();
+		try {
+			database.execute("DELETE FROM game_participants WHERE tournament_id = ?", CURRENT_TOURNAMENT);
+			database.execute("DELETE FROM games WHERE tournament_id = ?", CURRENT_TOURNAMENT);
+			database.execute("DELETE FROM tournament_players WHERE tournament_id = ?", CURRENT_TOURNAMENT);
+			database.execute("DELETE FROM tournaments WHERE id = ?", CURRENT_TOURNAMENT);
+			database.execute("INSERT INTO tournaments (id) VALUES (?)", CURRENT_TOURNAMENT);
+			updateSettings(tournament);
+			for (Player player : tournament.getPlayers()) {
+				insertTournamentPlayer(player);
+			}
+			List<Game> games = tournament.getGames();
+			for (int position = 0;position < games.size();position++) {
+				Game game = games.get(position);
+				List<String> names = new ArrayList<>();
+				for (Player participant : game.getParticipants()) {
+					names.add(participant.getName());
+				}
+				insertGame(position, names, game.getTable());
+				database.execute("UPDATE games SET score_team1 = ?, score_team2 = ?, finished = ?, " +
+						"result_committed = ? WHERE tournament_id = ? AND position = ?", game.getScoreTeam1(), game
+						.getScoreTeam2(), toInt(game.isFinished()), toInt(game.isResultCommitted()),
+						CURRENT_TOURNAMENT, position);
+			}
+			database.setTransactionSuccessful();
+		} finally {
+			database.endTransaction();
+		}
+	}
+
+	/**
+	 * apply the events as updates of the affected rows, all in one transaction
+	 */
+	@Override
+	public void appendTournamentEvents(List<TournamentEvent> events) throws IOException {
+		if (events.isEmpty()) {
+			return;
+		}
+		ensureSchema();
+		database.beginTransaction();
+		try {
+			for (TournamentEvent event : events) {
+				applyEvent(event);
+			}
+			database.setTransactionSuccessful();
+		} finally {
+			database.endTransaction();
+		}
+	}
+
+	private void applyEvent(TournamentEvent event) throws IOException {
+		int position = event.getPosition();
+		switch (event.getType()) {
+			case GAME_GENERATED:
+				insertGame(countGames(), event.getParticipantNames(), event.getTable());
+				break;
+			case GAME_FINALIZED:
+				database.execute("UPDATE games SET score_team1 = ?, score_team2 = ?, finished = 1 WHERE " +
+						"tournament_id = ? AND position = ?", event.getScoreTeam1(), event.getScoreTeam2(),
+						CURRENT_TOURNAMENT, position);
+				break;
+			case GAME_COMMITTED:
+				if (position != -1) {
+					database.execute("UPDATE games SET result_committed = 1 WHERE tournament_id = ? AND position = " +
+							"?", CURRENT_TOURNAMENT, position);
+				}
+				updateTournamentPlayers(event.getPlayers());
+				break;
+			case GAME_REVERTED:
+				database.execute("UPDATE games SET score_team1 = 0, score_team2 = 0, result_committed = 0 WHERE " +
+						"tournament_id = ? AND position = ?", CURRENT_TOURNAMENT, position);
+				updateTournamentPlayers(event.getPlayers());
+				break;
+			case GAME_REMOVED:
+				deleteGames("position = ?", position);
+				break;
+			case PLAYER_TOGGLED: {
+				Player player = event.getPlayers().get(0);
+				if (event.isSignedUp()) {
+					insertTournamentPlayer(player);
+				} else {
+					// toggling a player off deletes all uncommitted games, see TournamentManager
+					deleteGames("position IN (SELECT position FROM games WHERE tournament_id = ? AND " +
+							"result_committed = 0)", CURRENT_TOURNAMENT);
+					deleteTournamentPlayer(player.getName());
+				}
+				break;
+			}
+			case PLAYER_REMOVED:
+				deleteTournamentPlayer(event.getPlayers().get(0).getName());
+				break;
+			case SETTINGS_CHANGED: {
+				Tournament settings = new Tournament();
+				event.applySettings(settings);
+				updateSettings(settings);
+				break;
+			}
+		}
+	}
+
+	@Override
+	public boolean isTournamentSnapshotDue() {
+		// events are applied to the tables directly
+		return false;
+	}
+
+	@Override
+	public RecoveryReport getTournamentRecoveryReport() {
+		return null;
+	}
+
+	@Override
+	public List<Game> getGamesOfPlayer(String name) throws IOException {
+		ensureSchema();
+		Tournament tournament = new Tournament();
+		for (Player player : queryPlayers("SELECT " + PLAYER_COLUMNS + " FROM tournament_players WHERE " +
+				"tournament_id = ? AND name IN (SELECT p.name FROM game_participants p JOIN game_participants own " +
+				"ON own.tournament_id = p.tournament_id AND own.position = p.position WHERE own.tournament_id = ? " +
+				"AND own.name = ?)", CURRENT_TOURNAMENT, CURRENT_TOURNAMENT, name)) {
+			tournament.addPlayer(player);
+		}
+		return queryGames(tournament, "SELECT g.position, g.score_team1, g.score_team2, g.finished, g" +
+				".result_committed, g.table_number, p.name FROM game_participants own JOIN games g ON g" +
+				".tournament_id = own.tournament_id AND g.position = own.position JOIN game_participants p ON p" +
+				".tournament_id = g.tournament_id AND p.position = g.position WHERE own.tournament_id = ? AND own" +
+				".name = ? ORDER BY g.position, p.slot", CURRENT_TOURNAMENT, name);
+	}
+
+	@Override
+	public Schedule loadSchedule() throws IOException {
+		ensureSchema();
+		boolean oneOnOne;
+		int nextRound;
+		SqlCursor cursor = database.query("SELECT one_on_one, next_round FROM schedules WHERE tournament_id = ?",
+				CURRENT_TOURNAMENT);
+		try {
+			if (!cursor.moveToNext()) {
+				return null;
+			}
+			oneOnOne = cursor.getInt(0) != 0;
+			nextRound = cursor.getInt(1);
+		} finally {
+			cursor.close();
+		}
+		List<List<String>> rounds = new ArrayList<>();
+		cursor = database.query("SELECT round, name FROM schedule_slots WHERE tournament_id = ? ORDER BY round, " +
+				"slot", CURRENT_TOURNAMENT);
+		try {
+			while (cursor.moveToNext()) {
+				int round = cursor.getInt(0);
+				while (rounds.size() <= round) {
+					rounds.add(new ArrayList<String>());
+				}
+				rounds.get(round).add(cursor.getString(1));
+			}
+		} finally {
+			cursor.close();
+		}
+		Schedule schedule = new Schedule(oneOnOne, rounds);
+		schedule.setNextRound(nextRound);
+		return schedule;
+	}
+
+	@Override
+	public void saveSchedule(Schedule schedule) throws IOException {
+		ensureSchema();
+		database.beginTransaction();
+		try {
+			database.execute("DELETE FROM schedule_slots WHERE tournament_id = ?", CURRENT_TOURNAMENT);
+			database.execute("DELETE FROM schedules WHERE tournament_id = ?", CURRENT_TOURNAMENT);
+			if (schedule != null) {
+				database.execute("INSERT INTO schedules (tournament_id, one_on_one, next_round) VALUES (?, ?, ?)",
+						CURRENT_TOURNAMENT, toInt(schedule.isOneOnOne()), schedule.getNextRound());
+				List<List<String>> rounds = schedule.getRounds();
+				for (int round = 0;round < rounds.size();round++) {
+					List<String> names = rounds.get(round);
+					for (int slot = 0;slot < names.size();slot++) {
+						database.execute("INSERT INTO schedule_slots (tournament_id, round, slot, name) VALUES (?, " +
+								"?, ?, ?)", CURRENT_TOURNAMENT, round, slot, names.get(slot));
+					}
+				}
+			}
+			database.setTransactionSuccessful();
+		} finally {
+			database.endTransaction();
+		}
+	}
+
+	/****************************
+	 * helpers
+	 *****************************/
+
+	private int countGames() throws IOException {
+		SqlCursor cursor = database.query("SELECT COUNT(*) FROM games WHERE tournament_id = ?", CURRENT_TOURNAMENT);
+		try {
+			cursor.moveToNext();
+			return cursor.getInt(0);
+		} finally {
+			cursor.close();
+		}
+	}
+
+	private void insertGame(int position, List<String> participantNames, int table) throws IOException {
+		database.execute("INSERT INTO games (tournament_id, position, score_team1, score_team2, finished, " +
+				"result_committed, table_number) VALUES (?, ?, 0, 0, 0, 0, ?)", CURRENT_TOURNAMENT, position, table);
+		for (int slot = 0;slot < participantNames.size();slot++) {
+			database.execute("INSERT INTO game_participants (tournament_id, position, slot, name) VALUES (?, ?, ?, " +
+					"?)", CURRENT_TOURNAMENT, position, slot, participantNames.get(slot));
+		}
+	}
+
+	/**
+	 * delete the games matching the condition and close the gaps in the positions of the remaining games
+	 */
+	private void deleteGames(String condition, Object... args) throws IOException {
+		Object[] allArgs = new Object[args.length + 1];
+		allArgs[0] = CURRENT_TOURNAMENT;
+		System.arraycopy(args, 0, allArgs, 1, args.length);
+		database.execute("DELETE FROM game_participants WHERE tournament_id = ? AND " + condition, allArgs);
+		database.execute("DELETE FROM games WHERE tournament_id = ? AND " + condition, allArgs);
+
+		List<Integer> positions = new ArrayList<>();
+		SqlCursor cursor = database.query("SELECT position FROM games WHERE tournament_id = ? ORDER BY position",
+				CURRENT_TOURNAMENT);
+		try {
+			while (cursor.moveToNext()) {
+				positions.add(cursor.getInt(0));
+			}
+		} finally {
+			cursor.close();
+		}
+		// move to negative positions first to avoid collisions of the primary key while renumbering
+		boolean renumbered = false;
+		for (int i = 0;i < positions.size();i++) {
+			if (positions.get(i) != i) {
+				for (String table : new String[]{"games", "game_participants"}) {
+					database.execute("UPDATE " + table + " SET position = ? WHERE tournament_id = ? AND position = ?",
+							-1 - i, CURRENT_TOURNAMENT, positions.get(i));
+				}
+				renumbered = true;
+			}
+		}
+		if (renumbered) {
+			for (String table : new String[]{"games", "game_participants"}) {
+				database.execute("UPDATE " + table + " SET position = -1 - position WHERE tournament_id = ? AND " +
+						"position < 0", CURRENT_TOURNAMENT);
+			}
+		}
+	}
+
+	private void insertTournamentPlayer(Player player) throws IOException {
+		Object[] values = playerValues(player);
+		Object[] args = new Object[values.length + 1];
+		args[0] = CURRENT_TOURNAMENT;
+		System.arraycopy(values, 0, args, 1, values.length);
+		database.execute("INSERT OR REPLACE INTO tournament_players (tournament_id, " + PLAYER_COLUMNS + ") VALUES " +
+				"(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", args);
+	}
+
+	private void deleteTournamentPlayer(String name) throws IOException {
+		database.execute("DELETE FROM tournament_players WHERE tournament_id = ? AND name = ?", CURRENT_TOURNAMENT,
+				name);
+	}
+
+	private void updateTournamentPlayers(List<Player> players) throws IOException {
+		for (Player player : players) {
+			Object[] values = playerValues(player);
+			// stats without the name, followed by the key
+			Object[] args = new Object[values.length + 1];
+			System.arraycopy(values, 1, args, 0, values.length - 1);
+			args[values.length - 1] = CURRENT_TOURNAMENT;
+			args[values.length] = player.getName();
+			database.execute("UPDATE tournament_players SET " + PLAYER_STATS_UPDATE + " WHERE tournament_id = ? AND " +
+					"name = ?", args);
+		}
+	}
+
+	private void updateSettings(Tournament tournament) throws IOException {
+		database.execute("UPDATE tournaments SET max_score = ?, number_of_games = ?, one_on_one = ?, finished = ?, " +
+				"semi_finals_generated = ?, final_generated = ?, mode = ?, tables = ?, seed = ?, draws = ? WHERE id " +
+				"= ?", tournament.getMaxScore(), tournament.getNumberOfGames(), toInt(tournament.isOneOnOne()),
+				toInt(tournament.isFinished()), toInt(tournament.isSemiFinalsGenerated()), toInt(tournament
+						.isFinalGenerated()), tournament.getMode() == null ? null : tournament.getMode().name(),
+				tournament.getTables(), tournament.getSeed(), tournament.getDraws(), CURRENT_TOURNAMENT);
+	}
+
+	private List<Player> queryPlayers(String sql, Object... args) throws IOException {
+		List<Player> players = new ArrayList<>();
+		SqlCursor cursor = database.query(sql, args);
+		try {
+			while (cursor.moveToNext()) {
+				players.add(new Player(cursor.getString(0), cursor.getInt(1), cursor.getInt(2), cursor.getInt(3),
+						cursor.getInt(4), cursor.getInt(5), cursor.getInt(6), cursor.getInt(7), cursor.getInt(8),
+						cursor.getInt(9), cursor.getInt(10), cursor.getDouble(11), cursor.getDouble(12)));
+			}
+		} finally {
+			cursor.close();
+		}
+		return players;
+	}
+
+	/**
+	 * Build games from rows (position, score_team1, score_team2, finished, result_committed, table_number,
+	 * participant name) ordered by position and slot. Participants are resolved to the players of the tournament;
+	 * players who are no longer part of it are taken from the global player list.
+	 */
+	private List<Game> queryGames(Tournament tournament, String sql, Object... args) throws IOException {
+		Map<String, Player> players = new HashMap<>();
+		for (Player player : tournament.getPlayers()) {
+			players.put(player.getName(), player);
+		}
+		List<Game> games = new ArrayList<>();
+		SqlCursor cursor = database.query(sql, args);
+		try {
+			int currentPosition = -1;
+			int[] gameValues = new int[5];
+			List<Player> participants = null;
+			while (cursor.moveToNext()) {
+				int position = cursor.getInt(0);
+				if (position != currentPosition) {
+					if (participants != null) {
+						games.add(createGame(participants, gameValues));
+					}
+					currentPosition = position;
+					participants = new ArrayList<>(4);
+					for (int i = 0;i < gameValues.length;i++) {
+						gameValues[i] = cursor.getInt(i + 1);
+					}
+				}
+				participants.add(resolvePlayer(players, cursor.getString(6)));
+			}
+			if (participants != null) {
+				games.add(createGame(participants, gameValues));
+			}
+		} finally {
+			cursor.close();
+		}
+		return games;
+	}
+
+	private Player resolvePlayer(Map<String, Player> players, String name) throws IOException {
+		Player player = players.get(name);
+		if (player == null) {
+			List<Player> globalPlayer = queryPlayers("SELECT " + PLAYER_COLUMNS + " FROM players WHERE name = ?",
+					name);
+			player = globalPlayer.isEmpty() ? new Player(name) : globalPlayer.get(0);
+			players.put(name, player);
+		}
+		return player;
+	}
+
+	private static Game createGame(List<Player> participants, int[] values) throws IOException {
+		Game game;
+		try {
+			game = new Game(participants);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Corrupt game in database: " + e.getMessage(), e);
+		}
+		game.setScoreTeam1(values[0]);
+		game.setScoreTeam2(values[1]);
+		game.setFinished(values[2] != 0);
+		game.setResultCommitted(values[3] != 0);
+		game.setTable(values[4]);
+		return game;
+	}
+
+	private static Object[] playerValues(Player player) {
+		return new Object[]{player.getName(), player.getWonGames(), player.getLostGames(), player.getTiedGames(),
+				player.getWonGamesInTournament(), player.getLostGamesInTournament(), player
+				.getTiedGamesInTournament(), player.getGoalsShot(), player.getGoalsShotInTournament(), player
+				.getGoalsReceived(), player.getGoalsReceivedInTournament(), player.getElo(), player
+				.getEloChangeFromLastGame()};
+	}
+
+	private static int toInt(boolean value) {
+		return value ? 1 : 0;
+	}
+}
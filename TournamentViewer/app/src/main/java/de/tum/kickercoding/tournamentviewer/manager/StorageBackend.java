@@ -0,0 +1,103 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.PartnerArchive;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.PlayerSummary;
+import de.tum.kickercoding.tournamentviewer.entities.Schedule;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+
+/**
+ * Permanent storage of players and the current tournament, used by {@link PreferenceFileManager}.
+ * Implementations: {@link FileStorageBackend} (player store and tournament journal) and {@link
+ * SqliteStorageBackend}.
+ */
+interface StorageBackend {
+
+	/**
+	 * @return all players of the global player list
+	 */
+	List<Player> loadPlayers() throws IOException;
+
+	/**
+	 * @return name and elo of all players of the global player list, ordered by name; does not read the statistics
+	 */
+	List<PlayerSummary> loadPlayerSummaries() throws IOException;
+
+	/**
+	 * @return the player with the given name or null if there is none
+	 */
+	Player loadPlayer(String name) throws IOException;
+
+	/**
+	 * insert or update players
+	 */
+	void savePlayers(Collection<Player> players) throws IOException;
+
+	void removePlayer(String name) throws IOException;
+
+	/**
+	 * @param limit maximum number of players returned
+	 * @return players of the global player list with the highest elo, best first
+	 */
+	List<Player> getTopPlayersByElo(int limit) throws IOException;
+
+	/**
+	 * @return partners of the finished tournaments, empty if none were stored so far
+	 */
+	PartnerArchive loadPartnerArchive() throws IOException;
+
+	/**
+	 * store the partners of the finished tournaments, replacing the stored ones
+	 */
+	void savePartnerArchive(PartnerArchive partnerArchive) throws IOException;
+
+	/**
+	 * @return the current tournament or null if none was stored so far
+	 */
+	Tournament loadTournament() throws IOException;
+
+	/**
+	 * store the complete tournament, replacing the stored one
+	 */
+	void saveTournament(Tournament tournament) throws IOException;
+
+	/**
+	 * store changes of the current tournament
+	 *
+	 * @param events changes in the order they occurred
+	 */
+	void appendTournamentEvents(List<TournamentEvent> events) throws IOException;
+
+	/**
+	 * @return true if the next save should store the complete tournament instead of appending events
+	 */
+	boolean isTournamentSnapshotDue();
+
+	/**
+	 * @return details about restoring the tournament during the last {@link #loadTournament()}, null if not
+	 * applicable
+	 */
+	RecoveryReport getTournamentRecoveryReport();
+
+	/**
+	 * @return all games of the current tournament the player participates in, in the order of the tournament
+	 */
+	List<Game> getGamesOfPlayer(String name) throws IOException;
+
+	/**
+	 * @return the precomputed schedule of the current tournament or null if there is none
+	 */
+	Schedule loadSchedule() throws IOException;
+
+	/**
+	 * store the schedule of the current tournament, replacing the stored one
+	 *
+	 * @param schedule null to remove the stored schedule
+	 */
+	void saveSchedule(Schedule schedule) throws IOException;
+}
@@ -0,0 +1,209 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.PairHistory;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.util.Utils;
+
+/**
+ * Splits generated rounds into waves for the kicker tables of the venue (see {@link Tournament#getTables()}) and
+ * assigns games to tables. A round usually has more games than there are tables, so it is played in waves of one
+ * game per table.
+ * <p>
+ * Waves are formed by how long the players have been waiting: the teams of the round (partners stay together)
+ * are ordered by the positions of the last games of their players, so players whose last game is furthest back
+ * play in the first wave and players who just played (or are still playing) in the last one. Games whose teams end
+ * up in the same wave are kept as generated by the matchmaking, the remaining teams of a wave are paired again by
+ * the fewest previous encounters, like the matchmaking pairs teams. Thereby every player waits about one round
+ * between two games, instead of the same players sitting idle until the last wave round after round.
+ * <p>
+ * Tables are handed out in the order in which they become free: tables without an unfinished game first, then
+ * the tables whose unfinished games were generated first.
+ */
+class TableAssignment {
+
+	private TableAssignment() {
+	}
+
+	/**
+	 * @param tournament tournament the round is generated for, without the games of the round
+	 * @param round      games of the round, every player plays at most once
+	 * @param tables     number of games per wave
+	 * @return the games of the round ordered by waves: the first {@code tables} games are the first wave and so on
+	 */
+	static List<Game> orderWaves(Tournament tournament, List<Game> round, int tables) {
+		Map<String, Integer> lastPositions = getLastPositions(tournament.getGames());
+		// team t is team 1 (t even) or team 2 (t odd) of game t / 2
+		int teamCount = 2 * round.size();
+		final int[] waiting = new int[teamCount];
+		List<Integer> teams = new ArrayList<>(teamCount);
+		for (int team = 0;team < teamCount;team++) {
+			// sum of the positions of the last games: smaller means the players waited longer
+			for (Player participant : getTeam(round, team)) {
+				Integer lastPosition = lastPositions.get(participant.getName());
+				waiting[team] += (lastPosition == null) ? -1 : lastPosition;
+			}
+			teams.add(team);
+		}
+		// stable: teams with equal waiting times stay in the order of the matchmaking
+		Collections.sort(teams, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer team1, Integer team2) {
+				return waiting[team1] - waiting[team2];
+			}
+		});
+		int[] waves = new int[teamCount];
+		for (int rank = 0;rank < teamCount;rank++) {
+			waves[teams.get(rank)] = rank / (2 * tables);
+		}
+		List<Game> ordered = new ArrayList<>(round.size());
+		boolean[] placed = new boolean[teamCount];
+		// teams of the current wave whose opponents play in another wave
+		List<List<Player>> leftovers = new ArrayList<>();
+		for (int rank = 0;rank < teamCount;rank++) {
+			int team = teams.get(rank);
+			int opponent = team ^ 1;
+			if (waves[opponent] != waves[team]) {
+				leftovers.add(getTeam(round, team));
+			} else if (!placed[team]) {
+				// keep the game of the matchmaking
+				placed[opponent] = true;
+				ordered.add(round.get(team / 2));
+			}
+			if (rank + 1 == teamCount || waves[teams.get(rank + 1)] != waves[team]) {
+				// every wave has an even number of teams, so all leftovers are paired
+				ordered.addAll(pairTeams(tournament, leftovers));
+				leftovers.clear();
+			}
+		}
+		return ordered;
+	}
+
+	/**
+	 * Pair the teams like the matchmaking does: every team plays the unpaired team it played against least often
+	 * (see {@link PairHistory#getOpponentCount(List, List)}). Ties go to the team with the closest elo; in 1on1
+	 * tournaments the players are taken in Swiss order, so ties go to the next player of the score group.
+	 */
+	private static List<Game> pairTeams(Tournament tournament, List<List<Player>> teams) {
+		List<List<Player>> unpaired = new ArrayList<>(teams);
+		if (tournament.isOneOnOne()) {
+			List<Player> players = new ArrayList<>();
+			for (List<Player> team : teams) {
+				players.addAll(team);
+			}
+			Utils.sortPlayersForSwissPairing(players);
+			unpaired.clear();
+			for (Player player : players) {
+				unpaired.add(Collections.singletonList(player));
+			}
+		}
+		PairHistory pairHistory = tournament.getPairHistory();
+		List<Game> games = new ArrayList<>();
+		while (unpaired.size() > 1) {
+			List<Player> team = unpaired.remove(0);
+			int bestOpponent = 0;
+			int minOpponentCount = Integer.MAX_VALUE;
+			double minEloDifference = Double.MAX_VALUE;
+			for (int i = 0;i < unpaired.size();i++) {
+				int opponentCount = pairHistory.getOpponentCount(team, unpaired.get(i));
+				double eloDifference = Math.abs(getElo(team) - getElo(unpaired.get(i)));
+				if (opponentCount < minOpponentCount || (opponentCount == minOpponentCount && !tournament.isOneOnOne()
+						&& eloDifference < minEloDifference)) {
+					minOpponentCount = opponentCount;
+					minEloDifference = eloDifference;
+					bestOpponent = i;
+				}
+			}
+			List<Player> participants = new ArrayList<>(team);
+			participants.addAll(unpaired.remove(bestOpponent));
+			games.add(new Game(participants));
+		}
+		return games;
+	}
+
+	private static double getElo(List<Player> team) {
+		double elo = 0;
+		for (Player player : team) {
+			elo += player.getElo();
+		}
+		return elo;
+	}
+
+	/**
+	 * assign the games to the tables in the order in which the tables become free; nothing happens if the
+	 * tournament has no tables set
+	 *
+	 * @param tournament tournament the games are generated for, without the games
+	 * @param wave       games to assign, at most one per table
+	 */
+	static void assignTables(Tournament tournament, List<Game> wave) {
+		int tables = tournament.getTables();
+		if (tables <= 0) {
+			return;
+		}
+		int[] tableOrder = getTableOrder(tournament.getGames(), tables);
+		for (int i = 0;i < wave.size();i++) {
+			wave.get(i).setTable(tableOrder[i % tables]);
+		}
+	}
+
+	private static List<Player> getTeam(List<Game> round, int team) {
+		Game game = round.get(team / 2);
+		return (team % 2 == 0) ? game.getTeam1() : game.getTeam2();
+	}
+
+	/**
+	 * @return position of the last game of every player
+	 */
+	private static Map<String, Integer> getLastPositions(List<Game> games) {
+		Map<String, Integer> lastPositions = new HashMap<>();
+		for (int position = 0;position < games.size();position++) {
+			for (Player participant : games.get(position).getParticipants()) {
+				lastPositions.put(participant.getName(), position);
+			}
+		}
+		return lastPositions;
+	}
+
+	/**
+	 * @return the tables (numbered from 1) in the order in which they become free
+	 */
+	private static int[] getTableOrder(List<Game> games, int tables) {
+		// position of the last unfinished game on every table, -1 if the table is free
+		final int[] busyUntil = new int[tables + 1];
+		for (int table = 1;table <= tables;table++) {
+			busyUntil[table] = -1;
+		}
+		for (int position = 0;position < games.size();position++) {
+			Game game = games.get(position);
+			int table = game.getTable();
+			if (!game.isFinished() && table >= 1 && table <= tables) {
+				busyUntil[table] = position;
+			}
+		}
+		List<Integer> order = new ArrayList<>(tables);
+		for (int table = 1;table <= tables;table++) {
+			order.add(table);
+		}
+		// stable: free tables keep their numbering
+		Collections.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer table1, Integer table2) {
+				return busyUntil[table1] - busyUntil[table2];
+			}
+		});
+		int[] tableOrder = new int[tables];
+		for (int i = 0;i < tables;i++) {
+			tableOrder[i] = order.get(i);
+		}
+		return tableOrder;
+	}
+}
@@ -0,0 +1,369 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.tum.kickercoding.tournamentviewer.entities.EntityGson;
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.util.TournamentMode;
+
+/**
+ * A single, small change of the running tournament as it is written to the {@link TournamentJournal}.
+ * Events only carry the data touched by the change (e.g. the participants of a committed game), so writing one
+ * costs the same no matter how many games were played so far. Replaying all events on top of the last snapshot
+ * restores the tournament.
+ */
+class TournamentEvent {
+
+	enum Type {
+		GAME_GENERATED,
+		GAME_FINALIZED,
+		GAME_COMMITTED,
+		GAME_REVERTED,
+		GAME_REMOVED,
+		PLAYER_TOGGLED,
+		PLAYER_REMOVED,
+		SETTINGS_CHANGED
+	}
+
+	private Type type;
+
+	// assigned by the journal when the event is written
+	private long sequence;
+
+	private int position = -1;
+
+	private int scoreTeam1;
+
+	private int scoreTeam2;
+
+	// names of the participants of a generated game, resolved to the players of the tournament on replay
+	private List<String> participants;
+
+	// table of a generated game
+	private int table;
+
+	// generated game including copies of its participants, only contained in journals of older versions
+	private Game game;
+
+	// state of all players affected by the event (after the event took place)
+	private List<Player> players;
+
+	private boolean signedUp;
+
+	private int maxScore;
+
+	private int numberOfGames;
+
+	private boolean oneOnOne;
+
+	private int tables;
+
+	private long seed;
+
+	private int draws;
+
+	private boolean finished;
+
+	private boolean semiFinalsGenerated;
+
+	private boolean finalGenerated;
+
+	private TournamentMode mode;
+
+	private TournamentEvent(Type type) {
+		this.type = type;
+	}
+
+	static TournamentEvent gameGenerated(Game game) {
+		TournamentEvent event = new TournamentEvent(Type.GAME_GENERATED);
+		event.participants = new ArrayList<>();
+		for (Player player : game.getParticipants()) {
+			event.participants.add(player.getName());
+		}
+		event.table = game.getTable();
+		return event;
+	}
+
+	static TournamentEvent gameFinalized(int position, int scoreTeam1, int scoreTeam2) {
+		TournamentEvent event = new TournamentEvent(Type.GAME_FINALIZED);
+		event.position = position;
+		event.scoreTeam1 = scoreTeam1;
+		event.scoreTeam2 = scoreTeam2;
+		return event;
+	}
+
+	static TournamentEvent gameCommitted(int position, List<Player> participants) {
+		TournamentEvent event = new TournamentEvent(Type.GAME_COMMITTED);
+		event.position = position;
+		event.players = copyPlayers(participants);
+		return event;
+	}
+
+	static TournamentEvent gameReverted(int position, List<Player> participants) {
+		TournamentEvent event = new TournamentEvent(Type.GAME_REVERTED);
+		event.position = position;
+		event.players = copyPlayers(participants);
+		return event;
+	}
+
+	static TournamentEvent gameRemoved(int position) {
+		TournamentEvent event = new TournamentEvent(Type.GAME_REMOVED);
+		event.position = position;
+		return event;
+	}
+
+	static TournamentEvent playerToggled(Player player, boolean signedUp) {
+		TournamentEvent event = new TournamentEvent(Type.PLAYER_TOGGLED);
+		event.players = copyPlayers(Collections.singletonList(player));
+		event.signedUp = signedUp;
+		return event;
+	}
+
+	static TournamentEvent playerRemoved(String name) {
+		TournamentEvent event = new TournamentEvent(Type.PLAYER_REMOVED);
+		event.players = copyPlayers(Collections.singletonList(new Player(name)));
+		return event;
+	}
+
+	static TournamentEvent settingsChanged(Tournament tournament) {
+		TournamentEvent event = new TournamentEvent(Type.SETTINGS_CHANGED);
+		event.maxScore = tournament.getMaxScore();
+		event.numberOfGames = tournament.getNumberOfGames();
+		event.oneOnOne = tournament.isOneOnOne();
+		event.tables = tournament.getTables();
+		event.seed = tournament.getSeed();
+		event.draws = tournament.getDraws();
+		event.finished = tournament.isFinished();
+		event.semiFinalsGenerated = tournament.isSemiFinalsGenerated();
+		event.finalGenerated = tournament.isFinalGenerated();
+		event.mode = tournament.getMode();
+		return event;
+	}
+
+	private static List<Player> copyPlayers(List<Player> players) {
+		List<Player> copies = new ArrayList<>();
+		for (Player player : players) {
+			copies.add(player.copy());
+		}
+		return copies;
+	}
+
+	Type getType() {
+		return type;
+	}
+
+	long getSequence() {
+		return sequence;
+	}
+
+	void setSequence(long sequence) {
+		this.sequence = sequence;
+	}
+
+	int getPosition() {
+		return position;
+	}
+
+	int getScoreTeam1() {
+		return scoreTeam1;
+	}
+
+	int getScoreTeam2() {
+		return scoreTeam2;
+	}
+
+	/**
+	 * @return table of a generated game, 0 if not assigned
+	 */
+	int getTable() {
+		if (participants == null && game != null) {
+			return game.getTable();
+		}
+		return table;
+	}
+
+	/**
+	 * @return names of the participants of a generated game
+	 */
+	List<String> getParticipantNames() {
+		if (participants == null && game != null) {
+			List<String> names = new ArrayList<>();
+			for (Player player : game.getParticipants()) {
+				names.add(player.getName());
+			}
+			return names;
+		}
+		return participants;
+	}
+
+	/**
+	 * @return state of all players affected by the event
+	 */
+	List<Player> getPlayers() {
+		return players;
+	}
+
+	boolean isSignedUp() {
+		return signedUp;
+	}
+
+	/**
+	 * @param tournament receives the settings of a {@link Type#SETTINGS_CHANGED} event
+	 */
+	void applySettings(Tournament tournament) {
+		tournament.setMaxScore(maxScore);
+		tournament.setNumberOfGames(numberOfGames);
+		tournament.setOneOnOne(oneOnOne);
+		tournament.setTables(tables);
+		tournament.setSeed(seed);
+		tournament.setDraws(draws);
+		tournament.setFinished(finished);
+		tournament.setSemiFinalsGenerated(semiFinalsGenerated);
+		tournament.setFinalGenerated(finalGenerated);
+		tournament.setMode(mode);
+	}
+
+	/**
+	 * Apply the event to a tournament, i.e. repeat the change it describes.
+	 *
+	 * @param tournament the tournament the event is replayed on
+	 * @throws IllegalStateException if the event does not fit the tournament (e.g. game position does not exist)
+	 */
+	void apply(Tournament tournament) {
+		List<Game> games = tournament.getGames();
+		switch (type) {
+			case GAME_GENERATED:
+				try {
+					tournament.addGame(createGame(tournament));
+				} catch (IllegalArgumentException e) {
+					throw new IllegalStateException(type + ": " + e.getMessage());
+				}
+				break;
+			case GAME_FINALIZED: {
+				Game gameToFinalize = getGame(games);
+				gameToFinalize.setScoreTeam1(scoreTeam1);
+				gameToFinalize.setScoreTeam2(scoreTeam2);
+				gameToFinalize.setFinished(true);
+				break;
+			}
+			case GAME_COMMITTED:
+				// committed games created outside of the tournament (position -1) only update the players
+				if (position != -1) {
+					getGame(games).setResultCommitted(true);
+				}
+				updatePlayers(tournament);
+				break;
+			case GAME_REVERTED: {
+				Game gameToRevert = getGame(games);
+				gameToRevert.setScoreTeam1(0);
+				gameToRevert.setScoreTeam2(0);
+				gameToRevert.setResultCommitted(false);
+				updatePlayers(tournament);
+				break;
+			}
+			case GAME_REMOVED:
+				getGame(games);
+				tournament.removeGame(position);
+				break;
+			case PLAYER_TOGGLED:
+				if (signedUp) {
+					tournament.addPlayer(players.get(0).copy());
+				} else {
+					// toggling a player off deletes all uncommitted games, see TournamentManager
+					for (int i = games.size() - 1;i >= 0;i--) {
+						if (!games.get(i).isResultCommitted()) {
+							tournament.removeGame(i);
+						}
+					}
+					tournament.removePlayer(players.get(0));
+				}
+				break;
+			case PLAYER_REMOVED:
+				tournament.removePlayer(players.get(0));
+				break;
+			case SETTINGS_CHANGED:
+				applySettings(tournament);
+				break;
+		}
+	}
+
+	private Game createGame(Tournament tournament) {
+		List<String> names = getParticipantNames();
+		if (names == null) {
+			throw new IllegalStateException(type + ": participants missing");
+		}
+		List<Player> tournamentPlayers = tournament.getPlayers();
+		List<Player> gameParticipants = new ArrayList<>(names.size());
+		for (String name : names) {
+			int index = tournamentPlayers.indexOf(new Player(name));
+			if (index == -1) {
+				throw new IllegalStateException(String.format("%s: player %s is not part of the tournament", type,
+						name));
+			}
+			gameParticipants.add(tournamentPlayers.get(index));
+		}
+		Game newGame;
+		try {
+			newGame = new Game(gameParticipants);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalStateException(type + ": " + e.getMessage());
+		}
+		if (game != null) {
+			newGame.setScoreTeam1(game.getScoreTeam1());
+			newGame.setScoreTeam2(game.getScoreTeam2());
+			newGame.setFinished(game.isFinished());
+			newGame.setResultCommitted(game.isResultCommitted());
+		}
+		newGame.setTable(getTable());
+		return newGame;
+	}
+
+	private Game getGame(List<Game> games) {
+		if (position < 0 || position >= games.size()) {
+			throw new IllegalStateException(String.format("%s: game with position %d does not exist", type,
+					position));
+		}
+		return games.get(position);
+	}
+
+	private void updatePlayers(Tournament tournament) {
+		List<Player> tournamentPlayers = tournament.getPlayers();
+		for (Player player : players) {
+			int index = tournamentPlayers.indexOf(player);
+			if (index != -1) {
+				// update the instance in place, games refer to it
+				copyStats(player, tournamentPlayers.get(index));
+			}
+		}
+	}
+
+	private static void copyStats(Player from, Player to) {
+		to.setWonGames(from.getWonGames());
+		to.setLostGames(from.getLostGames());
+		to.setTiedGames(from.getTiedGames());
+		to.setWonGamesInTournament(from.getWonGamesInTournament());
+		to.setLostGamesInTournament(from.getLostGamesInTournament());
+		to.setTiedGamesInTournament(from.getTiedGamesInTournament());
+		to.setGoalsShot(from.getGoalsShot());
+		to.setGoalsReceived(from.getGoalsReceived());
+		to.setGoalsShotInTournament(from.getGoalsShotInTournament());
+		to.setGoalsReceivedInTournament(from.getGoalsReceivedInTournament());
+		to.setElo(from.getElo());
+		to.setEloChangeFromLastGame(from.getEloChangeFromLastGame());
+	}
+
+	/****************************
+	 * hand written (de)serialization using json
+	 *****************************/
+	String toJson() {
+		return EntityGson.get().toJson(this);
+	}
+
+	static TournamentEvent fromJson(String eventAsJson) {
+		return EntityGson.get().fromJson(eventAsJson, TournamentEvent.class);
+	}
+}
@@ -0,0 +1,322 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import android.util.Log;
+
+import com.google.gson.JsonParseException;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import de.tum.kickercoding.tournamentviewer.entities.EntityGson;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+
+/**
+ * Append-only storage of the running tournament. A full snapshot of the {@link Tournament} is written only
+ * occasionally, every change in between is appended to the journal as a small {@link TournamentEvent}.
+ * Loading reads the snapshot and replays all events written after it.
+ * <p>
+ * Events are written in batches (one batch per save of the TournamentManager) and each batch is synced to disk once.
+ * Every record of the journal is framed by its length and a CRC32 checksum: a record which was only partially
+ * written when the app crashed is detected during {@link #load()} and cut off, so at most the last action is lost.
+ */
+class TournamentJournal {
+
+	private static final String LOG_TAG = TournamentJournal.class.toString();
+
+	private static final String CHARSET = "UTF-8";
+
+	// length (int) and checksum (int) in front of every record
+	private static final int RECORD_HEADER_SIZE = 8;
+
+	private final File snapshotFile;
+
+	private final File journalFile;
+
+	// sequence number of the last event which was written
+	private long lastSequence = 0;
+
+	private int eventsSinceSnapshot = 0;
+
+	private boolean loaded = false;
+
+	// set if the journal had to be truncated during recovery; the restored state should be compacted into a snapshot
+	private boolean compactionPending = false;
+
+	private RecoveryReport lastRecovery;
+
+	TournamentJournal(File directory) {
+		snapshotFile = new File(directory, Constants.FILE_TOURNAMENT_SNAPSHOT);
+		journalFile = new File(directory, Constants.FILE_TOURNAMENT_JOURNAL);
+	}
+
+	/**
+	 * @return true if neither a snapshot nor a journal was written so far
+	 */
+	boolean isEmpty() {
+		return !snapshotFile.exists() && !journalFile.exists();
+	}
+
+	/**
+	 * Restore the tournament from the last snapshot and the journal tail written after it. A torn or corrupt
+	 * record at the end of the journal is truncated, the outcome is available via {@link #getLastRecovery()}.
+	 *
+	 * @return the restored tournament or null if no snapshot was written so far
+	 * @throws IOException if snapshot or journal can't be read
+	 */
+	Tournament load() throws IOException {
+		long start = System.nanoTime();
+		loaded = true;
+		lastSequence = 0;
+		eventsSinceSnapshot = 0;
+		lastRecovery = null;
+		if (!snapshotFile.exists()) {
+			return null;
+		}
+		Snapshot snapshot = readSnapshot();
+		Tournament tournament = snapshot.tournament;
+		lastSequence = snapshot.sequence;
+		long truncatedBytes = 0;
+		if (journalFile.exists()) {
+			Replay replay = replayJournal(tournament, snapshot.sequence);
+			lastSequence = replay.lastSequence;
+			eventsSinceSnapshot = replay.replayedEvents;
+			truncatedBytes = replay.journalLength - replay.validLength;
+			if (truncatedBytes > 0) {
+				truncateJournal(replay.validLength);
+				compactionPending = true;
+			}
+		}
+		lastRecovery = new RecoveryReport(snapshot.sequence, eventsSinceSnapshot, truncatedBytes,
+				(System.nanoTime() - start) / 1000000);
+		return tournament;
+	}
+
+	/**
+	 * Restore the tournament like {@link #load()}, but only read the files: a torn or corrupt record at the end of
+	 * the journal is skipped instead of truncated, and the sequence numbers and the recovery report used for
+	 * appending stay untouched. Events which are appended meanwhile may be missing.
+	 *
+	 * @return the stored tournament or null if no snapshot was written so far
+	 * @throws IOException if snapshot or journal can't be read
+	 */
+	Tournament read() throws IOException {
+		if (!snapshotFile.exists()) {
+			return null;
+		}
+		Snapshot snapshot = readSnapshot();
+		if (journalFile.exists()) {
+			replayJournal(snapshot.tournament, snapshot.sequence);
+		}
+		return snapshot.tournament;
+	}
+
+	/**
+	 * apply all events with a sequence number greater than the snapshot's to the tournament, up to the first torn
+	 * or corrupt record; does not change the journal or the state of this instance
+	 */
+	private Replay replayJournal(Tournament tournament, long snapshotSequence) throws IOException {
+		Replay replay = new Replay();
+		replay.lastSequence = snapshotSequence;
+		replay.journalLength = journalFile.length();
+		long journalLength = replay.journalLength;
+		long validLength = 0;
+		DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile)));
+		try {
+			CRC32 crc = new CRC32();
+			while (validLength < journalLength) {
+				if (journalLength - validLength < RECORD_HEADER_SIZE) {
+					Log.w(LOG_TAG, "replayJournal: incomplete record header after sequence " + replay.lastSequence);
+					break;
+				}
+				int length = input.readInt();
+				int checksum = input.readInt();
+				if (length < 0 || length > journalLength - validLength - RECORD_HEADER_SIZE) {
+					Log.w(LOG_TAG, "replayJournal: incomplete record after sequence " + replay.lastSequence);
+					break;
+				}
+				byte[] payload = new byte[length];
+				input.readFully(payload);
+				crc.reset();
+				crc.update(payload, 0, length);
+				if ((int) crc.getValue() != checksum) {
+					Log.w(LOG_TAG, "replayJournal: checksum mismatch after sequence " + replay.lastSequence);
+					break;
+				}
+				TournamentEvent event;
+				try {
+					event = TournamentEvent.fromJson(new String(payload, CHARSET));
+				} catch (JsonParseException e) {
+					Log.w(LOG_TAG, "replayJournal: unreadable record after sequence " + replay.lastSequence);
+					break;
+				}
+				// events up to the snapshot are already contained in it
+				if (event.getSequence() > snapshotSequence) {
+					try {
+						event.apply(tournament);
+					} catch (IllegalStateException e) {
+						Log.w(LOG_TAG, "replayJournal: could not apply event " + event.getSequence() + ": " + e
+								.getMessage());
+						break;
+					}
+					replay.lastSequence = event.getSequence();
+					replay.replayedEvents++;
+				}
+				validLength += RECORD_HEADER_SIZE + length;
+			}
+		} catch (EOFException e) {
+			// the journal was cleared by a snapshot while it was read
+			Log.w(LOG_TAG, "replayJournal: journal ended after sequence " + replay.lastSequence);
+		} finally {
+			input.close();
+		}
+		replay.validLength = validLength;
+		return replay;
+	}
+
+	private void truncateJournal(long length) throws IOException {
+		RandomAccessFile file = new RandomAccessFile(journalFile, "rw");
+		try {
+			file.setLength(length);
+			file.getFD().sync();
+		} finally {
+			file.close();
+		}
+	}
+
+	/**
+	 * Append events to the journal and sync them to disk.
+	 *
+	 * @param events events in the order they occurred
+	 * @throws IOException if the events could not be written
+	 */
+	void append(List<TournamentEvent> events) throws IOException {
+		if (events.isEmpty()) {
+			return;
+		}
+		if (!loaded) {
+			load();
+		}
+		FileOutputStream outputStream = new FileOutputStream(journalFile, true);
+		try {
+			DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+			CRC32 crc = new CRC32();
+			for (TournamentEvent event : events) {
+				event.setSequence(++lastSequence);
+				byte[] payload = event.toJson().getBytes(CHARSET);
+				crc.reset();
+				crc.update(payload, 0, payload.length);
+				output.writeInt(payload.length);
+				output.writeInt((int) crc.getValue());
+				output.write(payload);
+			}
+			output.flush();
+			outputStream.getFD().sync();
+		} finally {
+			outputStream.close();
+		}
+		eventsSinceSnapshot += events.size();
+	}
+
+	/**
+	 * Replace the snapshot with the given tournament and clear the journal.
+	 * The snapshot remembers the sequence number of the last event, so events which are still in the journal
+	 * (e.g. because the app crashed before it was cleared) are not applied twice.
+	 *
+	 * @param tournament the complete current state of the tournament
+	 * @throws IOException if the snapshot could not be written
+	 */
+	void writeSnapshot(Tournament tournament) throws IOException {
+		if (!loaded) {
+			load();
+		}
+		Snapshot snapshot = new Snapshot();
+		snapshot.sequence = lastSequence;
+		snapshot.tournament = tournament;
+		File tempFile = new File(snapshotFile.getPath() + ".tmp");
+		FileOutputStream outputStream = new FileOutputStream(tempFile);
+		try {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, CHARSET));
+			EntityGson.get().toJson(snapshot, writer);
+			writer.flush();
+			outputStream.getFD().sync();
+		} finally {
+			outputStream.close();
+		}
+		if (!tempFile.renameTo(snapshotFile)) {
+			throw new IOException("Could not replace snapshot " + snapshotFile.getPath());
+		}
+		// truncate journal
+		new FileOutputStream(journalFile, false).close();
+		eventsSinceSnapshot = 0;
+		compactionPending = false;
+	}
+
+	/**
+	 * @return outcome of the last {@link #load()}, null if nothing was restored
+	 */
+	RecoveryReport getLastRecovery() {
+		return lastRecovery;
+	}
+
+	/**
+	 * Snapshots are written periodically (every {@link Constants#TOURNAMENT_SNAPSHOT_INTERVAL} events) to keep the
+	 * journal tail which needs to be replayed on load short, and after a recovery which truncated the journal.
+	 *
+	 * @return true if the next save should write a snapshot instead of appending to the journal
+	 */
+	boolean isSnapshotDue() {
+		return compactionPending || eventsSinceSnapshot >= Constants.TOURNAMENT_SNAPSHOT_INTERVAL;
+	}
+
+	/**
+	 * @return number of events in the journal, i.e. events that need to be replayed on load
+	 */
+	int getEventsSinceSnapshot() {
+		return eventsSinceSnapshot;
+	}
+
+	private Snapshot readSnapshot() throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(snapshotFile),
+				CHARSET));
+		try {
+			Snapshot snapshot = EntityGson.get().fromJson(reader, Snapshot.class);
+			if (snapshot == null || snapshot.tournament == null) {
+				throw new IOException("Snapshot " + snapshotFile.getPath() + " is empty");
+			}
+			return snapshot;
+		} catch (JsonParseException e) {
+			throw new IOException("Corrupt snapshot " + snapshotFile.getPath(), e);
+		} finally {
+			reader.close();
+		}
+	}
+
+	private static class Snapshot {
+		long sequence;
+		Tournament tournament;
+	}
+
+	private static class Replay {
+		long lastSequence;
+		int replayedEvents;
+		// length of the journal when the replay started and of its valid records
+		long journalLength;
+		long validLength;
+	}
+}
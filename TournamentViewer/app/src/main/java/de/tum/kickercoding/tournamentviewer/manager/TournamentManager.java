@@ -4,15 +4,30 @@ import android.util.Log;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
 
 import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.PartnerArchive;
 import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Schedule;
 import de.tum.kickercoding.tournamentviewer.entities.Tournament;
 import de.tum.kickercoding.tournamentviewer.exceptions.PreferenceFileManagerException;
 import de.tum.kickercoding.tournamentviewer.exceptions.TournamentManagerException;
 import de.tum.kickercoding.tournamentviewer.tournament.Matchmaking;
+import de.tum.kickercoding.tournamentviewer.tournament.monsterdyp.AnnealingMatchmaking;
+import de.tum.kickercoding.tournamentviewer.tournament.monsterdyp.ExactMatchmaking;
 import de.tum.kickercoding.tournamentviewer.tournament.monsterdyp.MonsterDypMatchmaking;
+import de.tum.kickercoding.tournamentviewer.tournament.monsterdyp.RollingDispatcher;
+import de.tum.kickercoding.tournamentviewer.tournament.monsterdyp.ScheduledMatchmaking;
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+import de.tum.kickercoding.tournamentviewer.util.MatchmakingAlgorithm;
+import de.tum.kickercoding.tournamentviewer.util.SplittableRng;
 import de.tum.kickercoding.tournamentviewer.util.TournamentMode;
 import de.tum.kickercoding.tournamentviewer.util.Utils;
 
@@ -34,8 +49,93 @@ class TournamentManager {
 
 	private Matchmaking matchmaking;
 
+	/**
+	 * The single source of truth for the running tournament. It is read from permanent storage once during
+	 * {@link #initialize()} (or after {@link #invalidateTournament()}); all reads are answered from memory and
+	 * permanent storage only serves as write-behind durability via {@link #saveTournament()}.
+	 */
 	private Tournament currentTournament;
 
+	/**
+	 * changes since the last save, handed to the {@link #persistenceExecutor} by {@link #saveTournament()}
+	 */
+	private List<TournamentEvent> pendingEvents = new ArrayList<>();
+
+	/**
+	 * set if the tournament was replaced as a whole (e.g. new tournament) and events are not sufficient to store it
+	 */
+	private boolean snapshotRequired = false;
+
+	/**
+	 * games of the current round which were not handed out yet, they form the next waves if the tournament has
+	 * tables set (see {@link TableAssignment}); not persisted, a new round is generated after a restart
+	 */
+	private List<Game> pendingWaves = new ArrayList<>();
+
+	// partners of the finished tournaments, loaded on first use
+	private PartnerArchive partnerArchive;
+
+	private final PersistenceExecutor persistenceExecutor = new PersistenceExecutor(new PersistenceExecutor
+			.TournamentStore() {
+		@Override
+		public void saveTournament(Tournament tournament) throws PreferenceFileManagerException {
+			PreferenceFileManager.getInstance().saveTournament(tournament);
+		}
+
+		@Override
+		public void appendTournamentEvents(List<TournamentEvent> events) throws PreferenceFileManagerException {
+			PreferenceFileManager.getInstance().appendTournamentEvents(events);
+		}
+
+		@Override
+		public boolean isTournamentSnapshotDue() {
+			return PreferenceFileManager.getInstance().isTournamentSnapshotDue();
+		}
+	});
+
+	/**
+	 * computes and writes the schedule of the {@link ScheduledMatchmaking}, so neither happens on the UI thread
+	 */
+	private final ExecutorService scheduleExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "tournament-schedule");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	/**
+	 * schedule computed by the {@link #scheduleExecutor}, taken over by the UI thread before the next round is
+	 * generated (see {@link #adoptBuiltSchedule()})
+	 */
+	private final AtomicReference<BuiltSchedule> builtSchedule = new AtomicReference<>();
+
+	/**
+	 * number of the latest schedule build; changed whenever a schedule is started or cleared, so the result of an
+	 * outdated build is dropped
+	 */
+	private int scheduleBuild = 0;
+
+	/**
+	 * result of a schedule build together with the state of the tournament it was built for
+	 */
+	private static class BuiltSchedule {
+
+		final int build;
+
+		// number of games of the tournament the schedule was built for
+		final int games;
+
+		final Schedule schedule;
+
+		BuiltSchedule(int build, int games, Schedule schedule) {
+			this.build = build;
+			this.games = games;
+			this.schedule = schedule;
+		}
+	}
+
 	private boolean isInitialized = false;
 
 	void initialize() {
@@ -44,17 +144,68 @@ class TournamentManager {
 		saveTournament();
 	}
 
+	/**
+	 * write the changes of the in-memory tournament to permanent storage; call after every change of the
+	 * tournament. The changes are written in the background by the {@link PersistenceExecutor}, so this returns
+	 * immediately; use {@link #flush()} to wait for the write.
+	 */
 	void saveTournament() {
-		try {
-			PreferenceFileManager.getInstance().saveTournament(currentTournament);
-		} catch (PreferenceFileManagerException e) {
-			Log.e(LOG_TAG, "Couldn't save tournament; unstable state; cause:" + e.getMessage());
+		if (persistenceExecutor.takeReplicaLost()) {
+			Log.w(LOG_TAG, "saveTournament: persistence out of sync, writing a snapshot");
+			snapshotRequired = true;
 		}
+		if (snapshotRequired) {
+			persistenceExecutor.replace(copyOf(currentTournament), true);
+			snapshotRequired = false;
+			// contained in the copy
+			pendingEvents = new ArrayList<>();
+		}
+		persistenceExecutor.save(pendingEvents);
+		pendingEvents = new ArrayList<>();
+	}
+
+	/**
+	 * save pending changes and wait until everything is written to permanent storage (e.g. before the app is
+	 * paused or after the tournament was finished)
+	 */
+	void flush() {
+		saveTournament();
+		persistenceExecutor.flush();
 	}
 
-	void loadTournament() {
+	/**
+	 * the {@link PersistenceExecutor} works on its own copy, so the background thread never reads the instance the
+	 * UI thread is changing; copied without json, so nothing is serialized on the UI thread
+	 */
+	private static Tournament copyOf(Tournament tournament) {
+		return tournament.copy();
+	}
+
+	private void record(TournamentEvent event) {
+		pendingEvents.add(event);
+	}
+
+	/**
+	 * Discard the in-memory tournament and reload it from permanent storage. Only needed if the stored
+	 * tournament was changed by someone else than this manager, regular reads never touch the storage.
+	 */
+	void invalidateTournament() {
+		flush();
+		loadTournament();
+		matchmaking = null;
+	}
+
+	private void loadTournament() {
 		try {
 			currentTournament = PreferenceFileManager.getInstance().loadTournament();
+			pendingEvents.clear();
+			discardPendingGames();
+			snapshotRequired = false;
+			persistenceExecutor.replace(copyOf(currentTournament), false);
+			RecoveryReport recoveryReport = PreferenceFileManager.getInstance().getTournamentRecoveryReport();
+			if (recoveryReport != null) {
+				Log.i(LOG_TAG, "Tournament restored: " + recoveryReport);
+			}
 		} catch (PreferenceFileManagerException e) {
 			Log.e(LOG_TAG, "Couldn't load tournament; unstable state; cause:" + e.getMessage());
 			//start MonsterDYP as backup
@@ -67,7 +218,31 @@ class TournamentManager {
 		if (mode != null) {
 			switch (mode) {
 				case MONSTERDYP:
-					matchmaking = MonsterDypMatchmaking.getInstance();
+					MatchmakingAlgorithm algorithm = loadMatchmakingAlgorithm();
+					MonsterDypMatchmaking monsterDypMatchmaking = MonsterDypMatchmaking.getInstance();
+					monsterDypMatchmaking.setAlgorithm(algorithm);
+					setCandidateSearch(monsterDypMatchmaking);
+					PartnerArchive archive = getPartnerArchive();
+					monsterDypMatchmaking.setPartnerArchive((archive != null) ? archive : new PartnerArchive());
+					AnnealingMatchmaking annealingMatchmaking = AnnealingMatchmaking.getInstance();
+					annealingMatchmaking.setBudgetMillis(loadAnnealingBudgetMillis());
+					if (algorithm == MatchmakingAlgorithm.ANNEALING) {
+						matchmaking = annealingMatchmaking;
+					} else if (algorithm == MatchmakingAlgorithm.EXACT) {
+						// falls back to annealing for large pools
+						matchmaking = ExactMatchmaking.getInstance();
+					} else if (algorithm == MatchmakingAlgorithm.ROLLING) {
+						matchmaking = RollingDispatcher.getInstance();
+					} else if (algorithm == MatchmakingAlgorithm.SCHEDULE) {
+						ScheduledMatchmaking scheduledMatchmaking = ScheduledMatchmaking.getInstance();
+						if (scheduledMatchmaking.getSchedule() == null) {
+							// e.g. app restarted during the tournament
+							scheduledMatchmaking.setSchedule(loadSchedule());
+						}
+						matchmaking = scheduledMatchmaking;
+					} else {
+						matchmaking = monsterDypMatchmaking;
+					}
 					break;
 				default:
 					Log.e(LOG_TAG,
@@ -78,17 +253,185 @@ class TournamentManager {
 		}
 	}
 
+	/**
+	 * @return partners of the finished tournaments, null if they could not be loaded
+	 */
+	private PartnerArchive getPartnerArchive() {
+		if (partnerArchive == null) {
+			try {
+				partnerArchive = PreferenceFileManager.getInstance().loadPartnerArchive();
+			} catch (PreferenceFileManagerException e) {
+				Log.e(LOG_TAG, "Couldn't load partner archive; cause:" + e.getMessage());
+			}
+		}
+		return partnerArchive;
+	}
+
+	private MatchmakingAlgorithm loadMatchmakingAlgorithm() {
+		try {
+			return PreferenceFileManager.getInstance().loadMatchmakingAlgorithm();
+		} catch (PreferenceFileManagerException e) {
+			Log.e(LOG_TAG, "Couldn't load matchmaking algorithm, using default; cause:" + e.getMessage());
+			return Constants.DEFAULT_MATCHMAKING_ALGORITHM;
+		}
+	}
+
+	private void setCandidateSearch(MonsterDypMatchmaking monsterDypMatchmaking) {
+		try {
+			monsterDypMatchmaking.setCandidateSearch(PreferenceFileManager.getInstance().loadCandidateRounds(),
+					PreferenceFileManager.getInstance().loadCandidateSearchBudgetMillis());
+		} catch (PreferenceFileManagerException e) {
+			Log.e(LOG_TAG, "Couldn't load candidate search settings, using defaults; cause:" + e.getMessage());
+			monsterDypMatchmaking.setCandidateSearch(Constants.DEFAULT_CANDIDATE_ROUNDS, Constants
+					.DEFAULT_CANDIDATE_SEARCH_BUDGET_MILLIS);
+		}
+	}
+
+	private long loadAnnealingBudgetMillis() {
+		try {
+			return PreferenceFileManager.getInstance().loadAnnealingBudgetMillis();
+		} catch (PreferenceFileManagerException e) {
+			Log.e(LOG_TAG, "Couldn't load annealing budget, using default; cause:" + e.getMessage());
+			return Constants.DEFAULT_ANNEALING_BUDGET_MILLIS;
+		}
+	}
+
+	private Schedule loadSchedule() {
+		try {
+			return PreferenceFileManager.getInstance().loadSchedule();
+		} catch (PreferenceFileManagerException e) {
+			Log.e(LOG_TAG, "Couldn't load schedule, generating rounds on demand; cause:" + e.getMessage());
+			return null;
+		}
+	}
+
+	private int loadScheduleRounds() {
+		try {
+			return PreferenceFileManager.getInstance().loadScheduleRounds();
+		} catch (PreferenceFileManagerException e) {
+			Log.e(LOG_TAG, "Couldn't load schedule rounds, using default; cause:" + e.getMessage());
+			return Constants.DEFAULT_SCHEDULE_ROUNDS;
+		}
+	}
+
+	/**
+	 * Compute the schedule of the tournament in the background if the SCHEDULE algorithm is used (call once the
+	 * players signed up). Rounds generated before the schedule is ready are generated on demand; the schedule is
+	 * only taken over if no games were generated meanwhile, otherwise it is computed again for the new history.
+	 */
+	void startSchedule() {
+		if (currentTournament.getMode() != TournamentMode.MONSTERDYP || loadMatchmakingAlgorithm() !=
+				MatchmakingAlgorithm.SCHEDULE) {
+			return;
+		}
+		final SplittableRng random = nextRandom();
+		final Tournament tournament = copyOf(currentTournament);
+		final int rounds = loadScheduleRounds();
+		final int build = ++scheduleBuild;
+		scheduleExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				Schedule schedule = ScheduledMatchmaking.buildSchedule(tournament, rounds, Constants
+						.SCHEDULE_BUILD_BUDGET_MILLIS, random);
+				// the UI thread takes it over, the schedule is not touched here anymore
+				builtSchedule.set(new BuiltSchedule(build, tournament.getGames().size(), schedule));
+			}
+		});
+	}
+
+	/**
+	 * publish the schedule computed by {@link #startSchedule()} once it is ready; runs on the UI thread, so the
+	 * schedule is never changed while the background thread works on it
+	 */
+	private void adoptBuiltSchedule() {
+		BuiltSchedule built = builtSchedule.getAndSet(null);
+		if (built == null || built.build != scheduleBuild) {
+			// nothing ready, or the tournament was replaced or finished meanwhile
+			return;
+		}
+		if (built.games != currentTournament.getGames().size()) {
+			// games were generated or removed meanwhile, the schedule might repeat them
+			startSchedule();
+			return;
+		}
+		ScheduledMatchmaking.getInstance().setSchedule(built.schedule);
+		saveSchedule();
+	}
+
+	/**
+	 * write the schedule of the {@link ScheduledMatchmaking} in the background, if there is one
+	 */
+	private void saveSchedule() {
+		Schedule schedule = ScheduledMatchmaking.getInstance().getSchedule();
+		if (schedule == null) {
+			return;
+		}
+		final Schedule copy = schedule.copy();
+		scheduleExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				writeSchedule(copy);
+			}
+		});
+	}
+
+	private void clearSchedule() {
+		scheduleBuild++;
+		ScheduledMatchmaking.getInstance().setSchedule(null);
+		scheduleExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				writeSchedule(null);
+			}
+		});
+	}
+
+	// only called on the schedule executor
+	private void writeSchedule(Schedule schedule) {
+		try {
+			PreferenceFileManager.getInstance().saveSchedule(schedule);
+		} catch (PreferenceFileManagerException e) {
+			Log.e(LOG_TAG, "Couldn't save schedule; cause:" + e.getMessage());
+		}
+	}
+
+	/**
+	 * the matchmaking is set up again (with the current settings) when the next game is generated
+	 */
+	void resetMatchmaking() {
+		matchmaking = null;
+		discardPendingGames();
+	}
+
+	/**
+	 * drop the state kept for generating the next games, needed whenever players or games change other than by
+	 * generating or finishing games
+	 */
+	private void discardPendingGames() {
+		pendingWaves.clear();
+		RollingDispatcher.getInstance().invalidate();
+	}
+
 	void startNewTournament(TournamentMode mode) {
 		currentTournament = new Tournament();
 		currentTournament.setMode(mode);
+		currentTournament.setSeed(new Random().nextLong());
+		pendingEvents.clear();
+		discardPendingGames();
+		snapshotRequired = true;
+		clearSchedule();
 	}
 
 	void setTournamentParameters() throws TournamentManagerException {
 		try {
 			int maxScore = PreferenceFileManager.getInstance().loadMaxScore();
 			int numberOfGames = PreferenceFileManager.getInstance().loadNumberOfGames();
+			int tables = PreferenceFileManager.getInstance().loadTables();
 			currentTournament.setMaxScore(maxScore);
 			currentTournament.setNumberOfGames(numberOfGames);
+			currentTournament.setTables(tables);
+			discardPendingGames();
+			record(TournamentEvent.settingsChanged(currentTournament));
 		} catch (PreferenceFileManagerException e) {
 			throw new TournamentManagerException("Couldn't load tournament parameters", e);
 		}
@@ -99,6 +442,26 @@ class TournamentManager {
 			throw new TournamentManagerException("Can't finish: Tournament was already finished previously");
 		}
 		currentTournament.setFinished(true);
+		record(TournamentEvent.settingsChanged(currentTournament));
+		clearSchedule();
+		archivePartners();
+	}
+
+	/**
+	 * add the partners of the finished tournament to the partner archive; nothing is written if the stored archive
+	 * could not be loaded, so it is not replaced by an incomplete one
+	 */
+	private void archivePartners() {
+		PartnerArchive archive = getPartnerArchive();
+		if (archive == null) {
+			return;
+		}
+		archive.addTournament(currentTournament, Constants.PARTNER_ARCHIVE_DECAY);
+		try {
+			PreferenceFileManager.getInstance().savePartnerArchive(archive);
+		} catch (PreferenceFileManagerException e) {
+			Log.e(LOG_TAG, "Couldn't save partner archive; cause:" + e.getMessage());
+		}
 	}
 
 	boolean isTournamentInProgress() {
@@ -113,19 +476,24 @@ class TournamentManager {
 		if (currentTournament.getPlayers().contains(player)) {
 			// delete unfinished games of player
 			List<Game> games = getGames();
-			List<Game> gamesToDelete = new ArrayList<>();
-			for (Game game : games) {
-				if (!game.isResultCommitted()) {
-					gamesToDelete.add(game);
+			for (int i = games.size() - 1;i >= 0;i--) {
+				if (!games.get(i).isResultCommitted()) {
+					currentTournament.removeGame(i);
 				}
 			}
-			games.removeAll(gamesToDelete);
 			removePlayer(player);
 			playerInTournament = false;
 		} else {
 			addPlayer(player);
 			playerInTournament = true;
 		}
+		discardPendingGames();
+		record(TournamentEvent.playerToggled(player, playerInTournament));
+		Schedule schedule = ScheduledMatchmaking.getInstance().getSchedule();
+		if (schedule != null) {
+			ScheduledMatchmaking.repairSchedule(schedule, currentTournament.getPlayers(), nextRandom());
+			saveSchedule();
+		}
 		return playerInTournament;
 	}
 
@@ -143,12 +511,48 @@ class TournamentManager {
 		if (matchmaking == null) {
 			initMatchmaking();
 		}
-		List<Game> newGames = matchmaking.generateRound(getPlayers(), isOneOnOne(), getGames());
-		for (Game game : newGames) {
+		int tables = currentTournament.getTables();
+		if (tables <= 0 || matchmaking == RollingDispatcher.getInstance()) {
+			// the rolling dispatcher only fills the free tables itself
+			for (Game game : generateMatchmakingRound()) {
+				addGame(game);
+			}
+			return;
+		}
+		// hand out one wave, the rest of the round waits for the tables to become free
+		if (pendingWaves.isEmpty()) {
+			pendingWaves = TableAssignment.orderWaves(currentTournament, generateMatchmakingRound(), tables);
+		}
+		int waveSize = Math.min(tables, pendingWaves.size());
+		List<Game> wave = new ArrayList<>(pendingWaves.subList(0, waveSize));
+		pendingWaves = new ArrayList<>(pendingWaves.subList(waveSize, pendingWaves.size()));
+		TableAssignment.assignTables(currentTournament, wave);
+		for (Game game : wave) {
 			addGame(game);
 		}
 	}
 
+	private List<Game> generateMatchmakingRound() {
+		adoptBuiltSchedule();
+		List<Game> newGames = matchmaking.generateRound(currentTournament, nextRandom());
+		if (matchmaking == ScheduledMatchmaking.getInstance()) {
+			// a round was taken from the schedule
+			saveSchedule();
+		}
+		return newGames;
+	}
+
+	/**
+	 * @return random stream of the next draw of the matchmaking; the draw is recorded, so every draw can be repeated
+	 * from the seed and the history of the tournament
+	 */
+	private SplittableRng nextRandom() {
+		int draw = currentTournament.getDraws();
+		currentTournament.setDraws(draw + 1);
+		record(TournamentEvent.settingsChanged(currentTournament));
+		return SplittableRng.forStream(currentTournament.getSeed(), draw);
+	}
+
 	void generateGame() throws TournamentManagerException {
 		if (currentTournament.isFinished()) {
 			throw new TournamentManagerException("Can't create new game: Tournament finished");
@@ -159,7 +563,13 @@ class TournamentManager {
 		if (matchmaking == null) {
 			initMatchmaking();
 		}
-		Game game = matchmaking.generateGame(getPlayers(), isOneOnOne(), getGames());
+		Game game = matchmaking.generateGame(currentTournament, nextRandom());
+		if (game == null) {
+			throw new TournamentManagerException("Not enough idle players for a new game");
+		}
+		if (game.getTable() == 0) {
+			TableAssignment.assignTables(currentTournament, Collections.singletonList(game));
+		}
 		addGame(game);
 	}
 
@@ -178,6 +588,7 @@ class TournamentManager {
 			generateSemiFinals(players);
 			currentTournament.setSemiFinalsGenerated(true);
 		}
+		record(TournamentEvent.settingsChanged(currentTournament));
 	}
 
 	private void generateSemiFinals(List<Player> players) {
@@ -298,6 +709,7 @@ class TournamentManager {
 		commitEloUpdates(eloUpdatedPlayers);
 
 		game.setResultCommitted(true);
+		record(TournamentEvent.gameCommitted(currentTournament.getGames().indexOf(game), getParticipants(game)));
 		if (isOneOnOne()) {
 			Log.d(LOG_TAG, String.format("commitGame: game %s vs %s was committed " +
 					"with result (%d:%d)", team1.get(0), team2.get(0), scoreTeam1, scoreTeam2));
@@ -348,6 +760,7 @@ class TournamentManager {
 		game.setScoreTeam1(0);
 		game.setScoreTeam2(0);
 		game.setResultCommitted(false);
+		record(TournamentEvent.gameReverted(position, getParticipants(game)));
 		if (isOneOnOne()) {
 			Log.d(LOG_TAG, String.format("revertGame: game %s vs %s was reverted" +
 					", result was (%d:%d)", team1.get(0), team2.get(0), scoreTeam1, scoreTeam2));
@@ -461,6 +874,7 @@ class TournamentManager {
 			Player playerToUpdate = getPlayerByName(eloUpdatedPlayer.getName());
 			playerToUpdate.setElo(eloUpdatedPlayer.getElo());
 			playerToUpdate.setEloChangeFromLastGame(eloUpdatedPlayer.getEloChangeFromLastGame());
+			currentTournament.getWinProbabilities().update(playerToUpdate);
 		}
 	}
 
@@ -470,6 +884,7 @@ class TournamentManager {
 			playerToUpdate.setElo(playerToUpdate.getElo() - playerToUpdate.getEloChangeFromLastGame());
 			// prevent unwanted effects from reverting multiple games in a row
 			playerToUpdate.setEloChangeFromLastGame(0.0);
+			currentTournament.getWinProbabilities().update(playerToUpdate);
 		}
 	}
 
@@ -489,8 +904,23 @@ class TournamentManager {
 		throw new TournamentManagerException(String.format("No player found for the requested name %s", name));
 	}
 
+	/**
+	 * @return the tournament's instances of all players participating in the game
+	 */
+	private List<Player> getParticipants(Game game) throws TournamentManagerException {
+		List<Player> participants = new ArrayList<>();
+		for (String playerName : game.getTeam1PlayerNames()) {
+			participants.add(getPlayerByName(playerName));
+		}
+		for (String playerName : game.getTeam2PlayerNames()) {
+			participants.add(getPlayerByName(playerName));
+		}
+		return participants;
+	}
+
 	private void addGame(Game game) {
 		currentTournament.addGame(game);
+		record(TournamentEvent.gameGenerated(game));
 	}
 
 	void removeGame(int position) throws TournamentManagerException {
@@ -503,7 +933,9 @@ class TournamentManager {
 			// swallow exception as it only indicates error when game is supposed to be reset;
 			// method is just reused to reset a potentially committed game
 		}
-		currentTournament.getGames().remove(position);
+		currentTournament.removeGame(position);
+		discardPendingGames();
+		record(TournamentEvent.gameRemoved(position));
 	}
 
 	List<Game> getGames() {
@@ -526,9 +958,31 @@ class TournamentManager {
 		if (gameToBeFinalized.isResultCommitted()) {
 			throw new TournamentManagerException("Game was already committed, can't alter results");
 		}
+		boolean wasFinished = gameToBeFinalized.isFinished();
 		gameToBeFinalized.setScoreTeam1(scoreTeam1);
 		gameToBeFinalized.setScoreTeam2(scoreTeam2);
 		gameToBeFinalized.setFinished(true);
+		record(TournamentEvent.gameFinalized(position, scoreTeam1, scoreTeam2));
+		if (!wasFinished) {
+			dispatchNextGames(gameToBeFinalized);
+		}
+	}
+
+	/**
+	 * with the rolling dispatcher, the finished game is replaced right away by the next game on its table
+	 */
+	private void dispatchNextGames(Game finishedGame) throws TournamentManagerException {
+		if (currentTournament.isSemiFinalsGenerated() || currentTournament.isFinalGenerated()) {
+			return;
+		}
+		if (matchmaking == null && loadMatchmakingAlgorithm() == MatchmakingAlgorithm.ROLLING) {
+			initMatchmaking();
+		}
+		if (matchmaking == RollingDispatcher.getInstance()) {
+			for (Game game : RollingDispatcher.getInstance().gameFinished(currentTournament, finishedGame)) {
+				addGame(game);
+			}
+		}
 	}
 
 	private void addPlayer(Player player) {
@@ -561,6 +1015,10 @@ class TournamentManager {
 		}
 		// use fake player to force removal; players with identical name are considered equal
 		boolean playerRemoved = removePlayer(new Player(name));
+		if (playerRemoved) {
+			discardPendingGames();
+			record(TournamentEvent.playerRemoved(name));
+		}
 		return playerRemoved;
 	}
 
@@ -570,6 +1028,8 @@ class TournamentManager {
 
 	void setOneOnOne(boolean oneOnOne) {
 		currentTournament.setOneOnOne(oneOnOne);
+		discardPendingGames();
+		record(TournamentEvent.settingsChanged(currentTournament));
 	}
 
 
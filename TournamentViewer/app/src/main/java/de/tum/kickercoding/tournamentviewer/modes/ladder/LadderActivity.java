@@ -17,7 +17,7 @@ public class LadderActivity extends AppCompatActivity {
 		super.onCreate(savedInstanceState);
 		setContentView(R.layout.activity_ladder);
 		ListView playerListView = (ListView) findViewById(R.id.list_view_ladder);
-		List<Player> playerList = AppManager.getInstance().getAllPlayers();
+		List<Player> playerList = AppManager.getInstance().getPlayersByElo();
 		playerListView.setAdapter(new PlayerLadderAdapter(this, playerList));
 	}
 }
@@ -27,8 +27,10 @@ class PlayerLadderAdapter extends BaseAdapter implements ListAdapter {
 
 	private List<Player> playerList;
 
+	/**
+	 * @param playerList players ranked by elo, see {@link AppManager#getPlayersByElo()}
+	 */
 	PlayerLadderAdapter(Context context, List<Player> playerList) {
-		Utils.sortPlayersByElo(playerList);
 		this.playerList = playerList;
 		this.context = context;
 	}
@@ -114,8 +116,7 @@ class PlayerLadderAdapter extends BaseAdapter implements ListAdapter {
 	}
 
 	private void updateInternalList() {
-		playerList = AppManager.getInstance().getAllPlayers();
-		Utils.sortPlayersByElo(playerList);
+		playerList = AppManager.getInstance().getPlayersByElo();
 		notifyDataSetChanged();
 	}
 }
\ No newline at end of file
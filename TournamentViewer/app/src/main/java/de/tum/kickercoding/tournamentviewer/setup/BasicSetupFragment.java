@@ -7,12 +7,14 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.Button;
+import android.widget.Spinner;
 import android.widget.TextView;
 
 import de.tum.kickercoding.tournamentviewer.R;
 import de.tum.kickercoding.tournamentviewer.exceptions.AppManagerException;
 import de.tum.kickercoding.tournamentviewer.manager.AppManager;
 import de.tum.kickercoding.tournamentviewer.util.Constants;
+import de.tum.kickercoding.tournamentviewer.util.MatchmakingAlgorithm;
 
 
 /**
@@ -39,14 +41,22 @@ public class BasicSetupFragment extends Fragment {
 		try {
 			String maxScore = "" + AppManager.getInstance().getMaxScoreFromSettings();
 			String numberOfGames = "" + AppManager.getInstance().getNumberOfGames();
+			String tables = "" + AppManager.getInstance().getTables();
+			MatchmakingAlgorithm algorithm = AppManager.getInstance().getMatchmakingAlgorithm();
 			((TextView) view.findViewById(R.id.var_max_score)).setText(maxScore);
 			((TextView) view.findViewById(R.id.var_number_games)).setText(numberOfGames);
+			((TextView) view.findViewById(R.id.var_tables)).setText(tables);
+			// the entries of the spinner are in the order of the enum
+			((Spinner) view.findViewById(R.id.spinner_matchmaking_algorithm)).setSelection(algorithm.ordinal());
 		} catch (AppManagerException e) {
 			AppManager.getInstance().displayMessage(getActivity(), "could not load settings, default values used");
 			Log.e(BasicSetupFragment.class.toString(), "setInitialSetupValues: " + e.getMessage());
 			((TextView) view.findViewById(R.id.var_max_score)).setText(Constants.DEFAULT_MAX_SCORE.toString());
 			((TextView) view.findViewById(R.id.var_number_games)).setText(Constants.DEFAULT_NUMBER_OF_GAMES
 					.toString());
+			((TextView) view.findViewById(R.id.var_tables)).setText(Constants.DEFAULT_TABLES.toString());
+			((Spinner) view.findViewById(R.id.spinner_matchmaking_algorithm)).setSelection(Constants
+					.DEFAULT_MATCHMAKING_ALGORITHM.ordinal());
 		}
 	}
 
@@ -79,6 +89,20 @@ public class BasicSetupFragment extends Fragment {
 				incrementNumberOfGames(buttonView);
 			}
 		});
+		Button decrementTablesButton = (Button) view.findViewById(R.id.button_setup_decrement_tables);
+		decrementTablesButton.setOnClickListener(new View.OnClickListener() {
+			@Override
+			public void onClick(View buttonView) {
+				decrementTables(buttonView);
+			}
+		});
+		Button incrementTablesButton = (Button) view.findViewById(R.id.button_setup_increment_tables);
+		incrementTablesButton.setOnClickListener(new View.OnClickListener() {
+			@Override
+			public void onClick(View buttonView) {
+				incrementTables(buttonView);
+			}
+		});
 	}
 
 	private void incrementMaxScore(View view) {
@@ -112,4 +136,23 @@ public class BasicSetupFragment extends Fragment {
 		currentScore--;
 		textViewNumberOfGames.setText(currentScore.toString());
 	}
+
+	private void incrementTables(View view) {
+		View rootView = view.getRootView();
+		TextView textViewTables = (TextView) rootView.findViewById(R.id.var_tables);
+		Integer currentTables = Integer.parseInt(textViewTables.getText().toString());
+		currentTables++;
+		textViewTables.setText(currentTables.toString());
+	}
+
+	private void decrementTables(View view) {
+		View rootView = view.getRootView();
+		TextView textViewTables = (TextView) rootView.findViewById(R.id.var_tables);
+		Integer currentTables = Integer.parseInt(textViewTables.getText().toString());
+		// 0: no limit
+		if (currentTables > 0) {
+			currentTables--;
+		}
+		textViewTables.setText(currentTables.toString());
+	}
 }
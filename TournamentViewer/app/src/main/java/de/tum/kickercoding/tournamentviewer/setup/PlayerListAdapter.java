@@ -16,10 +16,9 @@ import android.widget.RelativeLayout;
 import java.util.List;
 
 import de.tum.kickercoding.tournamentviewer.R;
-import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.PlayerSummary;
 import de.tum.kickercoding.tournamentviewer.exceptions.AppManagerException;
 import de.tum.kickercoding.tournamentviewer.manager.AppManager;
-import de.tum.kickercoding.tournamentviewer.util.Utils;
 
 import static de.tum.kickercoding.tournamentviewer.util.Utils.createPlayerDialog;
 import static de.tum.kickercoding.tournamentviewer.util.Utils.prepareTextView;
@@ -28,11 +27,11 @@ class PlayerListAdapter extends BaseAdapter implements ListAdapter {
 
 	private Context context;
 
-	private List<Player> playerList;
+	// only names are shown, complete players are loaded when their details are requested
+	private List<PlayerSummary> playerList;
 
-	PlayerListAdapter(Context context, List<Player> playerList) {
+	PlayerListAdapter(Context context, List<PlayerSummary> playerList) {
 		this.context = context;
-		Utils.sortPlayersByName(playerList);
 		this.playerList = playerList;
 	}
 
@@ -60,7 +59,7 @@ class PlayerListAdapter extends BaseAdapter implements ListAdapter {
 			view = inflater.inflate(R.layout.item_select_players, null);
 		}
 
-		final Player player = (Player) getItem(position);
+		final PlayerSummary player = (PlayerSummary) getItem(position);
 		//Handle TextView and display player name
 		prepareTextView(view, R.id.player_list_item_text_view, player.getName());
 
@@ -92,8 +91,12 @@ class PlayerListAdapter extends BaseAdapter implements ListAdapter {
 		playerDetailsButton.setOnClickListener(new View.OnClickListener() {
 			@Override
 			public void onClick(View viewItem) {
-				Dialog dialog = createPlayerDialog(context, player);
-				dialog.show();
+				try {
+					Dialog dialog = createPlayerDialog(context, AppManager.getInstance().getPlayer(player.getName()));
+					dialog.show();
+				} catch (AppManagerException e) {
+					AppManager.getInstance().displayMessage(context, e.getMessage());
+				}
 			}
 		});
 
@@ -125,7 +128,7 @@ class PlayerListAdapter extends BaseAdapter implements ListAdapter {
 		return builder.create();
 	}
 
-	private Dialog createConfirmToggleDialog(final Player player, final View buttonView) {
+	private Dialog createConfirmToggleDialog(final PlayerSummary player, final View buttonView) {
 		AlertDialog.Builder builder = new AlertDialog.Builder(context);
 		boolean currentlySignedUp = AppManager.getInstance().isSignedUp((player.getName()));
 		builder.setTitle(currentlySignedUp ? "Remove player?" : "Add player?");
@@ -148,10 +151,10 @@ class PlayerListAdapter extends BaseAdapter implements ListAdapter {
 		return builder.create();
 	}
 
-	private void toggleParticipation(View buttonView, Player player) {
+	private void toggleParticipation(View buttonView, PlayerSummary player) {
 		boolean signedUpAfterToggle = false;
 		try {
-			signedUpAfterToggle = AppManager.getInstance().toggleParticipation(player);
+			signedUpAfterToggle = AppManager.getInstance().toggleParticipation(player.getName());
 			adjustBackgroundColor(signedUpAfterToggle, buttonView);
 			updateInternalList();
 			int playersSelected = AppManager.getInstance().getPlayersForTournament().size();
@@ -179,9 +182,7 @@ class PlayerListAdapter extends BaseAdapter implements ListAdapter {
 	}
 
 	void updateInternalList() {
-		List<Player> playerList = AppManager.getInstance().getAllPlayers();
-		Utils.sortPlayersByName(playerList);
-		this.playerList = playerList;
+		this.playerList = AppManager.getInstance().getPlayerSummaries();
 		notifyDataSetChanged();
 	}
 }
\ No newline at end of file
@@ -35,7 +35,7 @@ public class PlayerSelectFragment extends Fragment {
 
 	private void preparePlayerListView(View view) {
 		ListView playerListView = (ListView) view.findViewById(R.id.list_view_add_players);
-		playerListView.setAdapter(new PlayerListAdapter(getActivity(), AppManager.getInstance().getAllPlayers()));
+		playerListView.setAdapter(new PlayerListAdapter(getActivity(), AppManager.getInstance().getPlayerSummaries()));
 	}
 
 	private void attachButtonListener(View view) {
@@ -5,11 +5,13 @@ import android.os.Bundle;
 import android.support.v7.app.AppCompatActivity;
 import android.view.View;
 import android.widget.CheckBox;
+import android.widget.Spinner;
 import android.widget.TextView;
 
 import de.tum.kickercoding.tournamentviewer.R;
 import de.tum.kickercoding.tournamentviewer.exceptions.AppManagerException;
 import de.tum.kickercoding.tournamentviewer.manager.AppManager;
+import de.tum.kickercoding.tournamentviewer.util.MatchmakingAlgorithm;
 
 
 /**
@@ -41,14 +43,19 @@ public class MonsterDypBasicSetupActivity extends AppCompatActivity {
 		startActivity(intent);
 	}
 
-	// save max score and number of games
+	// save max score, number of games, number of tables and matchmaking algorithm
 	private void saveGameSettings(View view) throws AppManagerException {
 		int maxScore = Integer.parseInt(((TextView) view.findViewById(R.id.var_max_score)).getText().toString());
 		int numberOfGames = Integer.parseInt(((TextView) view.findViewById(R.id.var_number_games)).getText().toString
 				());
+		int tables = Integer.parseInt(((TextView) view.findViewById(R.id.var_tables)).getText().toString());
 		boolean oneOnOne = ((CheckBox) view.findViewById(R.id.checkbox_one_on_one)).isChecked();
+		// the entries of the spinner are in the order of the enum
+		int algorithm = ((Spinner) view.findViewById(R.id.spinner_matchmaking_algorithm)).getSelectedItemPosition();
 		AppManager.getInstance().setMaxScore(maxScore);
 		AppManager.getInstance().setNumberOfGames(numberOfGames);
+		AppManager.getInstance().setTables(tables);
 		AppManager.getInstance().setOneOnOne(oneOnOne);
+		AppManager.getInstance().setMatchmakingAlgorithm(MatchmakingAlgorithm.values()[algorithm]);
 	}
 }
@@ -20,12 +20,19 @@ public class MonsterDypPlayerSetupActivity extends AppCompatActivity {
 		setContentView(R.layout.activity_monster_dyp_player_setup);
 	}
 
+	@Override
+	protected void onPause() {
+		super.onPause();
+		AppManager.getInstance().flush();
+	}
+
 	public void goToTournament(View view) {
 		try {
 			boolean savingSuccessful = saveSelectedPlayers();
 			if (!savingSuccessful) {
 				AppManager.getInstance().displayMessage(this, "Insufficient players to start tournament!");
 			} else {
+				AppManager.getInstance().startTournament();
 				Intent intent = new Intent(this, MonsterDypTournamentActivity.class);
 				startActivity(intent);
 			}
@@ -3,22 +3,30 @@ package de.tum.kickercoding.tournamentviewer.tournament;
 import java.util.List;
 
 import de.tum.kickercoding.tournamentviewer.entities.Game;
-import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.util.SplittableRng;
 
 public interface Matchmaking {
 
 	/**
-	 * Generate a single game, independent from the number of players supplied.
-	 * Past games are for decreasing the probability of same teams occurring too frequently
+	 * Generate a single game for the players of the tournament, independent from the number of players.
+	 * Past games of the tournament (see {@link Tournament#getPairHistory()}) are for decreasing the probability of
+	 * same teams occurring too frequently.
 	 * Players with less games are prioritized during player selection.
+	 * The game is not added to the tournament.
+	 * All random decisions are drawn from the given generator, so the same tournament and seed give the same game.
 	 */
-	public Game generateGame(List<Player> players, boolean oneOnOne, List<Game> pastGames);
+	public Game generateGame(Tournament tournament, SplittableRng random);
 
 	/**
 	 * Generate as many games as possible such that no player plays twice (i.e. for 2v2: roundedDown(#player/4))
-	 * independent from the number of players supplied.
-	 * Past games are for decreasing the probability of same teams occurring too frequently
+	 * independent from the number of players of the tournament.
+	 * Past games of the tournament (see {@link Tournament#getPairHistory()}) are for decreasing the probability of
+	 * same teams occurring too frequently.
 	 * Players with less games are prioritized during player selection.
+	 * The games are not added to the tournament.
+	 * All random decisions are drawn from the given generator, so the same tournament and seed give the same games
+	 * (unless a time budget of the algorithm cuts the search short).
 	 */
-	public List<Game> generateRound(List<Player> players, boolean oneOnOne, List<Game> pastGames);
+	public List<Game> generateRound(Tournament tournament, SplittableRng random);
 }
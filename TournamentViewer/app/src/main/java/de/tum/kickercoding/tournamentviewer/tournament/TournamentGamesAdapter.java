@@ -92,7 +92,11 @@ public class TournamentGamesAdapter extends BaseAdapter implements ListAdapter {
 
 		prepareTextView(view, R.id.tournament_game_item_team_1, team1InView);
 		prepareTextView(view, R.id.tournament_game_item_team_2, team2InView);
-		prepareTextView(view, R.id.tournament_game_item_score, game.getScoreTeam1() + ":" + game.getScoreTeam2());
+		String scoreInView = game.getScoreTeam1() + ":" + game.getScoreTeam2();
+		if (game.getTable() != 0) {
+			scoreInView = context.getString(R.string.message_game_table, game.getTable()) + "\n" + scoreInView;
+		}
+		prepareTextView(view, R.id.tournament_game_item_score, scoreInView);
 	}
 
 	private void prepareTextView(View view, int id, String text) {
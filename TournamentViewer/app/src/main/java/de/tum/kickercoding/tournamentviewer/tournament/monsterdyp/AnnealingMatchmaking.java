@@ -0,0 +1,89 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.PairHistory;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.tournament.Matchmaking;
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+import de.tum.kickercoding.tournamentviewer.util.SplittableRng;
+
+/**
+ * Matchmaking for large player pools (algorithm {@link de.tum.kickercoding.tournamentviewer.util
+ * .MatchmakingAlgorithm#ANNEALING}): a round starts greedily (strong with weak partners, teams paired by least
+ * opponent repeats) and is improved by simulated annealing ({@link RoundAnnealer}) until a deadline. The best
+ * round found so far is returned, so the time spent is bounded no matter how many players take part.
+ * <p>
+ * Players are selected like in {@link MonsterDypMatchmaking}; single games are drawn by it as well.
+ */
+public class AnnealingMatchmaking implements Matchmaking {
+
+	private static AnnealingMatchmaking instance = new AnnealingMatchmaking();
+
+	private long budgetMillis = Constants.DEFAULT_ANNEALING_BUDGET_MILLIS;
+
+	private AnnealingMatchmaking() {
+	}
+
+	/**
+	 * Get the instance of the singleton.
+	 *
+	 * @return The instance of the singleton.
+	 */
+	public static AnnealingMatchmaking getInstance() {
+		return instance;
+	}
+
+	/**
+	 * @param budgetMillis time spent on improving a round
+	 */
+	public void setBudgetMillis(long budgetMillis) {
+		this.budgetMillis = budgetMillis;
+	}
+
+	@Override
+	public Game generateGame(Tournament tournament, SplittableRng random) {
+		return MonsterDypMatchmaking.getInstance().generateGame(tournament, random);
+	}
+
+	@Override
+	public List<Game> generateRound(Tournament tournament, SplittableRng random) {
+		List<Player> players = MonsterDypMatchmaking.getInstance().selectPlayersForRound(tournament, random);
+		return annealRound(players, tournament.isOneOnOne(), tournament.getPairHistory(), random);
+	}
+
+	/**
+	 * start greedily and anneal until the time budget is spent
+	 *
+	 * @param players selected for the round and sorted for matching, e.g. by {@link
+	 *                MonsterDypMatchmaking#selectPlayersForRound(Tournament, Random)}
+	 */
+	List<Game> annealRound(List<Player> players, boolean oneOnOne, PairHistory pairHistory, Random random) {
+		long deadline = System.nanoTime() + budgetMillis * 1000000;
+		List<Game> round = greedyRound(players, oneOnOne, pairHistory);
+		return new RoundAnnealer(players, round, oneOnOne, pairHistory).anneal(deadline, random);
+	}
+
+	/**
+	 * @param players sorted for matching (elo descending)
+	 */
+	List<Game> greedyRound(List<Player> players, boolean oneOnOne, PairHistory pairHistory) {
+		int size = players.size();
+		List<List<Player>> teams = new ArrayList<>();
+		if (oneOnOne) {
+			for (Player player : players) {
+				teams.add(new ArrayList<>(Arrays.asList(player)));
+			}
+		} else {
+			for (int i = 0;i < size / 2;i++) {
+				teams.add(new ArrayList<>(Arrays.asList(players.get(i), players.get(size - 1 - i))));
+			}
+		}
+		return MonsterDypMatchmaking.getInstance().pairTeams(teams, pairHistory);
+	}
+}
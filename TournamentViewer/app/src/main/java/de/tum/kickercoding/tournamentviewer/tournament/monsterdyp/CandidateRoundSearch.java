@@ -0,0 +1,173 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.util.SplittableRng;
+
+/**
+ * Monte Carlo search for a round: draws up to a number of candidate rounds on all cores and returns the one with
+ * the lowest {@link RoundScorer} score.
+ * <p>
+ * Candidate i is drawn with its own random stream ({@link SplittableRng#forStream}) of a seed taken from the
+ * caller's random, worker w draws the candidates w, w + workers, ... and only remembers its own best one, so the
+ * workers share nothing. Ties are won by the candidate drawn first, thus the result does not depend on the number
+ * of cores or the scheduling of the threads. No further candidates are started once the time budget is used up
+ * (then the result depends on the speed of the device); at least one candidate is always drawn.
+ */
+class CandidateRoundSearch {
+
+	/**
+	 * draws one candidate round; called concurrently, so it must only read shared state
+	 */
+	interface RoundGenerator {
+
+		List<Game> generate(Random random);
+	}
+
+	private static final int WORKERS = Runtime.getRuntime().availableProcessors();
+
+	private static ExecutorService executor;
+
+	private final int candidates;
+
+	private final long budgetMillis;
+
+	private final RoundScorer scorer;
+
+	private int candidatesEvaluated;
+
+	/**
+	 * @param candidates   maximal number of rounds to draw
+	 * @param budgetMillis time after which no further candidates are started
+	 * @param scorer
+	 */
+	CandidateRoundSearch(int candidates, long budgetMillis, RoundScorer scorer) {
+		this.candidates = Math.max(1, candidates);
+		this.budgetMillis = budgetMillis;
+		this.scorer = scorer;
+	}
+
+	private static synchronized ExecutorService getExecutor() {
+		if (executor == null) {
+			executor = Executors.newFixedThreadPool(WORKERS, new ThreadFactory() {
+				private final AtomicInteger count = new AtomicInteger();
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "round-search-" + count.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return executor;
+	}
+
+	/**
+	 * @return the best of the drawn rounds
+	 */
+	List<Game> search(final Tournament tournament, final RoundGenerator generator, Random random) {
+		final long deadline = System.nanoTime() + budgetMillis * 1000000;
+		final long seed = random.nextLong();
+		// build the derived indexes before the workers read them
+		tournament.getPairHistory();
+		tournament.getGameCounts();
+		final int workers = Math.min(WORKERS, candidates);
+		List<Candidate> results = new ArrayList<>();
+		if (workers == 1) {
+			results.add(drawCandidates(tournament, generator, seed, 0, 1, deadline));
+		} else {
+			List<Callable<Candidate>> tasks = new ArrayList<>();
+			for (int i = 0;i < workers;i++) {
+				final int worker = i;
+				tasks.add(new Callable<Candidate>() {
+					@Override
+					public Candidate call() {
+						return drawCandidates(tournament, generator, seed, worker, workers, deadline);
+					}
+				});
+			}
+			try {
+				for (Future<Candidate> future : getExecutor().invokeAll(tasks)) {
+					results.add(future.get());
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("interrupted while searching a round", e);
+			} catch (ExecutionException e) {
+				throw new IllegalStateException("searching a round failed", e.getCause());
+			}
+		}
+		Candidate best = null;
+		candidatesEvaluated = 0;
+		for (Candidate candidate : results) {
+			if (candidate == null) {
+				continue;
+			}
+			candidatesEvaluated += candidate.evaluated;
+			if (best == null || candidate.score < best.score || (candidate.score == best.score && candidate.index <
+					best.index)) {
+				best = candidate;
+			}
+		}
+		return best.games;
+	}
+
+	/**
+	 * @return number of candidates drawn by the last {@link #search}
+	 */
+	int getCandidatesEvaluated() {
+		return candidatesEvaluated;
+	}
+
+	/**
+	 * draw the candidates worker, worker + workers, ...; candidate 0 is drawn regardless of the deadline
+	 *
+	 * @return best candidate of the worker (the first one if several have the best score), null if it drew none
+	 */
+	private Candidate drawCandidates(Tournament tournament, RoundGenerator generator, long seed, int worker, int
+			workers, long deadline) {
+		Candidate best = null;
+		int evaluated = 0;
+		for (int index = worker;index < candidates;index += workers) {
+			if (index > 0 && System.nanoTime() >= deadline) {
+				break;
+			}
+			List<Game> games = generator.generate(SplittableRng.forStream(seed, index));
+			double score = scorer.score(games, tournament);
+			evaluated++;
+			if (best == null || score < best.score) {
+				best = new Candidate(games, score, index);
+			}
+		}
+		if (best != null) {
+			best.evaluated = evaluated;
+		}
+		return best;
+	}
+
+	private static class Candidate {
+		final List<Game> games;
+		final double score;
+		// number of the candidate in the search
+		final int index;
+		int evaluated;
+
+		Candidate(List<Game> games, double score, int index) {
+			this.games = games;
+			this.score = score;
+			this.index = index;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import java.util.List;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.GameCounts;
+import de.tum.kickercoding.tournamentviewer.entities.PairHistory;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+
+/**
+ * Weighted sum of repeated partners, repeated opponents, elo imbalance of the games and the variance of the
+ * generated games per player after the round (see the ROUND_SCORE constants).
+ */
+public class DefaultRoundScorer implements RoundScorer {
+
+	@Override
+	public double score(List<Game> round, Tournament tournament) {
+		PairHistory pairHistory = tournament.getPairHistory();
+		GameCounts gameCounts = tournament.getGameCounts();
+		int partnerRepeats = 0;
+		int opponentRepeats = 0;
+		double eloImbalance = 0;
+		// the variance only changes by the players of the round: (g + 1)^2 - g^2 = 2g + 1
+		long gamesSquaredIncrease = 0;
+		int playersInRound = 0;
+		// index loops, no iterators
+		for (int i = 0;i < round.size();i++) {
+			Game game = round.get(i);
+			List<Player> team1 = game.getTeam1();
+			List<Player> team2 = game.getTeam2();
+			partnerRepeats += partnerRepeats(team1, pairHistory) + partnerRepeats(team2, pairHistory);
+			for (int j = 0;j < team1.size();j++) {
+				for (int k = 0;k < team2.size();k++) {
+					opponentRepeats += pairHistory.getOpponentCount(team1.get(j), team2.get(k));
+				}
+			}
+			double eloDifference = (averageElo(team1) - averageElo(team2)) / Constants.MATCHING_ELO_SCALE;
+			eloImbalance += eloDifference * eloDifference;
+			gamesSquaredIncrease += gamesSquaredIncrease(team1, gameCounts) + gamesSquaredIncrease(team2, gameCounts);
+			playersInRound += team1.size() + team2.size();
+		}
+		return Constants.ROUND_SCORE_PARTNER_REPEAT_WEIGHT * partnerRepeats
+				+ Constants.ROUND_SCORE_OPPONENT_REPEAT_WEIGHT * opponentRepeats
+				+ Constants.ROUND_SCORE_ELO_WEIGHT * eloImbalance
+				+ Constants.ROUND_SCORE_GAMES_VARIANCE_WEIGHT * gamesVariance(tournament.getPlayers(), gameCounts,
+				gamesSquaredIncrease, playersInRound);
+	}
+
+	private static int partnerRepeats(List<Player> team, PairHistory pairHistory) {
+		int repeats = 0;
+		for (int i = 0;i < team.size();i++) {
+			for (int j = i + 1;j < team.size();j++) {
+				repeats += pairHistory.getPartnerCount(team.get(i), team.get(j));
+			}
+		}
+		return repeats;
+	}
+
+	private static double averageElo(List<Player> team) {
+		double sum = 0;
+		for (int i = 0;i < team.size();i++) {
+			sum += team.get(i).getElo();
+		}
+		return sum / team.size();
+	}
+
+	private static long gamesSquaredIncrease(List<Player> team, GameCounts gameCounts) {
+		long increase = 0;
+		for (int i = 0;i < team.size();i++) {
+			increase += 2 * gameCounts.get(team.get(i)) + 1;
+		}
+		return increase;
+	}
+
+	/**
+	 * @return variance of the generated games of all players after the round
+	 */
+	private static double gamesVariance(List<Player> players, GameCounts gameCounts, long gamesSquaredIncrease, int
+			playersInRound) {
+		int size = players.size();
+		if (size == 0) {
+			return 0;
+		}
+		long sum = playersInRound;
+		long sumOfSquares = gamesSquaredIncrease;
+		for (int i = 0;i < size;i++) {
+			int games = gameCounts.get(players.get(i));
+			sum += games;
+			sumOfSquares += games * games;
+		}
+		double mean = (double) sum / size;
+		return (double) sumOfSquares / size - mean * mean;
+	}
+}
@@ -0,0 +1,51 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import java.util.List;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.tournament.Matchmaking;
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+import de.tum.kickercoding.tournamentviewer.util.SplittableRng;
+
+/**
+ * Matchmaking for small player pools (algorithm {@link de.tum.kickercoding.tournamentviewer.util
+ * .MatchmakingAlgorithm#EXACT}): the round of minimal cost under the cost model of {@link AnnealingMatchmaking}
+ * is computed exactly ({@link ExactRoundOptimizer}). Rounds of more than
+ * {@link Constants#EXACT_MATCHMAKING_MAX_PLAYERS} players are left to {@link AnnealingMatchmaking}.
+ * <p>
+ * Players are selected like in {@link MonsterDypMatchmaking}; single games are drawn by it as well.
+ */
+public class ExactMatchmaking implements Matchmaking {
+
+	private static ExactMatchmaking instance = new ExactMatchmaking();
+
+	private ExactMatchmaking() {
+	}
+
+	/**
+	 * Get the instance of the singleton.
+	 *
+	 * @return The instance of the singleton.
+	 */
+	public static ExactMatchmaking getInstance() {
+		return instance;
+	}
+
+	@Override
+	public Game generateGame(Tournament tournament, SplittableRng random) {
+		return MonsterDypMatchmaking.getInstance().generateGame(tournament, random);
+	}
+
+	@Override
+	public List<Game> generateRound(Tournament tournament, SplittableRng random) {
+		List<Player> players = MonsterDypMatchmaking.getInstance().selectPlayersForRound(tournament, random);
+		if (players.size() > Constants.EXACT_MATCHMAKING_MAX_PLAYERS) {
+			// anneal the players selected above, selecting again would draw from the random a second time
+			return AnnealingMatchmaking.getInstance().annealRound(players, tournament.isOneOnOne(), tournament
+					.getPairHistory(), random);
+		}
+		return new ExactRoundOptimizer(players, tournament.isOneOnOne(), tournament.getPairHistory()).optimize();
+	}
+}
@@ -0,0 +1,143 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.PairHistory;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+
+/**
+ * Finds the round of minimal cost ({@link GameCostModel}) by dynamic programming over subsets of the players.
+ * <p>
+ * The players still to be placed are an int mask. The lowest of them has to play in some game, so the best round
+ * of a mask is the minimum over all games of the lowest player with 1 (1on1) or 3 (2on2, each with the 3 possible
+ * team splits) other players of the mask plus the best round of the remaining mask. Games which alone cost more
+ * than the best round found so far are skipped (costs are not negative). Results are memoized per mask, so memory
+ * grows with 2^n: meant for small pools, see {@link de.tum.kickercoding.tournamentviewer.util.Constants
+ * #EXACT_MATCHMAKING_MAX_PLAYERS}.
+ */
+class ExactRoundOptimizer {
+
+	private final List<Player> players;
+
+	private final boolean oneOnOne;
+
+	private final GameCostModel costs;
+
+	// best cost per mask of remaining players, NaN if not computed yet
+	private double[] bestCosts;
+
+	// first game of the best round per mask: the 2 or 4 player indices in 5 bits each, team 1 first
+	private int[] bestGames;
+
+	private double cost;
+
+	/**
+	 * @param players     players of the round, 2 (1on1) or 4 (2on2) per game, at most 30
+	 * @param oneOnOne
+	 * @param pairHistory
+	 */
+	ExactRoundOptimizer(List<Player> players, boolean oneOnOne, PairHistory pairHistory) {
+		this.players = players;
+		this.oneOnOne = oneOnOne;
+		costs = new GameCostModel(players, pairHistory);
+	}
+
+	/**
+	 * @return a round of minimal cost
+	 */
+	List<Game> optimize() {
+		int size = players.size();
+		bestCosts = new double[1 << size];
+		Arrays.fill(bestCosts, Double.NaN);
+		bestGames = new int[1 << size];
+		int mask = (1 << size) - 1;
+		cost = solve(mask);
+		List<Game> games = new ArrayList<>();
+		int perGame = oneOnOne ? 2 : 4;
+		while (mask != 0) {
+			int game = bestGames[mask];
+			List<Player> participants = new ArrayList<>();
+			for (int i = 0;i < perGame;i++) {
+				int player = (game >>> (5 * i)) & 31;
+				participants.add(players.get(player));
+				mask &= ~(1 << player);
+			}
+			games.add(new Game(participants));
+		}
+		// memo is only needed during the search
+		bestCosts = null;
+		bestGames = null;
+		return games;
+	}
+
+	/**
+	 * @return cost of the round found by {@link #optimize()}
+	 */
+	double getCost() {
+		return cost;
+	}
+
+	private double solve(int mask) {
+		if (mask == 0) {
+			return 0;
+		}
+		if (!Double.isNaN(bestCosts[mask])) {
+			return bestCosts[mask];
+		}
+		int a = Integer.numberOfTrailingZeros(mask);
+		int rest = mask & ~(1 << a);
+		double min = Double.POSITIVE_INFINITY;
+		int best = 0;
+		for (int restB = rest;restB != 0;restB &= restB - 1) {
+			int b = Integer.numberOfTrailingZeros(restB);
+			if (oneOnOne) {
+				double gameCost = costs.gameCost(a, b);
+				// costs are not negative: the remaining players cannot make up for a too expensive game
+				if (gameCost < min) {
+					double total = gameCost + solve(rest & ~(1 << b));
+					if (total < min) {
+						min = total;
+						best = encode(a, b, 0, 0);
+					}
+				}
+				continue;
+			}
+			for (int restC = restB & (restB - 1);restC != 0;restC &= restC - 1) {
+				int c = Integer.numberOfTrailingZeros(restC);
+				for (int restD = restC & (restC - 1);restD != 0;restD &= restD - 1) {
+					int d = Integer.numberOfTrailingZeros(restD);
+					// best of the 3 team splits of a, b, c, d
+					double gameCost = costs.gameCost(a, b, c, d);
+					int game = encode(a, b, c, d);
+					double split = costs.gameCost(a, c, b, d);
+					if (split < gameCost) {
+						gameCost = split;
+						game = encode(a, c, b, d);
+					}
+					split = costs.gameCost(a, d, b, c);
+					if (split < gameCost) {
+						gameCost = split;
+						game = encode(a, d, b, c);
+					}
+					if (gameCost < min) {
+						double total = gameCost + solve(rest & ~(1 << b) & ~(1 << c) & ~(1 << d));
+						if (total < min) {
+							min = total;
+							best = game;
+						}
+					}
+				}
+			}
+		}
+		bestCosts[mask] = min;
+		bestGames[mask] = best;
+		return min;
+	}
+
+	private static int encode(int a, int b, int c, int d) {
+		return a | (b << 5) | (c << 10) | (d << 15);
+	}
+}
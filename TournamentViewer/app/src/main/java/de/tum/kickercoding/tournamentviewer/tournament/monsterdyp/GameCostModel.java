@@ -0,0 +1,66 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import java.util.List;
+
+import de.tum.kickercoding.tournamentviewer.entities.PairHistory;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+
+/**
+ * Cost of a game of the players of a round, addressed by their index: repeated partners, repeated opponents and
+ * elo imbalance of the teams, weighted like {@link DefaultRoundScorer}. Partner and opponent counts of all pairs
+ * are copied to primitive arrays once, so the cost of a game is computed in O(1).
+ */
+class GameCostModel {
+
+	private final int size;
+
+	private final int[] partnerCounts;
+
+	private final int[] opponentCounts;
+
+	private final double[] elos;
+
+	GameCostModel(List<Player> players, PairHistory pairHistory) {
+		size = players.size();
+		partnerCounts = new int[size * size];
+		opponentCounts = new int[size * size];
+		elos = new double[size];
+		for (int i = 0;i < size;i++) {
+			Player player = players.get(i);
+			elos[i] = player.getElo();
+			for (int j = i + 1;j < size;j++) {
+				partnerCounts[i * size + j] = partnerCounts[j * size + i] = pairHistory.getPartnerCount(player,
+						players.get(j));
+				opponentCounts[i * size + j] = opponentCounts[j * size + i] = pairHistory.getOpponentCount(player,
+						players.get(j));
+			}
+		}
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @return cost of the 1on1 game a vs. b
+	 */
+	double gameCost(int a, int b) {
+		double eloDifference = (elos[a] - elos[b]) / Constants.MATCHING_ELO_SCALE;
+		return Constants.ROUND_SCORE_OPPONENT_REPEAT_WEIGHT * opponentCounts[a * size + b]
+				+ Constants.ROUND_SCORE_ELO_WEIGHT * eloDifference * eloDifference;
+	}
+
+	/**
+	 * @return cost of the 2on2 game a, b vs. c, d
+	 */
+	double gameCost(int a, int b, int c, int d) {
+		int partnerRepeats = partnerCounts[a * size + b] + partnerCounts[c * size + d];
+		int opponentRepeats = opponentCounts[a * size + c] + opponentCounts[a * size + d] + opponentCounts[b * size
+				+ c] + opponentCounts[b * size + d];
+		double eloDifference = (elos[a] + elos[b] - elos[c] - elos[d]) / 2 / Constants.MATCHING_ELO_SCALE;
+		return Constants.ROUND_SCORE_PARTNER_REPEAT_WEIGHT * partnerRepeats
+				+ Constants.ROUND_SCORE_OPPONENT_REPEAT_WEIGHT * opponentRepeats
+				+ Constants.ROUND_SCORE_ELO_WEIGHT * eloDifference * eloDifference;
+	}
+}
@@ -0,0 +1,75 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+
+/**
+ * Priority queue of idle players: players with the fewest games first and, among them, the player idle the
+ * longest. Players become idle in chronological order, so instead of a heap every number of games has a bucket
+ * keeping its players in the order they were added; adding and polling a player take constant time
+ * (polling amortized over the buckets skipped, which are at most the spread of the numbers of games).
+ */
+class IdleQueue {
+
+	// buckets.get(games): idle players with that number of games, in the order they became idle
+	private final List<LinkedHashMap<String, Player>> buckets = new ArrayList<>();
+
+	private final Map<String, Integer> gamesOfIdlePlayers = new HashMap<>();
+
+	// all buckets below are empty
+	private int minBucket = 0;
+
+	/**
+	 * @param games number of games of the player, decides the priority together with the order of adding
+	 * @return false if the player is already idle
+	 */
+	boolean add(Player player, int games) {
+		if (gamesOfIdlePlayers.containsKey(player.getName())) {
+			return false;
+		}
+		while (buckets.size() <= games) {
+			buckets.add(new LinkedHashMap<String, Player>());
+		}
+		buckets.get(games).put(player.getName(), player);
+		gamesOfIdlePlayers.put(player.getName(), games);
+		minBucket = Math.min(minBucket, games);
+		return true;
+	}
+
+	/**
+	 * @return the idle player with the fewest games who is idle the longest, null if there is none
+	 */
+	Player poll() {
+		if (gamesOfIdlePlayers.isEmpty()) {
+			return null;
+		}
+		while (buckets.get(minBucket).isEmpty()) {
+			minBucket++;
+		}
+		Iterator<Player> iterator = buckets.get(minBucket).values().iterator();
+		Player player = iterator.next();
+		iterator.remove();
+		gamesOfIdlePlayers.remove(player.getName());
+		return player;
+	}
+
+	boolean contains(Player player) {
+		return gamesOfIdlePlayers.containsKey(player.getName());
+	}
+
+	int size() {
+		return gamesOfIdlePlayers.size();
+	}
+
+	void clear() {
+		buckets.clear();
+		gamesOfIdlePlayers.clear();
+		minBucket = 0;
+	}
+}
@@ -0,0 +1,135 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.PairHistory;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+import de.tum.kickercoding.tournamentviewer.util.WeightedMatching;
+
+/**
+ * Builds a whole round at once (algorithm {@link de.tum.kickercoding.tournamentviewer.util.MatchmakingAlgorithm
+ * #MATCHING}) with two minimum-cost perfect matchings:
+ * <ol>
+ * <li>players to teams; a team costs the negative log-likelihood of the gaussian partner ladder (strong with weak
+ * players, see {@link PartnerDistribution}), the distance of its average elo to the average of all players and
+ * {@link Constants#MATCHING_PARTNER_REPEAT_COST} for every game its players already played together</li>
+ * <li>teams to games; a game costs the elo difference of both teams and
+ * {@link Constants#MATCHING_OPPONENT_REPEAT_COST} for every time two opposing players already met</li>
+ * </ol>
+ * 1on1 rounds only need the second matching. A little random noise is added to all costs, so equally good rounds
+ * do not always come out the same. Both matchings are O(n^3); a round of 100 players takes about 20 ms on a
+ * desktop JVM.
+ */
+class MatchingRoundBuilder {
+
+	/**
+	 * costs are matched as integers with this many steps per unit
+	 */
+	private static final double COST_RESOLUTION = 1000;
+
+	private static final double DEFAULT_NOISE = 0.25;
+
+	private final Random random;
+
+	private final double noise;
+
+	MatchingRoundBuilder(Random random) {
+		this(random, DEFAULT_NOISE);
+	}
+
+	/**
+	 * @param noise maximal random cost added to every team and game
+	 */
+	MatchingRoundBuilder(Random random, double noise) {
+		this.random = random;
+		this.noise = noise;
+	}
+
+	/**
+	 * @param players     players of the round sorted for matching (by elo descending), 2 (1on1) or 4 (2on2) per
+	 *                    game
+	 * @param oneOnOne
+	 * @param pairHistory
+	 * @return the games of the round
+	 */
+	List<Game> buildRound(List<Player> players, boolean oneOnOne, PairHistory pairHistory) {
+		List<List<Player>> teams;
+		if (oneOnOne) {
+			teams = new ArrayList<>();
+			for (Player player : players) {
+				teams.add(new ArrayList<>(Arrays.asList(player)));
+			}
+		} else {
+			teams = buildTeams(players, pairHistory);
+		}
+		return buildGames(teams, pairHistory);
+	}
+
+	List<List<Player>> buildTeams(List<Player> players, PairHistory pairHistory) {
+		int size = players.size();
+		double std = size * Constants.GAUSSIAN_STD_IN_PERCENTAGE_OF_PLAYERS;
+		double averageElo = 0;
+		for (Player player : players) {
+			averageElo += player.getElo() / size;
+		}
+		long[][] cost = new long[size][size];
+		for (int i = 0;i < size;i++) {
+			for (int j = i + 1;j < size;j++) {
+				Player player1 = players.get(i);
+				Player player2 = players.get(j);
+				// mirrored positions add up to size - 1
+				double ladder = (i + j - (size - 1)) / std;
+				double elo = ((player1.getElo() + player2.getElo()) / 2 - averageElo) / Constants.MATCHING_ELO_SCALE;
+				double teamCost = (ladder * ladder + elo * elo) / 2 + Constants.MATCHING_PARTNER_REPEAT_COST *
+						pairHistory.getPartnerCount(player1, player2);
+				cost[i][j] = cost[j][i] = toLong(teamCost);
+			}
+		}
+		int[] mate = WeightedMatching.minCostPerfectMatching(cost);
+		List<List<Player>> teams = new ArrayList<>();
+		for (int i = 0;i < size;i++) {
+			if (i < mate[i]) {
+				teams.add(new ArrayList<>(Arrays.asList(players.get(i), players.get(mate[i]))));
+			}
+		}
+		return teams;
+	}
+
+	List<Game> buildGames(List<List<Player>> teams, PairHistory pairHistory) {
+		int size = teams.size();
+		double[] averageElos = new double[size];
+		for (int i = 0;i < size;i++) {
+			for (Player player : teams.get(i)) {
+				averageElos[i] += player.getElo() / teams.get(i).size();
+			}
+		}
+		long[][] cost = new long[size][size];
+		for (int i = 0;i < size;i++) {
+			for (int j = i + 1;j < size;j++) {
+				double elo = (averageElos[i] - averageElos[j]) / Constants.MATCHING_ELO_SCALE;
+				double gameCost = elo * elo / 2 + Constants.MATCHING_OPPONENT_REPEAT_COST * pairHistory
+						.getOpponentCount(teams.get(i), teams.get(j));
+				cost[i][j] = cost[j][i] = toLong(gameCost);
+			}
+		}
+		int[] mate = WeightedMatching.minCostPerfectMatching(cost);
+		List<Game> games = new ArrayList<>();
+		for (int i = 0;i < size;i++) {
+			if (i < mate[i]) {
+				List<Player> playersForGame = new ArrayList<>(teams.get(i));
+				playersForGame.addAll(teams.get(mate[i]));
+				games.add(new Game(playersForGame));
+			}
+		}
+		return games;
+	}
+
+	private long toLong(double cost) {
+		return Math.round((cost + noise * random.nextDouble()) * COST_RESOLUTION);
+	}
+}
@@ -6,9 +6,16 @@ import java.util.List;
 import java.util.Random;
 
 import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.GameCounts;
+import de.tum.kickercoding.tournamentviewer.entities.PairHistory;
+import de.tum.kickercoding.tournamentviewer.entities.PartnerArchive;
 import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.entities.WinProbabilities;
 import de.tum.kickercoding.tournamentviewer.tournament.Matchmaking;
 import de.tum.kickercoding.tournamentviewer.util.Constants;
+import de.tum.kickercoding.tournamentviewer.util.MatchmakingAlgorithm;
+import de.tum.kickercoding.tournamentviewer.util.SplittableRng;
 import de.tum.kickercoding.tournamentviewer.util.Utils;
 
 public class MonsterDypMatchmaking implements Matchmaking {
@@ -16,6 +23,16 @@ public class MonsterDypMatchmaking implements Matchmaking {
 
 	private static MonsterDypMatchmaking instance = new MonsterDypMatchmaking();
 
+	private MatchmakingAlgorithm algorithm = Constants.DEFAULT_MATCHMAKING_ALGORITHM;
+
+	private int candidateRounds = Constants.DEFAULT_CANDIDATE_ROUNDS;
+
+	private long searchBudgetMillis = Constants.DEFAULT_CANDIDATE_SEARCH_BUDGET_MILLIS;
+
+	private RoundScorer roundScorer = new DefaultRoundScorer();
+
+	private PartnerArchive partnerArchive = new PartnerArchive();
+
 	private MonsterDypMatchmaking() {
 	}
 
@@ -28,179 +45,294 @@ public class MonsterDypMatchmaking implements Matchmaking {
 		return instance;
 	}
 
+	/**
+	 * @param algorithm how rounds are generated; single games are always drawn randomly
+	 */
+	public void setAlgorithm(MatchmakingAlgorithm algorithm) {
+		this.algorithm = algorithm;
+	}
+
+	public MatchmakingAlgorithm getAlgorithm() {
+		return algorithm;
+	}
+
+	/**
+	 * @param candidateRounds    number of rounds drawn by {@link MatchmakingAlgorithm#MONTE_CARLO}
+	 * @param searchBudgetMillis time after which no further candidate rounds are started
+	 */
+	public void setCandidateSearch(int candidateRounds, long searchBudgetMillis) {
+		this.candidateRounds = candidateRounds;
+		this.searchBudgetMillis = searchBudgetMillis;
+	}
+
+	/**
+	 * @param partnerArchive partners of the finished tournaments, drawn as partners less likely (like partners of
+	 *                       the current tournament) and avoided when splitting games into teams
+	 */
+	public void setPartnerArchive(PartnerArchive partnerArchive) {
+		this.partnerArchive = partnerArchive;
+	}
+
+	/**
+	 * @param roundScorer picks the best of the candidate rounds of {@link MatchmakingAlgorithm#MONTE_CARLO}
+	 */
+	public void setRoundScorer(RoundScorer roundScorer) {
+		this.roundScorer = roundScorer;
+	}
+
 	@Override
-	public Game generateGame(List<Player> players, boolean oneOnOne, List<Game> pastGames) {
-		return generateGames(players, oneOnOne, pastGames, true).get(0);
+	public Game generateGame(Tournament tournament, SplittableRng random) {
+		return generateGames(tournament, true, random).get(0);
 	}
 
 	@Override
-	public List<Game> generateRound(List<Player> players, boolean oneOnOne, List<Game> pastGames) {
-		return generateGames(players, oneOnOne, pastGames, false);
+	public List<Game> generateRound(Tournament tournament, SplittableRng random) {
+		return generateGames(tournament, false, random);
+	}
+
+	private List<Game> generateGames(Tournament tournament, boolean singleGame, SplittableRng random) {
+		final List<Player> players = tournament.getPlayers();
+		final boolean oneOnOne = tournament.isOneOnOne();
+		final PairHistory pairHistory = tournament.getPairHistory();
+		final GameCounts gameCounts = tournament.getGameCounts();
+		final WinProbabilities winProbabilities = tournament.getWinProbabilities();
+		// only recomputes players whose elo changed since; afterwards only read (also by candidate search threads)
+		winProbabilities.update(players);
+		if (!singleGame && algorithm == MatchmakingAlgorithm.MONTE_CARLO) {
+			CandidateRoundSearch search = new CandidateRoundSearch(candidateRounds, searchBudgetMillis, roundScorer);
+			return search.search(tournament, new CandidateRoundSearch.RoundGenerator() {
+				@Override
+				public List<Game> generate(Random random) {
+					return generateRandomGames(players, oneOnOne, pairHistory, gameCounts, winProbabilities, false,
+							random);
+				}
+			}, random);
+		}
+		if (!singleGame && algorithm == MatchmakingAlgorithm.MATCHING) {
+			List<Player> playersToMatch = selectPlayers(players, gameCounts, oneOnOne, singleGame, random);
+			Utils.sortPlayersForMatching(playersToMatch);
+			return new MatchingRoundBuilder(random).buildRound(playersToMatch, oneOnOne, pairHistory);
+		}
+		return generateRandomGames(players, oneOnOne, pairHistory, gameCounts, winProbabilities, singleGame, random);
+	}
+
+	/**
+	 * @return players of the next round (least generated games first, ties drawn randomly) sorted for matching
+	 */
+	List<Player> selectPlayersForRound(Tournament tournament, Random random) {
+		List<Player> playersToMatch = selectPlayers(tournament.getPlayers(), tournament.getGameCounts(), tournament
+				.isOneOnOne(), false, random);
+		Utils.sortPlayersForMatching(playersToMatch);
+		return playersToMatch;
 	}
 
-	private List<Game> generateGames(List<Player> players, boolean oneOnOne, List<Game> pastGames, boolean
-			singleGame) {
-		List<Player> playersToMatch = selectPlayers(players, oneOnOne, pastGames, singleGame);
+	/**
+	 * draw teams one by one, pair them to games and split the players of each game into the most balanced teams
+	 * (1on1 games are paired by {@link SwissPairing}); only reads the players, the pair history, the game counts
+	 * and the win probabilities, so candidate rounds can be drawn on several threads at once (each with its own
+	 * random)
+	 */
+	private List<Game> generateRandomGames(List<Player> players, boolean oneOnOne, PairHistory pairHistory,
+										   GameCounts gameCounts, WinProbabilities winProbabilities, boolean
+												   singleGame, Random random) {
+		List<Player> playersToMatch = selectPlayers(players, gameCounts, oneOnOne, singleGame, random);
+		if (oneOnOne) {
+			return new SwissPairing(pairHistory).pair(playersToMatch);
+		}
 		Utils.sortPlayersForMatching(playersToMatch);
 		int gamesToGenerate = 1;
 		if (!singleGame) {
-			gamesToGenerate = oneOnOne ? players.size() / 2 : players.size() / 4;
+			gamesToGenerate = players.size() / 4;
+		}
+
+		List<List<Player>> teams = new ArrayList<>();
+		for (int i = 0;i < 2 * gamesToGenerate;i++) {
+			List<Player> team = generateTeam(playersToMatch, pairHistory, random);
+			playersToMatch.removeAll(team);
+			teams.add(team);
 		}
+		List<Game> games = new ArrayList<>();
+		for (Game game : pairTeams(teams, pairHistory)) {
+			games.add(balanceTeams(game, pairHistory, winProbabilities));
+		}
+		return games;
+	}
 
-		List<Game> generatedGames = new ArrayList<>();
-		for (int i = 0;i < gamesToGenerate;i++) {
-			generatedGames.add(generateRandomGame(playersToMatch, oneOnOne, pastGames));
+	/**
+	 * Choose the split of the four players of a game into two teams with the fewest repeated partners, among those
+	 * the fewest repeated opponents, then the fewest partners of finished tournaments ({@link PartnerArchive}) and
+	 * then the expected score closest to a draw. The three possible splits are compared by cached counts and win
+	 * probabilities, so this takes constant time per game.
+	 *
+	 * @return the game with the best split (the given game if it is already the best)
+	 */
+	Game balanceTeams(Game game, PairHistory pairHistory, WinProbabilities winProbabilities) {
+		List<Player> participants = game.getParticipants();
+		Player first = participants.get(0);
+		Game bestGame = game;
+		int minRepeats = Integer.MAX_VALUE;
+		int minOpponents = Integer.MAX_VALUE;
+		double minArchived = Double.MAX_VALUE;
+		double minImbalance = Double.MAX_VALUE;
+		for (int partner = 1;partner < 4;partner++) {
+			List<Player> team1 = new ArrayList<>(Arrays.asList(first, participants.get(partner)));
+			List<Player> team2 = new ArrayList<>(participants.subList(1, 4));
+			team2.remove(participants.get(partner));
+			int repeats = pairHistory.getPartnerCount(team1.get(0), team1.get(1)) + pairHistory.getPartnerCount
+					(team2.get(0), team2.get(1));
+			int opponents = pairHistory.getOpponentCount(team1, team2);
+			double archived = partnerArchive.getPartnerCount(team1.get(0), team1.get(1)) + partnerArchive
+					.getPartnerCount(team2.get(0), team2.get(1));
+			double imbalance = Math.abs(winProbabilities.getExpectedScore(team1, team2) - 0.5);
+			int compared = repeats - minRepeats;
+			if (compared == 0) {
+				compared = opponents - minOpponents;
+			}
+			if (compared == 0) {
+				compared = Double.compare(archived, minArchived);
+			}
+			if (compared == 0) {
+				compared = Double.compare(imbalance, minImbalance);
+			}
+			if (compared < 0) {
+				minRepeats = repeats;
+				minOpponents = opponents;
+				minArchived = archived;
+				minImbalance = imbalance;
+				if (partner == 1) {
+					bestGame = game;
+				} else {
+					team1.addAll(team2);
+					bestGame = new Game(team1);
+				}
+			}
 		}
-		return generatedGames;
+		return bestGame;
 	}
 
-	private List<Player> selectPlayers(List<Player> players, boolean oneOnOne, List<Game> pastGames, boolean
-			singleGame) {
-		// copy list to not change original list
-		List<Player> playersUpForSelection = new ArrayList<>(players);
-		List<Player> playersSelected = new ArrayList<>();
+	/**
+	 * Select the players with the least generated games, ties are drawn randomly. Players are put into buckets by
+	 * their number of games and the buckets are taken from the lowest up, so selection takes O(n) (plus the range
+	 * of game counts, which is small as the least playing players are selected first). The buckets are filled by
+	 * name, so the selection does not depend on the order of the given list (which differs between storage backends
+	 * and is re-sorted by the UI) but only on the game counts and the random.
+	 */
+	List<Player> selectPlayers(List<Player> givenPlayers, GameCounts gameCounts, boolean oneOnOne, boolean singleGame,
+							   Random random) {
+		List<Player> players = new ArrayList<>(givenPlayers);
+		Utils.sortPlayersByName(players);
+		int size = players.size();
 		int playersToSelect;
-		int size = playersUpForSelection.size();
 		if (singleGame) {
 			playersToSelect = (oneOnOne) ? 2 : 4;
 		} else {
 			playersToSelect = (oneOnOne) ?
 					size - (size % 2) : size - (size % 4);
 		}
-
-		setGeneratedGames(playersUpForSelection, pastGames);
-
-		Utils.sortPlayersByGamesGeneratedTournament(playersUpForSelection);
-		while (playersToSelect > 0) {
-			// get players with least games
-			int playedGamesMin = playersUpForSelection.get(0).getGeneratedGamesInTournament();
-			List<Player> playersWithMinGames = new ArrayList<>();
-			for (Player player : playersUpForSelection) {
-				if (player.getGeneratedGamesInTournament() == playedGamesMin) {
-					playersWithMinGames.add(player);
-				}
-			}
-			// add players (randomize if more available than needed)
-			if (playersWithMinGames.size() <= playersToSelect) {
-				playersSelected.addAll(playersWithMinGames);
-				playersUpForSelection.removeAll(playersWithMinGames);
-				playersToSelect -= playersWithMinGames.size();
+		List<Player> playersSelected = new ArrayList<>(playersToSelect);
+		if (size == 0) {
+			return playersSelected;
+		}
+		int[] counts = new int[size];
+		int minCount = Integer.MAX_VALUE;
+		int maxCount = 0;
+		for (int i = 0;i < size;i++) {
+			counts[i] = gameCounts.get(players.get(i));
+			minCount = Math.min(minCount, counts[i]);
+			maxCount = Math.max(maxCount, counts[i]);
+		}
+		List<List<Player>> buckets = new ArrayList<>(maxCount - minCount + 1);
+		for (int count = minCount;count <= maxCount;count++) {
+			buckets.add(new ArrayList<Player>());
+		}
+		for (int i = 0;i < size;i++) {
+			buckets.get(counts[i] - minCount).add(players.get(i));
+		}
+		for (List<Player> bucket : buckets) {
+			int remaining = playersToSelect - playersSelected.size();
+			if (bucket.size() <= remaining) {
+				playersSelected.addAll(bucket);
 			} else {
-				Random random = new Random();
-				for (int i = 0;i < playersToSelect;i++) {
-					int playerPosition = random.nextInt(playersWithMinGames.size());
-					playersSelected.add(playersWithMinGames.remove(playerPosition));
+				// partial shuffle: draw the remaining players from the bucket
+				for (int i = 0;i < remaining;i++) {
+					int drawn = i + random.nextInt(bucket.size() - i);
+					Player player = bucket.get(drawn);
+					bucket.set(drawn, bucket.get(i));
+					bucket.set(i, player);
+					playersSelected.add(player);
 				}
+			}
+			if (playersSelected.size() == playersToSelect) {
 				break;
 			}
 		}
 		return playersSelected;
 	}
 
-	private void setGeneratedGames(final List<Player> players, List<Game> pastGames) {
-		// efficiency of loop was sacrificed for readability (list sizes low -> shouldn't cause performance issues)
-		for (Player player : players) {
-			player.setGeneratedGamesInTournament(0);
-			for (Game game : pastGames) {
-				if (game.getTeam1().contains(player) || game.getTeam2().contains(player)) {
-					player.setGeneratedGamesInTournament(player.getGeneratedGamesInTournament() + 1);
+	/**
+	 * Pair the teams (in the order they were drawn) to games: every team still unpaired plays against the remaining
+	 * team whose players it met least often so far; ties go to the team drawn first.
+	 *
+	 * @param teams       even number of teams
+	 * @param pairHistory
+	 * @return the games
+	 */
+	List<Game> pairTeams(List<List<Player>> teams, PairHistory pairHistory) {
+		List<List<Player>> unpaired = new ArrayList<>(teams);
+		List<Game> games = new ArrayList<>();
+		while (unpaired.size() > 1) {
+			List<Player> team = unpaired.remove(0);
+			int bestOpponent = 0;
+			int minOpponentCount = Integer.MAX_VALUE;
+			for (int i = 0;i < unpaired.size();i++) {
+				int opponentCount = pairHistory.getOpponentCount(team, unpaired.get(i));
+				if (opponentCount < minOpponentCount) {
+					minOpponentCount = opponentCount;
+					bestOpponent = i;
 				}
 			}
+			List<Player> playersForGame = new ArrayList<>(team);
+			playersForGame.addAll(unpaired.remove(bestOpponent));
+			games.add(new Game(playersForGame));
 		}
+		return games;
 	}
 
-	private Game generateRandomGame(List<Player> players, boolean oneOnOne, List<Game> pastGames) {
-		List<Player> playersForGame = new ArrayList<>();
-		if (oneOnOne) {
-			// TODO: build more sophisticated 1v1 matching
-			Random random = new Random();
-			for (int i = 0;i < 2;i++) {
-				int playerPosition = random.nextInt(players.size());
-				playersForGame.add(players.remove(playerPosition));
-			}
-		} else {
-			for (int i = 0;i < 2;i++) {
-				List<Player> team = generateTeam(players, pastGames);
-				players.removeAll(team);
-				playersForGame.addAll(team);
-			}
-		}
-		return new Game(playersForGame);
-	}
-
-	List<Player> generateTeam(List<Player> players, List<Game> pastGames) {
-		int[][] pastGameFrequencies = calculatePartnerFrequencies(players, pastGames);
+	List<Player> generateTeam(List<Player> players, PairHistory pairHistory, Random random) {
 		int playersSize = players.size();
 		// select random player
-		Random random = new Random();
 		int playerPosition = random.nextInt(playersSize);
 		Player playerToMatch = players.get(playerPosition);
-		// generate parameters for gaussian distribution to draw partner
-		// std was determined by some basic sampling test; not set in stone
-		double std = playersSize * Constants.GAUSSIAN_STD_IN_PERCENTAGE_OF_PLAYERS;
-		double avg = playersSize - playerPosition;
-		Player partner = null;
-		int[] partnerDrawCount = new int[playersSize];
-		while (partner == null) {
-			int partnerPosition = (int) (random.nextGaussian() * std + avg);
-			if (partnerPosition < 0 || partnerPosition >= playersSize || partnerPosition == playerPosition) {
-				// resample until valid value occurs
-				continue;
-			}
-			// if already matched before and not yet drawn this round, skip SAME_TEAM_SKIP_THRESHOLD times
-			// (adjustable if
-			// results not satisfactory)
-			if (pastGameFrequencies[playerPosition][partnerPosition] > 0
-					&& partnerDrawCount[partnerPosition] < Constants.SAME_TEAM_SKIP_THRESHOLD) {
-				partnerDrawCount[partnerPosition]++;
-				continue;
-			}
-			partner = players.get(partnerPosition);
-		}
+		// draw partner from a gaussian around the mirrored position, previous partners are less likely
+		PartnerDistribution distribution = new PartnerDistribution(playersSize, playerPosition,
+				getPartnerFrequencies(players, playerPosition, pairHistory));
+		Player partner = players.get(distribution.draw(random));
 		return new ArrayList<>(Arrays.asList(playerToMatch, partner));
 	}
 
-	private int[][] calculatePartnerFrequencies(List<Player> players, List<Game> pastGames) {
-		int playerSize = players.size();
-		int[][] frequencies = new int[playerSize][playerSize];
-		for (Game game : pastGames) {
-			Player p1 = game.getTeam1().get(0);
-			Player p2 = game.getTeam1().get(1);
-			Player p3 = game.getTeam2().get(0);
-			Player p4 = game.getTeam2().get(1);
-			int positionP1 = players.indexOf(p1);
-			int positionP2 = players.indexOf(p2);
-			int positionP3 = players.indexOf(p3);
-			int positionP4 = players.indexOf(p4);
-			if (positionP1 != -1 && positionP2 != -1) {
-				frequencies[positionP1][positionP2]++;
-				frequencies[positionP2][positionP1]++;
-			}
-			if (positionP3 != -1 && positionP4 != -1) {
-				frequencies[positionP3][positionP4]++;
-				frequencies[positionP4][positionP3]++;
+	/**
+	 * @return for every position the number of games the player at that position played together with the player
+	 * at playerPosition (in this and in finished tournaments), shifted down by the minimum s.th. at least one other
+	 * player has 0
+	 */
+	private double[] getPartnerFrequencies(List<Player> players, int playerPosition, PairHistory pairHistory) {
+		int playersSize = players.size();
+		Player player = players.get(playerPosition);
+		double[] frequencies = new double[playersSize];
+		double min = Double.MAX_VALUE;
+		for (int i = 0;i < playersSize;i++) {
+			if (i != playerPosition) {
+				Player other = players.get(i);
+				frequencies[i] = pairHistory.getPartnerCount(player, other) + partnerArchive.getPartnerCount(player,
+						other);
+				min = Math.min(min, frequencies[i]);
 			}
 		}
-		// make sure every row has a 0 entry by shifting it down by its minimum
-		for (int i = 0;i < playerSize;i++) {
-			int min = Integer.MAX_VALUE;
-			// get row minimum
-			for (int j = 0;j < playerSize;j++) {
-				if (i != j && frequencies[i][j] < min) {
-					min = frequencies[i][j];
-				}
-			}
-			// adjust row s.th. at least one value == 0
-			if (min > 0) {
-				for (int j = 0;j < playerSize;j++) {
-					if (i != j) {
-						frequencies[i][j] -= min;
-					}
-				}
+		for (int i = 0;i < playersSize;i++) {
+			if (i != playerPosition) {
+				frequencies[i] -= min;
 			}
 		}
 		return frequencies;
 	}
-
-
 }
@@ -42,6 +42,12 @@ public class MonsterDypTournamentActivity extends AppCompatActivity implements O
 
 	}
 
+	@Override
+	protected void onPause() {
+		super.onPause();
+		AppManager.getInstance().flush();
+	}
+
 	public void generatePlayoffs(View view) {
 		AlertDialog.Builder builder = new AlertDialog.Builder(this);
 		builder.setTitle("Generate next round of Playoffs?");
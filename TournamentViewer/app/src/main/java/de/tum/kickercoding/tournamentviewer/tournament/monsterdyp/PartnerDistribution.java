@@ -0,0 +1,199 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import java.util.Random;
+
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+
+/**
+ * Distribution of the partner for the player at a given position of the (sorted) list of players to match.
+ * <p>
+ * Partners are drawn from a gaussian centered at the mirrored position of the player (strong players are paired
+ * with weak ones), truncated to the valid positions. Positions are obtained by cutting off the decimals of the
+ * gaussian value, so position 0 covers the interval (-1, 1) and every other position p covers [p, p + 1).
+ * <p>
+ * Previous partners are handled like in the former rejection loop: drawing a previous partner is skipped until it
+ * was drawn {@link Constants#SAME_TEAM_SKIP_THRESHOLD} times, so a previous partner is only taken at its
+ * (SAME_TEAM_SKIP_THRESHOLD + 1)-th draw if no other player was taken before. This is a race between the
+ * positions, its outcome probabilities are computed by embedding the draws into Poisson processes (one per
+ * position, with the rate of its gaussian weight): a position p wins at time t with density
+ * <pre>rate(p) * h(p, t) * S(t)</pre>
+ * where S(t) is the probability that nobody won until t (no other player drawn and every previous partner drawn
+ * at most SAME_TEAM_SKIP_THRESHOLD times), and h is 1 for other players and P(N = k) / P(N &lt;= k) for previous
+ * partners (N the number of draws of the partner until t, k = SAME_TEAM_SKIP_THRESHOLD). The integrals are
+ * computed numerically with a fixed number of steps, so previous partners cost O(n) per step.
+ * <p>
+ * All weights are computed once and stored as a cumulative distribution; a draw is a binary search, so it takes
+ * O(log n) and never has to be repeated.
+ */
+class PartnerDistribution {
+
+	// intervals of the numerical integration of the race, even for Simpson's rule
+	private static final int INTEGRATION_STEPS = 512;
+
+	// the integration stops once nobody won with at most this probability
+	private static final double SURVIVAL_EPSILON = 1e-12;
+
+	private final int[] positions;
+
+	private final double[] cumulativeWeights;
+
+	/**
+	 * @param playersSize           number of players to choose from
+	 * @param playerPosition        position of the player to find a partner for
+	 * @param pastGameFrequencies   number of games (shifted by the minimum) the player already played together
+	 *                              with the player at each position; games of finished tournaments are decayed
+	 */
+	PartnerDistribution(int playersSize, int playerPosition, double[] pastGameFrequencies) {
+		// std was determined by some basic sampling test; not set in stone
+		double std = playersSize * Constants.GAUSSIAN_STD_IN_PERCENTAGE_OF_PLAYERS;
+		double avg = playersSize - playerPosition;
+		positions = new int[playersSize - 1];
+		double[] rates = new double[playersSize - 1];
+		boolean[] pastPartners = new boolean[playersSize - 1];
+		double total = 0;
+		boolean anyPastPartner = false;
+		int count = 0;
+		for (int i = 0;i < playersSize;i++) {
+			if (i == playerPosition) {
+				continue;
+			}
+			double lower = (i == 0) ? -1 : i;
+			positions[count] = i;
+			rates[count] = normalCdf((i + 1 - avg) / std) - normalCdf((lower - avg) / std);
+			pastPartners[count] = pastGameFrequencies[i] > 0;
+			anyPastPartner = anyPastPartner || pastPartners[count];
+			total += rates[count];
+			count++;
+		}
+		if (!(total > 0)) {
+			// all valid positions are too far out in the tails, fall back to a uniform draw
+			for (int i = 0;i < count;i++) {
+				rates[i] = 1;
+			}
+			total = count;
+		}
+		for (int i = 0;i < count;i++) {
+			// one draw per unit of time
+			rates[i] /= total;
+		}
+		double[] weights = anyPastPartner ? getRaceWeights(rates, pastPartners) : rates;
+		cumulativeWeights = new double[count];
+		double sum = 0;
+		for (int i = 0;i < count;i++) {
+			sum += weights[i];
+			cumulativeWeights[i] = sum;
+		}
+	}
+
+	/**
+	 * @param rates        probability of every position to be drawn, sums up to 1
+	 * @param pastPartners positions which are skipped SAME_TEAM_SKIP_THRESHOLD times
+	 * @return probability of every position to win the race of the former rejection loop (up to the error of the
+	 * integration)
+	 */
+	private static double[] getRaceWeights(double[] rates, boolean[] pastPartners) {
+		double[] weights = new double[rates.length];
+		double[] hazards = new double[rates.length];
+		double end = 1;
+		while (getSurvival(rates, pastPartners, end, hazards) > SURVIVAL_EPSILON && end < 1e12) {
+			end *= 2;
+		}
+		double step = end / INTEGRATION_STEPS;
+		for (int node = 0;node <= INTEGRATION_STEPS;node++) {
+			double survival = getSurvival(rates, pastPartners, node * step, hazards);
+			if (survival == 0) {
+				continue;
+			}
+			// Simpson's rule: 1, 4, 2, 4, ..., 2, 4, 1
+			double factor = (node == 0 || node == INTEGRATION_STEPS) ? 1 : (node % 2 == 1) ? 4 : 2;
+			for (int i = 0;i < rates.length;i++) {
+				weights[i] += factor * rates[i] * hazards[i] * survival;
+			}
+		}
+		return weights;
+	}
+
+	/**
+	 * @param hazards filled with h(p, t) of every position, see the class comment
+	 * @return S(t), the probability that no position won until time t
+	 */
+	private static double getSurvival(double[] rates, boolean[] pastPartners, double time, double[] hazards) {
+		int threshold = Constants.SAME_TEAM_SKIP_THRESHOLD;
+		double logSurvival = 0;
+		for (int i = 0;i < rates.length;i++) {
+			double mean = rates[i] * time;
+			if (!pastPartners[i]) {
+				logSurvival -= mean;
+				hazards[i] = 1;
+				continue;
+			}
+			// P(N <= threshold) and P(N = threshold) of the Poisson distributed number of draws N
+			double term = Math.exp(-mean);
+			double cumulative = term;
+			for (int k = 1;k <= threshold;k++) {
+				term *= mean / k;
+				cumulative += term;
+			}
+			if (cumulative == 0) {
+				hazards[i] = 0;
+				return 0;
+			}
+			logSurvival += Math.log(cumulative);
+			hazards[i] = term / cumulative;
+		}
+		return Math.exp(logSurvival);
+	}
+
+	/**
+	 * @return position of the partner
+	 */
+	int draw(Random random) {
+		int last = cumulativeWeights.length - 1;
+		double value = random.nextDouble() * cumulativeWeights[last];
+		// first index whose cumulative weight exceeds the value
+		int low = 0;
+		int high = last;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (cumulativeWeights[middle] > value) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		return positions[low];
+	}
+
+	/**
+	 * @return probability of drawing the given position
+	 */
+	double probability(int position) {
+		int last = cumulativeWeights.length - 1;
+		for (int i = 0;i <= last;i++) {
+			if (positions[i] == position) {
+				double previous = (i == 0) ? 0 : cumulativeWeights[i - 1];
+				return (cumulativeWeights[i] - previous) / cumulativeWeights[last];
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * cumulative distribution function of the standard normal distribution
+	 */
+	static double normalCdf(double x) {
+		return 0.5 * (1 + erf(x / Math.sqrt(2)));
+	}
+
+	/**
+	 * error function, approximation 7.1.26 of Abramowitz and Stegun (absolute error below 1.5e-7)
+	 */
+	private static double erf(double x) {
+		double sign = (x < 0) ? -1 : 1;
+		x = Math.abs(x);
+		double t = 1 / (1 + 0.3275911 * x);
+		double polynomial = t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t *
+				1.061405429))));
+		return sign * (1 - polynomial * Math.exp(-x * x));
+	}
+}
@@ -0,0 +1,200 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.GameCounts;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.tournament.Matchmaking;
+import de.tum.kickercoding.tournamentviewer.util.SplittableRng;
+
+/**
+ * Continuous game generation (algorithm {@link de.tum.kickercoding.tournamentviewer.util
+ * .MatchmakingAlgorithm#ROLLING}): instead of rounds, every finished game is replaced right away by a game on the
+ * same table ({@link #gameFinished(Tournament, Game)}). Its players are the idle players (not in an unfinished
+ * game) with the fewest games who are idle the longest, see {@link IdleQueue}; teams are split like in
+ * {@link MonsterDypMatchmaking#balanceTeams}. No random decisions are made.
+ * <p>
+ * The idle players and free tables are kept between games, so a finished game is replaced in constant time. They
+ * are rebuilt from the tournament when it was changed in another way (see {@link #invalidate()}).
+ */
+public class RollingDispatcher implements Matchmaking {
+
+	private static RollingDispatcher instance = new RollingDispatcher();
+
+	private final IdleQueue idlePlayers = new IdleQueue();
+
+	// tables waiting for a game, in the order they became free; 0 if the tournament has no tables set
+	private final Queue<Integer> freeTables = new ArrayDeque<>();
+
+	// tournament the idle players and free tables belong to, null if they have to be rebuilt
+	private Tournament tournament;
+
+	private RollingDispatcher() {
+	}
+
+	/**
+	 * Get the instance of the singleton.
+	 *
+	 * @return The instance of the singleton.
+	 */
+	public static RollingDispatcher getInstance() {
+		return instance;
+	}
+
+	/**
+	 * the tournament was changed other than by adding generated games or finishing games (e.g. players joined or
+	 * left, games were removed), idle players and free tables are rebuilt on the next use
+	 */
+	public void invalidate() {
+		tournament = null;
+	}
+
+	/**
+	 * Replace a finished game: its players become idle and its table free, the next games are generated for the
+	 * free tables as long as there are enough idle players.
+	 *
+	 * @param finishedGame game which was just finished
+	 * @return the new games, each with its table; they are not added to the tournament
+	 */
+	public List<Game> gameFinished(Tournament tournament, Game finishedGame) {
+		if (!synchronize(tournament)) {
+			GameCounts gameCounts = tournament.getGameCounts();
+			for (Player participant : finishedGame.getParticipants()) {
+				idlePlayers.add(participant, gameCounts.get(participant));
+			}
+			freeTables.add(finishedGame.getTable());
+		} else if (tournament.getTables() <= 0) {
+			// rebuilding found the players idle (and the table free, if the tournament has tables)
+			freeTables.add(0);
+		}
+		List<Game> games = new ArrayList<>();
+		while (!freeTables.isEmpty() && idlePlayers.size() >= getSlotsPerGame(tournament)) {
+			games.add(nextGame(tournament, freeTables.poll()));
+		}
+		return games;
+	}
+
+	/**
+	 * @return game of the idle players with the fewest games who are idle the longest, on the table free the
+	 * longest (table 0 if no table is free); null if there are not enough idle players
+	 */
+	@Override
+	public Game generateGame(Tournament tournament, SplittableRng random) {
+		synchronize(tournament);
+		if (idlePlayers.size() < getSlotsPerGame(tournament)) {
+			return null;
+		}
+		Integer table = freeTables.poll();
+		return nextGame(tournament, (table == null) ? 0 : table);
+	}
+
+	/**
+	 * @return a game for every free table (as many games as possible if the tournament has no tables set) as long
+	 * as there are enough idle players
+	 */
+	@Override
+	public List<Game> generateRound(Tournament tournament, SplittableRng random) {
+		synchronize(tournament);
+		int slotsPerGame = getSlotsPerGame(tournament);
+		List<Game> games = new ArrayList<>();
+		if (tournament.getTables() <= 0) {
+			freeTables.clear();
+			while (idlePlayers.size() >= slotsPerGame) {
+				games.add(nextGame(tournament, 0));
+			}
+		} else {
+			while (!freeTables.isEmpty() && idlePlayers.size() >= slotsPerGame) {
+				games.add(nextGame(tournament, freeTables.poll()));
+			}
+		}
+		return games;
+	}
+
+	private Game nextGame(Tournament tournament, int table) {
+		int slotsPerGame = getSlotsPerGame(tournament);
+		List<Player> participants = new ArrayList<>(slotsPerGame);
+		for (int i = 0;i < slotsPerGame;i++) {
+			participants.add(idlePlayers.poll());
+		}
+		Game game = new Game(participants);
+		if (!tournament.isOneOnOne()) {
+			game = MonsterDypMatchmaking.getInstance().balanceTeams(game, tournament.getPairHistory(), tournament
+					.getWinProbabilities());
+		}
+		game.setTable(table);
+		return game;
+	}
+
+	/**
+	 * rebuild idle players and free tables if they do not belong to the tournament
+	 *
+	 * @return true if they were rebuilt
+	 */
+	private boolean synchronize(Tournament tournament) {
+		if (this.tournament == tournament) {
+			return false;
+		}
+		idlePlayers.clear();
+		freeTables.clear();
+		List<Game> games = tournament.getGames();
+		final Map<String, Integer> lastPositions = new HashMap<>();
+		Set<String> busyPlayers = new HashSet<>();
+		Set<Integer> busyTables = new HashSet<>();
+		for (int position = 0;position < games.size();position++) {
+			Game game = games.get(position);
+			for (Player participant : game.getParticipants()) {
+				lastPositions.put(participant.getName(), position);
+			}
+			if (!game.isFinished()) {
+				for (Player participant : game.getParticipants()) {
+					busyPlayers.add(participant.getName());
+				}
+				busyTables.add(game.getTable());
+			}
+		}
+		List<Player> idle = new ArrayList<>();
+		for (Player player : tournament.getPlayers()) {
+			if (!busyPlayers.contains(player.getName())) {
+				idle.add(player);
+			}
+		}
+		// idle the longest: last game furthest back
+		Collections.sort(idle, new Comparator<Player>() {
+			@Override
+			public int compare(Player player1, Player player2) {
+				return getLastPosition(lastPositions, player1) - getLastPosition(lastPositions, player2);
+			}
+		});
+		GameCounts gameCounts = tournament.getGameCounts();
+		for (Player player : idle) {
+			idlePlayers.add(player, gameCounts.get(player));
+		}
+		for (int table = 1;table <= tournament.getTables();table++) {
+			if (!busyTables.contains(table)) {
+				freeTables.add(table);
+			}
+		}
+		this.tournament = tournament;
+		return true;
+	}
+
+	private static int getLastPosition(Map<String, Integer> lastPositions, Player player) {
+		Integer position = lastPositions.get(player.getName());
+		return (position == null) ? -1 : position;
+	}
+
+	private static int getSlotsPerGame(Tournament tournament) {
+		return tournament.isOneOnOne() ? 2 : 4;
+	}
+}
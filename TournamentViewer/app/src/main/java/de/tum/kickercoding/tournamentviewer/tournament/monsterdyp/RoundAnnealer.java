@@ -0,0 +1,184 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.PairHistory;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+
+/**
+ * Improves a round by simulated annealing.
+ * <p>
+ * The round is a permutation of the players on slots: game g has the slots [g * s, (g + 1) * s) with s = 2 (1on1)
+ * or 4 (2on2), the first half of the slots of a game is team 1. A move swaps the players of two slots; within a
+ * game this swaps a partner with an opponent, across games it exchanges players of two games. Only the (at most
+ * two) affected games change, and the cost of a game is computed in O(1) from primitive arrays (partner and
+ * opponent counts of all pairs, elo of all players; see {@link GameCostModel}), so a move costs O(1) no matter
+ * how many players take part.
+ */
+class RoundAnnealer {
+
+	/**
+	 * start temperature, about the cost of one repeated opponent
+	 */
+	private static final double START_TEMPERATURE = Constants.ROUND_SCORE_OPPONENT_REPEAT_WEIGHT;
+
+	private static final double END_TEMPERATURE = 0.01;
+
+	/**
+	 * moves between two looks at the clock
+	 */
+	private static final int MOVES_PER_CLOCK_CHECK = 256;
+
+	private final List<Player> players;
+
+	private final int slotsPerGame;
+
+	private final GameCostModel costs;
+
+	// slot -> player index
+	private final int[] slots;
+
+	private double cost;
+
+	private long moves;
+
+	/**
+	 * @param players     players of the round, 2 (1on1) or 4 (2on2) per game
+	 * @param round       the start round of exactly these players
+	 * @param oneOnOne
+	 * @param pairHistory
+	 */
+	RoundAnnealer(List<Player> players, List<Game> round, boolean oneOnOne, PairHistory pairHistory) {
+		this.players = players;
+		int size = players.size();
+		slotsPerGame = oneOnOne ? 2 : 4;
+		costs = new GameCostModel(players, pairHistory);
+		Map<String, Integer> indices = new HashMap<>();
+		for (int i = 0;i < size;i++) {
+			indices.put(players.get(i).getName(), i);
+		}
+		slots = new int[round.size() * slotsPerGame];
+		int slot = 0;
+		for (Game game : round) {
+			for (Player player : game.getTeam1()) {
+				slots[slot++] = indices.get(player.getName());
+			}
+			for (Player player : game.getTeam2()) {
+				slots[slot++] = indices.get(player.getName());
+			}
+		}
+		cost = computeCost();
+	}
+
+	/**
+	 * anneal until the deadline
+	 *
+	 * @param deadline as {@link System#nanoTime()}
+	 * @return the best round found
+	 */
+	List<Game> anneal(long deadline, Random random) {
+		int[] bestSlots = slots.clone();
+		double bestCost = cost;
+		int slotCount = slots.length;
+		if (slotCount < 2) {
+			return toGames(bestSlots);
+		}
+		long start = System.nanoTime();
+		double duration = Math.max(1, deadline - start);
+		double temperature = START_TEMPERATURE;
+		while (true) {
+			if (moves % MOVES_PER_CLOCK_CHECK == 0) {
+				long now = System.nanoTime();
+				if (now >= deadline) {
+					break;
+				}
+				// geometric cooling over the available time
+				temperature = START_TEMPERATURE * Math.pow(END_TEMPERATURE / START_TEMPERATURE, (now - start) /
+						duration);
+			}
+			moves++;
+			int slot1 = random.nextInt(slotCount);
+			int slot2 = random.nextInt(slotCount - 1);
+			if (slot2 >= slot1) {
+				slot2++;
+			}
+			double delta = swapDelta(slot1, slot2);
+			if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+				swap(slot1, slot2);
+				cost += delta;
+				if (cost < bestCost - 1e-9) {
+					bestCost = cost;
+					System.arraycopy(slots, 0, bestSlots, 0, slotCount);
+				}
+			}
+		}
+		return toGames(bestSlots);
+	}
+
+	/**
+	 * @return change of the cost if the players of both slots were swapped
+	 */
+	double swapDelta(int slot1, int slot2) {
+		int game1 = slot1 / slotsPerGame;
+		int game2 = slot2 / slotsPerGame;
+		double before = gameCost(game1);
+		if (game1 != game2) {
+			before += gameCost(game2);
+		}
+		swap(slot1, slot2);
+		double after = gameCost(game1);
+		if (game1 != game2) {
+			after += gameCost(game2);
+		}
+		swap(slot1, slot2);
+		return after - before;
+	}
+
+	void swap(int slot1, int slot2) {
+		int player = slots[slot1];
+		slots[slot1] = slots[slot2];
+		slots[slot2] = player;
+	}
+
+	double getCost() {
+		return cost;
+	}
+
+	long getMoves() {
+		return moves;
+	}
+
+	double computeCost() {
+		double total = 0;
+		for (int game = 0;game < slots.length / slotsPerGame;game++) {
+			total += gameCost(game);
+		}
+		return total;
+	}
+
+	private double gameCost(int game) {
+		int first = game * slotsPerGame;
+		if (slotsPerGame == 2) {
+			return costs.gameCost(slots[first], slots[first + 1]);
+		}
+		return costs.gameCost(slots[first], slots[first + 1], slots[first + 2], slots[first + 3]);
+	}
+
+	private List<Game> toGames(int[] slots) {
+		List<Game> games = new ArrayList<>();
+		for (int first = 0;first < slots.length;first += slotsPerGame) {
+			List<Player> participants = new ArrayList<>();
+			for (int slot = first;slot < first + slotsPerGame;slot++) {
+				participants.add(players.get(slots[slot]));
+			}
+			games.add(new Game(participants));
+		}
+		return games;
+	}
+}
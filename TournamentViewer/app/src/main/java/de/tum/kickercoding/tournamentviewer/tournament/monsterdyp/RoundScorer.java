@@ -0,0 +1,22 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import java.util.List;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+
+/**
+ * Quality of a candidate round, used to pick the best of several drawn rounds.
+ * <p>
+ * Candidates are scored on several threads at once: implementations must only read the tournament and should not
+ * allocate per call, so the search scales with the number of cores and not with the garbage collector.
+ */
+public interface RoundScorer {
+
+	/**
+	 * @param round      games of the candidate round (not yet added to the tournament)
+	 * @param tournament the running tournament; games per player are read from {@link Tournament#getGameCounts()}
+	 * @return score of the round, lower is better
+	 */
+	double score(List<Game> round, Tournament tournament);
+}
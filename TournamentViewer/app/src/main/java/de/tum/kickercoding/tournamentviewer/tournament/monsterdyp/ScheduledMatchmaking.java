@@ -0,0 +1,262 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.PairHistory;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Schedule;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.tournament.Matchmaking;
+import de.tum.kickercoding.tournamentviewer.util.SplittableRng;
+import de.tum.kickercoding.tournamentviewer.util.Utils;
+
+/**
+ * Matchmaking from a precomputed schedule (algorithm {@link de.tum.kickercoding.tournamentviewer.util
+ * .MatchmakingAlgorithm#SCHEDULE}): several rounds are computed in the background when the tournament starts
+ * ({@link #buildSchedule(Tournament, int, long, Random)}), so generating a round only hands out the next one. If
+ * the schedule is missing, exhausted or of the wrong game type, rounds are generated by
+ * {@link MonsterDypMatchmaking}.
+ * <p>
+ * When players join or leave, the remaining rounds are repaired locally ({@link #repairSchedule(Schedule, List,
+ * Random)}) instead of being computed again.
+ */
+public class ScheduledMatchmaking implements Matchmaking {
+
+	private static ScheduledMatchmaking instance = new ScheduledMatchmaking();
+
+	// set by the background thread computing the schedule, read by the UI thread
+	private volatile Schedule schedule;
+
+	private ScheduledMatchmaking() {
+	}
+
+	/**
+	 * Get the instance of the singleton.
+	 *
+	 * @return The instance of the singleton.
+	 */
+	public static ScheduledMatchmaking getInstance() {
+		return instance;
+	}
+
+	/**
+	 * @param schedule rounds to hand out, null to generate all rounds on demand
+	 */
+	public void setSchedule(Schedule schedule) {
+		this.schedule = schedule;
+	}
+
+	public Schedule getSchedule() {
+		return schedule;
+	}
+
+	@Override
+	public Game generateGame(Tournament tournament, SplittableRng random) {
+		return MonsterDypMatchmaking.getInstance().generateGame(tournament, random);
+	}
+
+	@Override
+	public List<Game> generateRound(Tournament tournament, SplittableRng random) {
+		Schedule current = schedule;
+		if (current == null || current.isOneOnOne() != tournament.isOneOnOne()) {
+			return MonsterDypMatchmaking.getInstance().generateRound(tournament, random);
+		}
+		// players may have changed since the last repair (e.g. tournament reloaded)
+		repairSchedule(current, tournament.getPlayers(), random);
+		if (!current.hasNextRound()) {
+			return MonsterDypMatchmaking.getInstance().generateRound(tournament, random);
+		}
+		Map<String, Player> playersByName = new HashMap<>();
+		for (Player player : tournament.getPlayers()) {
+			playersByName.put(player.getName(), player);
+		}
+		List<String> names = current.popNextRound();
+		int slotsPerGame = current.getSlotsPerGame();
+		List<Game> round = new ArrayList<>();
+		for (int i = 0;i + slotsPerGame <= names.size();i += slotsPerGame) {
+			List<Player> participants = new ArrayList<>();
+			for (String name : names.subList(i, i + slotsPerGame)) {
+				participants.add(playersByName.get(name));
+			}
+			round.add(new Game(participants));
+		}
+		return round;
+	}
+
+	/**
+	 * Compute the next rounds of the tournament one after another: players are selected like in
+	 * {@link MonsterDypMatchmaking} (byes go to the players with the most games), a greedy round is improved by
+	 * simulated annealing ({@link RoundAnnealer}) against the pair history including all previously scheduled
+	 * rounds, and the round is added to the tournament before the next one is computed.
+	 *
+	 * @param tournament   copy of the tournament, the scheduled games are added to it
+	 * @param rounds       number of rounds to compute
+	 * @param budgetMillis time for all rounds together
+	 * @return schedule with the rounds which could be formed
+	 */
+	public static Schedule buildSchedule(Tournament tournament, int rounds, long budgetMillis, Random random) {
+		boolean oneOnOne = tournament.isOneOnOne();
+		int slotsPerGame = oneOnOne ? 2 : 4;
+		PairHistory pairHistory = tournament.getPairHistory();
+		long budgetPerRound = budgetMillis * 1000000 / Math.max(1, rounds);
+		List<List<String>> scheduledRounds = new ArrayList<>();
+		for (int r = 0;r < rounds;r++) {
+			long deadline = System.nanoTime() + budgetPerRound;
+			List<Player> players = MonsterDypMatchmaking.getInstance().selectPlayersForRound(tournament, random);
+			if (players.size() < slotsPerGame) {
+				break;
+			}
+			List<Game> round = AnnealingMatchmaking.getInstance().greedyRound(players, oneOnOne, pairHistory);
+			round = new RoundAnnealer(players, round, oneOnOne, pairHistory).anneal(deadline, random);
+			List<String> names = new ArrayList<>();
+			for (Game game : round) {
+				for (Player participant : game.getParticipants()) {
+					names.add(participant.getName());
+				}
+				tournament.addGame(game);
+			}
+			scheduledRounds.add(names);
+		}
+		return new Schedule(oneOnOne, scheduledRounds);
+	}
+
+	/**
+	 * Adapt the rounds not yet handed out to the current players, changing as few games as possible:
+	 * <ul>
+	 * <li>slots of players who left are filled with players who sit out the round</li>
+	 * <li>if there are not enough of them, the game with the most empty slots is dissolved and its players fill
+	 * the remaining slots</li>
+	 * <li>players who sit out (e.g. who just joined) form new games if there are enough of them</li>
+	 * </ul>
+	 *
+	 * @param players players of the tournament
+	 */
+	public static void repairSchedule(Schedule schedule, List<Player> players, Random random) {
+		int slotsPerGame = schedule.getSlotsPerGame();
+		Set<String> present = new HashSet<>();
+		for (Player player : players) {
+			present.add(player.getName());
+		}
+		List<List<String>> rounds = schedule.getRounds();
+		for (int r = schedule.getNextRound();r < rounds.size();r++) {
+			rounds.set(r, repairRound(rounds.get(r), players, present, slotsPerGame, random));
+		}
+	}
+
+	private static List<String> repairRound(List<String> round, List<Player> players, Set<String> present, int
+			slotsPerGame, Random random) {
+		List<List<String>> games = new ArrayList<>();
+		Set<String> placed = new HashSet<>();
+		boolean changed = false;
+		for (int i = 0;i + slotsPerGame <= round.size();i += slotsPerGame) {
+			List<String> game = new ArrayList<>();
+			for (String name : round.subList(i, i + slotsPerGame)) {
+				if (present.contains(name)) {
+					game.add(name);
+					placed.add(name);
+				} else {
+					// empty slot
+					game.add(null);
+					changed = true;
+				}
+			}
+			games.add(game);
+		}
+		List<String> unplaced = new ArrayList<>();
+		for (Player player : players) {
+			if (!placed.contains(player.getName())) {
+				unplaced.add(player.getName());
+			}
+		}
+		if (!changed && unplaced.size() < slotsPerGame) {
+			return round;
+		}
+		Collections.shuffle(unplaced, random);
+		while (fillEmptySlots(games, unplaced) > 0) {
+			games.remove(dissolveGameWithMostEmptySlots(games, unplaced));
+		}
+		while (unplaced.size() >= slotsPerGame) {
+			List<String> game = new ArrayList<>();
+			for (int i = 0;i < slotsPerGame;i++) {
+				game.add(unplaced.remove(unplaced.size() - 1));
+			}
+			games.add(balance(game, players));
+		}
+		List<String> repaired = new ArrayList<>();
+		for (List<String> game : games) {
+			repaired.addAll(game);
+		}
+		return repaired;
+	}
+
+	/**
+	 * @return number of slots which stay empty
+	 */
+	private static int fillEmptySlots(List<List<String>> games, List<String> unplaced) {
+		int empty = 0;
+		for (List<String> game : games) {
+			for (int slot = 0;slot < game.size();slot++) {
+				if (game.get(slot) != null) {
+					continue;
+				}
+				if (unplaced.isEmpty()) {
+					empty++;
+				} else {
+					game.set(slot, unplaced.remove(unplaced.size() - 1));
+				}
+			}
+		}
+		return empty;
+	}
+
+	/**
+	 * @return index of the dissolved game; its remaining players are added to the unplaced players
+	 */
+	private static int dissolveGameWithMostEmptySlots(List<List<String>> games, List<String> unplaced) {
+		int worst = -1;
+		int worstEmpty = -1;
+		for (int i = 0;i < games.size();i++) {
+			int empty = Collections.frequency(games.get(i), null);
+			if (empty > worstEmpty) {
+				worst = i;
+				worstEmpty = empty;
+			}
+		}
+		for (String name : games.get(worst)) {
+			if (name != null) {
+				unplaced.add(name);
+			}
+		}
+		return worst;
+	}
+
+	/**
+	 * order the players of a new game like a greedy round: strongest with weakest against the two in between
+	 */
+	private static List<String> balance(List<String> game, List<Player> players) {
+		if (game.size() != 4) {
+			return game;
+		}
+		List<Player> participants = new ArrayList<>();
+		for (Player player : players) {
+			if (game.contains(player.getName())) {
+				participants.add(player);
+			}
+		}
+		Utils.sortPlayersForMatching(participants);
+		List<String> balanced = new ArrayList<>();
+		balanced.add(participants.get(0).getName());
+		balanced.add(participants.get(3).getName());
+		balanced.add(participants.get(1).getName());
+		balanced.add(participants.get(2).getName());
+		return balanced;
+	}
+}
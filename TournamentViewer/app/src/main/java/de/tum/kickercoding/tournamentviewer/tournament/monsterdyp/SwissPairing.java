@@ -0,0 +1,84 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.PairHistory;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+import de.tum.kickercoding.tournamentviewer.util.Utils;
+
+/**
+ * Swiss-style pairing of 1on1 games: players are sorted by tournament points and elo (see
+ * {@link Utils#sortPlayersForSwissPairing(List)}), so players of equal score form consecutive groups, and every
+ * player is paired with the next unpaired player not met yet. Only the next
+ * {@link Constants#SWISS_REMATCH_LOOKAHEAD} players are considered; if all of them are rematches, the one met
+ * least often is taken.
+ * <p>
+ * A player left over by a group of odd size (or by avoided rematches) floats down and is paired with the top of
+ * the next group. Rematches are looked up in the {@link PairHistory} in O(1), so pairing takes O(n log n) for
+ * sorting and O(n) afterwards.
+ */
+class SwissPairing {
+
+	private final PairHistory pairHistory;
+
+	SwissPairing(PairHistory pairHistory) {
+		this.pairHistory = pairHistory;
+	}
+
+	/**
+	 * @param players even number of players to pair; a single remaining player is left out
+	 * @return the games, stronger player (by points and elo) in team 1
+	 */
+	List<Game> pair(List<Player> players) {
+		List<Player> sorted = new ArrayList<>(players);
+		Utils.sortPlayersForSwissPairing(sorted);
+		int size = sorted.size();
+		// unpaired positions as linked list, size marks the end
+		int[] next = new int[size];
+		int[] previous = new int[size];
+		for (int i = 0;i < size;i++) {
+			next[i] = i + 1;
+			previous[i] = i - 1;
+		}
+		int first = 0;
+		List<Game> games = new ArrayList<>();
+		while (first < size && next[first] < size) {
+			Player player = sorted.get(first);
+			int opponent = -1;
+			int minOpponentCount = Integer.MAX_VALUE;
+			int checked = 0;
+			for (int i = next[first];i < size && checked < Constants.SWISS_REMATCH_LOOKAHEAD;i = next[i]) {
+				int opponentCount = pairHistory.getOpponentCount(player, sorted.get(i));
+				if (opponentCount < minOpponentCount) {
+					minOpponentCount = opponentCount;
+					opponent = i;
+					if (opponentCount == 0) {
+						break;
+					}
+				}
+				checked++;
+			}
+			games.add(new Game(new ArrayList<>(Arrays.asList(player, sorted.get(opponent)))));
+			// first is the head of the list, the opponent follows it
+			unlink(opponent, next, previous);
+			first = next[first];
+			if (first < size) {
+				previous[first] = -1;
+			}
+		}
+		return games;
+	}
+
+	private static void unlink(int position, int[] next, int[] previous) {
+		if (previous[position] >= 0) {
+			next[previous[position]] = next[position];
+		}
+		if (next[position] < next.length) {
+			previous[next[position]] = previous[position];
+		}
+	}
+}
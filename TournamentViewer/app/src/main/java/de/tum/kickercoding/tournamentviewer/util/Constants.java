@@ -17,14 +17,70 @@ public class Constants {
 
 	public static final Integer DEFAULT_MAX_SCORE = 7;
 
+	public static final String VAR_TABLES = "tables";
+
+	// no limit: games are not assigned to tables
+	public static final Integer DEFAULT_TABLES = 0;
+
+	public static final String VAR_MATCHMAKING_ALGORITHM = "matchmakingAlgorithm";
+
+	public static final MatchmakingAlgorithm DEFAULT_MATCHMAKING_ALGORITHM = MatchmakingAlgorithm.RANDOM;
+
+	public static final String VAR_CANDIDATE_ROUNDS = "candidateRounds";
+
+	public static final int DEFAULT_CANDIDATE_ROUNDS = 64;
+
+	public static final String VAR_CANDIDATE_SEARCH_BUDGET_MILLIS = "candidateSearchBudgetMillis";
+
+	public static final long DEFAULT_CANDIDATE_SEARCH_BUDGET_MILLIS = 200;
+
+	public static final String VAR_ANNEALING_BUDGET_MILLIS = "annealingBudgetMillis";
+
+	public static final long DEFAULT_ANNEALING_BUDGET_MILLIS = 200;
+
+	public static final String VAR_SCHEDULE_ROUNDS = "scheduleRounds";
+
+	public static final int DEFAULT_SCHEDULE_ROUNDS = 10;
+
 	/**
 	 * GLOBAL PLAYER LIST
+	 * - legacy storage, only read to migrate to the player store
 	 * - key: player name
 	 * - value: json of player
 	 */
 
 	public static final String FILE_GLOBAL_PLAYERS_LIST = "de.tum.kickercoding.tournamentviewer.player.list";
 
+	/**
+	 * binary file containing all players, see PlayerStore
+	 */
+	public static final String FILE_PLAYER_STORE = "players.store";
+
+	/**
+	 * binary file containing the partners of finished tournaments, see PartnerArchive
+	 */
+	public static final String FILE_PARTNER_ARCHIVE = "partners.archive";
+
+	/**
+	 * partner counts of older tournaments are multiplied by this factor whenever a tournament is finished
+	 */
+	public static final double PARTNER_ARCHIVE_DECAY = 0.5;
+
+	/**
+	 * STORAGE
+	 * - false: players and tournament are stored in files (player store, tournament journal)
+	 * - true: players and tournament are stored in an SQLite database
+	 */
+	public static final boolean USE_SQLITE_STORAGE = false;
+
+	public static final String DATABASE_NAME = "tournamentviewer.db";
+
+	/**
+	 * removed players are only marked as deleted; the player store is rewritten once there are more deleted than
+	 * live records (and at least this many deleted ones)
+	 */
+	public static final int PLAYER_STORE_COMPACTION_THRESHOLD = 32;
+
 	public static final String DELIMITER = "_";
 
 	public static final String ERROR_DETECTED_SAVE_YOUR_RESULTS = "Error detected, do not proceed, save your results!";
@@ -35,8 +91,22 @@ public class Constants {
 
 	public static final String FILE_TOURNAMENT_DATA = "de.tum.kickercoding.tournamentviewer.tournament.data";
 
+	/**
+	 * legacy storage of the tournament as one json string; only read to migrate to snapshot and journal
+	 */
 	public static final String VAR_CURRENT_TOURNAMENT = "currentTournament";
 
+	public static final String FILE_TOURNAMENT_SNAPSHOT = "tournament.snapshot";
+
+	public static final String FILE_TOURNAMENT_JOURNAL = "tournament.journal";
+
+	public static final String FILE_TOURNAMENT_SCHEDULE = "tournament.schedule";
+
+	/**
+	 * number of events appended to the tournament journal before a new snapshot is written
+	 */
+	public static final int TOURNAMENT_SNAPSHOT_INTERVAL = 100;
+
 	/*
 	 * Constants for Matchmaking
 	 */
@@ -49,6 +119,59 @@ public class Constants {
 
 	public static final double GAUSSIAN_STD_IN_PERCENTAGE_OF_PLAYERS = 0.3;
 
+	/**
+	 * 1on1 pairing: how many of the following players are checked for an opponent who was not met before; keeps
+	 * pairing linear after sorting
+	 */
+	public static final int SWISS_REMATCH_LOOKAHEAD = 8;
+
+	/**
+	 * MATCHING algorithm: cost of a team for every game its players already played together
+	 */
+	public static final double MATCHING_PARTNER_REPEAT_COST = 4.0;
+
+	/**
+	 * MATCHING algorithm: cost of a game for every time two of its opposing players already met
+	 */
+	public static final double MATCHING_OPPONENT_REPEAT_COST = 2.0;
+
+	/**
+	 * MATCHING algorithm: elo difference (of team averages) which costs as much as one standard deviation off the
+	 * gaussian partner ladder
+	 */
+	public static final double MATCHING_ELO_SCALE = 200.0;
+
+	/**
+	 * MONTE_CARLO algorithm: score of a candidate round for every game two partners already played together
+	 */
+	public static final double ROUND_SCORE_PARTNER_REPEAT_WEIGHT = 4.0;
+
+	/**
+	 * MONTE_CARLO algorithm: score of a candidate round for every time two opposing players already met
+	 */
+	public static final double ROUND_SCORE_OPPONENT_REPEAT_WEIGHT = 2.0;
+
+	/**
+	 * MONTE_CARLO algorithm: score of a candidate round per squared MATCHING_ELO_SCALE of elo difference of a game
+	 */
+	public static final double ROUND_SCORE_ELO_WEIGHT = 1.0;
+
+	/**
+	 * MONTE_CARLO algorithm: score of a candidate round per unit of variance of the generated games per player
+	 */
+	public static final double ROUND_SCORE_GAMES_VARIANCE_WEIGHT = 1.0;
+
+	/**
+	 * EXACT algorithm: rounds of more players are generated by the ANNEALING algorithm; memory of the exact
+	 * optimizer grows with 2^players (12 MB for 20 players)
+	 */
+	public static final int EXACT_MATCHMAKING_MAX_PLAYERS = 20;
+
+	/**
+	 * SCHEDULE algorithm: time the whole schedule may take to compute in the background at tournament start
+	 */
+	public static final long SCHEDULE_BUILD_BUDGET_MILLIS = 2000;
+
 	/*
 	 * Constants for Elo computation
 	 */
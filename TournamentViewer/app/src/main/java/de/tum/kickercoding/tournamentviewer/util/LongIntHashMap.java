@@ -0,0 +1,142 @@
+package de.tum.kickercoding.tournamentviewer.util;
+
+/**
+ * Map from long keys to int counts without boxing: open addressing with linear probing on two primitive arrays.
+ * A missing key has the count 0 and keys whose count drops to 0 are removed, so the map only holds non-zero
+ * counts.
+ */
+public final class LongIntHashMap {
+
+	private static final int MIN_CAPACITY = 16;
+
+	private long[] keys;
+
+	private int[] values;
+
+	// slots with value 0 are empty
+	private int size = 0;
+
+	public LongIntHashMap() {
+		keys = new long[MIN_CAPACITY];
+		values = new int[MIN_CAPACITY];
+	}
+
+	/**
+	 * @return the count of the key, 0 if absent
+	 */
+	public int get(long key) {
+		int mask = keys.length - 1;
+		for (int slot = hash(key) & mask;values[slot] != 0;slot = (slot + 1) & mask) {
+			if (keys[slot] == key) {
+				return values[slot];
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * add delta to the count of the key
+	 *
+	 * @return the new count
+	 */
+	public int add(long key, int delta) {
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+		while (values[slot] != 0) {
+			if (keys[slot] == key) {
+				int value = values[slot] + delta;
+				if (value == 0) {
+					removeSlot(slot);
+				} else {
+					values[slot] = value;
+				}
+				return value;
+			}
+			slot = (slot + 1) & mask;
+		}
+		if (delta == 0) {
+			return 0;
+		}
+		keys[slot] = key;
+		values[slot] = delta;
+		size++;
+		// keep load factor at most 1/2
+		if (2 * size > keys.length) {
+			resize(2 * keys.length);
+		}
+		return delta;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the keys with a non-zero count, in no particular order
+	 */
+	public long[] keys() {
+		long[] result = new long[size];
+		int count = 0;
+		for (int slot = 0;slot < keys.length;slot++) {
+			if (values[slot] != 0) {
+				result[count++] = keys[slot];
+			}
+		}
+		return result;
+	}
+
+	public void clear() {
+		keys = new long[MIN_CAPACITY];
+		values = new int[MIN_CAPACITY];
+		size = 0;
+	}
+
+	/**
+	 * empty the slot and move following entries of the probe sequence back (no tombstones needed)
+	 */
+	private void removeSlot(int slot) {
+		int mask = keys.length - 1;
+		values[slot] = 0;
+		size--;
+		int next = (slot + 1) & mask;
+		while (values[next] != 0) {
+			int home = hash(keys[next]) & mask;
+			// move the entry if its home slot is not between the gap and its current slot (cyclically)
+			if (((next - home) & mask) >= ((next - slot) & mask)) {
+				keys[slot] = keys[next];
+				values[slot] = values[next];
+				values[next] = 0;
+				slot = next;
+			}
+			next = (next + 1) & mask;
+		}
+	}
+
+	private void resize(int capacity) {
+		long[] oldKeys = keys;
+		int[] oldValues = values;
+		keys = new long[capacity];
+		values = new int[capacity];
+		int mask = capacity - 1;
+		for (int i = 0;i < oldKeys.length;i++) {
+			if (oldValues[i] != 0) {
+				int slot = hash(oldKeys[i]) & mask;
+				while (values[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	private static int hash(long key) {
+		// mix all bits (finalizer of MurmurHash3), pair keys differ mostly in few bits
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		key *= 0xc4ceb9fe1a85ec53L;
+		key ^= key >>> 33;
+		return (int) key;
+	}
+}
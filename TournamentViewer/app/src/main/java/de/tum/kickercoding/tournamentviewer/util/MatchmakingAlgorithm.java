@@ -0,0 +1,37 @@
+package de.tum.kickercoding.tournamentviewer.util;
+
+/**
+ * How MonsterDYP rounds are generated.
+ * <p>
+ * RANDOM: teams are drawn one by one (partners from a gaussian around the mirrored position) <br>
+ * MATCHING: the whole round is built at once by minimum-cost perfect matchings of players to teams and of teams
+ * to games <br>
+ * MONTE_CARLO: several random rounds are drawn in parallel and the best one (by a round scorer) is taken <br>
+ * ANNEALING: a greedy round is improved by simulated annealing until a deadline (for large player pools) <br>
+ * EXACT: the best round under the cost model of ANNEALING is computed exactly (for small player pools) <br>
+ * SCHEDULE: several rounds are precomputed at tournament start and handed out one by one <br>
+ * ROLLING: no rounds, every finished game is replaced right away by a game of the players idle the longest
+ * <p>
+ * The algorithm is selected in the basic setup. The tuning of the algorithms (candidate rounds, search budgets,
+ * schedule rounds) is not part of the setup, it keeps the defaults of {@link Constants} unless changed through the
+ * AppManager.
+ */
+public enum MatchmakingAlgorithm {
+	RANDOM("RANDOM"),
+	MATCHING("MATCHING"),
+	MONTE_CARLO("MONTE_CARLO"),
+	ANNEALING("ANNEALING"),
+	EXACT("EXACT"),
+	SCHEDULE("SCHEDULE"),
+	ROLLING("ROLLING");
+
+	String name;
+
+	private MatchmakingAlgorithm(String name) {
+		this.name = name;
+	}
+
+	public String getName() {
+		return this.name;
+	}
+}
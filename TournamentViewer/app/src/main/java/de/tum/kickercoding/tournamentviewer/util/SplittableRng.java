@@ -0,0 +1,81 @@
+package de.tum.kickercoding.tournamentviewer.util;
+
+import java.util.Random;
+
+/**
+ * Seeded random generator (SplitMix64) which can be split into independent generators, e.g. one per thread of a
+ * search. Unlike {@link Random} its sequence is fully defined by the seed, so games drawn with it can be drawn
+ * again bit for bit. It extends {@link Random} to be usable wherever a random is expected; it is not thread-safe.
+ */
+public class SplittableRng extends Random {
+
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private long state;
+
+	// odd increment of the state, differs between split generators
+	private long gamma;
+
+	public SplittableRng(long seed) {
+		this(seed, GOLDEN_GAMMA);
+	}
+
+	private SplittableRng(long seed, long gamma) {
+		super(0);
+		this.state = seed;
+		this.gamma = gamma;
+	}
+
+	/**
+	 * @param seed   seed shared by all streams
+	 * @param stream number of the stream
+	 * @return generator depending only on seed and stream; generators of different streams are independent
+	 */
+	public static SplittableRng forStream(long seed, long stream) {
+		return new SplittableRng(mix64(seed + stream * GOLDEN_GAMMA));
+	}
+
+	/**
+	 * @return new generator independent of this one, advances this generator
+	 */
+	public SplittableRng split() {
+		long seed = mix64(nextSeed());
+		return new SplittableRng(seed, mixGamma(nextSeed()));
+	}
+
+	@Override
+	public synchronized void setSeed(long seed) {
+		super.setSeed(seed);
+		state = seed;
+		gamma = GOLDEN_GAMMA;
+	}
+
+	@Override
+	public long nextLong() {
+		return mix64(nextSeed());
+	}
+
+	@Override
+	protected int next(int bits) {
+		return (int) (nextLong() >>> (64 - bits));
+	}
+
+	private long nextSeed() {
+		return state += gamma;
+	}
+
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	private static long mixGamma(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		z = (z ^ (z >>> 33)) | 1L;
+		// gammas with too few bit transitions give poorly mixed states
+		int transitions = Long.bitCount(z ^ (z >>> 1));
+		return (transitions < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+	}
+}
@@ -67,17 +67,30 @@ public class Utils {
 		});
 	}
 
-	public static void sortPlayersByGamesGeneratedTournament(List<Player> list) {
+	/**
+	 * Sorts the player list for 1on1 pairing (score groups in order). <br>
+	 * 1. by points in tournament (2 per won, 1 per tied game) <br>
+	 * 2. by elo
+	 */
+	public static void sortPlayersForSwissPairing(List<Player> list) {
 		Collections.sort(list, new Comparator<Player>() {
 			public int compare(Player p1, Player p2) {
-				if (p1.getGeneratedGamesInTournament() == p2.getGeneratedGamesInTournament()) {
-					return 0;
+				int compared = getTournamentPoints(p2) - getTournamentPoints(p1);
+				if (compared == 0) {
+					compared = Double.compare(p2.getElo(), p1.getElo());
 				}
-				return p1.getGeneratedGamesInTournament() < p2.getGeneratedGamesInTournament() ? -1 : 1;
+				return compared;
 			}
 		});
 	}
 
+	/**
+	 * @return 2 points per won and 1 point per tied game in the tournament
+	 */
+	public static int getTournamentPoints(Player player) {
+		return 2 * player.getWonGamesInTournament() + player.getTiedGamesInTournament();
+	}
+
 	public static void sortPlayersForMatching(List<Player> list) {
 		sortPlayersByElo(list);
 	}
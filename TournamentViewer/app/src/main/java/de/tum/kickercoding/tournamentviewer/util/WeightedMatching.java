@@ -0,0 +1,707 @@
+package de.tum.kickercoding.tournamentviewer.util;
+
+import java.util.Arrays;
+
+/**
+ * Maximum weight matching in general graphs (Edmonds' blossom algorithm with dual variables, O(n^3)).
+ * <p>
+ * Port of the well known implementation by Joris van Rantwijk (mwmatching.py), based on Galil, "Efficient
+ * algorithms for finding maximum matching in graphs" (1986). Weights are integers, so all dual variables stay
+ * integral (they are stored doubled) and no floating point precision issues can occur.
+ * <p>
+ * Use {@link #minCostPerfectMatching(long[][])} to pair up an even number of items by a symmetric cost matrix.
+ */
+public final class WeightedMatching {
+
+	private final int nvertex;
+
+	private final int nedge;
+
+	private final boolean maxCardinality;
+
+	// edge k connects edgeEnds[2k] and edgeEnds[2k + 1]; endpoint p is edgeEnds[p]
+	private final int[] endpoint;
+
+	private final long[] weight;
+
+	private final int[][] neighbend;
+
+	private final int[] mate;
+
+	private final int[] label;
+
+	private final int[] labelend;
+
+	private final int[] inblossom;
+
+	private final int[] blossomparent;
+
+	private final int[][] blossomchilds;
+
+	private final int[] blossombase;
+
+	private final int[][] blossomendps;
+
+	private final int[] bestedge;
+
+	private final int[][] blossombestedges;
+
+	private final int[] unusedblossoms;
+
+	private int unusedblossomsSize;
+
+	private final long[] dualvar;
+
+	private final boolean[] allowedge;
+
+	private final IntList queue = new IntList();
+
+	/**
+	 * @param nvertex number of vertices
+	 * @param edges   pairs of vertices (edges[k][0], edges[k][1])
+	 * @param weights weight of every edge
+	 * @param maxCardinality only consider matchings of maximum cardinality
+	 */
+	private WeightedMatching(int nvertex, int[][] edges, long[] weights, boolean maxCardinality) {
+		this.nvertex = nvertex;
+		this.nedge = edges.length;
+		this.maxCardinality = maxCardinality;
+		endpoint = new int[2 * nedge];
+		weight = weights;
+		int[] degree = new int[nvertex];
+		for (int k = 0;k < nedge;k++) {
+			endpoint[2 * k] = edges[k][0];
+			endpoint[2 * k + 1] = edges[k][1];
+			degree[edges[k][0]]++;
+			degree[edges[k][1]]++;
+		}
+		neighbend = new int[nvertex][];
+		for (int v = 0;v < nvertex;v++) {
+			neighbend[v] = new int[degree[v]];
+			degree[v] = 0;
+		}
+		for (int k = 0;k < nedge;k++) {
+			int i = edges[k][0];
+			int j = edges[k][1];
+			neighbend[i][degree[i]++] = 2 * k + 1;
+			neighbend[j][degree[j]++] = 2 * k;
+		}
+		long maxweight = 0;
+		for (long w : weights) {
+			maxweight = Math.max(maxweight, w);
+		}
+		mate = new int[nvertex];
+		Arrays.fill(mate, -1);
+		label = new int[2 * nvertex];
+		labelend = new int[2 * nvertex];
+		Arrays.fill(labelend, -1);
+		inblossom = new int[nvertex];
+		for (int v = 0;v < nvertex;v++) {
+			inblossom[v] = v;
+		}
+		blossomparent = new int[2 * nvertex];
+		Arrays.fill(blossomparent, -1);
+		blossomchilds = new int[2 * nvertex][];
+		blossombase = new int[2 * nvertex];
+		for (int v = 0;v < 2 * nvertex;v++) {
+			blossombase[v] = v < nvertex ? v : -1;
+		}
+		blossomendps = new int[2 * nvertex][];
+		bestedge = new int[2 * nvertex];
+		Arrays.fill(bestedge, -1);
+		blossombestedges = new int[2 * nvertex][];
+		unusedblossoms = new int[nvertex];
+		for (int i = 0;i < nvertex;i++) {
+			unusedblossoms[i] = nvertex + i;
+		}
+		unusedblossomsSize = nvertex;
+		// dual variables are stored doubled to keep them integral
+		dualvar = new long[2 * nvertex];
+		if (maxCardinality) {
+			// free vertices need no common dual if only maximum cardinality matchings count; starting every vertex
+			// at its heaviest edge (rounded up to keep all parities equal) saves most of the dual adjustments
+			for (int k = 0;k < nedge;k++) {
+				dualvar[edges[k][0]] = Math.max(dualvar[edges[k][0]], weights[k]);
+				dualvar[edges[k][1]] = Math.max(dualvar[edges[k][1]], weights[k]);
+			}
+			for (int v = 0;v < nvertex;v++) {
+				dualvar[v] += dualvar[v] & 1;
+			}
+		} else {
+			for (int v = 0;v < nvertex;v++) {
+				dualvar[v] = maxweight;
+			}
+		}
+		allowedge = new boolean[nedge];
+	}
+
+	/**
+	 * Pair up all items such that the sum of the costs of all pairs is minimal.
+	 *
+	 * @param cost symmetric matrix of the cost of pairing item i with item j; the number of items must be even
+	 * @return the partner of every item
+	 */
+	public static int[] minCostPerfectMatching(long[][] cost) {
+		int n = cost.length;
+		if (n % 2 != 0) {
+			throw new IllegalArgumentException("Perfect matching needs an even number of items, got " + n);
+		}
+		long maxCost = 0;
+		for (int i = 0;i < n;i++) {
+			for (int j = i + 1;j < n;j++) {
+				if (cost[i][j] < 0) {
+					throw new IllegalArgumentException("Costs must not be negative");
+				}
+				maxCost = Math.max(maxCost, cost[i][j]);
+			}
+		}
+		int[][] edges = new int[n * (n - 1) / 2][];
+		long[] weights = new long[edges.length];
+		int k = 0;
+		for (int i = 0;i < n;i++) {
+			for (int j = i + 1;j < n;j++) {
+				edges[k] = new int[]{i, j};
+				// all perfect matchings have the same number of edges, so maximizing (maxCost + 1 - cost) with
+				// maximum cardinality minimizes the cost
+				weights[k] = maxCost + 1 - cost[i][j];
+				k++;
+			}
+		}
+		return maxWeightMatching(n, edges, weights, true);
+	}
+
+	/**
+	 * @param nvertex        number of vertices
+	 * @param edges          pairs of vertices
+	 * @param weights        weight of every edge
+	 * @param maxCardinality only consider matchings of maximum cardinality
+	 * @return mate of every vertex, -1 if unmatched
+	 */
+	public static int[] maxWeightMatching(int nvertex, int[][] edges, long[] weights, boolean maxCardinality) {
+		if (edges.length == 0) {
+			int[] mate = new int[nvertex];
+			Arrays.fill(mate, -1);
+			return mate;
+		}
+		return new WeightedMatching(nvertex, edges, weights, maxCardinality).solve();
+	}
+
+	private long slack(int k) {
+		return dualvar[endpoint[2 * k]] + dualvar[endpoint[2 * k + 1]] - 2 * weight[k];
+	}
+
+	private void blossomLeaves(int b, IntList leaves) {
+		if (b < nvertex) {
+			leaves.add(b);
+		} else {
+			for (int t : blossomchilds[b]) {
+				blossomLeaves(t, leaves);
+			}
+		}
+	}
+
+	private void assignLabel(int w, int t, int p) {
+		int b = inblossom[w];
+		label[w] = label[b] = t;
+		labelend[w] = labelend[b] = p;
+		bestedge[w] = bestedge[b] = -1;
+		if (t == 1) {
+			blossomLeaves(b, queue);
+		} else if (t == 2) {
+			int base = blossombase[b];
+			assignLabel(endpoint[mate[base]], 1, mate[base] ^ 1);
+		}
+	}
+
+	/**
+	 * trace back from v and w to discover either a new blossom (returns its base) or an augmenting path (returns -1)
+	 */
+	private int scanBlossom(int v, int w) {
+		IntList path = new IntList();
+		int base = -1;
+		while (v != -1 || w != -1) {
+			int b = inblossom[v];
+			if ((label[b] & 4) != 0) {
+				base = blossombase[b];
+				break;
+			}
+			path.add(b);
+			label[b] = 5;
+			if (labelend[b] == -1) {
+				v = -1;
+			} else {
+				v = endpoint[labelend[b]];
+				b = inblossom[v];
+				v = endpoint[labelend[b]];
+			}
+			if (w != -1) {
+				int temp = v;
+				v = w;
+				w = temp;
+			}
+		}
+		for (int i = 0;i < path.size;i++) {
+			label[path.get(i)] = 1;
+		}
+		return base;
+	}
+
+	private void addBlossom(int base, int k) {
+		int v = endpoint[2 * k];
+		int w = endpoint[2 * k + 1];
+		int bb = inblossom[base];
+		int bv = inblossom[v];
+		int bw = inblossom[w];
+		int b = unusedblossoms[--unusedblossomsSize];
+		blossombase[b] = base;
+		blossomparent[b] = -1;
+		blossomparent[bb] = b;
+		IntList path = new IntList();
+		IntList endps = new IntList();
+		while (bv != bb) {
+			blossomparent[bv] = b;
+			path.add(bv);
+			endps.add(labelend[bv]);
+			v = endpoint[labelend[bv]];
+			bv = inblossom[v];
+		}
+		path.add(bb);
+		path.reverse();
+		endps.reverse();
+		endps.add(2 * k);
+		while (bw != bb) {
+			blossomparent[bw] = b;
+			path.add(bw);
+			endps.add(labelend[bw] ^ 1);
+			w = endpoint[labelend[bw]];
+			bw = inblossom[w];
+		}
+		blossomchilds[b] = path.toArray();
+		blossomendps[b] = endps.toArray();
+		label[b] = 1;
+		labelend[b] = labelend[bb];
+		dualvar[b] = 0;
+		IntList leaves = new IntList();
+		blossomLeaves(b, leaves);
+		for (int i = 0;i < leaves.size;i++) {
+			int leaf = leaves.get(i);
+			if (label[inblossom[leaf]] == 2) {
+				queue.add(leaf);
+			}
+			inblossom[leaf] = b;
+		}
+		// compute the least-slack edges to neighbouring S-blossoms
+		int[] bestedgeto = new int[2 * nvertex];
+		Arrays.fill(bestedgeto, -1);
+		for (int c = 0;c < path.size;c++) {
+			int child = path.get(c);
+			IntList edgesOfChild = new IntList();
+			if (blossombestedges[child] == null) {
+				IntList childLeaves = new IntList();
+				blossomLeaves(child, childLeaves);
+				for (int i = 0;i < childLeaves.size;i++) {
+					for (int p : neighbend[childLeaves.get(i)]) {
+						edgesOfChild.add(p / 2);
+					}
+				}
+			} else {
+				for (int edge : blossombestedges[child]) {
+					edgesOfChild.add(edge);
+				}
+			}
+			for (int e = 0;e < edgesOfChild.size;e++) {
+				int edge = edgesOfChild.get(e);
+				int i = endpoint[2 * edge];
+				int j = endpoint[2 * edge + 1];
+				if (inblossom[j] == b) {
+					j = i;
+				}
+				int bj = inblossom[j];
+				if (bj != b && label[bj] == 1 && (bestedgeto[bj] == -1 || slack(edge) < slack(bestedgeto[bj]))) {
+					bestedgeto[bj] = edge;
+				}
+			}
+			blossombestedges[child] = null;
+			bestedge[child] = -1;
+		}
+		IntList bestEdges = new IntList();
+		for (int edge : bestedgeto) {
+			if (edge != -1) {
+				bestEdges.add(edge);
+			}
+		}
+		blossombestedges[b] = bestEdges.toArray();
+		bestedge[b] = -1;
+		for (int edge : blossombestedges[b]) {
+			if (bestedge[b] == -1 || slack(edge) < slack(bestedge[b])) {
+				bestedge[b] = edge;
+			}
+		}
+	}
+
+	private void expandBlossom(int b, boolean endstage) {
+		for (int s : blossomchilds[b]) {
+			blossomparent[s] = -1;
+			if (s < nvertex) {
+				inblossom[s] = s;
+			} else if (endstage && dualvar[s] == 0) {
+				expandBlossom(s, endstage);
+			} else {
+				IntList leaves = new IntList();
+				blossomLeaves(s, leaves);
+				for (int i = 0;i < leaves.size;i++) {
+					inblossom[leaves.get(i)] = s;
+				}
+			}
+		}
+		if (!endstage && label[b] == 2) {
+			int[] childs = blossomchilds[b];
+			int[] endps = blossomendps[b];
+			int entrychild = inblossom[endpoint[labelend[b] ^ 1]];
+			int j = indexOf(childs, entrychild);
+			int jstep;
+			int endptrick;
+			if ((j & 1) != 0) {
+				j -= childs.length;
+				jstep = 1;
+				endptrick = 0;
+			} else {
+				jstep = -1;
+				endptrick = 1;
+			}
+			int p = labelend[b];
+			while (j != 0) {
+				label[endpoint[p ^ 1]] = 0;
+				label[endpoint[at(endps, j - endptrick) ^ endptrick ^ 1]] = 0;
+				assignLabel(endpoint[p ^ 1], 2, p);
+				allowedge[at(endps, j - endptrick) / 2] = true;
+				j += jstep;
+				p = at(endps, j - endptrick) ^ endptrick;
+				allowedge[p / 2] = true;
+				j += jstep;
+			}
+			int bv = at(childs, j);
+			label[endpoint[p ^ 1]] = label[bv] = 2;
+			labelend[endpoint[p ^ 1]] = labelend[bv] = p;
+			bestedge[bv] = -1;
+			j += jstep;
+			while (at(childs, j) != entrychild) {
+				bv = at(childs, j);
+				if (label[bv] == 1) {
+					j += jstep;
+					continue;
+				}
+				IntList leaves = new IntList();
+				blossomLeaves(bv, leaves);
+				int v = -1;
+				for (int i = 0;i < leaves.size;i++) {
+					if (label[leaves.get(i)] != 0) {
+						v = leaves.get(i);
+						break;
+					}
+				}
+				if (v != -1) {
+					label[v] = 0;
+					label[endpoint[mate[blossombase[bv]]]] = 0;
+					assignLabel(v, 2, labelend[v]);
+				}
+				j += jstep;
+			}
+		}
+		label[b] = labelend[b] = -1;
+		blossomchilds[b] = blossomendps[b] = null;
+		blossombase[b] = -1;
+		blossombestedges[b] = null;
+		bestedge[b] = -1;
+		unusedblossoms[unusedblossomsSize++] = b;
+	}
+
+	private void augmentBlossom(int b, int v) {
+		int t = v;
+		while (blossomparent[t] != b) {
+			t = blossomparent[t];
+		}
+		if (t >= nvertex) {
+			augmentBlossom(t, v);
+		}
+		int[] childs = blossomchilds[b];
+		int[] endps = blossomendps[b];
+		int i = indexOf(childs, t);
+		int j = i;
+		int jstep;
+		int endptrick;
+		if ((i & 1) != 0) {
+			j -= childs.length;
+			jstep = 1;
+			endptrick = 0;
+		} else {
+			jstep = -1;
+			endptrick = 1;
+		}
+		while (j != 0) {
+			j += jstep;
+			t = at(childs, j);
+			int p = at(endps, j - endptrick) ^ endptrick;
+			if (t >= nvertex) {
+				augmentBlossom(t, endpoint[p]);
+			}
+			j += jstep;
+			t = at(childs, j);
+			if (t >= nvertex) {
+				augmentBlossom(t, endpoint[p ^ 1]);
+			}
+			mate[endpoint[p]] = p ^ 1;
+			mate[endpoint[p ^ 1]] = p;
+		}
+		blossomchilds[b] = rotate(childs, i);
+		blossomendps[b] = rotate(endps, i);
+		blossombase[b] = blossombase[blossomchilds[b][0]];
+	}
+
+	private void augmentMatching(int k) {
+		for (int side = 0;side < 2;side++) {
+			int s = endpoint[2 * k + side];
+			int p = 2 * k + 1 - side;
+			while (true) {
+				int bs = inblossom[s];
+				if (bs >= nvertex) {
+					augmentBlossom(bs, s);
+				}
+				mate[s] = p;
+				if (labelend[bs] == -1) {
+					break;
+				}
+				int t = endpoint[labelend[bs]];
+				int bt = inblossom[t];
+				s = endpoint[labelend[bt]];
+				int j = endpoint[labelend[bt] ^ 1];
+				if (bt >= nvertex) {
+					augmentBlossom(bt, j);
+				}
+				mate[j] = labelend[bt];
+				p = labelend[bt] ^ 1;
+			}
+		}
+	}
+
+	private int[] solve() {
+		for (int stage = 0;stage < nvertex;stage++) {
+			Arrays.fill(label, 0);
+			Arrays.fill(bestedge, -1);
+			for (int b = nvertex;b < 2 * nvertex;b++) {
+				blossombestedges[b] = null;
+			}
+			Arrays.fill(allowedge, false);
+			queue.clear();
+			for (int v = 0;v < nvertex;v++) {
+				if (mate[v] == -1 && label[inblossom[v]] == 0) {
+					assignLabel(v, 1, -1);
+				}
+			}
+			boolean augmented = false;
+			while (true) {
+				while (queue.size > 0 && !augmented) {
+					int v = queue.pop();
+					for (int p : neighbend[v]) {
+						int k = p / 2;
+						int w = endpoint[p];
+						if (inblossom[v] == inblossom[w]) {
+							continue;
+						}
+						long kslack = 0;
+						if (!allowedge[k]) {
+							kslack = slack(k);
+							if (kslack <= 0) {
+								allowedge[k] = true;
+							}
+						}
+						if (allowedge[k]) {
+							if (label[inblossom[w]] == 0) {
+								assignLabel(w, 2, p ^ 1);
+							} else if (label[inblossom[w]] == 1) {
+								int base = scanBlossom(v, w);
+								if (base >= 0) {
+									addBlossom(base, k);
+								} else {
+									augmentMatching(k);
+									augmented = true;
+									break;
+								}
+							} else if (label[w] == 0) {
+								label[w] = 2;
+								labelend[w] = p ^ 1;
+							}
+						} else if (label[inblossom[w]] == 1) {
+							int b = inblossom[v];
+							if (bestedge[b] == -1 || kslack < slack(bestedge[b])) {
+								bestedge[b] = k;
+							}
+						} else if (label[w] == 0) {
+							if (bestedge[w] == -1 || kslack < slack(bestedge[w])) {
+								bestedge[w] = k;
+							}
+						}
+					}
+				}
+				if (augmented) {
+					break;
+				}
+				// no augmenting path with the current tight edges: adjust the dual variables
+				int deltatype = -1;
+				long delta = 0;
+				int deltaedge = -1;
+				int deltablossom = -1;
+				if (!maxCardinality) {
+					deltatype = 1;
+					delta = minVertexDual();
+				}
+				for (int v = 0;v < nvertex;v++) {
+					if (label[inblossom[v]] == 0 && bestedge[v] != -1) {
+						long d = slack(bestedge[v]);
+						if (deltatype == -1 || d < delta) {
+							delta = d;
+							deltatype = 2;
+							deltaedge = bestedge[v];
+						}
+					}
+				}
+				for (int b = 0;b < 2 * nvertex;b++) {
+					if (blossomparent[b] == -1 && label[b] == 1 && bestedge[b] != -1) {
+						long d = slack(bestedge[b]) / 2;
+						if (deltatype == -1 || d < delta) {
+							delta = d;
+							deltatype = 3;
+							deltaedge = bestedge[b];
+						}
+					}
+				}
+				for (int b = nvertex;b < 2 * nvertex;b++) {
+					if (blossombase[b] >= 0 && blossomparent[b] == -1 && label[b] == 2 && (deltatype == -1 ||
+							dualvar[b] < delta)) {
+						delta = dualvar[b];
+						deltatype = 4;
+						deltablossom = b;
+					}
+				}
+				if (deltatype == -1) {
+					// no further improvement possible; max cardinality reached
+					deltatype = 1;
+					delta = Math.max(0, minVertexDual());
+				}
+				for (int v = 0;v < nvertex;v++) {
+					if (label[inblossom[v]] == 1) {
+						dualvar[v] -= delta;
+					} else if (label[inblossom[v]] == 2) {
+						dualvar[v] += delta;
+					}
+				}
+				for (int b = nvertex;b < 2 * nvertex;b++) {
+					if (blossombase[b] >= 0 && blossomparent[b] == -1) {
+						if (label[b] == 1) {
+							dualvar[b] += delta;
+						} else if (label[b] == 2) {
+							dualvar[b] -= delta;
+						}
+					}
+				}
+				if (deltatype == 1) {
+					break;
+				} else if (deltatype == 2) {
+					allowedge[deltaedge] = true;
+					int i = endpoint[2 * deltaedge];
+					if (label[inblossom[i]] == 0) {
+						i = endpoint[2 * deltaedge + 1];
+					}
+					queue.add(i);
+				} else if (deltatype == 3) {
+					allowedge[deltaedge] = true;
+					queue.add(endpoint[2 * deltaedge]);
+				} else {
+					expandBlossom(deltablossom, false);
+				}
+			}
+			if (!augmented) {
+				break;
+			}
+			// expand all S-blossoms with zero dual at the end of a stage
+			for (int b = nvertex;b < 2 * nvertex;b++) {
+				if (blossomparent[b] == -1 && blossombase[b] >= 0 && label[b] == 1 && dualvar[b] == 0) {
+					expandBlossom(b, true);
+				}
+			}
+		}
+		int[] result = new int[nvertex];
+		for (int v = 0;v < nvertex;v++) {
+			result[v] = mate[v] >= 0 ? endpoint[mate[v]] : -1;
+		}
+		return result;
+	}
+
+	private long minVertexDual() {
+		long min = Long.MAX_VALUE;
+		for (int v = 0;v < nvertex;v++) {
+			min = Math.min(min, dualvar[v]);
+		}
+		return min;
+	}
+
+	private static int indexOf(int[] array, int value) {
+		for (int i = 0;i < array.length;i++) {
+			if (array[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * array access with negative indices counting from the end
+	 */
+	private static int at(int[] array, int index) {
+		return array[index >= 0 ? index : index + array.length];
+	}
+
+	private static int[] rotate(int[] array, int start) {
+		int[] rotated = new int[array.length];
+		for (int i = 0;i < array.length;i++) {
+			rotated[i] = array[(start + i) % array.length];
+		}
+		return rotated;
+	}
+
+	private static class IntList {
+		int[] values = new int[16];
+		int size = 0;
+
+		void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, 2 * size);
+			}
+			values[size++] = value;
+		}
+
+		int get(int index) {
+			return values[index];
+		}
+
+		int pop() {
+			return values[--size];
+		}
+
+		void clear() {
+			size = 0;
+		}
+
+		void reverse() {
+			for (int i = 0, j = size - 1;i < j;i++, j--) {
+				int temp = values[i];
+				values[i] = values[j];
+				values[j] = temp;
+			}
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+	}
+}
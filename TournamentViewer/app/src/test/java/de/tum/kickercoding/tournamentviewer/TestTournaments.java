@@ -0,0 +1,71 @@
+package de.tum.kickercoding.tournamentviewer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+
+/**
+ * Players, tournaments and games shared by the unit tests of the matchmaking.
+ */
+public class TestTournaments {
+
+	private TestTournaments() {
+	}
+
+	/**
+	 * @param eloStep elo difference of two consecutive players (0: all players have the same elo)
+	 * @return players "p0", "p1", ... strongest first, starting at 2000 elo
+	 */
+	public static List<Player> players(int count, int eloStep) {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0;i < count;i++) {
+			players.add(new Player("p" + i, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2000 - eloStep * i, 0.0));
+		}
+		return players;
+	}
+
+	/**
+	 * @return tournament without games in which the given players participate
+	 */
+	public static Tournament tournament(List<Player> players, boolean oneOnOne) {
+		Tournament tournament = new Tournament();
+		tournament.setOneOnOne(oneOnOne);
+		for (Player player : players) {
+			tournament.addPlayer(player);
+		}
+		return tournament;
+	}
+
+	/**
+	 * @return tournament with the given number of random rounds already generated
+	 */
+	public static Tournament tournament(List<Player> players, boolean oneOnOne, int rounds, Random random) {
+		Tournament tournament = tournament(players, oneOnOne);
+		int perGame = oneOnOne ? 2 : 4;
+		for (int round = 0;round < rounds;round++) {
+			List<Player> shuffled = new ArrayList<>(players);
+			Collections.shuffle(shuffled, random);
+			for (int i = 0;i + perGame <= shuffled.size();i += perGame) {
+				tournament.addGame(new Game(new ArrayList<>(shuffled.subList(i, i + perGame))));
+			}
+		}
+		return tournament;
+	}
+
+	/**
+	 * @param players indices of the participants in the tournament, team 1 first
+	 * @return game of the given participants, not added to the tournament
+	 */
+	public static Game game(Tournament tournament, int... players) {
+		List<Player> participants = new ArrayList<>();
+		for (int player : players) {
+			participants.add(tournament.getPlayers().get(player));
+		}
+		return new Game(participants);
+	}
+}
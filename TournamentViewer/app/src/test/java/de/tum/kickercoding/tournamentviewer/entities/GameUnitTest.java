@@ -73,12 +73,14 @@ public class GameUnitTest {
 		game.setScoreTeam2(7);
 		game.setFinished(true);
 		game.setResultCommitted(false);
+		game.setTable(3);
 		String gameAsJson = game.toJson();
 		Game gameFromJson = Game.fromJson(gameAsJson);
 		assertEquals(game.getScoreTeam1(), gameFromJson.getScoreTeam1());
 		assertEquals(game.getScoreTeam2(), gameFromJson.getScoreTeam2());
 		assertEquals(game.isFinished(), gameFromJson.isFinished());
 		assertEquals(game.isResultCommitted(), gameFromJson.isResultCommitted());
+		assertEquals(game.getTable(), gameFromJson.getTable());
 		// use .equals instead of object reference via assertEquals (only checks name equality though)
 		assertTrue(game.getTeam1().get(0).equals(game.getTeam1().get(0)));
 		assertTrue(game.getTeam1().get(1).equals(game.getTeam1().get(1)));
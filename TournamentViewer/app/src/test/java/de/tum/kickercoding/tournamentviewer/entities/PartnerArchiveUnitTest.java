@@ -0,0 +1,113 @@
+package de.tum.kickercoding.tournamentviewer.entities;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.players;
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.tournament;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PartnerArchiveUnitTest {
+
+	@Test
+	public void partnersOfFinishedGamesCounted() {
+		Tournament tournament = tournament(players(4, 0), false);
+		List<Player> players = tournament.getPlayers();
+		playGame(tournament, 0, 1, 2, 3);
+		playGame(tournament, 0, 1, 3, 2);
+		// not played
+		tournament.addGame(new Game(Arrays.asList(players.get(0), players.get(2), players.get(1), players.get(3))));
+		PartnerArchive archive = new PartnerArchive();
+		archive.addTournament(tournament, 0.5);
+
+		assertEquals(2, archive.getPartnerCount(players.get(0), players.get(1)), 0);
+		assertEquals(2, archive.getPartnerCount(players.get(1), players.get(0)), 0);
+		assertEquals(2, archive.getPartnerCount(players.get(2), players.get(3)), 0);
+		assertEquals(0, archive.getPartnerCount(players.get(0), players.get(2)), 0);
+		assertEquals(2, archive.size());
+	}
+
+	@Test
+	public void olderTournamentsDecay() {
+		Tournament tournament = tournament(players(4, 0), false);
+		List<Player> players = tournament.getPlayers();
+		playGame(tournament, 0, 1, 2, 3);
+		playGame(tournament, 0, 1, 2, 3);
+		PartnerArchive archive = new PartnerArchive();
+		archive.addTournament(tournament, 0.5);
+		Tournament empty = tournament(players(4, 0), false);
+
+		archive.addTournament(empty, 0.5);
+		assertEquals(1, archive.getPartnerCount(players.get(0), players.get(1)), 0);
+		archive.addTournament(empty, 0.5);
+		assertEquals(0.5, archive.getPartnerCount(players.get(0), players.get(1)), 0);
+		// pairs are dropped once their weight is gone
+		for (int i = 0;i < 4;i++) {
+			archive.addTournament(empty, 0.5);
+		}
+		assertEquals(0, archive.size());
+	}
+
+	@Test
+	public void singleGameCountsAfterDecay() {
+		Tournament tournament = tournament(players(4, 0), false);
+		List<Player> players = tournament.getPlayers();
+		playGame(tournament, 0, 1, 2, 3);
+		PartnerArchive archive = new PartnerArchive();
+		archive.addTournament(tournament, 0.5);
+		archive.addTournament(tournament(players(4, 0), false), 0.5);
+
+		assertEquals(0.5, archive.getPartnerCount(players.get(0), players.get(1)), 0);
+		assertTrue(archive.getPartnerCount(players.get(0), players.get(1)) > archive.getPartnerCount(players.get(0),
+				players.get(2)));
+	}
+
+	@Test
+	public void sizeBoundedByRecentTournaments() {
+		PartnerArchive archive = new PartnerArchive();
+		for (int week = 0;week < 100;week++) {
+			// new players every week, 40 games each
+			Tournament tournament = new Tournament();
+			for (int i = 0;i < 16;i++) {
+				tournament.addPlayer(new Player("w" + week + "p" + i));
+			}
+			for (int game = 0;game < 40;game++) {
+				int first = game % 16;
+				playGame(tournament, first, (first + 1 + game / 16) % 16, (first + 5) % 16, (first + 9) % 16);
+			}
+			archive.addTournament(tournament, 0.5);
+		}
+		// only pairs of the last tournaments remain
+		assertTrue(archive.size() < 10 * 80);
+	}
+
+	@Test
+	public void weightsRestored() {
+		Tournament tournament = tournament(players(4, 0), false);
+		playGame(tournament, 0, 1, 2, 3);
+		PartnerArchive archive = new PartnerArchive();
+		archive.addTournament(tournament, 0.5);
+		PartnerArchive restored = new PartnerArchive();
+		for (long key : archive.getPairKeys()) {
+			restored.setWeight(key, archive.getWeight(key));
+		}
+
+		List<Player> players = tournament.getPlayers();
+		assertEquals(1, restored.getPartnerCount(players.get(1), players.get(0)), 0);
+		assertEquals(archive.size(), restored.size());
+	}
+
+	private static void playGame(Tournament tournament, int... players) {
+		List<Player> participants = new ArrayList<>();
+		for (int player : players) {
+			participants.add(tournament.getPlayers().get(player));
+		}
+		Game game = new Game(participants);
+		game.setFinished(true);
+		tournament.addGame(game);
+	}
+}
@@ -1,12 +1,22 @@
 package de.tum.kickercoding.tournamentviewer.entities;
 
+import com.google.gson.Gson;
+
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 
 import de.tum.kickercoding.tournamentviewer.util.TournamentMode;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class TournamentUnitTest {
 
@@ -16,6 +26,9 @@ public class TournamentUnitTest {
 		t.setMaxScore(7);
 		t.setNumberOfGames(2);
 		t.setOneOnOne(false);
+		t.setTables(3);
+		t.setSeed(-4242424242424242L);
+		t.setDraws(5);
 		t.setFinished(true);
 		t.setMode(TournamentMode.MONSTERDYP);
 		Player p1 = new Player("p1");
@@ -32,6 +45,9 @@ public class TournamentUnitTest {
 		assertEquals(tFromJson.getMaxScore(), t.getMaxScore());
 		assertEquals(tFromJson.getNumberOfGames(), t.getNumberOfGames());
 		assertEquals(tFromJson.isOneOnOne(), t.isOneOnOne());
+		assertEquals(tFromJson.getTables(), t.getTables());
+		assertEquals(tFromJson.getSeed(), t.getSeed());
+		assertEquals(tFromJson.getDraws(), t.getDraws());
 		assertEquals(tFromJson.isFinished(), t.isFinished());
 		assertEquals(tFromJson.getPlayers().size(), t.getPlayers().size());
 		assertEquals(tFromJson.getGames().size(), t.getGames().size());
@@ -51,4 +67,202 @@ public class TournamentUnitTest {
 		assertEquals(p2FromJson.getGoalsShotInTournament(), p2Original.getGoalsShotInTournament());
 		assertEquals(p2FromJson.getElo(), p2Original.getElo(), 0.001);
 	}
+
+	@Test
+	public void testStreamingToAndFromJson() throws IOException {
+		Tournament t = createTournament(8, 10);
+		StringWriter writer = new StringWriter();
+		t.toJson(writer);
+		Tournament tFromJson = Tournament.fromJson(new StringReader(writer.toString()));
+		assertEquals(t.getMode(), tFromJson.getMode());
+		assertEquals(t.getPlayers().size(), tFromJson.getPlayers().size());
+		assertEquals(t.getGames().size(), tFromJson.getGames().size());
+		Game game = t.getGame(3);
+		Game gameFromJson = tFromJson.getGame(3);
+		assertEquals(game.getTeam1PlayerNames(), gameFromJson.getTeam1PlayerNames());
+		assertEquals(game.getTeam2PlayerNames(), gameFromJson.getTeam2PlayerNames());
+		assertEquals(game.getScoreTeam2(), gameFromJson.getScoreTeam2());
+		assertEquals(game.isResultCommitted(), gameFromJson.isResultCommitted());
+	}
+
+	@Test
+	public void testParticipantsResolvedToPlayers() {
+		Tournament t = createTournament(6, 20);
+		// player no longer part of the tournament, but participated in a game
+		Player removed = t.getPlayers().get(5);
+		t.removePlayer(removed);
+		Tournament tFromJson = Tournament.fromJson(t.toJson());
+		List<Player> players = tFromJson.getPlayers();
+		for (Game game : tFromJson.getGames()) {
+			for (Player participant : game.getParticipants()) {
+				if (participant.equals(removed)) {
+					assertEquals(removed.getGoalsShot(), participant.getGoalsShot());
+				} else {
+					assertSame(players.get(players.indexOf(participant)), participant);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCopy() {
+		Tournament t = createTournament(6, 20);
+		t.setTables(2);
+		t.setSeed(42);
+		t.setDraws(3);
+		t.setSemiFinalsGenerated(true);
+		t.getGame(0).setTable(2);
+		Player removed = t.getPlayers().get(5);
+		t.removePlayer(removed);
+		Tournament copy = t.copy();
+		// same content as after a json round trip
+		assertEquals(t.toJson(), copy.toJson());
+		List<Player> players = copy.getPlayers();
+		for (Game game : copy.getGames()) {
+			for (Player participant : game.getParticipants()) {
+				if (!participant.equals(removed)) {
+					assertSame(players.get(players.indexOf(participant)), participant);
+				}
+			}
+		}
+		// independent of the original
+		copy.getGame(0).setScoreTeam1(5);
+		copy.getPlayers().get(0).setElo(1);
+		assertEquals(t.getGames().size(), copy.getGames().size());
+		assertTrue(t.getGame(0).getScoreTeam1() != 5);
+		assertTrue(t.getPlayers().get(0).getElo() != 1);
+	}
+
+	@Test
+	public void testReadEmbeddedParticipants() {
+		// tournaments written with full copies of the participants have to stay readable
+		Tournament t = createTournament(4, 3);
+		String reflectionJson = new Gson().toJson(t);
+		Tournament tFromJson = Tournament.fromJson(reflectionJson);
+		assertEquals(3, tFromJson.getGames().size());
+		Game game = tFromJson.getGame(1);
+		assertEquals(t.getGame(1).getTeam1PlayerNames(), game.getTeam1PlayerNames());
+		assertSame(tFromJson.getPlayers().get(1), game.getParticipants().get(0));
+		assertTrue(t.toJson().length() < reflectionJson.length());
+	}
+
+	@Test
+	public void testPairHistoryFollowsGames() {
+		Tournament t = new Tournament();
+		Player p1 = new Player("p1");
+		Player p2 = new Player("p2");
+		Player p3 = new Player("p3");
+		Player p4 = new Player("p4");
+		t.addPlayer(p1);
+		t.addPlayer(p2);
+		t.addPlayer(p3);
+		t.addPlayer(p4);
+		t.addGame(new Game(Arrays.asList(p1, p2, p3, p4)));
+		PairHistory pairHistory = t.getPairHistory();
+		assertEquals(1, pairHistory.getPartnerCount(p1, p2));
+		assertEquals(1, pairHistory.getPartnerCount(p4, p3));
+		assertEquals(0, pairHistory.getPartnerCount(p1, p3));
+		assertEquals(1, pairHistory.getOpponentCount(p1, p3));
+		assertEquals(1, pairHistory.getOpponentCount(p4, p2));
+		assertEquals(0, pairHistory.getOpponentCount(p1, p2));
+		assertEquals(4, pairHistory.getOpponentCount(Arrays.asList(p1, p2), Arrays.asList(p3, p4)));
+
+		// updated incrementally
+		t.addGame(new Game(Arrays.asList(p2, p1, p3, p4)));
+		t.addGame(new Game(Arrays.asList(p1, p3, p2, p4)));
+		assertEquals(2, pairHistory.getPartnerCount(p2, p1));
+		assertEquals(1, pairHistory.getPartnerCount(p1, p3));
+		t.removeGame(0);
+		assertEquals(1, pairHistory.getPartnerCount(p1, p2));
+		t.removeLastGame();
+		assertEquals(0, pairHistory.getPartnerCount(p1, p3));
+		assertEquals(1, pairHistory.getPartnerCount(p3, p4));
+		assertEquals(1, pairHistory.getOpponentCount(p2, p3));
+
+		// rebuilt from the games after deserialization
+		Tournament loaded = Tournament.fromJson(t.toJson());
+		assertEquals(1, loaded.getPairHistory().getPartnerCount(p1, p2));
+		assertEquals(0, loaded.getPairHistory().getPartnerCount(p1, p3));
+	}
+
+	// benchmark comparing reflection based Gson with the streaming adapters (console output)
+	// (annotate with @Test and run as single test if needed)
+	public void benchmarkSerialization() throws IOException {
+		int repetitions = 200;
+		for (int numberOfGames : new int[]{10, 100, 1000}) {
+			Tournament t = createTournament(16, numberOfGames);
+			// warm up
+			for (int i = 0;i < repetitions;i++) {
+				Tournament.fromJson(new Gson().toJson(t));
+				Tournament.fromJson(new StringReader(t.toJson()));
+			}
+			long start = System.nanoTime();
+			for (int i = 0;i < repetitions;i++) {
+				Gson gson = new Gson();
+				gson.fromJson(gson.toJson(t), Tournament.class);
+			}
+			long reflection = System.nanoTime() - start;
+			start = System.nanoTime();
+			for (int i = 0;i < repetitions;i++) {
+				StringWriter writer = new StringWriter();
+				t.toJson(writer);
+				Tournament.fromJson(new StringReader(writer.toString()));
+			}
+			long streaming = System.nanoTime() - start;
+			System.out.println(String.format(Locale.US, "%4d games: reflection %.3f ms (%d chars), streaming %.3f " +
+					"ms (%d chars) per round trip", numberOfGames, reflection / 1e6 / repetitions, new Gson().toJson
+					(t).length(), streaming / 1e6 / repetitions, t.toJson().length()));
+		}
+	}
+
+	private Tournament createTournament(int numberOfPlayers, int numberOfGames) {
+		Tournament t = new Tournament();
+		t.setMaxScore(7);
+		t.setMode(TournamentMode.MONSTERDYP);
+		for (int i = 0;i < numberOfPlayers;i++) {
+			t.addPlayer(new Player("p" + i, i, 1, 0, i, 1, 0, 10 * i, i, 5, 2, 1500.0 + i, 1.5));
+		}
+		List<Player> players = t.getPlayers();
+		for (int i = 0;i < numberOfGames;i++) {
+			List<Player> participants = new ArrayList<>();
+			for (int j = 0;j < 4;j++) {
+				participants.add(players.get((i + j) % numberOfPlayers).copy());
+			}
+			Game game = new Game(participants);
+			game.setScoreTeam1(7);
+			game.setScoreTeam2(i % 7);
+			game.setFinished(true);
+			game.setResultCommitted(i % 2 == 0);
+			t.addGame(game);
+		}
+		return t;
+	}
+
+	@Test
+	public void testGameCountsFollowGames() {
+		Tournament t = new Tournament();
+		Player p1 = new Player("p1");
+		Player p2 = new Player("p2");
+		Player p3 = new Player("p3");
+		Player p4 = new Player("p4");
+		Player p5 = new Player("p5");
+		t.addPlayer(p1);
+		t.addPlayer(p2);
+		t.addPlayer(p3);
+		t.addPlayer(p4);
+		t.addPlayer(p5);
+		t.addGame(new Game(Arrays.asList(p1, p2, p3, p4)));
+		GameCounts gameCounts = t.getGameCounts();
+		assertEquals(1, gameCounts.get(p1));
+		assertEquals(0, gameCounts.get(p5));
+
+		// updated incrementally
+		t.addGame(new Game(Arrays.asList(p5, p1, p3, p4)));
+		assertEquals(2, gameCounts.get(p1));
+		assertEquals(1, gameCounts.get(p5));
+		t.removeGame(0);
+		assertEquals(1, gameCounts.get(p1));
+		assertEquals(0, gameCounts.get(p2));
+		assertSame(gameCounts, t.getGameCounts());
+	}
 }
@@ -0,0 +1,60 @@
+package de.tum.kickercoding.tournamentviewer.entities;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.players;
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.tournament;
+import static org.junit.Assert.assertEquals;
+
+public class WinProbabilitiesUnitTest {
+
+	@Test
+	public void probabilitiesFollowElo() {
+		Tournament tournament = tournament(players(40, 10), false);
+		WinProbabilities winProbabilities = tournament.getWinProbabilities();
+		Player strong = tournament.getPlayers().get(0);
+		Player weak = tournament.getPlayers().get(39);
+		// 39 * 10 elo apart
+		double expected = 1 / (1 + Math.pow(10, -390.0 / 400));
+		assertEquals(expected, winProbabilities.get(strong, weak), 1e-12);
+		assertEquals(1 - expected, winProbabilities.get(weak, strong), 1e-12);
+		assertEquals(0.5, winProbabilities.get(strong, strong), 1e-12);
+	}
+
+	@Test
+	public void updatedPlayersAreRecomputed() {
+		Tournament tournament = tournament(players(4, 10), false);
+		WinProbabilities winProbabilities = tournament.getWinProbabilities();
+		Player player1 = tournament.getPlayers().get(0);
+		Player player2 = tournament.getPlayers().get(1);
+		player1.setElo(player2.getElo());
+		// not updated yet, computed on the fly
+		assertEquals(0.5, winProbabilities.get(player1, player2), 1e-12);
+		winProbabilities.update(player1);
+		assertEquals(0.5, winProbabilities.get(player1, player2), 1e-12);
+		assertEquals(0.5, winProbabilities.get(player2, player1), 1e-12);
+
+		Player newPlayer = new Player("new", 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, player1.getElo() + 400, 0.0);
+		winProbabilities.update(newPlayer);
+		assertEquals(10.0 / 11, winProbabilities.get(newPlayer, player1), 1e-12);
+	}
+
+	@Test
+	public void expectedScoreOfTeams() {
+		Tournament tournament = tournament(players(4, 10), false);
+		WinProbabilities winProbabilities = tournament.getWinProbabilities();
+		Player p0 = tournament.getPlayers().get(0);
+		Player p1 = tournament.getPlayers().get(1);
+		Player p2 = tournament.getPlayers().get(2);
+		Player p3 = tournament.getPlayers().get(3);
+		// strongest and weakest against the two in between
+		assertEquals(0.5, winProbabilities.getExpectedScore(Arrays.asList(p0, p3), Arrays.asList(p1, p2)), 1e-12);
+		double score = winProbabilities.getExpectedScore(Arrays.asList(p0, p1), Arrays.asList(p2, p3));
+		assertEquals(1 - score, winProbabilities.getExpectedScore(Arrays.asList(p2, p3), Arrays.asList(p0, p1)),
+				1e-12);
+		assertEquals((winProbabilities.get(p0, p2) + winProbabilities.get(p0, p3) + winProbabilities.get(p1, p2) +
+				winProbabilities.get(p1, p3)) / 4, score, 1e-12);
+	}
+}
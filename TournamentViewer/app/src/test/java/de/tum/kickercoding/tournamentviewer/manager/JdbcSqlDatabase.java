@@ -0,0 +1,167 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * {@link SqlDatabase} using the sqlite-jdbc driver, allows to test the {@link SqliteStorageBackend} on the JVM
+ */
+class JdbcSqlDatabase implements SqlDatabase {
+
+	private final Connection connection;
+
+	private boolean transactionSuccessful;
+
+	/**
+	 * @param url e.g. "jdbc:sqlite::memory:" for an in-memory database
+	 */
+	JdbcSqlDatabase(String url) throws SQLException {
+		connection = DriverManager.getConnection(url);
+	}
+
+	@Override
+	public void execute(String sql, Object... args) throws IOException {
+		try {
+			PreparedStatement statement = prepare(sql, args);
+			try {
+				statement.execute();
+			} finally {
+				statement.close();
+			}
+		} catch (SQLException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public SqlCursor query(String sql, Object... args) throws IOException {
+		try {
+			PreparedStatement statement = prepare(sql, args);
+			return new JdbcCursor(statement, statement.executeQuery());
+		} catch (SQLException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public void beginTransaction() throws IOException {
+		try {
+			connection.setAutoCommit(false);
+			transactionSuccessful = false;
+		} catch (SQLException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	@Override
+	public void setTransactionSuccessful() {
+		transactionSuccessful = true;
+	}
+
+	@Override
+	public void endTransaction() throws IOException {
+		try {
+			if (transactionSuccessful) {
+				connection.commit();
+			} else {
+				connection.rollback();
+			}
+			connection.setAutoCommit(true);
+		} catch (SQLException e) {
+			throw new IOException(e.getMessage(), e);
+		}
+	}
+
+	void close() throws SQLException {
+		connection.close();
+	}
+
+	private PreparedStatement prepare(String sql, Object... args) throws SQLException {
+		PreparedStatement statement = connection.prepareStatement(sql);
+		for (int i = 0;i < args.length;i++) {
+			statement.setObject(i + 1, args[i]);
+		}
+		return statement;
+	}
+
+	private static class JdbcCursor implements SqlCursor {
+
+		private final PreparedStatement statement;
+
+		private final ResultSet resultSet;
+
+		JdbcCursor(PreparedStatement statement, ResultSet resultSet) {
+			this.statement = statement;
+			this.resultSet = resultSet;
+		}
+
+		@Override
+		public boolean moveToNext() throws IOException {
+			try {
+				return resultSet.next();
+			} catch (SQLException e) {
+				throw new IOException(e.getMessage(), e);
+			}
+		}
+
+		// jdbc columns start at 1
+		@Override
+		public int getInt(int column) throws IOException {
+			try {
+				return resultSet.getInt(column + 1);
+			} catch (SQLException e) {
+				throw new IOException(e.getMessage(), e);
+			}
+		}
+
+		@Override
+		public long getLong(int column) throws IOException {
+			try {
+				return resultSet.getLong(column + 1);
+			} catch (SQLException e) {
+				throw new IOException(e.getMessage(), e);
+			}
+		}
+
+		@Override
+		public double getDouble(int column) throws IOException {
+			try {
+				return resultSet.getDouble(column + 1);
+			} catch (SQLException e) {
+				throw new IOException(e.getMessage(), e);
+			}
+		}
+
+		@Override
+		public String getString(int column) throws IOException {
+			try {
+				return resultSet.getString(column + 1);
+			} catch (SQLException e) {
+				throw new IOException(e.getMessage(), e);
+			}
+		}
+
+		@Override
+		public boolean isNull(int column) throws IOException {
+			try {
+				resultSet.getObject(column + 1);
+				return resultSet.wasNull();
+			} catch (SQLException e) {
+				throw new IOException(e.getMessage(), e);
+			}
+		}
+
+		@Override
+		public void close() {
+			try {
+				statement.close();
+			} catch (SQLException e) {
+				// nothing left to clean up
+			}
+		}
+	}
+}
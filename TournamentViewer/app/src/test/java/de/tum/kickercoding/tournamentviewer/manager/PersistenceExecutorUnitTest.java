@@ -0,0 +1,206 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.exceptions.PreferenceFileManagerException;
+import de.tum.kickercoding.tournamentviewer.util.TournamentMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(android.util.Log.class)
+public class PersistenceExecutorUnitTest {
+
+	private FakeStore store;
+
+	private Tournament tournament;
+
+	@Before
+	public void initialize() {
+		PowerMockito.mockStatic(android.util.Log.class);
+		store = new FakeStore();
+		tournament = new Tournament();
+		tournament.setMode(TournamentMode.MONSTERDYP);
+		tournament.setMaxScore(7);
+		for (int i = 1;i <= 4;i++) {
+			tournament.addPlayer(new Player("p" + i));
+		}
+	}
+
+	@Test
+	public void replacedTournamentIsWrittenAsSnapshot() {
+		PersistenceExecutor executor = new PersistenceExecutor(store);
+		executor.replace(copy(tournament), true);
+		executor.save(new ArrayList<TournamentEvent>());
+		executor.flush();
+		assertEquals(1, store.snapshots.size());
+		assertEquals(4, store.snapshots.get(0).getPlayers().size());
+		assertTrue(store.appendedEvents.isEmpty());
+
+		// loaded tournament is already stored, nothing to write
+		executor.replace(copy(tournament), false);
+		executor.save(new ArrayList<TournamentEvent>());
+		executor.flush();
+		assertEquals(1, store.snapshots.size());
+		assertEquals(0, store.appends);
+	}
+
+	@Test
+	public void savesAreCoalesced() throws InterruptedException {
+		PersistenceExecutor executor = new PersistenceExecutor(store);
+		executor.replace(copy(tournament), false);
+		// block the background thread in the first write
+		store.blockNextWrite();
+		executor.save(Collections.singletonList(TournamentEvent.gameGenerated(new Game(tournament.getPlayers()))));
+		assertTrue(store.writeStarted.await(5, TimeUnit.SECONDS));
+		int numberOfSaves = 10;
+		for (int i = 0;i < numberOfSaves;i++) {
+			executor.save(Collections.singletonList(TournamentEvent.gameFinalized(0, i % 8, 7)));
+		}
+		store.unblock();
+		executor.flush();
+
+		assertEquals(numberOfSaves + 1, executor.getSavesRequested());
+		assertEquals(2, executor.getSavesPerformed());
+		assertEquals(2, store.appends);
+		assertEquals(numberOfSaves + 1, store.appendedEvents.size());
+	}
+
+	@Test
+	public void snapshotIsWrittenFromReplica() {
+		PersistenceExecutor executor = new PersistenceExecutor(store);
+		executor.replace(copy(tournament), false);
+		executor.save(Collections.singletonList(TournamentEvent.gameGenerated(new Game(tournament.getPlayers()))));
+		store.snapshotDue = true;
+		executor.save(Collections.singletonList(TournamentEvent.gameFinalized(0, 7, 5)));
+		executor.flush();
+
+		Tournament snapshot = store.snapshots.get(store.snapshots.size() - 1);
+		assertEquals(1, snapshot.getGames().size());
+		assertEquals(7, snapshot.getGame(0).getScoreTeam1());
+		assertEquals(5, snapshot.getGame(0).getScoreTeam2());
+		// the replica is independent of the tournament of the caller
+		assertTrue(tournament.getGames().isEmpty());
+	}
+
+	@Test
+	public void failedWriteIsRetriedAsSnapshot() {
+		PersistenceExecutor executor = new PersistenceExecutor(store);
+		executor.replace(copy(tournament), false);
+		store.failNextWrite = true;
+		executor.save(Collections.singletonList(TournamentEvent.gameGenerated(new Game(tournament.getPlayers()))));
+		// the flush retries the failed write; as the append is lost, it has to be a snapshot
+		executor.flush();
+		assertFalse(store.failNextWrite);
+		assertEquals(0, store.appends);
+		assertEquals(1, store.snapshots.size());
+		assertEquals(1, store.snapshots.get(0).getGames().size());
+		assertEquals(1, executor.getSavesPerformed());
+	}
+
+	@Test
+	public void divergedReplicaIsNotWritten() {
+		PersistenceExecutor executor = new PersistenceExecutor(store);
+		executor.replace(copy(tournament), false);
+		// there is no game at position 0 in the replica
+		executor.save(Collections.singletonList(TournamentEvent.gameFinalized(0, 7, 5)));
+		executor.flush();
+		assertEquals(0, store.appends);
+		assertTrue(store.snapshots.isEmpty());
+		assertTrue(executor.takeReplicaLost());
+		assertFalse(executor.takeReplicaLost());
+
+		// nothing is written on top of the lost replica
+		executor.save(Collections.singletonList(TournamentEvent.gameGenerated(new Game(tournament.getPlayers()))));
+		executor.flush();
+		assertEquals(0, store.appends);
+		assertTrue(store.snapshots.isEmpty());
+
+		// a fresh copy resynchronizes the replica
+		tournament.addGame(new Game(tournament.getPlayers()));
+		executor.replace(copy(tournament), true);
+		executor.save(new ArrayList<TournamentEvent>());
+		executor.flush();
+		assertEquals(0, store.appends);
+		assertEquals(1, store.snapshots.size());
+		assertEquals(1, store.snapshots.get(0).getGames().size());
+	}
+
+	private static Tournament copy(Tournament tournament) {
+		return Tournament.fromJson(tournament.toJson());
+	}
+
+	private static class FakeStore implements PersistenceExecutor.TournamentStore {
+
+		final List<Tournament> snapshots = new ArrayList<>();
+
+		final List<TournamentEvent> appendedEvents = new ArrayList<>();
+
+		int appends = 0;
+
+		volatile boolean snapshotDue = false;
+
+		volatile boolean failNextWrite = false;
+
+		volatile CountDownLatch writeStarted = new CountDownLatch(0);
+
+		private volatile CountDownLatch blocker = new CountDownLatch(0);
+
+		void blockNextWrite() {
+			writeStarted = new CountDownLatch(1);
+			blocker = new CountDownLatch(1);
+		}
+
+		void unblock() {
+			blocker.countDown();
+		}
+
+		@Override
+		public void saveTournament(Tournament tournament) throws PreferenceFileManagerException {
+			beforeWrite();
+			// keep the state at the time of the write
+			snapshots.add(copy(tournament));
+		}
+
+		@Override
+		public void appendTournamentEvents(List<TournamentEvent> events) throws PreferenceFileManagerException {
+			beforeWrite();
+			appends++;
+			appendedEvents.addAll(events);
+		}
+
+		@Override
+		public boolean isTournamentSnapshotDue() {
+			return snapshotDue;
+		}
+
+		private void beforeWrite() throws PreferenceFileManagerException {
+			writeStarted.countDown();
+			try {
+				blocker.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (failNextWrite) {
+				failNextWrite = false;
+				throw new PreferenceFileManagerException("disk full");
+			}
+		}
+	}
+}
@@ -0,0 +1,190 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.PlayerSummary;
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(android.util.Log.class)
+public class PlayerStoreUnitTest {
+
+	private File directory;
+
+	private File storeFile;
+
+	@Before
+	public void initialize() {
+		PowerMockito.mockStatic(android.util.Log.class);
+		try {
+			directory = File.createTempFile("players", "");
+		} catch (IOException e) {
+			fail(e.toString());
+		}
+		directory.delete();
+		directory.mkdir();
+		storeFile = new File(directory, Constants.FILE_PLAYER_STORE);
+	}
+
+	@After
+	public void cleanUp() {
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	@Test
+	public void saveAndLoadPlayers() throws IOException {
+		PlayerStore store = new PlayerStore(directory);
+		assertTrue(store.isEmpty());
+		store.save(new Player("J\u00fcrgen", 3, 2, 1, 1, 0, 0, 30, 7, 20, 3, 1523.25, -4.5));
+		store.save(new Player("p2"));
+
+		List<Player> players = new PlayerStore(directory).getPlayers();
+		assertEquals(2, players.size());
+		Player loaded = players.get(0);
+		assertEquals("J\u00fcrgen", loaded.getName());
+		assertEquals(3, loaded.getWonGames());
+		assertEquals(2, loaded.getLostGames());
+		assertEquals(1, loaded.getTiedGames());
+		assertEquals(30, loaded.getGoalsShot());
+		assertEquals(3, loaded.getGoalsReceivedInTournament());
+		assertEquals(1523.25, loaded.getElo(), 0.0);
+		assertEquals(-4.5, loaded.getEloChangeFromLastGame(), 0.0);
+		assertEquals(Constants.ELO_DEFAULT, players.get(1).getElo(), 0.0);
+	}
+
+	@Test
+	public void summariesAndSinglePlayerWithoutLoading() throws IOException {
+		PlayerStore store = new PlayerStore(directory);
+		store.save(new Player("p1", 3, 2, 1, 1, 0, 0, 30, 7, 20, 3, 1523.25, -4.5));
+		store.save(new Player("p2"));
+		store.save(new Player("p3"));
+		store.remove("p2");
+
+		PlayerStore reopened = new PlayerStore(directory);
+		List<PlayerSummary> summaries = reopened.getSummaries();
+		assertEquals(2, summaries.size());
+		assertEquals("p1", summaries.get(0).getName());
+		assertEquals(1523.25, summaries.get(0).getElo(), 0.0);
+		assertEquals(new PlayerSummary("p3", 0), summaries.get(1));
+
+		Player player = new PlayerStore(directory).get("p1");
+		assertEquals(3, player.getWonGames());
+		assertEquals(-4.5, player.getEloChangeFromLastGame(), 0.0);
+		assertNull(reopened.get("p2"));
+		// same results from the index once the store is loaded
+		reopened.save(new Player("p4"));
+		assertEquals(3, reopened.getSummaries().size());
+		assertEquals(20, reopened.get("p1").getGoalsReceived());
+	}
+
+	@Test
+	public void updateInPlace() throws IOException {
+		PlayerStore store = new PlayerStore(directory);
+		store.save(new Player("p1"));
+		store.save(new Player("p2"));
+		long length = storeFile.length();
+
+		Player updated = new Player("p1");
+		updated.setWonGames(5);
+		updated.setElo(1600);
+		store.save(updated);
+		assertEquals(length, storeFile.length());
+
+		List<Player> players = new PlayerStore(directory).getPlayers();
+		assertEquals(2, players.size());
+		assertEquals(5, players.get(0).getWonGames());
+		assertEquals(1600, players.get(0).getElo(), 0.0);
+	}
+
+	@Test
+	public void saveAllWritesOnlyChangedPlayers() throws IOException {
+		PlayerStore store = new PlayerStore(directory);
+		store.saveAll(Arrays.asList(new Player("p1"), new Player("p2"), new Player("p3")));
+		long lastModified = storeFile.lastModified();
+		long length = storeFile.length();
+		// nothing changed, the file is not touched
+		store.saveAll(new PlayerStore(directory).getPlayers());
+		assertEquals(lastModified, storeFile.lastModified());
+
+		Player updated = new Player("p2");
+		updated.setLostGames(2);
+		store.saveAll(Arrays.asList(new Player("p1"), updated, new Player("p4")));
+		List<Player> players = new PlayerStore(directory).getPlayers();
+		assertEquals(4, players.size());
+		assertEquals(2, players.get(1).getLostGames());
+		assertEquals(new Player("p4"), players.get(3));
+		assertTrue(storeFile.length() > length);
+	}
+
+	@Test
+	public void removeAndCompact() throws IOException {
+		PlayerStore store = new PlayerStore(directory);
+		int numberOfPlayers = 2 * Constants.PLAYER_STORE_COMPACTION_THRESHOLD;
+		for (int i = 0;i < numberOfPlayers;i++) {
+			store.save(new Player("p" + i));
+		}
+		long length = storeFile.length();
+		store.remove("p0");
+		assertEquals(length, storeFile.length());
+		assertFalse(new PlayerStore(directory).getPlayers().contains(new Player("p0")));
+
+		for (int i = 1;i <= Constants.PLAYER_STORE_COMPACTION_THRESHOLD;i++) {
+			store.remove("p" + i);
+		}
+		assertTrue(storeFile.length() < length);
+		List<Player> players = new PlayerStore(directory).getPlayers();
+		assertEquals(numberOfPlayers - Constants.PLAYER_STORE_COMPACTION_THRESHOLD - 1, players.size());
+		assertEquals(new Player("p" + (Constants.PLAYER_STORE_COMPACTION_THRESHOLD + 1)), players.get(0));
+	}
+
+	@Test
+	public void incompleteRecordIsTruncated() throws IOException {
+		PlayerStore store = new PlayerStore(directory);
+		store.rewrite(Arrays.asList(new Player("p1"), new Player("p2")));
+		long length = storeFile.length();
+		store.save(new Player("p3"));
+		// simulate crash while appending the last player
+		RandomAccessFile file = new RandomAccessFile(storeFile, "rw");
+		file.setLength(storeFile.length() - 5);
+		file.close();
+
+		PlayerStore reopened = new PlayerStore(directory);
+		assertEquals(2, reopened.getPlayers().size());
+		assertEquals(length, storeFile.length());
+		reopened.save(new Player("p3"));
+		assertEquals(3, new PlayerStore(directory).getPlayers().size());
+	}
+
+	@Test
+	public void rewriteReplacesContent() throws IOException {
+		PlayerStore store = new PlayerStore(directory);
+		store.save(new Player("p1"));
+		store.rewrite(new ArrayList<>(Arrays.asList(new Player("p2"), new Player("p3"))));
+		List<Player> players = new PlayerStore(directory).getPlayers();
+		assertEquals(Arrays.asList(new Player("p2"), new Player("p3")), players);
+		assertFalse(new File(directory, Constants.FILE_PLAYER_STORE + ".tmp").exists());
+	}
+}
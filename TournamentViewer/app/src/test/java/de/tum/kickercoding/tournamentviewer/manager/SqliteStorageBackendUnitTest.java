@@ -0,0 +1,290 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.PartnerArchive;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.PlayerSummary;
+import de.tum.kickercoding.tournamentviewer.entities.Schedule;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.util.TournamentMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SqliteStorageBackendUnitTest {
+
+	private JdbcSqlDatabase database;
+
+	private SqliteStorageBackend backend;
+
+	private Tournament tournament;
+
+	@Before
+	public void initialize() throws SQLException {
+		database = new JdbcSqlDatabase("jdbc:sqlite::memory:");
+		backend = new SqliteStorageBackend(database);
+		tournament = new Tournament();
+		tournament.setMode(TournamentMode.MONSTERDYP);
+		tournament.setMaxScore(7);
+		for (int i = 1;i <= 6;i++) {
+			tournament.addPlayer(new Player("p" + i));
+		}
+	}
+
+	@After
+	public void cleanUp() throws SQLException {
+		database.close();
+	}
+
+	@Test
+	public void saveLoadAndRemovePlayers() throws IOException {
+		backend.savePlayers(Arrays.asList(new Player("b", 3, 2, 1, 0, 0, 0, 30, 0, 20, 0, 1523.25, -4.5), new Player
+				("a")));
+		backend.savePlayers(Collections.singletonList(new Player("a", 1, 0, 0, 0, 0, 0, 7, 0, 3, 0, 1510.0, 10.0)));
+		List<Player> players = backend.loadPlayers();
+		assertEquals(Arrays.asList(new Player("a"), new Player("b")), players);
+		assertEquals(1, players.get(0).getWonGames());
+		assertEquals(1523.25, players.get(1).getElo(), 0.0);
+		assertEquals(-4.5, players.get(1).getEloChangeFromLastGame(), 0.0);
+
+		backend.removePlayer("a");
+		assertEquals(Collections.singletonList(new Player("b")), backend.loadPlayers());
+	}
+
+	@Test
+	public void playerSummariesAndSinglePlayer() throws IOException {
+		backend.savePlayers(Arrays.asList(new Player("b", 3, 2, 1, 0, 0, 0, 30, 0, 20, 0, 1523.25, -4.5), new Player
+				("a")));
+		List<PlayerSummary> summaries = backend.loadPlayerSummaries();
+		assertEquals(2, summaries.size());
+		assertEquals("a", summaries.get(0).getName());
+		assertEquals(1523.25, summaries.get(1).getElo(), 0.0);
+
+		Player player = backend.loadPlayer("b");
+		assertEquals(3, player.getWonGames());
+		assertEquals(20, player.getGoalsReceived());
+		assertNull(backend.loadPlayer("c"));
+	}
+
+	@Test
+	public void topPlayersByElo() throws IOException {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0;i < 50;i++) {
+			players.add(new Player("p" + i, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1000 + (i * 37) % 50, 0));
+		}
+		backend.savePlayers(players);
+		List<Player> top = backend.getTopPlayersByElo(20);
+		assertEquals(20, top.size());
+		for (int i = 0;i < top.size();i++) {
+			assertEquals(1049 - i, top.get(i).getElo(), 0.0);
+		}
+	}
+
+	@Test
+	public void loadWithoutTournament() throws IOException {
+		assertNull(backend.loadTournament());
+		assertFalse(backend.isTournamentSnapshotDue());
+	}
+
+	@Test
+	public void saveAndLoadTournament() throws IOException {
+		List<Player> players = tournament.getPlayers();
+		Game game = new Game(new ArrayList<>(players.subList(0, 4)));
+		game.setScoreTeam1(7);
+		game.setScoreTeam2(5);
+		game.setFinished(true);
+		tournament.addGame(game);
+		tournament.addGame(new Game(new ArrayList<>(players.subList(2, 6))));
+		backend.saveTournament(tournament);
+
+		Tournament loaded = backend.loadTournament();
+		assertEquals(7, loaded.getMaxScore());
+		assertEquals(TournamentMode.MONSTERDYP, loaded.getMode());
+		assertEquals(players, loaded.getPlayers());
+		assertEquals(2, loaded.getGames().size());
+		assertEquals(7, loaded.getGame(0).getScoreTeam1());
+		assertEquals(5, loaded.getGame(0).getScoreTeam2());
+		assertTrue(loaded.getGame(0).isFinished());
+		assertEquals(Arrays.asList("p5", "p6"), loaded.getGame(1).getTeam2PlayerNames());
+		assertSame(loaded.getPlayers().get(2), loaded.getGame(1).getParticipants().get(0));
+	}
+
+	@Test
+	public void eventsMatchReplay() throws IOException {
+		backend.saveTournament(tournament);
+		List<Player> players = tournament.getPlayers();
+		Player winner = new Player("p1", 1, 0, 0, 1, 0, 0, 7, 7, 3, 3, 1510.0, 10.0);
+		List<TournamentEvent> events = Arrays.asList(
+				TournamentEvent.gameGenerated(new Game(new ArrayList<>(players.subList(0, 4)))),
+				TournamentEvent.gameGenerated(new Game(new ArrayList<>(players.subList(2, 6)))),
+				TournamentEvent.gameGenerated(new Game(Arrays.asList(players.get(0), players.get(5), players.get(1),
+						players.get(4)))),
+				TournamentEvent.gameFinalized(0, 7, 3),
+				TournamentEvent.gameCommitted(0, Collections.singletonList(winner)),
+				TournamentEvent.gameRemoved(1),
+				TournamentEvent.playerToggled(new Player("p7"), true),
+				TournamentEvent.playerToggled(new Player("p6"), false));
+		backend.appendTournamentEvents(events);
+		for (TournamentEvent event : events) {
+			event.apply(tournament);
+		}
+
+		Tournament loaded = backend.loadTournament();
+		assertEquals(tournament.getPlayers().size(), loaded.getPlayers().size());
+		assertTrue(loaded.getPlayers().containsAll(tournament.getPlayers()));
+		assertEquals(tournament.getGames().size(), loaded.getGames().size());
+		assertEquals(1, loaded.getGames().size());
+		assertTrue(loaded.getGame(0).isResultCommitted());
+		assertEquals(3, loaded.getGame(0).getScoreTeam2());
+		Player loadedWinner = loaded.getPlayers().get(loaded.getPlayers().indexOf(winner));
+		assertEquals(1510.0, loadedWinner.getElo(), 0.0);
+	}
+
+	@Test
+	public void tablesAreStored() throws IOException {
+		List<Player> players = tournament.getPlayers();
+		tournament.setTables(2);
+		Game game = new Game(new ArrayList<>(players.subList(0, 4)));
+		game.setTable(2);
+		tournament.addGame(game);
+		backend.saveTournament(tournament);
+		Game generated = new Game(new ArrayList<>(players.subList(2, 6)));
+		generated.setTable(1);
+		tournament.setTables(3);
+		backend.appendTournamentEvents(Arrays.asList(TournamentEvent.gameGenerated(generated), TournamentEvent
+				.settingsChanged(tournament)));
+
+		Tournament loaded = backend.loadTournament();
+		assertEquals(3, loaded.getTables());
+		assertEquals(2, loaded.getGame(0).getTable());
+		assertEquals(1, loaded.getGame(1).getTable());
+		assertEquals(1, backend.getGamesOfPlayer("p5").get(0).getTable());
+	}
+
+	@Test
+	public void seedIsStored() throws IOException {
+		tournament.setSeed(Long.MIN_VALUE + 3);
+		backend.saveTournament(tournament);
+		tournament.setDraws(2);
+		backend.appendTournamentEvents(Arrays.asList(TournamentEvent.settingsChanged(tournament)));
+
+		Tournament loaded = backend.loadTournament();
+		assertEquals(Long.MIN_VALUE + 3, loaded.getSeed());
+		assertEquals(2, loaded.getDraws());
+	}
+
+	@Test
+	public void partnerArchiveIsStored() throws IOException {
+		assertEquals(0, backend.loadPartnerArchive().size());
+		List<Player> players = tournament.getPlayers();
+		Game game = new Game(new ArrayList<>(players.subList(0, 4)));
+		game.setFinished(true);
+		tournament.addGame(game);
+		PartnerArchive archive = new PartnerArchive();
+		archive.addTournament(tournament, 0.5);
+		backend.savePartnerArchive(archive);
+		archive.addTournament(new Tournament(), 0.5);
+		backend.savePartnerArchive(archive);
+
+		PartnerArchive loaded = backend.loadPartnerArchive();
+		assertEquals(2, loaded.size());
+		for (long key : archive.getPairKeys()) {
+			assertEquals(archive.getWeight(key), loaded.getWeight(key));
+		}
+		assertEquals(0.5, loaded.getPartnerCount(players.get(0), players.get(1)), 0);
+	}
+
+	@Test
+	public void columnsAreAddedToOlderDatabases() throws IOException {
+		database.execute("CREATE TABLE tournaments (id INTEGER PRIMARY KEY, max_score INTEGER, number_of_games " +
+				"INTEGER, one_on_one INTEGER, finished INTEGER, semi_finals_generated INTEGER, final_generated " +
+				"INTEGER, mode TEXT)");
+		database.execute("CREATE TABLE games (tournament_id INTEGER NOT NULL, position INTEGER NOT NULL, " +
+				"score_team1 INTEGER, score_team2 INTEGER, finished INTEGER, result_committed INTEGER, PRIMARY KEY " +
+				"(tournament_id, position))");
+		database.execute("INSERT INTO tournaments (id, max_score) VALUES (1, 5)");
+		database.execute("INSERT INTO games (tournament_id, position, score_team1, score_team2, finished, " +
+				"result_committed) VALUES (1, 0, 0, 0, 0, 0)");
+		database.execute("CREATE TABLE game_participants (tournament_id INTEGER NOT NULL, position INTEGER NOT " +
+				"NULL, slot INTEGER NOT NULL, name TEXT NOT NULL, PRIMARY KEY (tournament_id, position, slot))");
+		for (int slot = 0;slot < 4;slot++) {
+			database.execute("INSERT INTO game_participants (tournament_id, position, slot, name) VALUES (1, 0, ?, " +
+					"?)", slot, "p" + slot);
+		}
+
+		Tournament loaded = backend.loadTournament();
+		assertEquals(5, loaded.getMaxScore());
+		assertEquals(0, loaded.getTables());
+		assertEquals(0, loaded.getSeed());
+		assertEquals(0, loaded.getGame(0).getTable());
+	}
+
+	@Test
+	public void removedGamesAreRenumbered() throws IOException {
+		backend.saveTournament(tournament);
+		List<Player> players = tournament.getPlayers();
+		List<TournamentEvent> events = new ArrayList<>();
+		for (int i = 0;i < 5;i++) {
+			events.add(TournamentEvent.gameGenerated(new Game(new ArrayList<>(players.subList(i % 3, i % 3 + 4)))));
+			events.add(TournamentEvent.gameFinalized(i, 7, i));
+		}
+		events.add(TournamentEvent.gameRemoved(1));
+		events.add(TournamentEvent.gameRemoved(2));
+		backend.appendTournamentEvents(events);
+
+		Tournament loaded = backend.loadTournament();
+		assertEquals(3, loaded.getGames().size());
+		assertEquals(0, loaded.getGame(0).getScoreTeam2());
+		assertEquals(2, loaded.getGame(1).getScoreTeam2());
+		assertEquals(4, loaded.getGame(2).getScoreTeam2());
+	}
+
+	@Test
+	public void gamesOfPlayer() throws IOException {
+		List<Player> players = tournament.getPlayers();
+		tournament.addGame(new Game(new ArrayList<>(players.subList(0, 4))));
+		tournament.addGame(new Game(new ArrayList<>(players.subList(2, 6))));
+		tournament.addGame(new Game(Arrays.asList(players.get(4), players.get(1), players.get(5), players.get(2))));
+		backend.saveTournament(tournament);
+
+		List<Game> games = backend.getGamesOfPlayer("p2");
+		assertEquals(2, games.size());
+		assertEquals(Arrays.asList("p1", "p2"), games.get(0).getTeam1PlayerNames());
+		assertEquals(Arrays.asList("p5", "p2"), games.get(1).getTeam1PlayerNames());
+		assertEquals(Arrays.asList("p6", "p3"), games.get(1).getTeam2PlayerNames());
+		assertEquals(0, backend.getGamesOfPlayer("p7").size());
+	}
+
+	@Test
+	public void saveLoadAndClearSchedule() throws IOException {
+		assertNull(backend.loadSchedule());
+		List<List<String>> rounds = new ArrayList<>();
+		rounds.add(Arrays.asList("p1", "p2", "p3", "p4"));
+		rounds.add(Arrays.asList("p5", "p1", "p6", "p2"));
+		Schedule schedule = new Schedule(false, rounds);
+		schedule.popNextRound();
+		backend.saveSchedule(schedule);
+
+		Schedule loaded = backend.loadSchedule();
+		assertFalse(loaded.isOneOnOne());
+		assertEquals(1, loaded.getNextRound());
+		assertEquals(rounds, loaded.getRounds());
+
+		backend.saveSchedule(null);
+		assertNull(backend.loadSchedule());
+	}
+}
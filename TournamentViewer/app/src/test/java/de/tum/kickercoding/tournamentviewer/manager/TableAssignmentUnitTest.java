@@ -0,0 +1,141 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.game;
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.players;
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.tournament;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class TableAssignmentUnitTest {
+
+	@Test
+	public void noTablesNoAssignment() {
+		Tournament tournament = tournament(players(8, 0), false);
+		List<Game> wave = Arrays.asList(game(tournament, 0, 1, 2, 3), game(tournament, 4, 5, 6, 7));
+		TableAssignment.assignTables(tournament, wave);
+
+		for (Game game : wave) {
+			assertEquals(0, game.getTable());
+		}
+	}
+
+	@Test
+	public void longestWaitingPlayFirst() {
+		Tournament tournament = tournament(players(12, 0), false);
+		playGame(tournament, game(tournament, 0, 1, 2, 3), 1);
+		playGame(tournament, game(tournament, 4, 5, 6, 7), 2);
+		Game lastPlayed = game(tournament, 4, 5, 6, 7);
+		Game notPlayed = game(tournament, 8, 9, 10, 11);
+		Game played = game(tournament, 0, 1, 2, 3);
+		List<Game> ordered = TableAssignment.orderWaves(tournament, Arrays.asList(lastPlayed, notPlayed, played), 1);
+
+		// p8 to p11 did not play yet, p0 to p3 played before p4 to p7
+		assertEquals(Arrays.asList(notPlayed, played, lastPlayed), ordered);
+	}
+
+	@Test
+	public void teamsRegroupedIntoWaves() {
+		Tournament tournament = tournament(players(12, 0), false);
+		playGame(tournament, game(tournament, 0, 1, 2, 3), 1);
+		playGame(tournament, game(tournament, 4, 5, 6, 7), 1);
+		playGame(tournament, game(tournament, 8, 9, 10, 11), 1);
+		Game kept = game(tournament, 0, 2, 1, 3);
+		List<Game> round = Arrays.asList(game(tournament, 4, 5, 8, 9), kept, game(tournament, 10, 11, 6, 7));
+		List<Game> ordered = TableAssignment.orderWaves(tournament, round, 1);
+
+		// the teams stay together, but play against the team which waited as long as they did
+		assertSame(kept, ordered.get(0));
+		assertEquals(Arrays.asList("p4", "p5", "p6", "p7"), getNames(ordered.get(1)));
+		assertEquals(Arrays.asList("p8", "p9", "p10", "p11"), getNames(ordered.get(2)));
+	}
+
+	@Test
+	public void regroupedTeamsAvoidRepeatedOpponents() {
+		Tournament tournament = tournament(players(16, 0), false);
+		// p4, p5 played against p6, p7 first, p0, p1 against p2, p3 afterwards
+		playGame(tournament, game(tournament, 4, 5, 6, 7), 1);
+		playGame(tournament, game(tournament, 0, 1, 2, 3), 2);
+		playGame(tournament, game(tournament, 8, 9, 10, 11), 1);
+		playGame(tournament, game(tournament, 12, 13, 14, 15), 2);
+		List<Game> round = Arrays.asList(game(tournament, 0, 1, 8, 9), game(tournament, 2, 3, 10, 11),
+				game(tournament, 4, 5, 12, 13), game(tournament, 6, 7, 14, 15));
+		List<Game> ordered = TableAssignment.orderWaves(tournament, round, 2);
+
+		// in waiting order the teams of the first wave would meet their last opponents again
+		assertEquals(4, ordered.size());
+		Set<String> firstWave = new HashSet<>(getNames(ordered.get(0)));
+		firstWave.addAll(getNames(ordered.get(1)));
+		assertEquals(new HashSet<>(Arrays.asList("p0", "p1", "p2", "p3", "p4", "p5", "p6", "p7")), firstWave);
+		for (Game game : ordered) {
+			assertEquals(0, tournament.getPairHistory().getOpponentCount(game.getTeam1(), game.getTeam2()));
+		}
+	}
+
+	@Test
+	public void wavesOfOneOnOneGames() {
+		Tournament tournament = tournament(players(8, 0), false);
+		tournament.setOneOnOne(true);
+		playGame(tournament, game(tournament, 0, 1), 1);
+		playGame(tournament, game(tournament, 2, 3), 2);
+		List<Game> round = Arrays.asList(game(tournament, 0, 4), game(tournament, 2, 5), game(tournament, 1, 6),
+				game(tournament, 3, 7));
+		List<Game> ordered = TableAssignment.orderWaves(tournament, round, 2);
+
+		assertEquals(4, ordered.size());
+		// p4 to p7 did not play yet and form the first wave
+		Set<String> firstWave = new HashSet<>(getNames(ordered.get(0)));
+		firstWave.addAll(getNames(ordered.get(1)));
+		assertEquals(new HashSet<>(Arrays.asList("p4", "p5", "p6", "p7")), firstWave);
+		Set<String> secondWave = new HashSet<>(getNames(ordered.get(2)));
+		secondWave.addAll(getNames(ordered.get(3)));
+		assertEquals(new HashSet<>(Arrays.asList("p0", "p1", "p2", "p3")), secondWave);
+	}
+
+	@Test
+	public void freeTablesFirst() {
+		Tournament tournament = tournament(players(16, 0), false);
+		tournament.setTables(3);
+		Game running1 = game(tournament, 0, 1, 2, 3);
+		running1.setTable(1);
+		tournament.addGame(running1);
+		playGame(tournament, game(tournament, 4, 5, 6, 7), 2);
+		Game running3 = game(tournament, 8, 9, 10, 11);
+		running3.setTable(3);
+		tournament.addGame(running3);
+		Game game = game(tournament, 12, 13, 14, 15);
+		TableAssignment.assignTables(tournament, Collections.singletonList(game));
+		assertEquals(2, game.getTable());
+
+		// table 2 is taken as well now: table 1 becomes free before table 3
+		tournament.addGame(game);
+		List<Game> wave = Arrays.asList(game(tournament, 4, 5, 6, 7), game(tournament, 0, 1, 2, 3));
+		TableAssignment.assignTables(tournament, wave);
+		assertEquals(1, wave.get(0).getTable());
+		assertEquals(3, wave.get(1).getTable());
+	}
+
+	private static void playGame(Tournament tournament, Game game, int table) {
+		game.setTable(table);
+		game.setFinished(true);
+		tournament.addGame(game);
+	}
+
+
+	private static List<String> getNames(Game game) {
+		List<String> names = new ArrayList<>(game.getTeam1PlayerNames());
+		names.addAll(game.getTeam2PlayerNames());
+		return names;
+	}
+}
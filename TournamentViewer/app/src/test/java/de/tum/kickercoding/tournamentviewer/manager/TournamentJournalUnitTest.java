@@ -0,0 +1,239 @@
+package de.tum.kickercoding.tournamentviewer.manager;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+import de.tum.kickercoding.tournamentviewer.util.TournamentMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest(android.util.Log.class)
+public class TournamentJournalUnitTest {
+
+	private File directory;
+
+	private Tournament tournament;
+
+	@Before
+	public void initialize() {
+		PowerMockito.mockStatic(android.util.Log.class);
+		try {
+			directory = File.createTempFile("journal", "");
+		} catch (IOException e) {
+			fail(e.toString());
+		}
+		directory.delete();
+		directory.mkdir();
+		tournament = new Tournament();
+		tournament.setMode(TournamentMode.MONSTERDYP);
+		tournament.setMaxScore(7);
+		for (int i = 1;i <= 4;i++) {
+			tournament.addPlayer(new Player("p" + i));
+		}
+	}
+
+	@After
+	public void cleanUp() {
+		for (File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	@Test
+	public void loadWithoutSnapshot() throws IOException {
+		TournamentJournal journal = new TournamentJournal(directory);
+		assertTrue(journal.isEmpty());
+		assertNull(journal.load());
+	}
+
+	@Test
+	public void replayEventsAfterSnapshot() throws IOException {
+		TournamentJournal journal = new TournamentJournal(directory);
+		journal.load();
+		journal.writeSnapshot(tournament);
+
+		Game game = new Game(new ArrayList<>(tournament.getPlayers()));
+		journal.append(Collections.singletonList(TournamentEvent.gameGenerated(game)));
+		journal.append(Collections.singletonList(TournamentEvent.gameFinalized(0, 7, 3)));
+		Player winner = new Player("p1", 1, 0, 0, 1, 0, 0, 7, 7, 3, 3, 1510.0, 10.0);
+		journal.append(Collections.singletonList(TournamentEvent.gameCommitted(0, Arrays.asList(winner))));
+		assertEquals(3, journal.getEventsSinceSnapshot());
+
+		Tournament loaded = new TournamentJournal(directory).load();
+		assertEquals(7, loaded.getMaxScore());
+		assertEquals(4, loaded.getPlayers().size());
+		assertEquals(1, loaded.getGames().size());
+		Game loadedGame = loaded.getGame(0);
+		assertEquals(7, loadedGame.getScoreTeam1());
+		assertEquals(3, loadedGame.getScoreTeam2());
+		assertTrue(loadedGame.isFinished());
+		assertTrue(loadedGame.isResultCommitted());
+		Player loadedWinner = loaded.getPlayers().get(loaded.getPlayers().indexOf(winner));
+		assertEquals(1, loadedWinner.getWonGames());
+		assertEquals(1510.0, loadedWinner.getElo(), 0.001);
+		// participants refer to the players of the tournament
+		assertSame(loadedWinner, loadedGame.getParticipants().get(0));
+	}
+
+	@Test
+	public void snapshotClearsJournal() throws IOException {
+		TournamentJournal journal = new TournamentJournal(directory);
+		journal.load();
+		journal.writeSnapshot(tournament);
+		Game game = new Game(new ArrayList<>(tournament.getPlayers()));
+		tournament.addGame(game);
+		journal.append(Collections.singletonList(TournamentEvent.gameGenerated(game)));
+		journal.writeSnapshot(tournament);
+		assertEquals(0, journal.getEventsSinceSnapshot());
+
+		TournamentJournal reopened = new TournamentJournal(directory);
+		Tournament loaded = reopened.load();
+		assertEquals(1, loaded.getGames().size());
+		assertEquals(0, reopened.getEventsSinceSnapshot());
+	}
+
+	@Test
+	public void togglePlayerRemovesUncommittedGames() throws IOException {
+		TournamentJournal journal = new TournamentJournal(directory);
+		journal.load();
+		journal.writeSnapshot(tournament);
+		List<TournamentEvent> events = Arrays.asList(
+				TournamentEvent.gameGenerated(new Game(new ArrayList<>(tournament.getPlayers()))),
+				TournamentEvent.playerToggled(new Player("p5"), true),
+				TournamentEvent.playerToggled(new Player("p2"), false));
+		journal.append(events);
+
+		Tournament loaded = new TournamentJournal(directory).load();
+		assertEquals(0, loaded.getGames().size());
+		assertEquals(4, loaded.getPlayers().size());
+		assertTrue(loaded.getPlayers().contains(new Player("p5")));
+		assertFalse(loaded.getPlayers().contains(new Player("p2")));
+	}
+
+	@Test
+	public void tornRecordIsTruncated() throws IOException {
+		TournamentJournal journal = new TournamentJournal(directory);
+		journal.load();
+		journal.writeSnapshot(tournament);
+		journal.append(Collections.singletonList(TournamentEvent.gameGenerated(new Game(new ArrayList<>(tournament
+				.getPlayers())))));
+		File journalFile = new File(directory, Constants.FILE_TOURNAMENT_JOURNAL);
+		long validLength = journalFile.length();
+		journal.append(Collections.singletonList(TournamentEvent.gameFinalized(0, 7, 5)));
+		// simulate crash while writing the second record
+		RandomAccessFile file = new RandomAccessFile(journalFile, "rw");
+		file.setLength(journalFile.length() - 3);
+		file.close();
+
+		TournamentJournal recovered = new TournamentJournal(directory);
+		Tournament loaded = recovered.load();
+		assertEquals(1, loaded.getGames().size());
+		assertFalse(loaded.getGame(0).isFinished());
+		assertEquals(validLength, journalFile.length());
+		RecoveryReport report = recovered.getLastRecovery();
+		assertEquals(1, report.getReplayedEvents());
+		assertTrue(report.isJournalTruncated());
+		assertTrue(recovered.isSnapshotDue());
+
+		// journal is usable again after truncation
+		recovered.append(Collections.singletonList(TournamentEvent.gameFinalized(0, 7, 6)));
+		loaded = new TournamentJournal(directory).load();
+		assertEquals(6, loaded.getGame(0).getScoreTeam2());
+	}
+
+	@Test
+	public void readLeavesJournalAlone() throws IOException {
+		TournamentJournal journal = new TournamentJournal(directory);
+		journal.load();
+		journal.writeSnapshot(tournament);
+		journal.append(Collections.singletonList(TournamentEvent.gameGenerated(new Game(new ArrayList<>(tournament
+				.getPlayers())))));
+		journal.append(Collections.singletonList(TournamentEvent.gameFinalized(0, 7, 5)));
+		File journalFile = new File(directory, Constants.FILE_TOURNAMENT_JOURNAL);
+		RandomAccessFile file = new RandomAccessFile(journalFile, "rw");
+		file.setLength(journalFile.length() - 3);
+		file.close();
+		long tornLength = journalFile.length();
+
+		Tournament read = journal.read();
+		assertEquals(1, read.getGames().size());
+		assertFalse(read.getGame(0).isFinished());
+		// neither truncated nor reset: the journal keeps counting the events it appended
+		assertEquals(tornLength, journalFile.length());
+		assertEquals(2, journal.getEventsSinceSnapshot());
+		assertNull(journal.getLastRecovery());
+
+		TournamentJournal recovered = new TournamentJournal(directory);
+		recovered.load();
+		assertTrue(recovered.getLastRecovery().isJournalTruncated());
+	}
+
+	@Test
+	public void corruptRecordIsTruncated() throws IOException {
+		TournamentJournal journal = new TournamentJournal(directory);
+		journal.load();
+		journal.writeSnapshot(tournament);
+		journal.append(Arrays.asList(TournamentEvent.playerToggled(new Player("p5"), true), TournamentEvent
+				.playerToggled(new Player("p6"), true)));
+		File journalFile = new File(directory, Constants.FILE_TOURNAMENT_JOURNAL);
+		// flip a byte in the payload of the last record
+		RandomAccessFile file = new RandomAccessFile(journalFile, "rw");
+		file.seek(file.length() - 2);
+		int value = file.read();
+		file.seek(file.length() - 2);
+		file.write(value ^ 0xFF);
+		file.close();
+
+		TournamentJournal recovered = new TournamentJournal(directory);
+		Tournament loaded = recovered.load();
+		assertTrue(loaded.getPlayers().contains(new Player("p5")));
+		assertFalse(loaded.getPlayers().contains(new Player("p6")));
+		assertEquals(1, recovered.getLastRecovery().getReplayedEvents());
+	}
+
+	@Test
+	public void replayOnlyTailAfterSnapshot() throws IOException {
+		TournamentJournal journal = new TournamentJournal(directory);
+		journal.load();
+		journal.writeSnapshot(tournament);
+		for (int i = 0;i < 10;i++) {
+			Game game = new Game(new ArrayList<>(tournament.getPlayers()));
+			tournament.addGame(game);
+			journal.append(Collections.singletonList(TournamentEvent.gameGenerated(game)));
+		}
+		journal.writeSnapshot(tournament);
+		journal.append(Collections.singletonList(TournamentEvent.gameFinalized(9, 7, 0)));
+
+		TournamentJournal recovered = new TournamentJournal(directory);
+		Tournament loaded = recovered.load();
+		assertEquals(10, loaded.getGames().size());
+		assertTrue(loaded.getGame(9).isFinished());
+		assertEquals(10, recovered.getLastRecovery().getSnapshotSequence());
+		assertEquals(1, recovered.getLastRecovery().getReplayedEvents());
+		assertFalse(recovered.getLastRecovery().isJournalTruncated());
+	}
+}
@@ -0,0 +1,87 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.players;
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.tournament;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class CandidateRoundSearchUnitTest {
+
+	@Test
+	public void bestCandidateWins() {
+		final List<Player> players = players(16, 10);
+		final Tournament tournament = tournament(players, false);
+		// some history s.th. candidates differ
+		for (int i = 0;i < 16;i += 4) {
+			tournament.addGame(new Game(new ArrayList<>(players.subList(i, i + 4))));
+		}
+		final RoundScorer scorer = new DefaultRoundScorer();
+		final List<Double> scores = Collections.synchronizedList(new ArrayList<Double>());
+		CandidateRoundSearch search = new CandidateRoundSearch(200, 10000, new RoundScorer() {
+			@Override
+			public double score(List<Game> round, Tournament tournament) {
+				double score = scorer.score(round, tournament);
+				scores.add(score);
+				return score;
+			}
+		});
+		List<Game> best = search.search(tournament, shuffledRounds(players), new Random(1));
+		assertEquals(200, search.getCandidatesEvaluated());
+		assertEquals(200, scores.size());
+		assertEquals(Collections.min(scores), scorer.score(best, tournament), 0.0);
+	}
+
+	@Test
+	public void candidateDrawnWithoutBudget() {
+		List<Player> players = players(8, 10);
+		CandidateRoundSearch search = new CandidateRoundSearch(100, 0, new DefaultRoundScorer());
+		List<Game> round = search.search(tournament(players, false), shuffledRounds(players), new Random(2));
+		assertNotNull(round);
+		assertEquals(2, round.size());
+		assertTrue(search.getCandidatesEvaluated() >= 1);
+	}
+
+	@Test
+	public void repeatsScoreWorse() {
+		List<Player> players = players(8, 10);
+		Tournament tournament = tournament(players, false);
+		tournament.addGame(new Game(new ArrayList<>(players.subList(0, 4))));
+		RoundScorer scorer = new DefaultRoundScorer();
+		// p0 and p1 partners again, p0 against p2 again
+		List<Player> team1 = new ArrayList<>(players.subList(0, 4));
+		List<Player> team2 = new ArrayList<>(players.subList(4, 8));
+		double repeated = scorer.score(Arrays.asList(new Game(team1), new Game(team2)), tournament);
+		double fresh = scorer.score(Arrays.asList(new Game(Arrays.asList(players.get(0), players.get(4), players
+				.get(1), players.get(5))), new Game(Arrays.asList(players.get(2), players.get(6), players.get(3),
+				players.get(7)))), tournament);
+		assertTrue(fresh < repeated);
+	}
+
+	private static CandidateRoundSearch.RoundGenerator shuffledRounds(final List<Player> players) {
+		return new CandidateRoundSearch.RoundGenerator() {
+			@Override
+			public List<Game> generate(Random random) {
+				List<Player> shuffled = new ArrayList<>(players);
+				Collections.shuffle(shuffled, random);
+				List<Game> games = new ArrayList<>();
+				for (int i = 0;i + 4 <= shuffled.size();i += 4) {
+					games.add(new Game(new ArrayList<>(shuffled.subList(i, i + 4))));
+				}
+				return games;
+			}
+		};
+	}
+}
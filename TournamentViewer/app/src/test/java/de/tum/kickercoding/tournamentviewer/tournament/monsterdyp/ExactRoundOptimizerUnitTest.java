@@ -0,0 +1,122 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+import de.tum.kickercoding.tournamentviewer.util.SplittableRng;
+
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.players;
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.tournament;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExactRoundOptimizerUnitTest {
+
+	@Test
+	public void sameCostAsAllPermutations() {
+		for (boolean oneOnOne : new boolean[]{false, true}) {
+			Random random = new Random(6);
+			List<Player> players = players(8, 25);
+			Tournament tournament = tournament(players, oneOnOne, 3, random);
+			ExactRoundOptimizer optimizer = new ExactRoundOptimizer(players, oneOnOne, tournament.getPairHistory());
+			List<Game> round = optimizer.optimize();
+			GameCostModel costs = new GameCostModel(players, tournament.getPairHistory());
+			double bruteForce = minCost(costs, new int[]{0, 1, 2, 3, 4, 5, 6, 7}, 0, oneOnOne);
+			assertEquals(bruteForce, optimizer.getCost(), 1e-9);
+			assertEquals(optimizer.getCost(), new RoundAnnealer(players, round, oneOnOne, tournament
+					.getPairHistory()).getCost(), 1e-9);
+		}
+	}
+
+	@Test
+	public void notWorseThanAnnealing() {
+		Random random = new Random(8);
+		List<Player> players = players(16, 25);
+		Tournament tournament = tournament(players, false, 3, random);
+		List<Game> round = new ExactRoundOptimizer(players, false, tournament.getPairHistory()).optimize();
+		assertEquals(4, round.size());
+		Set<Player> matched = new HashSet<>();
+		for (Game game : round) {
+			matched.addAll(game.getTeam1());
+			matched.addAll(game.getTeam2());
+		}
+		assertEquals(16, matched.size());
+
+		RoundAnnealer annealer = new RoundAnnealer(players, AnnealingMatchmaking.getInstance().greedyRound(players,
+				false, tournament.getPairHistory()), false, tournament.getPairHistory());
+		List<Game> annealed = annealer.anneal(System.nanoTime() + 20 * 1000000L, random);
+		double exactCost = new RoundAnnealer(players, round, false, tournament.getPairHistory()).getCost();
+		double annealedCost = new RoundAnnealer(players, annealed, false, tournament.getPairHistory()).getCost();
+		assertTrue(exactCost <= annealedCost + 1e-9);
+	}
+
+	@Test
+	public void largePoolsAnnealTheSelectedPlayers() {
+		// 24 of 26 players take part, more than the exact optimizer handles
+		Tournament tournament = tournament(players(26, 25), false);
+		Set<Player> selected = new HashSet<>(MonsterDypMatchmaking.getInstance().selectPlayersForRound(tournament,
+				new SplittableRng(7)));
+		assertEquals(24, selected.size());
+		AnnealingMatchmaking.getInstance().setBudgetMillis(5);
+		try {
+			List<Game> round = ExactMatchmaking.getInstance().generateRound(tournament, new SplittableRng(7));
+			Set<Player> matched = new HashSet<>();
+			for (Game game : round) {
+				matched.addAll(game.getParticipants());
+			}
+			assertEquals(selected, matched);
+		} finally {
+			AnnealingMatchmaking.getInstance().setBudgetMillis(Constants.DEFAULT_ANNEALING_BUDGET_MILLIS);
+		}
+	}
+
+	// benchmark of the runtime against pool size (console output) (annotate with @Test and run as single test if
+	// needed)
+	public void benchmarkPoolSizes() {
+		Random random = new Random(1);
+		for (int size = 8;size <= 20;size += 4) {
+			List<Player> players = players(size, 25);
+			Tournament tournament = tournament(players, false, 3, random);
+			for (int run = 0;run < 3;run++) {
+				long start = System.nanoTime();
+				new ExactRoundOptimizer(players, false, tournament.getPairHistory()).optimize();
+				System.out.println(size + " players: " + (System.nanoTime() - start) / 1000000.0 + " ms");
+			}
+		}
+	}
+
+	/**
+	 * minimal cost over all orders of the players (games are consecutive slots, team 1 first)
+	 */
+	private static double minCost(GameCostModel costs, int[] order, int position, boolean oneOnOne) {
+		if (position == order.length) {
+			double total = 0;
+			for (int i = 0;i < order.length;i += oneOnOne ? 2 : 4) {
+				total += oneOnOne ? costs.gameCost(order[i], order[i + 1]) : costs.gameCost(order[i], order[i + 1],
+						order[i + 2], order[i + 3]);
+			}
+			return total;
+		}
+		double min = Double.POSITIVE_INFINITY;
+		for (int i = position;i < order.length;i++) {
+			swap(order, position, i);
+			min = Math.min(min, minCost(costs, order, position + 1, oneOnOne));
+			swap(order, position, i);
+		}
+		return min;
+	}
+
+	private static void swap(int[] order, int i, int j) {
+		int temp = order[i];
+		order[i] = order[j];
+		order[j] = temp;
+	}
+}
@@ -0,0 +1,44 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import org.junit.Test;
+
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IdleQueueUnitTest {
+
+	@Test
+	public void fewestGamesFirstThenLongestIdle() {
+		IdleQueue queue = new IdleQueue();
+		queue.add(new Player("a"), 2);
+		queue.add(new Player("b"), 1);
+		queue.add(new Player("c"), 2);
+		queue.add(new Player("d"), 1);
+
+		assertEquals("b", queue.poll().getName());
+		assertEquals("d", queue.poll().getName());
+		// players with fewer games than the ones left are served first again
+		queue.add(new Player("e"), 0);
+		assertEquals("e", queue.poll().getName());
+		assertEquals("a", queue.poll().getName());
+		assertEquals("c", queue.poll().getName());
+		assertNull(queue.poll());
+	}
+
+	@Test
+	public void playersAreIdleOnce() {
+		IdleQueue queue = new IdleQueue();
+		assertTrue(queue.add(new Player("a"), 0));
+		assertFalse(queue.add(new Player("a"), 3));
+		assertTrue(queue.contains(new Player("a")));
+		assertEquals(1, queue.size());
+
+		queue.poll();
+		assertFalse(queue.contains(new Player("a")));
+		assertEquals(0, queue.size());
+	}
+}
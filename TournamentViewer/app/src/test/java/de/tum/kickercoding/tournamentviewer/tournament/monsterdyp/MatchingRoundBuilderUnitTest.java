@@ -0,0 +1,96 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.players;
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.tournament;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MatchingRoundBuilderUnitTest {
+
+	@Test
+	public void mirroredTeamsWithoutHistory() {
+		List<Player> players = players(8, 10);
+		Tournament tournament = tournament(players, false);
+		List<List<Player>> teams = new MatchingRoundBuilder(new Random(1), 0).buildTeams(players, tournament
+				.getPairHistory());
+		assertEquals(4, teams.size());
+		for (List<Player> team : teams) {
+			assertEquals(7, players.indexOf(team.get(0)) + players.indexOf(team.get(1)));
+		}
+	}
+
+	@Test
+	public void repeatedPartnersAvoided() {
+		List<Player> players = players(8, 10);
+		Tournament tournament = tournament(players, false);
+		// best and worst player already played together
+		tournament.addGame(new Game(Arrays.asList(players.get(0), players.get(7), players.get(1), players.get(6))));
+		List<List<Player>> teams = new MatchingRoundBuilder(new Random(1), 0).buildTeams(players, tournament
+				.getPairHistory());
+		for (List<Player> team : teams) {
+			assertEquals(0, tournament.getPairHistory().getPartnerCount(team.get(0), team.get(1)));
+		}
+	}
+
+	@Test
+	public void repeatedOpponentsAvoided() {
+		List<Player> players = players(4, 10);
+		Tournament tournament = tournament(players, true);
+		tournament.addGame(new Game(Arrays.asList(players.get(0), players.get(1))));
+		List<Game> games = new MatchingRoundBuilder(new Random(1), 0).buildRound(players, true, tournament
+				.getPairHistory());
+		assertEquals(2, games.size());
+		for (Game game : games) {
+			assertEquals(0, tournament.getPairHistory().getOpponentCount(game.getTeam1(), game.getTeam2()));
+		}
+	}
+
+	@Test
+	public void distinctPlayersMatched() {
+		for (boolean oneOnOne : new boolean[]{false, true}) {
+			List<Player> players = players(16, 10);
+			Tournament tournament = tournament(players, oneOnOne);
+			for (int round = 0;round < 5;round++) {
+				List<Game> games = new MatchingRoundBuilder(new Random(round)).buildRound(players, oneOnOne,
+						tournament.getPairHistory());
+				assertEquals(oneOnOne ? 8 : 4, games.size());
+				Set<Player> matched = new HashSet<>();
+				for (Game game : games) {
+					matched.addAll(game.getTeam1());
+					matched.addAll(game.getTeam2());
+					tournament.addGame(game);
+				}
+				assertEquals(16, matched.size());
+			}
+		}
+	}
+
+	// benchmark of a round of 100 players (console output) (annotate with @Test and run as single test if needed)
+	public void benchmarkRound() {
+		List<Player> players = players(100, 10);
+		Tournament tournament = tournament(players, false);
+		Random random = new Random(5);
+		for (int round = 0;round < 20;round++) {
+			long start = System.nanoTime();
+			List<Game> games = new MatchingRoundBuilder(random).buildRound(players, false, tournament
+					.getPairHistory());
+			long duration = System.nanoTime() - start;
+			for (Game game : games) {
+				tournament.addGame(game);
+			}
+			System.out.println("round " + round + ": " + duration / 1000000.0 + " ms");
+		}
+	}
+}
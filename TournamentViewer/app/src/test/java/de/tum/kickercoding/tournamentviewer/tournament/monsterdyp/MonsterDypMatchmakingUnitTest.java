@@ -2,18 +2,23 @@ package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
 
 import org.junit.Test;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.PartnerArchive;
 import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+import de.tum.kickercoding.tournamentviewer.util.MatchmakingAlgorithm;
+import de.tum.kickercoding.tournamentviewer.util.SplittableRng;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
-import static org.junit.Assert.fail;
 
 public class MonsterDypMatchmakingUnitTest {
 
@@ -39,7 +44,11 @@ public class MonsterDypMatchmakingUnitTest {
 		players.add(p7);
 		players.add(p8);
 		players.add(p9);
-		List<Game> games = MonsterDypMatchmaking.getInstance().generateRound(players, false, new ArrayList<Game>());
+		Tournament tournament = createTournament(players, false);
+		// p9 played the most games, so it sits out
+		tournament.addGame(new Game(Arrays.asList(p9, p1, p2, p3)));
+		tournament.addGame(new Game(Arrays.asList(p9, p4, p5, p6)));
+		List<Game> games = MonsterDypMatchmaking.getInstance().generateRound(tournament, new SplittableRng(1));
 		for (Game game : games) {
 			for (Player p : game.getTeam1()) {
 				players.remove(p);
@@ -66,7 +75,11 @@ public class MonsterDypMatchmakingUnitTest {
 		players.add(p3);
 		players.add(p4);
 		players.add(p5);
-		List<Game> games = MonsterDypMatchmaking.getInstance().generateRound(players, true, new ArrayList<Game>());
+		Tournament tournament = createTournament(players, true);
+		// p5 played the most games, so it sits out
+		tournament.addGame(new Game(Arrays.asList(p5, p1)));
+		tournament.addGame(new Game(Arrays.asList(p5, p2)));
+		List<Game> games = MonsterDypMatchmaking.getInstance().generateRound(tournament, new SplittableRng(1));
 		for (Game game : games) {
 			for (Player p : game.getTeam1()) {
 				players.remove(p);
@@ -80,43 +93,163 @@ public class MonsterDypMatchmakingUnitTest {
 	}
 
 	@Test
-	public void selectPlayersWithLeastGames2on2() {
-		// prepare input
-		Player p1 = new Player("p1", 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0.0, 0.0);
-		Player p2 = new Player("p2", 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0.0, 0.0);
-		Player p3 = new Player("p3", 2, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0.0, 0.0);
-		Player p4 = new Player("p4", 2, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0.0, 0.0);
-		Player p5 = new Player("p5", 3, 2, 0, 0, 0, 0, 0, 0, 0, 0, 0.0, 0.0);
-		Player p6 = new Player("p6", 3, 3, 0, 0, 0, 0, 0, 0, 0, 0, 0.0, 0.0);
-		List<Player> players = new ArrayList<>();
-		players.add(p1);
-		players.add(p2);
-		players.add(p3);
-		players.add(p4);
-		players.add(p5);
-		players.add(p6);
-		// get private method
+	public void roundsRepeatedFromSeed() {
 		MonsterDypMatchmaking matchmaking = MonsterDypMatchmaking.getInstance();
-		Method methodSelectPlayers = null;
 		try {
-			methodSelectPlayers = matchmaking.getClass().getDeclaredMethod("selectPlayers", List.class, boolean
-					.class, boolean.class);
-		} catch (NoSuchMethodException e) {
-			fail(e.toString());
-			return;
-		}
-		// invoke method
-		List<Player> list = null;
+			// enough time for all candidates, so the search is not cut short
+			matchmaking.setCandidateSearch(50, 60000);
+			for (MatchmakingAlgorithm algorithm : new MatchmakingAlgorithm[]{MatchmakingAlgorithm.RANDOM,
+					MatchmakingAlgorithm.MATCHING, MatchmakingAlgorithm.MONTE_CARLO}) {
+				matchmaking.setAlgorithm(algorithm);
+				List<Game> round = matchmaking.generateRound(createPlayedTournament(), new SplittableRng(7));
+				List<Game> again = matchmaking.generateRound(createPlayedTournament(), new SplittableRng(7));
+				assertEquals(getNames(round), getNames(again));
+			}
+		} finally {
+			matchmaking.setAlgorithm(Constants.DEFAULT_MATCHMAKING_ALGORITHM);
+			matchmaking.setCandidateSearch(Constants.DEFAULT_CANDIDATE_ROUNDS, Constants
+					.DEFAULT_CANDIDATE_SEARCH_BUDGET_MILLIS);
+		}
+	}
+
+	@Test
+	public void roundsIndependentOfPlayerOrder() {
+		MonsterDypMatchmaking matchmaking = MonsterDypMatchmaking.getInstance();
 		try {
-			methodSelectPlayers.setAccessible(true);
-			list = (List) methodSelectPlayers.invoke(matchmaking, players, false, false);
+			matchmaking.setCandidateSearch(50, 60000);
+			for (MatchmakingAlgorithm algorithm : new MatchmakingAlgorithm[]{MatchmakingAlgorithm.RANDOM,
+					MatchmakingAlgorithm.MATCHING, MatchmakingAlgorithm.MONTE_CARLO}) {
+				matchmaking.setAlgorithm(algorithm);
+				List<Game> round = matchmaking.generateRound(createPlayedTournament(), new SplittableRng(7));
+				for (int seed = 0;seed < 5;seed++) {
+					// same players and games, but listed in another order (as loaded by another storage backend)
+					Tournament shuffled = createPlayedTournament();
+					Collections.shuffle(shuffled.getPlayers(), new Random(seed));
+					List<Game> again = matchmaking.generateRound(shuffled, new SplittableRng(7));
+					assertEquals(getNames(round), getNames(again));
+				}
+			}
+		} finally {
+			matchmaking.setAlgorithm(Constants.DEFAULT_MATCHMAKING_ALGORITHM);
+			matchmaking.setCandidateSearch(Constants.DEFAULT_CANDIDATE_ROUNDS, Constants
+					.DEFAULT_CANDIDATE_SEARCH_BUDGET_MILLIS);
+		}
+	}
+
+	@Test
+	public void teamsPairedWithLeastOpponentRepeats() {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0;i < 8;i++) {
+			players.add(new Player("p" + i));
+		}
+		Tournament tournament = createTournament(players, false);
+		List<Player> teamA = Arrays.asList(players.get(0), players.get(1));
+		List<Player> teamB = Arrays.asList(players.get(2), players.get(3));
+		List<Player> teamC = Arrays.asList(players.get(4), players.get(5));
+		List<Player> teamD = Arrays.asList(players.get(6), players.get(7));
+		// A played against B twice and against C once
+		tournament.addGame(new Game(Arrays.asList(players.get(0), players.get(1), players.get(2), players.get(3))));
+		tournament.addGame(new Game(Arrays.asList(players.get(0), players.get(2), players.get(1), players.get(3))));
+		tournament.addGame(new Game(Arrays.asList(players.get(0), players.get(1), players.get(4), players.get(5))));
+
+		List<Game> games = MonsterDypMatchmaking.getInstance().pairTeams(Arrays.asList(teamA, teamB, teamC, teamD),
+				tournament.getPairHistory());
+		assertEquals(2, games.size());
+		assertEquals(teamA, games.get(0).getTeam1());
+		assertEquals(teamD, games.get(0).getTeam2());
+		assertEquals(teamB, games.get(1).getTeam1());
+		assertEquals(teamC, games.get(1).getTeam2());
+	}
+
+	@Test
+	public void teamsSplitForBalance() {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0;i < 4;i++) {
+			players.add(new Player("p" + i, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1800 - 100 * i, 0.0));
+		}
+		Tournament tournament = createTournament(players, false);
+		MonsterDypMatchmaking matchmaking = MonsterDypMatchmaking.getInstance();
+
+		// strongest two against weakest two is split into strongest and weakest against the two in between
+		Game game = matchmaking.balanceTeams(new Game(new ArrayList<>(players)), tournament.getPairHistory(),
+				tournament.getWinProbabilities());
+		assertEquals(Arrays.asList(players.get(0), players.get(3)), game.getTeam1());
+		assertEquals(Arrays.asList(players.get(1), players.get(2)), game.getTeam2());
+
+		// ... unless they already played together
+		tournament.addGame(new Game(Arrays.asList(players.get(0), players.get(3), players.get(1), players.get(2))));
+		game = matchmaking.balanceTeams(new Game(new ArrayList<>(players)), tournament.getPairHistory(), tournament
+				.getWinProbabilities());
+		assertEquals(Arrays.asList(players.get(0), players.get(2)), game.getTeam1());
+		assertEquals(Arrays.asList(players.get(1), players.get(3)), game.getTeam2());
+	}
 
-		} catch (IllegalAccessException e) {
-			fail(e.toString());
-		} catch (InvocationTargetException e) {
-			fail(e.toString());
+	@Test
+	public void balanceTeamsAvoidsRepeatedOpponents() {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0;i < 6;i++) {
+			players.add(new Player("p" + i, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1800 - 100 * i, 0.0));
+		}
+		Tournament tournament = createTournament(players, false);
+		// p0 played against p2 before, but with other partners
+		tournament.addGame(new Game(Arrays.asList(players.get(0), players.get(4), players.get(2), players.get(5))));
+		Game balanced = MonsterDypMatchmaking.getInstance().balanceTeams(new Game(new ArrayList<>(players.subList(0,
+				4))), tournament.getPairHistory(), tournament.getWinProbabilities());
+		// p0, p3 against p1, p2 would be the most balanced split
+		assertEquals(Arrays.asList(players.get(0), players.get(2)), balanced.getTeam1());
+		assertEquals(Arrays.asList(players.get(1), players.get(3)), balanced.getTeam2());
+	}
+
+	@Test
+	public void balanceTeamsAvoidsArchivedPartners() {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0;i < 4;i++) {
+			players.add(new Player("p" + i, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1800 - 100 * i, 0.0));
 		}
+		Tournament tournament = createTournament(players, false);
+		Tournament lastWeek = createTournament(players, false);
+		Game game = new Game(Arrays.asList(players.get(0), players.get(3), players.get(1), players.get(2)));
+		game.setFinished(true);
+		lastWeek.addGame(game);
+		PartnerArchive archive = new PartnerArchive();
+		archive.addTournament(lastWeek, 0.5);
+		// a tournament without them since, the game is decayed to half a game
+		archive.addTournament(createTournament(players, false), 0.5);
+		MonsterDypMatchmaking matchmaking = MonsterDypMatchmaking.getInstance();
+		try {
+			matchmaking.setPartnerArchive(archive);
+			// the most balanced split was played in an earlier tournament
+			Game balanced = matchmaking.balanceTeams(new Game(new ArrayList<>(players)), tournament.getPairHistory(),
+					tournament.getWinProbabilities());
+			assertEquals(Arrays.asList(players.get(0), players.get(2)), balanced.getTeam1());
+			assertEquals(Arrays.asList(players.get(1), players.get(3)), balanced.getTeam2());
+		} finally {
+			matchmaking.setPartnerArchive(new PartnerArchive());
+		}
+	}
+
+	@Test
+	public void selectPlayersWithLeastGames2on2() {
+		// prepare input
+		List<Player> players = new ArrayList<>();
+		for (int i = 1;i <= 6;i++) {
+			players.add(new Player("p" + i));
+		}
+		Tournament tournament = createTournament(players, false);
+		Player p1 = players.get(0);
+		Player p2 = players.get(1);
+		Player p3 = players.get(2);
+		Player p4 = players.get(3);
+		Player p5 = players.get(4);
+		Player p6 = players.get(5);
+		// p5 and p6 played 3 games, the others at most 2
+		tournament.addGame(new Game(Arrays.asList(p5, p6, p1, p2)));
+		tournament.addGame(new Game(Arrays.asList(p5, p6, p3, p4)));
+		tournament.addGame(new Game(Arrays.asList(p5, p6, p1, p3)));
+		List<Player> list = MonsterDypMatchmaking.getInstance().selectPlayers(players, tournament.getGameCounts(),
+				false, false, new Random());
 		// check result
+		assertEquals(4, list.size());
 		assertTrue(list.contains(p1));
 		assertTrue(list.contains(p2));
 		assertTrue(list.contains(p3));
@@ -128,40 +261,48 @@ public class MonsterDypMatchmakingUnitTest {
 	@Test
 	public void selectPlayersWithLeastGames1on1() {
 		// prepare input
-		Player p1 = new Player("p1", 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0.0, 0.0);
-		Player p2 = new Player("p2", 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0.0, 0.0);
-		Player p3 = new Player("p3", 2, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0.0, 0.0);
-		List<Player> players = new ArrayList<>();
-		players.add(p1);
-		players.add(p2);
-		players.add(p3);
-		// get private method
-		MonsterDypMatchmaking matchmaking = MonsterDypMatchmaking.getInstance();
-		Method methodSelectPlayers = null;
-		try {
-			methodSelectPlayers = matchmaking.getClass().getDeclaredMethod("selectPlayers", List.class, boolean
-					.class, boolean.class);
-		} catch (NoSuchMethodException e) {
-			fail(e.toString());
-			return;
-		}
-		// invoke method
-		List<Player> list = null;
-		try {
-			methodSelectPlayers.setAccessible(true);
-			list = (List) methodSelectPlayers.invoke(matchmaking, players, true, false);
-
-		} catch (IllegalAccessException e) {
-			fail(e.toString());
-		} catch (InvocationTargetException e) {
-			fail(e.toString() + ", cause:" + e.getCause());
-		}
+		Player p1 = new Player("p1");
+		Player p2 = new Player("p2");
+		Player p3 = new Player("p3");
+		List<Player> players = new ArrayList<>(Arrays.asList(p1, p2, p3));
+		Tournament tournament = createTournament(players, true);
+		tournament.addGame(new Game(Arrays.asList(p3, p1)));
+		tournament.addGame(new Game(Arrays.asList(p3, p2)));
+		List<Player> list = MonsterDypMatchmaking.getInstance().selectPlayers(players, tournament.getGameCounts(),
+				true, false, new Random());
 		// check result
+		assertEquals(2, list.size());
 		assertTrue(list.contains(p1));
 		assertTrue(list.contains(p2));
 		assertFalse(list.contains(p3));
 	}
 
+	@Test
+	public void selectPlayersDrawsTiesFromLowestBucket() {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0;i < 10;i++) {
+			players.add(new Player("p" + i));
+		}
+		Tournament tournament = createTournament(players, false);
+		// p0 to p3 played once, the others sit out
+		tournament.addGame(new Game(new ArrayList<>(players.subList(0, 4))));
+		int[] selected = new int[10];
+		Random random = new Random(8);
+		for (int i = 0;i < 1000;i++) {
+			for (Player player : MonsterDypMatchmaking.getInstance().selectPlayers(players, tournament
+					.getGameCounts(), false, false, random)) {
+				selected[players.indexOf(player)]++;
+			}
+		}
+		// all 6 without games and 2 of the 4 others (random)
+		for (int i = 4;i < 10;i++) {
+			assertEquals(1000, selected[i]);
+		}
+		for (int i = 0;i < 4;i++) {
+			assertTrue(selected[i] > 400 && selected[i] < 600);
+		}
+	}
+
 	// test for generating sample distribution (console output) for 16 players (annotate with @Test and run as single
 	// test if needed)
 	// can be used to fiddle with parameters (std,avg) of gaussian
@@ -192,7 +333,7 @@ public class MonsterDypMatchmakingUnitTest {
 			List<Player> tempPlayers = new ArrayList<>(players);
 			while (tempPlayers.size() > 1) {
 				List<Player> generatedTeam = MonsterDypMatchmaking.getInstance().generateTeam(tempPlayers, new
-						ArrayList<Game>());
+						Tournament().getPairHistory(), new Random());
 				// goals shot encodes player
 				int firstPlayer = generatedTeam.get(0).getGoalsShot();
 				int secondPlayer = generatedTeam.get(1).getGoalsShot();
@@ -213,4 +354,37 @@ public class MonsterDypMatchmakingUnitTest {
 			System.out.println("");
 		}
 	}
+
+	/**
+	 * @return tournament of 14 players with elo and a few games
+	 */
+	private static Tournament createPlayedTournament() {
+		List<Player> players = new ArrayList<>();
+		for (int i = 0;i < 14;i++) {
+			players.add(new Player("p" + i, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1500 + 37 * (i % 5) - 11 * i, 0.0));
+		}
+		Tournament tournament = createTournament(players, false);
+		for (int i = 0;i + 4 <= 14;i += 3) {
+			tournament.addGame(new Game(new ArrayList<>(players.subList(i, i + 4))));
+		}
+		return tournament;
+	}
+
+	private static List<String> getNames(List<Game> games) {
+		List<String> names = new ArrayList<>();
+		for (Game game : games) {
+			names.addAll(game.getTeam1PlayerNames());
+			names.addAll(game.getTeam2PlayerNames());
+		}
+		return names;
+	}
+
+		private static Tournament createTournament(List<Player> players, boolean oneOnOne) {
+		Tournament tournament = new Tournament();
+		tournament.setOneOnOne(oneOnOne);
+		for (Player player : players) {
+			tournament.addPlayer(player);
+		}
+		return tournament;
+	}
 }
@@ -0,0 +1,143 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import de.tum.kickercoding.tournamentviewer.util.Constants;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PartnerDistributionUnitTest {
+
+	private static final int DRAWS = 200000;
+
+	@Test
+	public void sameDistributionAsRejectionSampling() {
+		Random random = new Random(42);
+		int playersSize = 16;
+		for (int playerPosition : new int[]{0, 5, 8, 15}) {
+			double[] noPastGames = new double[playersSize];
+			PartnerDistribution distribution = new PartnerDistribution(playersSize, playerPosition, noPastGames);
+			double[] expected = histogram(rejectionSamples(random, playersSize, playerPosition, noPastGames));
+			int[] samples = new int[DRAWS];
+			for (int i = 0;i < DRAWS;i++) {
+				samples[i] = distribution.draw(random);
+			}
+			double[] actual = histogram(samples);
+			assertEquals(0.0, actual[playerPosition], 0.0);
+			for (int position = 0;position < playersSize;position++) {
+				assertEquals(expected[position], actual[position], 0.01);
+				assertEquals(expected[position], distribution.probability(position), 0.01);
+			}
+		}
+	}
+
+	@Test
+	public void pastPartnersLikeRejectionSampling() {
+		Random random = new Random(7);
+		// the mirrored position (most likely partner) already played with the player
+		double[] mirroredPlayed = new double[8];
+		mirroredPlayed[5] = 1;
+		assertSameAsRejectionSampling(random, 8, 2, mirroredPlayed);
+		// all but an unlikely position played with the player, previous partners win the race regularly
+		double[] mostPlayed = new double[6];
+		Arrays.fill(mostPlayed, 2, 6, 1);
+		assertSameAsRejectionSampling(random, 6, 0, mostPlayed);
+		// everybody played with the player
+		double[] allPlayed = new double[6];
+		Arrays.fill(allPlayed, 1);
+		assertSameAsRejectionSampling(random, 6, 3, allPlayed);
+	}
+
+	@Test
+	public void pastPartnersArePenalized() {
+		int playersSize = 8;
+		int playerPosition = 2;
+		double[] pastGames = new double[playersSize];
+		pastGames[5] = 1;
+		PartnerDistribution unpenalized = new PartnerDistribution(playersSize, playerPosition, new double[playersSize]);
+		PartnerDistribution penalized = new PartnerDistribution(playersSize, playerPosition, pastGames);
+		assertTrue(penalized.probability(5) < unpenalized.probability(5));
+		assertTrue(penalized.probability(6) > unpenalized.probability(6));
+		double total = 0;
+		for (int position = 0;position < playersSize;position++) {
+			total += penalized.probability(position);
+		}
+		assertEquals(1.0, total, 1e-9);
+	}
+
+	@Test
+	public void drawsOnlyValidPositions() {
+		Random random = new Random(1);
+		for (int playersSize = 2;playersSize < 12;playersSize++) {
+			for (int playerPosition = 0;playerPosition < playersSize;playerPosition++) {
+				PartnerDistribution distribution = new PartnerDistribution(playersSize, playerPosition, new
+						double[playersSize]);
+				for (int i = 0;i < 1000;i++) {
+					int partner = distribution.draw(random);
+					assertTrue(partner >= 0 && partner < playersSize && partner != playerPosition);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void normalCdf() {
+		assertEquals(0.5, PartnerDistribution.normalCdf(0), 1e-7);
+		assertEquals(0.841344746, PartnerDistribution.normalCdf(1), 1e-6);
+		assertEquals(0.022750132, PartnerDistribution.normalCdf(-2), 1e-6);
+	}
+
+	private static void assertSameAsRejectionSampling(Random random, int playersSize, int playerPosition, double[]
+			pastGames) {
+		PartnerDistribution distribution = new PartnerDistribution(playersSize, playerPosition, pastGames);
+		double[] expected = histogram(rejectionSamples(random, playersSize, playerPosition, pastGames));
+		int[] samples = new int[DRAWS];
+		for (int i = 0;i < DRAWS;i++) {
+			samples[i] = distribution.draw(random);
+		}
+		double[] actual = histogram(samples);
+		for (int position = 0;position < playersSize;position++) {
+			assertEquals(expected[position], actual[position], 0.01);
+			assertEquals(expected[position], distribution.probability(position), 0.01);
+		}
+	}
+
+	/**
+	 * the former rejection loop of {@link MonsterDypMatchmaking#generateTeam}
+	 */
+	private static int[] rejectionSamples(Random random, int playersSize, int playerPosition, double[] pastGames) {
+		double std = playersSize * Constants.GAUSSIAN_STD_IN_PERCENTAGE_OF_PLAYERS;
+		double avg = playersSize - playerPosition;
+		int[] samples = new int[DRAWS];
+		for (int i = 0;i < DRAWS;i++) {
+			int partnerPosition = -1;
+			int[] partnerDrawCount = new int[playersSize];
+			while (partnerPosition == -1) {
+				int position = (int) (random.nextGaussian() * std + avg);
+				if (position < 0 || position >= playersSize || position == playerPosition) {
+					continue;
+				}
+				// previous partners are skipped SAME_TEAM_SKIP_THRESHOLD times
+				if (pastGames[position] > 0 && partnerDrawCount[position] < Constants.SAME_TEAM_SKIP_THRESHOLD) {
+					partnerDrawCount[position]++;
+					continue;
+				}
+				partnerPosition = position;
+			}
+			samples[i] = partnerPosition;
+		}
+		return samples;
+	}
+
+	private static double[] histogram(int[] samples) {
+		double[] frequencies = new double[32];
+		for (int sample : samples) {
+			frequencies[sample] += 1.0 / samples.length;
+		}
+		return frequencies;
+	}
+}
@@ -0,0 +1,136 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.util.SplittableRng;
+
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.game;
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.players;
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.tournament;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RollingDispatcherUnitTest {
+
+	private RollingDispatcher dispatcher = RollingDispatcher.getInstance();
+
+	@After
+	public void cleanUp() {
+		dispatcher.invalidate();
+	}
+
+	@Test
+	public void roundFillsFreeTables() {
+		Tournament tournament = tournament(players(12, 10), false);
+		tournament.setTables(2);
+		List<Game> round = dispatcher.generateRound(tournament, new SplittableRng(1));
+
+		assertEquals(2, round.size());
+		assertEquals(1, round.get(0).getTable());
+		assertEquals(2, round.get(1).getTable());
+		assertEquals(8, getNames(round).size());
+		// no table is free any more
+		for (Game game : round) {
+			tournament.addGame(game);
+		}
+		assertTrue(dispatcher.generateRound(tournament, new SplittableRng(1)).isEmpty());
+	}
+
+	@Test
+	public void finishedGameReplacedOnItsTable() {
+		Tournament tournament = tournament(players(12, 10), false);
+		tournament.setTables(2);
+		List<Game> round = dispatcher.generateRound(tournament, new SplittableRng(1));
+		for (Game game : round) {
+			tournament.addGame(game);
+		}
+		Set<String> waiting = new HashSet<>(getNames(tournament(players(12, 10), false).getPlayers()));
+		waiting.removeAll(getNames(round));
+
+		Game finished = round.get(1);
+		finished.setFinished(true);
+		List<Game> next = dispatcher.gameFinished(tournament, finished);
+
+		assertEquals(1, next.size());
+		assertEquals(2, next.get(0).getTable());
+		// the players who did not play yet come first
+		assertEquals(waiting, getNames(next));
+	}
+
+	@Test
+	public void noTablesSet() {
+		Tournament tournament = tournament(players(9, 10), false);
+		List<Game> round = dispatcher.generateRound(tournament, new SplittableRng(1));
+		assertEquals(2, round.size());
+		for (Game game : round) {
+			assertEquals(0, game.getTable());
+			tournament.addGame(game);
+		}
+		Set<String> waiting = new HashSet<>(getNames(tournament.getPlayers()));
+		waiting.removeAll(getNames(round));
+
+		Game finished = round.get(0);
+		finished.setFinished(true);
+		List<Game> next = dispatcher.gameFinished(tournament, finished);
+
+		assertEquals(1, next.size());
+		Set<String> players = getNames(next);
+		assertTrue(players.containsAll(waiting));
+		players.removeAll(waiting);
+		assertTrue(getNames(Arrays.asList(finished)).containsAll(players));
+	}
+
+	@Test
+	public void rebuiltAfterInvalidate() {
+		Tournament tournament = tournament(players(6, 10), true);
+		tournament.setTables(3);
+		Game running = game(tournament, 0, 1);
+		running.setTable(2);
+		tournament.addGame(running);
+		dispatcher.generateRound(tournament, new SplittableRng(1));
+
+		// the generated games were dropped, e.g. by removing them
+		dispatcher.invalidate();
+		List<Game> round = dispatcher.generateRound(tournament, new SplittableRng(1));
+		assertEquals(2, round.size());
+		assertEquals(1, round.get(0).getTable());
+		assertEquals(3, round.get(1).getTable());
+		assertEquals(new HashSet<>(Arrays.asList("p2", "p3", "p4", "p5")), getNames(round));
+	}
+
+	@Test
+	public void notEnoughIdlePlayers() {
+		Tournament tournament = tournament(players(5, 10), false);
+		tournament.addGame(game(tournament, 0, 1, 2, 3));
+
+		assertNull(dispatcher.generateGame(tournament, new SplittableRng(1)));
+		assertTrue(dispatcher.generateRound(tournament, new SplittableRng(1)).isEmpty());
+	}
+
+	private static Set<String> getNames(List<Game> games) {
+		Set<String> names = new HashSet<>();
+		for (Game game : games) {
+			names.addAll(game.getTeam1PlayerNames());
+			names.addAll(game.getTeam2PlayerNames());
+		}
+		return names;
+	}
+
+	private static Set<String> getNames(Iterable<Player> players) {
+		Set<String> names = new HashSet<>();
+		for (Player player : players) {
+			names.add(player.getName());
+		}
+		return names;
+	}
+}
@@ -0,0 +1,93 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.players;
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.tournament;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RoundAnnealerUnitTest {
+
+	@Test
+	public void incrementalDeltaMatchesFullCost() {
+		for (boolean oneOnOne : new boolean[]{false, true}) {
+			Random random = new Random(4);
+			List<Player> players = players(24, 3);
+			Tournament tournament = tournament(players, oneOnOne, 5, random);
+			RoundAnnealer annealer = new RoundAnnealer(players, AnnealingMatchmaking.getInstance().greedyRound(
+					players, oneOnOne, tournament.getPairHistory()), oneOnOne, tournament.getPairHistory());
+			for (int i = 0;i < 1000;i++) {
+				int slot1 = random.nextInt(24);
+				int slot2 = random.nextInt(24);
+				double before = annealer.computeCost();
+				double delta = annealer.swapDelta(slot1, slot2);
+				annealer.swap(slot1, slot2);
+				assertEquals(annealer.computeCost() - before, delta, 1e-9);
+			}
+		}
+	}
+
+	@Test
+	public void annealedRoundNotWorseThanGreedy() {
+		for (boolean oneOnOne : new boolean[]{false, true}) {
+			Random random = new Random(9);
+			List<Player> players = players(40, 3);
+			Tournament tournament = tournament(players, oneOnOne, 5, random);
+			List<Game> greedy = AnnealingMatchmaking.getInstance().greedyRound(players, oneOnOne, tournament
+					.getPairHistory());
+			RoundAnnealer annealer = new RoundAnnealer(players, greedy, oneOnOne, tournament.getPairHistory());
+			double greedyCost = annealer.getCost();
+			List<Game> annealed = annealer.anneal(System.nanoTime() + 50 * 1000000L, random);
+
+			assertEquals(oneOnOne ? 20 : 10, annealed.size());
+			Set<Player> matched = new HashSet<>();
+			for (Game game : annealed) {
+				matched.addAll(game.getTeam1());
+				matched.addAll(game.getTeam2());
+			}
+			assertEquals(40, matched.size());
+			double annealedCost = new RoundAnnealer(players, annealed, oneOnOne, tournament.getPairHistory())
+					.getCost();
+			assertTrue(annealedCost <= greedyCost);
+		}
+	}
+
+	@Test
+	public void stopsAtDeadline() {
+		Random random = new Random(2);
+		List<Player> players = players(300, 3);
+		Tournament tournament = tournament(players, false, 5, random);
+		RoundAnnealer annealer = new RoundAnnealer(players, AnnealingMatchmaking.getInstance().greedyRound(players,
+				false, tournament.getPairHistory()), false, tournament.getPairHistory());
+		long start = System.nanoTime();
+		annealer.anneal(start + 20 * 1000000L, random);
+		// generous bound, only the clock is checked every few moves
+		assertTrue(System.nanoTime() - start < 1000 * 1000000L);
+		assertTrue(annealer.getMoves() > 0);
+	}
+
+	// benchmark for 300 players (console output) (annotate with @Test and run as single test if needed)
+	public void benchmarkLargePool() {
+		Random random = new Random(3);
+		List<Player> players = players(300, 3);
+		Tournament tournament = tournament(players, false, 5, random);
+		List<Game> greedy = AnnealingMatchmaking.getInstance().greedyRound(players, false, tournament
+				.getPairHistory());
+		RoundAnnealer annealer = new RoundAnnealer(players, greedy, false, tournament.getPairHistory());
+		double greedyCost = annealer.getCost();
+		List<Game> annealed = annealer.anneal(System.nanoTime() + 200 * 1000000L, random);
+		double annealedCost = new RoundAnnealer(players, annealed, false, tournament.getPairHistory()).getCost();
+		System.out.println("greedy: " + greedyCost + ", annealed: " + annealedCost + ", moves: " + annealer
+				.getMoves());
+	}
+}
@@ -0,0 +1,181 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Schedule;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+import de.tum.kickercoding.tournamentviewer.util.SplittableRng;
+
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.players;
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.tournament;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScheduledMatchmakingUnitTest {
+
+	@After
+	public void cleanUp() {
+		ScheduledMatchmaking.getInstance().setSchedule(null);
+	}
+
+	@Test
+	public void scheduleHasRoundsOfDistinctPlayers() {
+		for (boolean oneOnOne : new boolean[]{false, true}) {
+			Tournament tournament = tournament(players(10, 10), oneOnOne);
+			Schedule schedule = ScheduledMatchmaking.buildSchedule(copyOf(tournament), 5, 100, new Random(1));
+
+			assertEquals(5, schedule.getRounds().size());
+			assertEquals(oneOnOne, schedule.isOneOnOne());
+			int[] byes = new int[10];
+			for (List<String> round : schedule.getRounds()) {
+				assertValidRound(round, tournament.getPlayers(), oneOnOne ? 10 : 8);
+				for (int i = 0;i < 10;i++) {
+					if (!round.contains("p" + i)) {
+						byes[i]++;
+					}
+				}
+			}
+			// byes rotate: 2 players sit out each 2on2 round, so 10 byes in 5 rounds
+			for (int bye : byes) {
+				assertTrue(bye <= 1);
+			}
+		}
+	}
+
+	@Test
+	public void fewerRepeatedPartnersThanRandomRounds() {
+		Tournament tournament = tournament(players(16, 10), false);
+		Schedule schedule = ScheduledMatchmaking.buildSchedule(copyOf(tournament), 5, 500, new Random(2));
+
+		Random random = new Random(2);
+		List<List<String>> randomRounds = new ArrayList<>();
+		for (int r = 0;r < 5;r++) {
+			List<String> round = new ArrayList<>();
+			for (Player player : tournament.getPlayers()) {
+				round.add(player.getName());
+			}
+			Collections.shuffle(round, random);
+			randomRounds.add(round);
+		}
+		assertTrue(partnerRepeats(schedule.getRounds()) <= partnerRepeats(randomRounds));
+	}
+
+	@Test
+	public void roundsAreHandedOutInOrder() {
+		Tournament tournament = tournament(players(8, 10), false);
+		List<List<String>> rounds = new ArrayList<>();
+		rounds.add(Arrays.asList("p0", "p7", "p1", "p6", "p2", "p5", "p3", "p4"));
+		rounds.add(Arrays.asList("p0", "p1", "p2", "p3", "p4", "p5", "p6", "p7"));
+		ScheduledMatchmaking.getInstance().setSchedule(new Schedule(false, rounds));
+
+		for (List<String> expected : rounds) {
+			List<Game> round = ScheduledMatchmaking.getInstance().generateRound(tournament, new SplittableRng(1));
+			assertEquals(2, round.size());
+			List<String> names = new ArrayList<>();
+			for (Game game : round) {
+				names.addAll(game.getTeam1PlayerNames());
+				names.addAll(game.getTeam2PlayerNames());
+				tournament.addGame(game);
+			}
+			assertEquals(expected, names);
+		}
+		assertFalse(ScheduledMatchmaking.getInstance().getSchedule().hasNextRound());
+		// exhausted schedule falls back to generating rounds on demand
+		assertEquals(2, ScheduledMatchmaking.getInstance().generateRound(tournament, new SplittableRng(1)).size());
+	}
+
+	@Test
+	public void repairAfterPlayersLeave() {
+		Tournament tournament = tournament(players(10, 10), false);
+		Schedule schedule = ScheduledMatchmaking.buildSchedule(copyOf(tournament), 4, 100, new Random(3));
+		schedule.popNextRound();
+		List<String> handedOut = new ArrayList<>(schedule.getRounds().get(0));
+		List<String> unchanged = new ArrayList<>(schedule.getRounds().get(1));
+
+		// two players sit out every round, one of them can take the slot of a leaving player
+		tournament.removePlayer(new Player(handedOut.get(0)));
+		ScheduledMatchmaking.repairSchedule(schedule, tournament.getPlayers(), new Random(3));
+		assertEquals(handedOut, schedule.getRounds().get(0));
+		for (List<String> round : schedule.getRounds().subList(1, 4)) {
+			assertValidRound(round, tournament.getPlayers(), 8);
+		}
+		if (!unchanged.contains(handedOut.get(0))) {
+			assertEquals(unchanged, schedule.getRounds().get(1));
+		}
+
+		// 7 players left: one game per round
+		tournament.removePlayer(tournament.getPlayers().get(0));
+		tournament.removePlayer(tournament.getPlayers().get(0));
+		ScheduledMatchmaking.repairSchedule(schedule, tournament.getPlayers(), new Random(3));
+		for (List<String> round : schedule.getRounds().subList(1, 4)) {
+			assertValidRound(round, tournament.getPlayers(), 4);
+		}
+	}
+
+	@Test
+	public void repairAfterPlayersJoin() {
+		Tournament tournament = tournament(players(8, 10), false);
+		Schedule schedule = ScheduledMatchmaking.buildSchedule(copyOf(tournament), 3, 100, new Random(4));
+		List<String> firstRound = new ArrayList<>(schedule.getRounds().get(0));
+
+		tournament.addPlayer(new Player("new0"));
+		ScheduledMatchmaking.repairSchedule(schedule, tournament.getPlayers(), new Random(4));
+		// too few to form a game, the new player sits out
+		assertEquals(firstRound, schedule.getRounds().get(0));
+
+		for (int i = 1;i < 4;i++) {
+			tournament.addPlayer(new Player("new" + i));
+		}
+		ScheduledMatchmaking.repairSchedule(schedule, tournament.getPlayers(), new Random(4));
+		for (List<String> round : schedule.getRounds()) {
+			assertValidRound(round, tournament.getPlayers(), 12);
+		}
+		// scheduled games are kept, the new players form an additional game
+		assertEquals(firstRound, schedule.getRounds().get(0).subList(0, 8));
+	}
+
+	private static void assertValidRound(List<String> round, List<Player> players, int expectedSize) {
+		assertEquals(expectedSize, round.size());
+		Set<String> names = new HashSet<>(round);
+		assertEquals(round.size(), names.size());
+		for (String name : round) {
+			assertTrue(players.contains(new Player(name)));
+		}
+	}
+
+	/**
+	 * number of times two players are partners again (2on2 rounds)
+	 */
+	private static int partnerRepeats(List<List<String>> rounds) {
+		Set<String> pairs = new HashSet<>();
+		int repeats = 0;
+		for (List<String> round : rounds) {
+			for (int i = 0;i + 1 < round.size();i += 2) {
+				String first = round.get(i);
+				String second = round.get(i + 1);
+				String pair = (first.compareTo(second) < 0) ? first + "," + second : second + "," + first;
+				if (!pairs.add(pair)) {
+					repeats++;
+				}
+			}
+		}
+		return repeats;
+	}
+
+
+	private static Tournament copyOf(Tournament tournament) {
+		return Tournament.fromJson(tournament.toJson());
+	}
+}
@@ -0,0 +1,114 @@
+package de.tum.kickercoding.tournamentviewer.tournament.monsterdyp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import de.tum.kickercoding.tournamentviewer.entities.Game;
+import de.tum.kickercoding.tournamentviewer.entities.Player;
+import de.tum.kickercoding.tournamentviewer.entities.Tournament;
+
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.players;
+import static de.tum.kickercoding.tournamentviewer.TestTournaments.tournament;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SwissPairingUnitTest {
+
+	@Test
+	public void firstRoundPairsEloNeighbours() {
+		List<Player> players = players(8, 3);
+		List<Player> shuffled = new ArrayList<>(players);
+		Collections.shuffle(shuffled, new Random(1));
+		List<Game> games = new SwissPairing(tournament(players, true).getPairHistory()).pair(shuffled);
+
+		assertEquals(4, games.size());
+		for (int i = 0;i < 4;i++) {
+			assertEquals(Arrays.asList(players.get(2 * i), players.get(2 * i + 1)), games.get(i).getParticipants());
+		}
+	}
+
+	@Test
+	public void pairsWithinScoreGroupsAndFloats() {
+		List<Player> players = players(6, 3);
+		// p5 and p3 won (group of 2), p1 tied (group of 1), the others lost or did not play yet
+		players.get(5).setWonGamesInTournament(1);
+		players.get(3).setWonGamesInTournament(1);
+		players.get(1).setTiedGamesInTournament(1);
+		List<Game> games = new SwissPairing(tournament(players, true).getPairHistory()).pair(players);
+
+		assertEquals(Arrays.asList(players.get(3), players.get(5)), games.get(0).getParticipants());
+		// p1 is alone in its group and floats down to the top of the next group
+		assertEquals(Arrays.asList(players.get(1), players.get(0)), games.get(1).getParticipants());
+		assertEquals(Arrays.asList(players.get(2), players.get(4)), games.get(2).getParticipants());
+	}
+
+	@Test
+	public void avoidsRematches() {
+		List<Player> players = players(6, 3);
+		Tournament tournament = tournament(players, true);
+		tournament.addGame(new Game(new ArrayList<>(Arrays.asList(players.get(0), players.get(1)))));
+		tournament.addGame(new Game(new ArrayList<>(Arrays.asList(players.get(2), players.get(3)))));
+		List<Game> games = new SwissPairing(tournament.getPairHistory()).pair(players);
+
+		assertEquals(Arrays.asList(players.get(0), players.get(2)), games.get(0).getParticipants());
+		assertEquals(Arrays.asList(players.get(1), players.get(3)), games.get(1).getParticipants());
+		assertEquals(Arrays.asList(players.get(4), players.get(5)), games.get(2).getParticipants());
+	}
+
+	@Test
+	public void rematchIfUnavoidable() {
+		List<Player> players = players(2, 3);
+		Tournament tournament = tournament(players, true);
+		tournament.addGame(new Game(new ArrayList<>(players)));
+		List<Game> games = new SwissPairing(tournament.getPairHistory()).pair(players);
+
+		assertEquals(1, games.size());
+		assertEquals(players, games.get(0).getParticipants());
+	}
+
+	@Test
+	public void noRematchesOverSeveralRounds() {
+		List<Player> players = players(32, 3);
+		Tournament tournament = tournament(players, true);
+		Random random = new Random(5);
+		for (int round = 0;round < 5;round++) {
+			List<Game> games = new SwissPairing(tournament.getPairHistory()).pair(players);
+			assertEquals(16, games.size());
+			Set<Player> paired = new HashSet<>();
+			for (Game game : games) {
+				paired.addAll(game.getParticipants());
+				assertEquals(0, tournament.getPairHistory().getOpponentCount(game.getTeam1(), game.getTeam2()));
+				tournament.addGame(game);
+				// random results to mix up the score groups
+				Player winner = game.getParticipants().get(random.nextInt(2));
+				winner.setWonGamesInTournament(winner.getWonGamesInTournament() + 1);
+			}
+			assertEquals(32, paired.size());
+		}
+	}
+
+	// benchmark for 10000 players (console output) (annotate with @Test and run as single test if needed)
+	public void benchmarkLargePool() {
+		List<Player> players = players(10000, 3);
+		Tournament tournament = tournament(players, true);
+		Random random = new Random(3);
+		for (int round = 0;round < 5;round++) {
+			long start = System.nanoTime();
+			List<Game> games = new SwissPairing(tournament.getPairHistory()).pair(players);
+			long duration = System.nanoTime() - start;
+			for (Game game : games) {
+				tournament.addGame(game);
+				Player winner = game.getParticipants().get(random.nextInt(2));
+				winner.setWonGamesInTournament(winner.getWonGamesInTournament() + 1);
+			}
+			System.out.println("round " + round + ": " + duration / 1000000 + " ms");
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package de.tum.kickercoding.tournamentviewer.util;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class LongIntHashMapUnitTest {
+
+	@Test
+	public void addAndGet() {
+		LongIntHashMap map = new LongIntHashMap();
+		assertEquals(0, map.get(42));
+		assertEquals(1, map.add(42, 1));
+		assertEquals(3, map.add(42, 2));
+		assertEquals(3, map.get(42));
+		assertEquals(1, map.size());
+		assertEquals(0, map.add(42, -3));
+		assertEquals(0, map.get(42));
+		assertEquals(0, map.size());
+	}
+
+	@Test
+	public void sameContentAsHashMap() {
+		Random random = new Random(3);
+		LongIntHashMap map = new LongIntHashMap();
+		Map<Long, Integer> expected = new HashMap<>();
+		for (int i = 0;i < 100000;i++) {
+			// few distinct keys, so entries are removed and inserted again frequently
+			long key = ((long) random.nextInt(50) << 32) | random.nextInt(50);
+			int delta = random.nextBoolean() ? 1 : -1;
+			Integer value = expected.get(key);
+			int newValue = (value == null ? 0 : value) + delta;
+			if (newValue == 0) {
+				expected.remove(key);
+			} else {
+				expected.put(key, newValue);
+			}
+			assertEquals(newValue, map.add(key, delta));
+		}
+		assertEquals(expected.size(), map.size());
+		Set<Long> keys = new HashSet<>();
+		for (long key : map.keys()) {
+			keys.add(key);
+		}
+		assertEquals(expected.keySet(), keys);
+		for (int i = 0;i < 50;i++) {
+			for (int j = 0;j < 50;j++) {
+				long key = ((long) i << 32) | j;
+				Integer value = expected.get(key);
+				assertEquals(value == null ? 0 : value, map.get(key));
+			}
+		}
+	}
+}
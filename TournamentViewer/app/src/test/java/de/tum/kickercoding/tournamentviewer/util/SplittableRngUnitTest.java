@@ -0,0 +1,54 @@
+package de.tum.kickercoding.tournamentviewer.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SplittableRngUnitTest {
+
+	@Test
+	public void sequenceDefinedBySeed() {
+		SplittableRng random = new SplittableRng(42);
+		SplittableRng again = new SplittableRng(42);
+		for (int i = 0;i < 100;i++) {
+			assertEquals(random.nextLong(), again.nextLong());
+			assertEquals(random.nextInt(17), again.nextInt(17));
+			assertEquals(random.nextDouble(), again.nextDouble(), 0.0);
+		}
+		assertTrue(new SplittableRng(42).nextLong() != new SplittableRng(43).nextLong());
+	}
+
+	@Test
+	public void splitGeneratorsRepeatable() {
+		SplittableRng random = new SplittableRng(5);
+		SplittableRng again = new SplittableRng(5);
+		SplittableRng split = random.split();
+		SplittableRng splitAgain = again.split();
+		for (int i = 0;i < 100;i++) {
+			assertEquals(split.nextLong(), splitAgain.nextLong());
+		}
+		// the split generator does not repeat its parent
+		assertTrue(random.nextLong() != split.nextLong());
+	}
+
+	@Test
+	public void streamsIndependentOfEachOther() {
+		assertEquals(SplittableRng.forStream(9, 3).nextLong(), SplittableRng.forStream(9, 3).nextLong());
+		assertTrue(SplittableRng.forStream(9, 3).nextLong() != SplittableRng.forStream(9, 4).nextLong());
+	}
+
+	@Test
+	public void boundsRespected() {
+		SplittableRng random = new SplittableRng(1);
+		int[] counts = new int[4];
+		for (int i = 0;i < 4000;i++) {
+			int value = random.nextInt(4);
+			assertTrue(value >= 0 && value < 4);
+			counts[value]++;
+		}
+		for (int count : counts) {
+			assertTrue(count > 800);
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package de.tum.kickercoding.tournamentviewer.util;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WeightedMatchingUnitTest {
+
+	@Test
+	public void pairsOfTwo() {
+		int[] mate = WeightedMatching.minCostPerfectMatching(new long[][]{{0, 5}, {5, 0}});
+		assertEquals(1, mate[0]);
+		assertEquals(0, mate[1]);
+	}
+
+	@Test
+	public void minCostAsBruteForce() {
+		Random random = new Random(3);
+		for (int n = 2;n <= 10;n += 2) {
+			for (int run = 0;run < 200;run++) {
+				// few distinct costs to get many ties and blossoms
+				long maxCost = (run % 2 == 0) ? 4 : 1000;
+				long[][] cost = randomCosts(random, n, maxCost);
+				int[] mate = WeightedMatching.minCostPerfectMatching(cost);
+				assertPerfect(mate);
+				assertEquals(bruteForce(cost, new boolean[n]), totalCost(cost, mate));
+			}
+		}
+	}
+
+	@Test
+	public void maxWeightWithoutMaxCardinality() {
+		// path 0-1-2-3: the heavy middle edge beats both outer edges together
+		int[][] edges = {{0, 1}, {1, 2}, {2, 3}};
+		int[] mate = WeightedMatching.maxWeightMatching(4, edges, new long[]{2, 5, 2}, false);
+		assertEquals(-1, mate[0]);
+		assertEquals(2, mate[1]);
+		assertEquals(1, mate[2]);
+		assertEquals(-1, mate[3]);
+		mate = WeightedMatching.maxWeightMatching(4, edges, new long[]{2, 5, 2}, true);
+		assertEquals(1, mate[0]);
+		assertEquals(3, mate[2]);
+	}
+
+	@Test
+	public void largeMatchingIsPerfect() {
+		long[][] cost = randomCosts(new Random(11), 100, 1000000);
+		assertPerfect(WeightedMatching.minCostPerfectMatching(cost));
+	}
+
+	private static long[][] randomCosts(Random random, int n, long maxCost) {
+		long[][] cost = new long[n][n];
+		for (int i = 0;i < n;i++) {
+			for (int j = i + 1;j < n;j++) {
+				cost[i][j] = cost[j][i] = (long) (random.nextDouble() * maxCost);
+			}
+		}
+		return cost;
+	}
+
+	private static void assertPerfect(int[] mate) {
+		for (int i = 0;i < mate.length;i++) {
+			assertTrue(mate[i] >= 0 && mate[i] != i);
+			assertEquals(i, mate[mate[i]]);
+		}
+	}
+
+	private static long totalCost(long[][] cost, int[] mate) {
+		long total = 0;
+		for (int i = 0;i < mate.length;i++) {
+			if (i < mate[i]) {
+				total += cost[i][mate[i]];
+			}
+		}
+		return total;
+	}
+
+	private static long bruteForce(long[][] cost, boolean[] used) {
+		int first = 0;
+		while (first < used.length && used[first]) {
+			first++;
+		}
+		if (first == used.length) {
+			return 0;
+		}
+		used[first] = true;
+		long best = Long.MAX_VALUE;
+		for (int i = first + 1;i < used.length;i++) {
+			if (!used[i]) {
+				used[i] = true;
+				best = Math.min(best, cost[first][i] + bruteForce(cost, used));
+				used[i] = false;
+			}
+		}
+		used[first] = false;
+		return best;
+	}
+}